@@ -0,0 +1,119 @@
+package com.github.salilvnair.convengine.audit;
+
+import com.github.salilvnair.convengine.audit.dispatch.AuditEventDispatcher;
+import com.github.salilvnair.convengine.audit.dispatch.AuditStageControl;
+import com.github.salilvnair.convengine.audit.persistence.AuditDbWriter;
+import com.github.salilvnair.convengine.audit.persistence.AuditPersistenceStrategyFactory;
+import com.github.salilvnair.convengine.audit.persistence.DeferredBulkAuditPersistenceStrategy;
+import com.github.salilvnair.convengine.audit.persistence.ImmediateAuditPersistenceStrategy;
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.config.ConvEngineAuditConfig;
+import com.github.salilvnair.convengine.config.feature.ConvEngineAsyncAuditDispatchMarker;
+import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeConversation;
+import com.github.salilvnair.convengine.service.ConversationCacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full audit path (stage filter, payload normalisation with _meta, persistence, dispatch) into an
+ * in-memory SQLite ce_audit table, for both persistence modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DbAuditServiceBenchmark {
+
+    @Param({"IMMEDIATE", "DEFERRED_BULK"})
+    public ConvEngineAuditConfig.Mode mode;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DbAuditService auditService;
+    private UUID conversationId;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE ce_audit (
+                  audit_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                  conversation_id TEXT NOT NULL,
+                  stage TEXT NOT NULL,
+                  payload_json TEXT NOT NULL,
+                  created_at DATETIME NOT NULL
+                )""");
+
+        ConvEngineAuditConfig auditConfig = new ConvEngineAuditConfig();
+        auditConfig.getPersistence().setMode(mode);
+        auditConfig.getPersistence().setMaxBufferedEvents(50);
+        AuditDbWriter dbWriter = new AuditDbWriter(jdbcTemplate, auditConfig);
+        AuditPersistenceStrategyFactory persistenceFactory = new AuditPersistenceStrategyFactory(auditConfig, List.of(
+                new ImmediateAuditPersistenceStrategy(dbWriter),
+                new DeferredBulkAuditPersistenceStrategy(auditConfig, dbWriter)));
+        AuditEventDispatcher dispatcher = new AuditEventDispatcher(List.of(), auditConfig,
+                new DefaultListableBeanFactory().getBeanProvider(ConvEngineAsyncAuditDispatchMarker.class));
+
+        EngineSession session = BenchmarkFixtures.session();
+        conversationId = session.getConversationId();
+        CeConversation conversation = session.getConversation();
+        ConversationCacheService cacheService = new ConversationCacheService(null, null) {
+            @Override
+            public Optional<CeConversation> getConversation(UUID id) {
+                return Optional.of(conversation);
+            }
+        };
+        auditService = new DbAuditService(cacheService, new AuditStageControl(auditConfig), dispatcher, auditConfig,
+                persistenceFactory);
+
+        payload = new LinkedHashMap<>();
+        payload.put(ConvEnginePayloadKey.RULE_ID, 2L);
+        payload.put(ConvEnginePayloadKey.INTENT, session.getIntent());
+        payload.put(ConvEnginePayloadKey.STATE, session.getState());
+        payload.put(ConvEnginePayloadKey.RULE_PHASE, "PRE_RESPONSE_RESOLUTION");
+        payload.put(ConvEnginePayloadKey.CONTEXT, session.contextDict());
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        auditService.flushPending(conversationId);
+        jdbcTemplate.update("DELETE FROM ce_audit");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void audit() {
+        auditService.audit(ConvEngineAuditStage.RULE_APPLIED, conversationId, payload);
+    }
+}
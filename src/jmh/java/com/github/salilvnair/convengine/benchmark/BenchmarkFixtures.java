@@ -0,0 +1,100 @@
+package com.github.salilvnair.convengine.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeConversation;
+import com.github.salilvnair.convengine.entity.CeRule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Loads the shared benchmark fixtures under {@code src/jmh/resources/benchmark} and builds
+ * sessions shaped like a mid-conversation ORDER_DIAGNOSTICS turn.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String INTENT = "ORDER_DIAGNOSTICS";
+    public static final String STATE = "ANALYZE";
+    public static final String USER_TEXT = "my order failed again, can I talk to an agent about a refund?";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static List<CeRule> rules() {
+        return read("rules.json", new TypeReference<>() {
+        });
+    }
+
+    public static Map<String, String> templates() {
+        return read("templates.json", new TypeReference<>() {
+        });
+    }
+
+    public static List<String> sqlSamples() {
+        return read("sql-samples.json", new TypeReference<>() {
+        });
+    }
+
+    public static JsonNode semanticCatalog() {
+        return read("semantic-catalog.json", new TypeReference<>() {
+        });
+    }
+
+    public static String contextJson() {
+        try {
+            return MAPPER.writeValueAsString(read("context.json", new TypeReference<JsonNode>() {
+            }));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize benchmark context fixture", e);
+        }
+    }
+
+    public static EngineSession session() {
+        UUID conversationId = UUID.randomUUID();
+        EngineSession session = new EngineSession(EngineContext.builder()
+                .conversationId(conversationId.toString())
+                .userText(USER_TEXT)
+                .inputParams(Map.of("customer_id", "CUST-1001", "channel", "web"))
+                .build(), MAPPER);
+        session.setConversation(conversation(conversationId));
+        session.setIntent(INTENT);
+        session.setState(STATE);
+        session.setContextJson(contextJson());
+        return session;
+    }
+
+    public static CeConversation conversation(UUID conversationId) {
+        return CeConversation.builder()
+                .conversationId(conversationId)
+                .status("RUNNING")
+                .intentCode(INTENT)
+                .stateCode(STATE)
+                .contextJson(contextJson())
+                .inputParamsJson("{\"customer_id\":\"CUST-1001\",\"channel\":\"web\"}")
+                .build();
+    }
+
+    private static <T> T read(String name, TypeReference<T> type) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/benchmark/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Benchmark fixture not found: " + name);
+            }
+            return MAPPER.readValue(in, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read benchmark fixture " + name, e);
+        }
+    }
+}
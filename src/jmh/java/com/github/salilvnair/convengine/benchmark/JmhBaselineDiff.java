@@ -0,0 +1,100 @@
+package com.github.salilvnair.convengine.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files ({@code -rf json}) benchmark by benchmark, parameters
+ * included, and exits with status 1 when any score regressed by more than the threshold.
+ * <p>
+ * Usage: {@code JmhBaselineDiff <baseline.json> <current.json> [thresholdPercent=10]}, run with
+ * the benchmark profile's test classpath. Keep the result of a release run as the baseline for
+ * the next version.
+ */
+public final class JmhBaselineDiff {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JmhBaselineDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhBaselineDiff <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0d;
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.value(), "new", now.unit());
+                continue;
+            }
+            double change = changePercent(before, now);
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value(),
+                    now.value(), change, now.unit(), regressed ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s%n", missing, "", "-", "removed");
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Positive means slower: time modes regress when the score grows, throughput when it shrinks.
+     */
+    static double changePercent(Score before, Score now) {
+        if (before.value() == 0.0d) {
+            return 0.0d;
+        }
+        double change = (now.value() - before.value()) / before.value() * 100.0d;
+        return "thrpt".equals(now.mode()) ? -change : change;
+    }
+
+    static Map<String, Score> read(Path path) throws IOException {
+        Map<String, Score> out = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(path.toFile())) {
+            JsonNode metric = run.path("primaryMetric");
+            out.put(key(run), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText()));
+        }
+        return out;
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    record Score(String mode, double value, String unit) {
+    }
+}
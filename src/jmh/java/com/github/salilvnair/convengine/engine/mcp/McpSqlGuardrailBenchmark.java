@@ -0,0 +1,84 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates the fixture SQL samples (including two that must be rejected) with custom rules read
+ * from an in-memory SQLite ce_mcp_sql_guardrail table, with and without the verdict cache.
+ * Scores are per full pass over the samples.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpSqlGuardrailBenchmark {
+
+    @Param({"true", "false"})
+    public boolean verdictCache;
+
+    private SingleConnectionDataSource dataSource;
+    private McpSqlGuardrail guardrail;
+    private List<String> sqlSamples;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcOperations().execute("""
+                CREATE TABLE ce_mcp_sql_guardrail (
+                  rule_type TEXT NOT NULL,
+                  match_value TEXT NOT NULL,
+                  enabled INTEGER NOT NULL DEFAULT 1
+                )""");
+        jdbc.getJdbcOperations().execute("""
+                INSERT INTO ce_mcp_sql_guardrail (rule_type, match_value, enabled) VALUES
+                ('ALLOW_FUNCTION', 'date_part', 1),
+                ('BLOCK_FUNCTION', 'pg_sleep', 1),
+                ('BLOCK_FUNCTION', 'md5', 1),
+                ('BLOCK_KEYWORD', 'listen', 1)""");
+
+        ConvEngineMcpConfig config = new ConvEngineMcpConfig();
+        config.getDb().setSqlGuardrailTable("ce_mcp_sql_guardrail");
+        config.getDb().getSqlGuardrailCache().setEnabled(verdictCache);
+        guardrail = new McpSqlGuardrail(jdbc, config);
+        sqlSamples = BenchmarkFixtures.sqlSamples();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int assertReadOnly() {
+        int rejected = 0;
+        for (String sql : sqlSamples) {
+            try {
+                guardrail.assertReadOnly(sql, "benchmark");
+            } catch (IllegalArgumentException ex) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.salilvnair.convengine.engine.mcp.query.semantic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.engine.mcp.query.semantic.model.SemanticModelDynamicOverlayService;
+import com.github.salilvnair.convengine.engine.mcp.query.semantic.model.SemanticModelRegistry;
+import com.github.salilvnair.convengine.engine.mcp.query.semantic.model.SemanticModelValidator;
+import com.github.salilvnair.convengine.llm.stub.HashedNgramEmbedding;
+import com.github.salilvnair.convengine.llm.stub.StubLlmClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedding-based entity scoping over the fixture semantic catalog. The question embedding comes
+ * from the offline LLM stub (hashed n-grams, no latency), so the score covers catalog vector
+ * parsing, concept-to-entity mapping and cosine ranking rather than a provider round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemanticEmbeddingSimilarityBenchmark {
+
+    /**
+     * Copies of the fixture catalog, each with its own concept keys, to model larger deployments.
+     */
+    @Param({"1", "10"})
+    public int catalogCopies;
+
+    private SemanticInterpretService service;
+    private String queryClass;
+    private List<String> questions;
+    private List<Map<String, Object>> catalogRows;
+    private List<Map<String, Object>> mappingRows;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ConvEngineLlmConfig llmConfig = new ConvEngineLlmConfig();
+        llmConfig.getStub().setEnabled(true);
+        ConvEngineMcpConfig mcpConfig = new ConvEngineMcpConfig();
+        mcpConfig.getDb().getSemantic().setEnabled(true);
+        mcpConfig.getDb().getSemantic().getVector().setEnabled(true);
+
+        ObjectProvider<NamedParameterJdbcTemplate> noJdbc =
+                new DefaultListableBeanFactory().getBeanProvider(NamedParameterJdbcTemplate.class);
+        SemanticModelRegistry registry = new SemanticModelRegistry(
+                new SemanticModelDynamicOverlayService(noJdbc),
+                new SemanticModelValidator());
+        AuditService audit = (stage, conversationId, payloadJson) -> {
+        };
+        service = new SemanticInterpretService(new StubLlmClient(llmConfig), mcpConfig, audit, null, null, null,
+                registry, noJdbc);
+
+        JsonNode catalog = BenchmarkFixtures.semanticCatalog();
+        queryClass = catalog.path("queryClass").asText();
+        questions = new ArrayList<>();
+        catalog.path("questions").forEach(question -> questions.add(question.asText()));
+        catalogRows = new ArrayList<>();
+        mappingRows = new ArrayList<>();
+        int dimension = llmConfig.getStub().getEmbeddingDimension();
+        int ngram = llmConfig.getStub().getEmbeddingNgram();
+        for (int copy = 0; copy < catalogCopies; copy++) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = catalog.path("entities").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entity = it.next();
+                int index = 0;
+                for (JsonNode phrase : entity.getValue()) {
+                    String conceptKey = entity.getKey() + "_" + copy + "_" + index++;
+                    Map<String, Object> catalogRow = new LinkedHashMap<>();
+                    catalogRow.put("concept_key", conceptKey);
+                    catalogRow.put("source_text", phrase.asText());
+                    catalogRow.put("embedding_text", Arrays.toString(HashedNgramEmbedding.embed(phrase.asText(), dimension, ngram)));
+                    catalogRows.add(catalogRow);
+                    Map<String, Object> mappingRow = new LinkedHashMap<>();
+                    mappingRow.put("concept_key", conceptKey);
+                    mappingRow.put("entity_key", entity.getKey());
+                    mappingRow.put("query_class_key", queryClass);
+                    mappingRows.add(mappingRow);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Set<String> selectEntitiesByEmbeddingSimilarity() {
+        String question = questions.get(Math.floorMod(next++, questions.size()));
+        return service.selectEntitiesByEmbeddingSimilarity(question, queryClass, catalogRows, mappingRows);
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.salilvnair.convengine.engine.session;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.engine.helper.SessionContextHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Context JSON is held as a string on the session, so every read or update is a parse and most
+ * updates a re-serialise. These cover the shapes steps use: dictionary reads, single-key lookups,
+ * the helper read-modify-write and the end-of-step sync back to the conversation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineSessionContextBenchmark {
+
+    private EngineSession session;
+    private SessionContextHelper contextHelper;
+    private long turn;
+
+    @Setup
+    public void setUp() {
+        session = BenchmarkFixtures.session();
+        contextHelper = new SessionContextHelper();
+    }
+
+    @Benchmark
+    public Map<String, Object> contextDict() {
+        return session.contextDict();
+    }
+
+    @Benchmark
+    public Object extractValueFromContext() {
+        return session.extractValueFromContext("order");
+    }
+
+    @Benchmark
+    public String readModifyWrite() {
+        ObjectNode root = contextHelper.readRoot(session);
+        ObjectNode mcp = contextHelper.ensureObject(root, "mcp");
+        mcp.put("lastToolCode", "mock.order.status");
+        mcp.put("turn", turn++);
+        contextHelper.writeRoot(session, root);
+        return session.getContextJson();
+    }
+
+    @Benchmark
+    public String syncToConversation() {
+        session.syncToConversation();
+        return session.getConversation().getContextJson();
+    }
+}
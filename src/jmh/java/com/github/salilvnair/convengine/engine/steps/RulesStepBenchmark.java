@@ -0,0 +1,117 @@
+package com.github.salilvnair.convengine.engine.steps;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
+import com.github.salilvnair.convengine.engine.constants.ConvEngineValue;
+import com.github.salilvnair.convengine.engine.rule.action.factory.RuleTypeResolverFactory;
+import com.github.salilvnair.convengine.engine.rule.action.helper.RuleConditionEvaluator;
+import com.github.salilvnair.convengine.engine.rule.action.provider.ExactRuleTypeResolver;
+import com.github.salilvnair.convengine.engine.rule.action.provider.JsonPathRuleTypeResolver;
+import com.github.salilvnair.convengine.engine.rule.action.provider.RegexRuleTypeResolver;
+import com.github.salilvnair.convengine.engine.rule.type.factory.RuleActionResolverFactory;
+import com.github.salilvnair.convengine.engine.rule.type.provider.SetInputParamActionResolver;
+import com.github.salilvnair.convengine.engine.rule.type.provider.SetStateActionResolver;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.engine.type.RulePhase;
+import com.github.salilvnair.convengine.entity.CeRule;
+import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
+import com.github.salilvnair.convengine.util.JsonPathUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * One PRE_RESPONSE_RESOLUTION pass over the fixture rule set with the real type and action
+ * resolvers. Matching rules only set input params, so the session is stable across invocations
+ * and every call is a single rule pass. Audit rows are serialised but not stored; verbose events
+ * are dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RulesStepBenchmark {
+
+    /**
+     * Copies of the fixture rule set evaluated per pass, to see how cost scales with rule count.
+     */
+    @Param({"1", "5"})
+    public int ruleSetCopies;
+
+    private RulesStep rulesStep;
+    private EngineSession session;
+
+    @Setup
+    public void setUp() {
+        AuditService audit = (stage, conversationId, payloadJson) -> {
+        };
+        VerboseMessagePublisher verbosePublisher = new VerboseMessagePublisher(null, null) {
+            @Override
+            public void publish(EngineSession session, String stepName, String determinant, Long ruleId,
+                                String toolCode, boolean error, Map<String, Object> metadata) {
+            }
+        };
+        StaticConfigurationCacheService cacheService = mock(StaticConfigurationCacheService.class, withSettings().stubOnly());
+        when(cacheService.findEligibleRules(any(), any(), any())).thenReturn(eligibleRules());
+
+        RuleTypeResolverFactory typeFactory = new RuleTypeResolverFactory(List.of(
+                new ExactRuleTypeResolver(),
+                new RegexRuleTypeResolver(),
+                new JsonPathRuleTypeResolver(new RuleConditionEvaluator(new JsonPathUtil()))));
+        RuleActionResolverFactory actionFactory = new RuleActionResolverFactory(List.of(
+                new SetStateActionResolver(audit),
+                new SetInputParamActionResolver(audit, BenchmarkFixtures.mapper())), verbosePublisher);
+        rulesStep = new RulesStep(cacheService, typeFactory, actionFactory, audit, verbosePublisher);
+        session = BenchmarkFixtures.session();
+    }
+
+    @Benchmark
+    public String applyRules() {
+        rulesStep.applyRules(session, "RulesStep", RulePhase.PRE_RESPONSE_RESOLUTION.name());
+        return session.getState();
+    }
+
+    private List<CeRule> eligibleRules() {
+        List<CeRule> eligible = new ArrayList<>();
+        long nextId = 1L;
+        for (int copy = 0; copy < ruleSetCopies; copy++) {
+            for (CeRule rule : BenchmarkFixtures.rules()) {
+                if (!RulePhase.PRE_RESPONSE_RESOLUTION.name().equals(rule.getPhase())
+                        || !matches(rule.getIntentCode(), BenchmarkFixtures.INTENT)
+                        || !matches(rule.getStateCode(), BenchmarkFixtures.STATE)) {
+                    continue;
+                }
+                rule.setRuleId(nextId++);
+                eligible.add(rule);
+            }
+        }
+        eligible.sort(Comparator.comparingInt(CeRule::getPriority));
+        return eligible;
+    }
+
+    private static boolean matches(String ruleValue, String sessionValue) {
+        return ConvEngineValue.ANY.equalsIgnoreCase(ruleValue) || sessionValue.equalsIgnoreCase(ruleValue);
+    }
+}
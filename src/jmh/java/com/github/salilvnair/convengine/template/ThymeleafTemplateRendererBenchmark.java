@@ -0,0 +1,69 @@
+package com.github.salilvnair.convengine.template;
+
+import com.github.salilvnair.convengine.benchmark.BenchmarkFixtures;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders each fixture template against a populated session. {@code buildVariables} is measured
+ * separately so a regression can be pinned on variable flattening or on template processing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThymeleafTemplateRendererBenchmark {
+
+    @Param({"legacy_braces", "hash_expression", "single_bracket", "mixed_large"})
+    public String templateName;
+
+    private ThymeleafTemplateRenderer renderer;
+    private EngineSession session;
+    private String template;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        renderer = new ThymeleafTemplateRenderer();
+        session = BenchmarkFixtures.session();
+        template = BenchmarkFixtures.templates().get(templateName);
+        variables = new LinkedHashMap<>();
+        variables.put("user_input", BenchmarkFixtures.USER_TEXT);
+        variables.put("standalone_query", "Why did order ORD-88231 fail and can an agent help with a refund?");
+        variables.put("mcp_tools", "[{\"tool_code\":\"mock.order.status\",\"tool_group\":\"HTTP_API\"},"
+                + "{\"tool_code\":\"mock.order.async.trace\",\"tool_group\":\"HTTP_API\"},"
+                + "{\"tool_code\":\"db.semantic.query\",\"tool_group\":\"DB\"}]");
+        variables.put("conversation_history", String.join("\n", List.of(
+                "user: where is my order ORD-88231?",
+                "assistant: Let me check the order status for you.",
+                "user: it says failed",
+                "assistant: I can see the payment step failed. Would you like details?")));
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(template, session, variables);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildVariables() {
+        return renderer.buildVariables(session, variables);
+    }
+}
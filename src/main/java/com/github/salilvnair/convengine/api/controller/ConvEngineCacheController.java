@@ -4,7 +4,11 @@ import com.github.salilvnair.convengine.api.dto.SemanticEmbeddingCatalogRebuildR
 import com.github.salilvnair.convengine.api.dto.SemanticEmbeddingCatalogRebuildResponse;
 import com.github.salilvnair.convengine.cache.ConvEngineCacheAnalyzer;
 import com.github.salilvnair.convengine.cache.StaticTableCachePreloader;
+import com.github.salilvnair.convengine.engine.mcp.McpSqlGuardrail;
+import com.github.salilvnair.convengine.engine.mcp.preflight.DbSchemaMetadataCache;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.embedding.SemanticEmbeddingService;
+import com.github.salilvnair.convengine.engine.mcp.query.semantic.service.SemanticPromptSectionCache;
+import com.github.salilvnair.convengine.llm.cache.LlmResponseCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
@@ -28,11 +32,19 @@ public class ConvEngineCacheController {
     private final ConvEngineCacheAnalyzer cacheAnalyzer;
     private final CacheManager cacheManager;
     private final SemanticEmbeddingService semanticEmbeddingService;
+    private final SemanticPromptSectionCache semanticPromptSectionCache;
+    private final DbSchemaMetadataCache schemaMetadataCache;
+    private final McpSqlGuardrail sqlGuardrail;
+    private final LlmResponseCache llmResponseCache;
 
     @PostMapping("/refresh")
     public ResponseEntity<String> refreshStaticCaches() {
         log.info("ConvEngine Admin: Received manual cache eviction payload. Purging and reconnecting to DB...");
         clearAllKnownCaches();
+        semanticPromptSectionCache.invalidateAll();
+        schemaMetadataCache.invalidateAll();
+        sqlGuardrail.invalidate();
+        llmResponseCache.invalidateAll();
 
         // Immediately reload the tables into JVM
         preloader.preloadCaches();
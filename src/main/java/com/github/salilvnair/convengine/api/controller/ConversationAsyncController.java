@@ -0,0 +1,70 @@
+package com.github.salilvnair.convengine.api.controller;
+
+import com.github.salilvnair.convengine.api.dto.ConversationRequest;
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+import com.github.salilvnair.convengine.api.service.ConversationTurnDispatcher;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Ticket based variant of {@code POST /api/v1/conversation/message}. The result arrives as a
+ * CONVERSATION_RESULT event on the conversation's SSE/STOMP stream, or by polling the ticket;
+ * {@code waitMs} turns the poll into a long poll that does not hold a servlet thread.
+ */
+@RestController
+@RequestMapping("/api/v1/conversation/message/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "convengine.execution.async-turns", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConversationAsyncController {
+
+    private final ConversationTurnDispatcher dispatcher;
+    private final ConvEngineExecutionConfig executionConfig;
+
+    @PostMapping
+    public ResponseEntity<ConversationTurnTicket> submit(
+            @RequestBody ConversationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ConversationTurnTicket ticket = dispatcher.submit(request, idempotencyKey);
+        HttpStatus status = ticket.getStatus() == ConversationTurnTicket.Status.REJECTED
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(ticket);
+    }
+
+    @GetMapping("/{ticketId}")
+    public DeferredResult<ResponseEntity<ConversationTurnTicket>> ticket(
+            @PathVariable("ticketId") String ticketId,
+            @RequestParam(value = "waitMs", defaultValue = "0") long waitMs) {
+        long timeoutMs = Math.min(Math.max(0L, waitMs), executionConfig.getAsyncTurns().getMaxWaitMs());
+        DeferredResult<ResponseEntity<ConversationTurnTicket>> result =
+                new DeferredResult<>(timeoutMs > 0L ? timeoutMs : null, () -> current(ticketId));
+        Optional<CompletableFuture<ConversationTurnTicket>> done = dispatcher.whenDone(ticketId);
+        if (done.isEmpty() || timeoutMs == 0L) {
+            result.setResult(current(ticketId));
+            return result;
+        }
+        done.get().whenComplete((ticket, error) -> result.setResult(ticket == null ? current(ticketId) : ResponseEntity.ok(ticket)));
+        return result;
+    }
+
+    private ResponseEntity<ConversationTurnTicket> current(String ticketId) {
+        return dispatcher.find(ticketId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.salilvnair.convengine.api.controller;
+
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageAccounting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/llm/usage")
+public class LlmUsageController {
+
+    private final LlmUsageAccounting usageAccounting;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> summary() {
+        return ResponseEntity.ok(usageAccounting.summary());
+    }
+
+    @GetMapping("/{conversationId}")
+    public ResponseEntity<Map<String, Object>> conversationSummary(@PathVariable("conversationId") UUID conversationId) {
+        Map<String, Object> summary = usageAccounting.conversationSummary(conversationId);
+        return summary == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(summary);
+    }
+
+    @PostMapping("/flush")
+    public ResponseEntity<Void> flush() {
+        usageAccounting.flush();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.salilvnair.convengine.api.controller;
+
+import com.github.salilvnair.convengine.engine.eval.ConversationReplayService;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestPlan;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/conversation/load-test")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "convengine.load-test", name = "enabled", havingValue = "true")
+public class LoadTestController {
+
+    private final ConversationReplayService replayService;
+
+    @PostMapping
+    public LoadTestReport run(@RequestBody LoadTestPlan plan) {
+        return replayService.load(plan);
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.salilvnair.convengine.api.controller;
+
+import com.github.salilvnair.convengine.engine.mcp.outbox.ToolOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivery status of outboxed NOTIFICATION and WORKFLOW_ACTION tool calls, by the outboxId the
+ * tool call returned or for a whole conversation.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/mcp/outbox")
+@ConditionalOnProperty(prefix = "convengine.mcp.outbox", name = "enabled", havingValue = "true")
+public class ToolOutboxController {
+
+    private final ToolOutboxService outbox;
+
+    @GetMapping("/{outboxId}")
+    public ResponseEntity<Map<String, Object>> status(@PathVariable("outboxId") String outboxId) {
+        return outbox.status(outboxId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> conversationStatus(@RequestParam("conversationId") UUID conversationId) {
+        return ResponseEntity.ok(outbox.statusByConversation(conversationId));
+    }
+}
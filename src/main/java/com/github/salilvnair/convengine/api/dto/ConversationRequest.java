@@ -10,6 +10,10 @@ public class ConversationRequest {
 
     private UUID conversationId;
     private String message;
+    /**
+     * Optional client request id; resending a turn with the same id is treated as a retry of it.
+     */
+    private String requestId;
     private Boolean reset;
     private Map<String, Object> inputParams;
 }
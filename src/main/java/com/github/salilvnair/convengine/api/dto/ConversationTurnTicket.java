@@ -0,0 +1,31 @@
+package com.github.salilvnair.convengine.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationTurnTicket {
+    private String ticketId;
+    private String conversationId;
+    private String idempotencyKey;
+    private Status status;
+    private String submittedAt;
+    private String startedAt;
+    private String completedAt;
+    /**
+     * Same body the synchronous /message endpoint returns; null until the turn has finished.
+     */
+    private ConversationResponse response;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        REJECTED
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.salilvnair.convengine.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseStreamChunk {
+    private String stepName;
+    private String intent;
+    private String state;
+    private int sequence;
+    private String delta;
+    private boolean done;
+}
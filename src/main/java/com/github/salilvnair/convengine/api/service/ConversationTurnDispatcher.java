@@ -0,0 +1,311 @@
+package com.github.salilvnair.convengine.api.service;
+
+import com.github.salilvnair.convengine.api.dto.ConversationRequest;
+import com.github.salilvnair.convengine.api.dto.ConversationResponse;
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
+import com.github.salilvnair.convengine.transport.stream.ConversationResultListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts conversation turns without holding the HTTP request open. Each turn gets a ticket that
+ * can be polled, and its result is pushed to {@link ConversationResultListener}s (SSE/STOMP) once
+ * the turn finishes.
+ * <p>
+ * Turns of one conversation run one after another in submission order, because each turn reads
+ * the state the previous one wrote. Different conversations run in parallel on the turn executor.
+ * A repeated Idempotency-Key within a conversation returns the existing ticket instead of
+ * processing the turn again. Tickets live in this node's memory, so behind a load balancer
+ * pollers need sticky routing by conversation.
+ * <p>
+ * Pending work is bounded per conversation (max-pending-per-conversation) and overall
+ * (max-pending-turns); past either cap, or when the executor is full, the ticket is REJECTED
+ * with ENGINE_CAPACITY_EXCEEDED and its idempotency key is released so the client can retry.
+ */
+@Slf4j
+@Service
+public class ConversationTurnDispatcher {
+
+    private static final long SWEEP_INTERVAL_MS = 1_000L;
+
+    private final ConversationTurnService turnService;
+    private final AsyncTaskExecutor turnExecutor;
+    private final ConvEngineExecutionConfig executionConfig;
+    private final ObjectProvider<ConversationResultListener> listenerProvider;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, String> idempotencyIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, ArrayDeque<Ticket>> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile long lastSweepMs;
+
+    public ConversationTurnDispatcher(ConversationTurnService turnService,
+                                      @Qualifier(ConvEngineExecutorConfiguration.TURN_EXECUTOR) AsyncTaskExecutor turnExecutor,
+                                      ConvEngineExecutionConfig executionConfig,
+                                      ObjectProvider<ConversationResultListener> listenerProvider) {
+        this.turnService = turnService;
+        this.turnExecutor = turnExecutor;
+        this.executionConfig = executionConfig;
+        this.listenerProvider = listenerProvider;
+    }
+
+    public ConversationTurnTicket submit(ConversationRequest request, String idempotencyKey) {
+        if (request == null) {
+            throw new IllegalArgumentException("request is required.");
+        }
+        evictExpired();
+        if (request.getConversationId() == null) {
+            request.setConversationId(UUID.randomUUID());
+        }
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey.trim();
+        if (key != null && (request.getRequestId() == null || request.getRequestId().isBlank())) {
+            request.setRequestId(key);
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), request, key);
+        tickets.put(ticket.ticketId, ticket);
+        if (key != null) {
+            String existingId = idempotencyIndex.putIfAbsent(ticket.indexKey(), ticket.ticketId);
+            Ticket existing = existingId == null ? null : tickets.get(existingId);
+            if (existing != null) {
+                tickets.remove(ticket.ticketId);
+                duplicates.incrementAndGet();
+                return existing.snapshot();
+            }
+            if (existingId != null) {
+                // the earlier ticket was evicted; this submission owns the key now
+                idempotencyIndex.put(ticket.indexKey(), ticket.ticketId);
+            }
+        }
+        submitted.incrementAndGet();
+        enqueue(ticket);
+        return ticket.snapshot();
+    }
+
+    public Optional<ConversationTurnTicket> find(String ticketId) {
+        Ticket ticket = ticketId == null ? null : tickets.get(ticketId);
+        return Optional.ofNullable(ticket).map(Ticket::snapshot);
+    }
+
+    /**
+     * Completes with the final ticket once the turn has finished; empty for unknown tickets.
+     */
+    public Optional<CompletableFuture<ConversationTurnTicket>> whenDone(String ticketId) {
+        Ticket ticket = ticketId == null ? null : tickets.get(ticketId);
+        return Optional.ofNullable(ticket).map(t -> t.done.thenApply(ignored -> t.snapshot()));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("tickets", tickets.size());
+        out.put("activeConversations", lanes.size());
+        out.put("pending", pending.get());
+        out.put("submitted", submitted.get());
+        out.put("duplicates", duplicates.get());
+        out.put("rejected", rejected.get());
+        return out;
+    }
+
+    private void enqueue(Ticket ticket) {
+        ConvEngineExecutionConfig.AsyncTurns config = executionConfig.getAsyncTurns();
+        if (pending.incrementAndGet() > Math.max(1, config.getMaxPendingTurns())) {
+            pending.decrementAndGet();
+            reject(ticket, "Too many async conversation turns are pending. Please retry.");
+            return;
+        }
+        int maxPerConversation = Math.max(1, config.getMaxPendingPerConversation());
+        boolean[] start = new boolean[1];
+        boolean[] full = new boolean[1];
+        lanes.compute(ticket.conversationId, (id, lane) -> {
+            if (lane == null) {
+                lane = new ArrayDeque<>();
+                start[0] = true;
+            } else if (lane.size() >= maxPerConversation) {
+                full[0] = true;
+                return lane;
+            }
+            lane.add(ticket);
+            return lane;
+        });
+        if (full[0]) {
+            pending.decrementAndGet();
+            reject(ticket, "Too many turns are pending for this conversation. Please retry.");
+            return;
+        }
+        if (!start[0]) {
+            return;
+        }
+        try {
+            turnExecutor.execute(() -> drain(ticket.conversationId));
+        } catch (RejectedExecutionException e) {
+            ArrayDeque<Ticket> lane = lanes.remove(ticket.conversationId);
+            if (lane == null) {
+                return;
+            }
+            for (Ticket queued : lane) {
+                pending.decrementAndGet();
+                reject(queued, "Async conversation turn queue is full. Please retry.");
+            }
+        }
+    }
+
+    private void reject(Ticket ticket, String message) {
+        rejected.incrementAndGet();
+        if (ticket.idempotencyKey != null) {
+            idempotencyIndex.remove(ticket.indexKey(), ticket.ticketId);
+        }
+        finish(ticket, ConversationTurnTicket.Status.REJECTED, turnService.errorResponse(
+                ticket.conversationId,
+                ConversationEngineErrorCode.ENGINE_CAPACITY_EXCEEDED.name(),
+                message,
+                true));
+    }
+
+    private void drain(UUID conversationId) {
+        while (true) {
+            Ticket[] next = new Ticket[1];
+            lanes.computeIfPresent(conversationId, (id, lane) -> {
+                next[0] = lane.poll();
+                return next[0] == null ? null : lane;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            try {
+                run(next[0]);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void run(Ticket ticket) {
+        ticket.status = ConversationTurnTicket.Status.RUNNING;
+        ticket.startedAt = OffsetDateTime.now();
+        ConversationResponse response;
+        try {
+            response = turnService.process(ticket.request);
+        } catch (RuntimeException e) {
+            log.warn("Async conversation turn failed ticket={} convId={} msg={}", ticket.ticketId, ticket.conversationId, e.getMessage());
+            response = turnService.errorResponse(ticket.conversationId, null, e.getMessage(), false);
+        }
+        finish(ticket, ConversationTurnTicket.Status.COMPLETED, response);
+    }
+
+    private void finish(Ticket ticket, ConversationTurnTicket.Status status, ConversationResponse response) {
+        ticket.response = response;
+        ticket.completedAt = OffsetDateTime.now();
+        ticket.completedAtMs = System.currentTimeMillis();
+        ticket.status = status;
+        ConversationTurnTicket snapshot = ticket.snapshot();
+        listenerProvider.orderedStream().forEach(listener -> {
+            try {
+                listener.onConversationResult(ticket.conversationId, snapshot);
+            } catch (Exception e) {
+                log.debug("Conversation result dispatch failed listener={} convId={} msg={}",
+                        listener.getClass().getSimpleName(),
+                        ticket.conversationId,
+                        e.getMessage());
+            }
+        });
+        ticket.done.complete(null);
+    }
+
+    private void evictExpired() {
+        ConvEngineExecutionConfig.AsyncTurns config = executionConfig.getAsyncTurns();
+        long now = System.currentTimeMillis();
+        int maxTickets = Math.max(1, config.getMaxTickets());
+        if (now - lastSweepMs < SWEEP_INTERVAL_MS && tickets.size() < maxTickets) {
+            return;
+        }
+        lastSweepMs = now;
+        long expiredBefore = now - Math.max(0L, config.getResultTtlMs());
+        List<Ticket> finished = new ArrayList<>();
+        for (Ticket ticket : tickets.values()) {
+            if (!ticket.done.isDone()) {
+                continue;
+            }
+            if (ticket.completedAtMs <= expiredBefore) {
+                evict(ticket);
+            } else {
+                finished.add(ticket);
+            }
+        }
+        int excess = tickets.size() - maxTickets + 1;
+        if (excess <= 0) {
+            return;
+        }
+        finished.sort(Comparator.comparingLong(ticket -> ticket.completedAtMs));
+        for (int i = 0; i < Math.min(excess, finished.size()); i++) {
+            evict(finished.get(i));
+        }
+    }
+
+    private void evict(Ticket ticket) {
+        tickets.remove(ticket.ticketId);
+        if (ticket.idempotencyKey != null) {
+            idempotencyIndex.remove(ticket.indexKey(), ticket.ticketId);
+        }
+    }
+
+    private static final class Ticket {
+
+        private final String ticketId;
+        private final UUID conversationId;
+        private final String idempotencyKey;
+        private final ConversationRequest request;
+        private final OffsetDateTime submittedAt = OffsetDateTime.now();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile ConversationTurnTicket.Status status = ConversationTurnTicket.Status.PENDING;
+        private volatile OffsetDateTime startedAt;
+        private volatile OffsetDateTime completedAt;
+        private volatile long completedAtMs;
+        private volatile ConversationResponse response;
+
+        private Ticket(String ticketId, ConversationRequest request, String idempotencyKey) {
+            this.ticketId = ticketId;
+            this.conversationId = request.getConversationId();
+            this.idempotencyKey = idempotencyKey;
+            this.request = request;
+        }
+
+        private String indexKey() {
+            return conversationId + ":" + idempotencyKey;
+        }
+
+        private ConversationTurnTicket snapshot() {
+            return ConversationTurnTicket.builder()
+                    .ticketId(ticketId)
+                    .conversationId(conversationId.toString())
+                    .idempotencyKey(idempotencyKey)
+                    .status(status)
+                    .submittedAt(submittedAt.toString())
+                    .startedAt(startedAt == null ? null : startedAt.toString())
+                    .completedAt(completedAt == null ? null : completedAt.toString())
+                    .response(response)
+                    .build();
+        }
+    }
+}
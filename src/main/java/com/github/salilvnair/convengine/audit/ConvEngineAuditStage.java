@@ -6,6 +6,10 @@ public enum ConvEngineAuditStage {
     DIALOGUE_ACT_LLM_INPUT,
     DIALOGUE_ACT_LLM_OUTPUT,
     DIALOGUE_ACT_LLM_ERROR,
+    NLU_LLM_INPUT,
+    NLU_LLM_OUTPUT,
+    NLU_LLM_FALLBACK,
+    NLU_INTENT_REUSED,
     INTERACTION_POLICY_DECIDED,
     PENDING_ACTION_SKIPPED,
     PENDING_ACTION_EXECUTED,
@@ -40,6 +44,7 @@ public enum ConvEngineAuditStage {
     INTENT_AGENT_CLARIFICATION_SUPPRESSED_SCHEMA_FLOW,
     INTENT_AGENT_NEEDS_CLARIFICATION,
     INTENT_AGENT_ACCEPTED,
+    INTENT_AGENT_SPECULATION,
     INTENT_COLLISION_DETECTED,
     INTENT_COLLISION_RESOLVED,
     SCHEMA_EXTRACTION_START,
@@ -72,6 +77,9 @@ public enum ConvEngineAuditStage {
     MCP_TOOL_CALL,
     MCP_TOOL_RESULT,
     MCP_TOOL_ERROR,
+    MCP_TOOL_OUTBOX_ENQUEUED,
+    MCP_TOOL_OUTBOX_DELIVERED,
+    MCP_TOOL_OUTBOX_FAILED,
     MCP_FINAL_ANSWER,
     MCP_USER_FEEDBACK,
 
@@ -105,6 +113,10 @@ public enum ConvEngineAuditStage {
     CONVERSATION_RESET,
     PIPELINE_TIMING,
     CACHE_INSPECTION,
+    LLM_CACHE_HIT,
+    LLM_CACHE_MISS,
+    LLM_USAGE,
+    PROMPT_BUDGET_TRIMMED,
     ENGINE_RETURN,
     RULE_MATCH,
     RULE_APPLIED,
@@ -11,8 +11,10 @@ import com.github.salilvnair.convengine.config.ConvEngineAuditConfig;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeAudit;
 import com.github.salilvnair.convengine.entity.CeConversation;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageAccounting;
 import com.github.salilvnair.convengine.service.ConversationCacheService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.time.OffsetDateTime;
 import java.util.LinkedHashMap;
@@ -39,6 +41,8 @@ public class DbAuditService implements AuditService {
     private final ConvEngineAuditConfig auditConfig;
     private final AuditPersistenceStrategyFactory persistenceStrategyFactory;
     private final ObjectMapper mapper;
+    @Autowired(required = false)
+    private LlmUsageAccounting usageAccounting;
 
     public DbAuditService(
             ConversationCacheService cacheService,
@@ -134,6 +138,7 @@ public class DbAuditService implements AuditService {
             addUserInputParamsMeta(root, meta);
             addContextDictMeta(meta, conversation);
             addSessionMeta(meta, conversationId, conversation);
+            addLlmUsageMeta(meta, conversationId);
             if (auditConfig.isCacheInspector()) {
                 addCacheMeta(root);
             }
@@ -163,6 +168,7 @@ public class DbAuditService implements AuditService {
                 addUserInputParamsMeta(fallback, meta);
                 addContextDictMeta(meta, conversation);
                 addSessionMeta(meta, conversationId, conversation);
+                addLlmUsageMeta(meta, conversationId);
                 if (auditConfig.isCacheInspector()) {
                     addCacheMeta(fallback);
                 }
@@ -355,6 +361,16 @@ public class DbAuditService implements AuditService {
         return fallback;
     }
 
+    private void addLlmUsageMeta(ObjectNode meta, UUID conversationId) {
+        if (usageAccounting == null || !usageAccounting.isAuditMetaEnabled()) {
+            return;
+        }
+        Map<String, Object> usage = usageAccounting.auditMeta(conversationId);
+        if (usage != null) {
+            meta.set("llmUsage", mapper.valueToTree(usage));
+        }
+    }
+
     private void addCacheMeta(ObjectNode root) {
         try {
             EngineSession session = AuditSessionContext.get();
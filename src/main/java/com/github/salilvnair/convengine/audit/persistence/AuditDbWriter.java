@@ -3,6 +3,8 @@ package com.github.salilvnair.convengine.audit.persistence;
 import com.github.salilvnair.convengine.config.ConvEngineAuditConfig;
 import com.github.salilvnair.convengine.config.ConvEngineSqlTableResolver;
 import com.github.salilvnair.convengine.entity.CeAudit;
+import com.github.salilvnair.convengine.jfr.AuditWriteEvent;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,8 @@ public class AuditDbWriter {
     private final ConvEngineAuditConfig auditConfig;
     @Autowired(required = false)
     private ConvEngineSqlTableResolver tableResolver;
+    @Autowired(required = false)
+    private ConvEngineMetrics metrics = ConvEngineMetrics.NOOP;
     private static final DateTimeFormatter SQLITE_TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
     private volatile DbDialect dbDialect;
 
@@ -44,7 +48,16 @@ public class AuditDbWriter {
         String sql = dialect == DbDialect.POSTGRES
                 ? "INSERT INTO " + auditTable + " (conversation_id, stage, payload_json, created_at) VALUES (?, ?, CAST(? AS jsonb), ?)"
                 : "INSERT INTO " + auditTable + " (conversation_id, stage, payload_json, created_at) VALUES (?, ?, ?, ?)";
-        jdbcTemplate.update(sql, ps -> bindAuditInsert(ps, row, dialect));
+        long start = System.nanoTime();
+        AuditWriteEvent jfrEvent = AuditWriteEvent.start();
+        boolean written = false;
+        try {
+            jdbcTemplate.update(sql, ps -> bindAuditInsert(ps, row, dialect));
+            written = true;
+        } finally {
+            AuditWriteEvent.emit(jfrEvent, "single", 1, jfrEvent == null ? 0L : payloadChars(List.of(row)), written);
+        }
+        metrics.recordTime("convengine.audit.write", System.nanoTime() - start, "mode", "single");
     }
 
     public void insertBatch(List<CeAudit> records) {
@@ -60,18 +73,36 @@ public class AuditDbWriter {
                 : "INSERT INTO " + auditTable + " (conversation_id, stage, payload_json, created_at) VALUES (?, ?, ?, ?)";
         for (int i = 0; i < records.size(); i += batchSize) {
             List<CeAudit> chunk = records.subList(i, Math.min(i + batchSize, records.size()));
-            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
-                @Override
-                public void setValues(PreparedStatement ps, int idx) throws SQLException {
-                    bindAuditInsert(ps, chunk.get(idx), dialect);
-                }
+            metrics.recordValue("convengine.audit.batch.size", chunk.size());
+            long start = System.nanoTime();
+            AuditWriteEvent jfrEvent = AuditWriteEvent.start();
+            boolean written = false;
+            try {
+                jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int idx) throws SQLException {
+                        bindAuditInsert(ps, chunk.get(idx), dialect);
+                    }
 
-                @Override
-                public int getBatchSize() {
-                    return chunk.size();
-                }
-            });
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                });
+                written = true;
+            } finally {
+                AuditWriteEvent.emit(jfrEvent, "batch", chunk.size(), jfrEvent == null ? 0L : payloadChars(chunk), written);
+            }
+            metrics.recordTime("convengine.audit.write", System.nanoTime() - start, "mode", "batch");
+        }
+    }
+
+    private static long payloadChars(List<CeAudit> rows) {
+        long total = 0L;
+        for (CeAudit row : rows) {
+            total += row.getPayloadJson() == null ? 0 : row.getPayloadJson().length();
         }
+        return total;
     }
 
     private DbDialect resolveDialect() {
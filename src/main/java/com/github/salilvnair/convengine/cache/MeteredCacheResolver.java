@@ -0,0 +1,129 @@
+package com.github.salilvnair.convengine.cache;
+
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache resolver for ConvEngine's own {@code @Cacheable} services. It resolves caches from the
+ * application's CacheManager as usual and, when metrics are enabled, counts lookups into
+ * {@code convengine.cache.gets} tagged by cache and hit/miss. The CacheManager itself is left
+ * untouched, so cache inspection and consumer caches see the native cache instances.
+ */
+@Component(MeteredCacheResolver.BEAN_NAME)
+public class MeteredCacheResolver extends SimpleCacheResolver {
+
+    public static final String BEAN_NAME = "convEngineCacheResolver";
+    static final String METER = "convengine.cache.gets";
+
+    private final ConvEngineMetrics metrics;
+    private final Map<Cache, Cache> metered = new ConcurrentHashMap<>();
+
+    public MeteredCacheResolver(CacheManager cacheManager, ConvEngineMetrics metrics) {
+        super(cacheManager);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        Collection<? extends Cache> caches = super.resolveCaches(context);
+        if (!metrics.isEnabled()) {
+            return caches;
+        }
+        List<Cache> out = new ArrayList<>(caches.size());
+        for (Cache cache : caches) {
+            out.add(metered.computeIfAbsent(cache, delegate -> new MeteredCache(delegate, metrics)));
+        }
+        return out;
+    }
+
+    static final class MeteredCache implements Cache {
+
+        private final Cache delegate;
+        private final ConvEngineMetrics metrics;
+
+        MeteredCache(Cache delegate, ConvEngineMetrics metrics) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = delegate.get(key);
+            metrics.increment(METER, "cache", delegate.getName(), "result", value == null ? "miss" : "hit");
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
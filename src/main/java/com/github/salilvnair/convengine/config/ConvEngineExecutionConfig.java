@@ -0,0 +1,163 @@
+package com.github.salilvnair.convengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Threads used for ConvEngine background work and limits on concurrent turns. Turns themselves
+ * run on the caller's thread; for servlet request handling on virtual threads set
+ * {@code spring.threads.virtual.enabled=true} in the host application (JDK 21+).
+ */
+@Component
+@ConfigurationProperties(prefix = "convengine.execution")
+@Getter
+@Setter
+public class ConvEngineExecutionConfig {
+
+    /**
+     * PLATFORM runs @Async persistence on a bounded pool. VIRTUAL starts one virtual thread per
+     * task, capped by {@code async.concurrency-limit}; it needs JDK 21+ and falls back to
+     * PLATFORM with a warning on older runtimes.
+     */
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private Async async = new Async();
+    private Turns turns = new Turns();
+    private AsyncTurns asyncTurns = new AsyncTurns();
+    private ParallelSteps parallelSteps = new ParallelSteps();
+    private ContainerData containerData = new ContainerData();
+
+    public enum ThreadMode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        private String threadNamePrefix = "convengine-async-";
+        private int corePoolSize = 2;
+        private int maxPoolSize = 8;
+        /**
+         * PLATFORM mode queue; when full the submitting thread runs the task so persistence is
+         * never dropped.
+         */
+        private int queueCapacity = 1000;
+        /**
+         * VIRTUAL mode: tasks running at once; further submissions block until one finishes.
+         */
+        private int concurrencyLimit = 64;
+        private long shutdownTimeoutMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Turns {
+        /**
+         * Conversation turns processed at once across the engine; 0 means unbounded. Useful once
+         * request threads are virtual and no longer cap concurrency.
+         */
+        private int maxConcurrent = 0;
+        /**
+         * How long a turn waits for a slot before failing with ENGINE_CAPACITY_EXCEEDED.
+         */
+        private long acquireTimeoutMs = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class AsyncTurns {
+        /**
+         * Exposes POST /api/v1/conversation/message/async, which accepts a turn, returns a ticket
+         * and pushes the result over SSE/STOMP as CONVERSATION_RESULT.
+         */
+        private boolean enabled = true;
+        private String threadNamePrefix = "convengine-turn-";
+        private int corePoolSize = 4;
+        private int maxPoolSize = 16;
+        /**
+         * Accepted turns waiting for a worker; beyond this submissions are rejected with
+         * ENGINE_CAPACITY_EXCEEDED instead of queueing without bound.
+         */
+        private int queueCapacity = 200;
+        /**
+         * VIRTUAL mode: turns running at once; further submissions are rejected with
+         * ENGINE_CAPACITY_EXCEEDED rather than blocking the request thread.
+         */
+        private int concurrencyLimit = 256;
+        /**
+         * Turns of one conversation waiting behind its running turn; beyond this the conversation's
+         * submissions are rejected with ENGINE_CAPACITY_EXCEEDED.
+         */
+        private int maxPendingPerConversation = 16;
+        /**
+         * Accepted turns not yet finished across all conversations, running ones included.
+         */
+        private int maxPendingTurns = 2_000;
+        /**
+         * How long a finished ticket, and with it its idempotency key, stays available to pollers.
+         */
+        private long resultTtlMs = 10 * 60 * 1000L;
+        /**
+         * Tickets kept in memory; the oldest finished tickets are evicted first.
+         */
+        private int maxTickets = 10_000;
+        /**
+         * Upper bound for the {@code waitMs} long-poll parameter of the ticket endpoint.
+         */
+        private long maxWaitMs = 30_000L;
+    }
+
+    @Getter
+    @Setter
+    public static class ParallelSteps {
+        /**
+         * Runs the prepare half of adjacent, mutually independent ParallelEngineStep beans
+         * concurrently. Off by default; steps run strictly in DAG order.
+         */
+        private boolean enabled = false;
+        private String threadNamePrefix = "convengine-step-";
+        private int corePoolSize = 4;
+        /**
+         * When every worker is busy the turn thread prepares the step itself.
+         */
+        private int maxPoolSize = 32;
+        /**
+         * VIRTUAL mode: prepares running at once across all turns.
+         */
+        private int concurrencyLimit = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class ContainerData {
+        /**
+         * Fetches all container configs of a turn at once in AddContainerDataStep. Results are
+         * still merged in config order; request/response interceptors and transformers then run
+         * off the turn thread and must not write to the session.
+         */
+        private boolean concurrent = false;
+        private String threadNamePrefix = "convengine-container-";
+        private int corePoolSize = 4;
+        private int maxPoolSize = 16;
+        /**
+         * When full the turn thread fetches the container itself, without a timeout.
+         */
+        private int queueCapacity = 64;
+        /**
+         * VIRTUAL mode: container fetches running at once across all turns.
+         */
+        private int concurrencyLimit = 256;
+        /**
+         * Concurrent mode: wait per container, counted from submission. A late container is
+         * cancelled and handled like a failed one.
+         */
+        private long callTimeoutMs = 10_000L;
+        /**
+         * Fails the turn with CONTAINER_EXECUTION_FAILED when a container fails or times out,
+         * instead of continuing without its data. Applies to both modes.
+         */
+        private boolean failOnError = false;
+    }
+}
@@ -25,6 +25,8 @@ public class ConvEngineFlowConfig {
     private Memory memory = new Memory();
     private QueryRewrite queryRewrite = new QueryRewrite();
     private ConversationHistory conversationHistory = new ConversationHistory();
+    private IntentResolution intentResolution = new IntentResolution();
+    private MergedNlu mergedNlu = new MergedNlu();
 
     @Getter
     @Setter
@@ -38,6 +40,37 @@ public class ConvEngineFlowConfig {
         private int maxTurns = 20;
     }
 
+    @Getter
+    @Setter
+    public static class MergedNlu {
+        /**
+         * When DialogueActStep needs the LLM, asks for dialogue act, rewritten query and intent
+         * in one call and lets AgentIntentResolver reuse the intent part. Responses failing
+         * validation fall back to the separate calls.
+         */
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    public static class IntentResolution {
+        /**
+         * Starts the agent LLM call on the step executor while the classifier runs, instead of
+         * after it. The call is cancelled when the classifier matches on its own.
+         */
+        private boolean speculativeAgent = false;
+        /**
+         * Speculation pauses while more than this share of recent turns were settled by the
+         * classifier, i.e. would have thrown the agent call away, and resumes once enough turns
+         * fall through to the agent again.
+         */
+        private double maxWastedCallRate = 0.5d;
+        /**
+         * Recent classifier outcomes the wasted-call rate is measured over.
+         */
+        private int rateWindow = 50;
+    }
+
     @Getter
     @Setter
     public static class DialogueAct {
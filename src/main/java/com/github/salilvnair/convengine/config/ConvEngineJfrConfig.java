@@ -0,0 +1,26 @@
+package com.github.salilvnair.convengine.config;
+
+import com.github.salilvnair.convengine.jfr.ConvEngineJfr;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Java Flight Recorder events for engine steps, LLM calls, MCP SQL execution and audit writes.
+ * When disabled no event objects are created; when enabled, events cost little unless a
+ * recording with the {@code ConvEngine} category turned on is running.
+ */
+@Component
+@ConfigurationProperties(prefix = "convengine.jfr")
+@Getter
+@Setter
+public class ConvEngineJfrConfig {
+    private boolean enabled = false;
+
+    @PostConstruct
+    void apply() {
+        ConvEngineJfr.setEnabled(enabled);
+    }
+}
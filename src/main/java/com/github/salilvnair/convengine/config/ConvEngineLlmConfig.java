@@ -0,0 +1,248 @@
+package com.github.salilvnair.convengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "convengine.llm")
+@Getter
+@Setter
+public class ConvEngineLlmConfig {
+
+    private Cache cache = new Cache();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Concurrency concurrency = new Concurrency();
+    private CallLog callLog = new CallLog();
+    private Accounting accounting = new Accounting();
+    private PromptBudget promptBudget = new PromptBudget();
+    private Stub stub = new Stub();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = false;
+        /**
+         * Provider/model/version of the consumer LlmClient. Part of every cache and single-flight
+         * key so that a model switch never serves answers produced by the previous model.
+         */
+        private String modelIdentity = "";
+        private long defaultTtlMs = 600000L;
+        private int maxEntries = 2048;
+        /**
+         * Calls made outside an {@code LlmCallSite} scope are passed through unless this is set.
+         */
+        private boolean cacheUntaggedCalls = false;
+        private boolean auditEnabled = true;
+        /**
+         * Optional shared tier (cache_key, response, expires_at, created_at). Blank keeps the
+         * cache in-memory only.
+         */
+        private String table = "";
+        private Map<String, CallSite> callSites = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class SingleFlight {
+        private boolean enabled = false;
+        /**
+         * How long a caller waits on a request another thread already has in flight. 0 waits
+         * as long as the in-flight call takes.
+         */
+        private long waitTimeoutMs = 60000L;
+    }
+
+    /**
+     * AIMD limit on concurrent provider calls. The limit grows by roughly one per round trip
+     * while latency stays within latency-tolerance x the observed baseline, and is multiplied
+     * by backoff-ratio when latency degrades or a call fails.
+     */
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private boolean enabled = false;
+        private int initialLimit = 16;
+        private int minLimit = 2;
+        private int maxLimit = 128;
+        private double latencyTolerance = 2.0d;
+        private double backoffRatio = 0.9d;
+        private int maxQueued = 64;
+        private long maxQueueWaitMs = 2000L;
+        /**
+         * Permits one conversation may hold at once so a single chatty session cannot starve others.
+         */
+        private int maxPerConversation = 4;
+        /**
+         * Per call-site caps keyed by LlmCallSite name, e.g.
+         * {@code convengine.llm.concurrency.call-sites.MCP_PLANNER.max-concurrency=2}.
+         */
+        private Map<String, CallSiteLimit> callSites = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class CallSiteLimit {
+        /**
+         * Hard cap on concurrent provider calls from this call site, within the adaptive limit.
+         */
+        private Integer maxConcurrency;
+    }
+
+    /**
+     * How CeLlmCallLog rows reach the database. IMMEDIATE keeps the one-row JPA save on the async
+     * executor; BATCHED queues rows, on the calling thread, for a background JDBC batch writer.
+     */
+    @Getter
+    @Setter
+    public static class CallLog {
+        private CallLogMode mode = CallLogMode.IMMEDIATE;
+        private int queueCapacity = 10000;
+        private int batchSize = 200;
+        private long flushIntervalMs = 1000L;
+        private ConvEngineAuditConfig.RejectionPolicy overflowPolicy = ConvEngineAuditConfig.RejectionPolicy.DROP_NEWEST;
+        /**
+         * Once the queue is this full, successful calls are only kept at sample-rate; failed calls are always kept.
+         */
+        private double sampleThreshold = 0.8d;
+        private double sampleRate = 0.1d;
+        /**
+         * Store each distinct prompt once in ce_llm_prompt_body and write "sha256:&lt;hash&gt;" into prompt_text.
+         */
+        private boolean dedupePromptBodies = false;
+        private int promptHashCacheSize = 4096;
+    }
+
+    /**
+     * Token and cost accounting for provider calls. Tokens are estimated locally by the
+     * LlmTokenizer bean (a chars-per-token estimate unless the application supplies one) and
+     * aggregated in memory per conversation, step, intent, state, MCP tool and call site.
+     */
+    @Getter
+    @Setter
+    public static class Accounting {
+        private boolean enabled = false;
+        private double charsPerToken = 4.0d;
+        private double promptCostPer1kTokens = 0.0d;
+        private double completionCostPer1kTokens = 0.0d;
+        /**
+         * How often per-conversation deltas are flushed as LLM_USAGE audit rows; 0 disables the flusher.
+         */
+        private long flushIntervalMs = 30000L;
+        /**
+         * Conversations without LLM activity for this long are dropped from memory after their last flush.
+         */
+        private long idleEvictMs = 900000L;
+        private int maxConversations = 10000;
+        private boolean includeInAuditMeta = true;
+    }
+
+    /**
+     * Per-call-site prompt token budget. When a rendered prompt would exceed it, the call site's
+     * low-priority sections (history, observations, optional semantic metadata) are trimmed in
+     * priority order and each trim is audited as PROMPT_BUDGET_TRIMMED.
+     */
+    @Getter
+    @Setter
+    public static class PromptBudget {
+        private boolean enabled = false;
+        /**
+         * Applies to call sites without call-sites.&lt;site&gt;.max-prompt-tokens; 0 means unlimited.
+         */
+        private int defaultMaxPromptTokens = 0;
+        private boolean auditEnabled = true;
+        /**
+         * Per call-site budgets keyed by LlmCallSite name, e.g.
+         * {@code convengine.llm.prompt-budget.call-sites.MCP_PLANNER.max-prompt-tokens=6000}.
+         */
+        private Map<String, CallSiteBudget> callSites = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class CallSiteBudget {
+        /**
+         * Prompt token budget for this call site; overrides default-max-prompt-tokens.
+         */
+        private Integer maxPromptTokens;
+    }
+
+    /**
+     * Local LlmClient stand-in for load tests, benchmarks and offline trace replay. When enabled
+     * it becomes the primary LlmClient bean; no provider is called.
+     */
+    @Getter
+    @Setter
+    public static class Stub {
+        private boolean enabled = false;
+        /**
+         * JSON array or JSON-lines file of recorded responses; file:, classpath: or a plain path.
+         * Entries carry a response and either promptHash or the raw prompt (prompt_text also
+         * accepted, so exported ce_llm_call_log rows load as-is), plus an optional method.
+         */
+        private String recordingsPath = "";
+        /**
+         * Replaced with "?" before prompts are hashed so dates, timestamps and ids rendered into
+         * prompts do not break replay.
+         */
+        private List<String> normalizePatterns = new ArrayList<>(List.of(
+                "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}",
+                "\\d{4}-\\d{2}-\\d{2}([T ]\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?)?(Z|[+-]\\d{2}:?\\d{2})?"));
+        /**
+         * Tried in order for prompts without a recording; the first pattern found in the prompt wins.
+         */
+        private List<Script> scripts = new ArrayList<>();
+        private String fallbackText = "OK";
+        private String fallbackJson = "{}";
+        private LatencyDistribution latencyDistribution = LatencyDistribution.NONE;
+        /**
+         * Fixed delay, uniform midpoint or log-normal median.
+         */
+        private long latencyMs = 0L;
+        private long latencyJitterMs = 0L;
+        private double latencySigma = 0.5d;
+        private long latencyMaxMs = 30000L;
+        /**
+         * Mixed into every latency draw; the same prompt always gets the same delay for a given seed.
+         */
+        private long seed = 42L;
+        private int embeddingDimension = 384;
+        private int embeddingNgram = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Script {
+        private String pattern;
+        /**
+         * generateText, generateJson, generateJsonStrict or generateEmbedding; blank matches any.
+         */
+        private String method;
+        private String response;
+    }
+
+    public enum LatencyDistribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    public enum CallLogMode {
+        IMMEDIATE,
+        BATCHED
+    }
+
+    @Getter
+    @Setter
+    public static class CallSite {
+        private boolean enabled = true;
+        private Long ttlMs;
+    }
+}
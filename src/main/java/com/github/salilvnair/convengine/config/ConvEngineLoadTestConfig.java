@@ -0,0 +1,32 @@
+package com.github.salilvnair.convengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load harness built on ConversationReplayService. Meant for a test deployment running on an
+ * embedded database with {@code convengine.llm.stub.enabled=true}, so turn throughput measures the
+ * engine rather than the LLM provider.
+ */
+@Component
+@ConfigurationProperties(prefix = "convengine.load-test")
+@Getter
+@Setter
+public class ConvEngineLoadTestConfig {
+    /**
+     * Exposes POST /api/v1/conversation/load-test and enables JDBC query counting.
+     */
+    private boolean enabled = false;
+    /**
+     * Wraps DataSource beans so statements executed per turn can be counted.
+     */
+    private boolean countQueries = true;
+    private int maxVirtualUsers = 64;
+    /**
+     * Upper bound on virtualUsers x iterations x trace length; every turn and step sample is kept
+     * in memory for exact percentiles.
+     */
+    private int maxTurns = 100_000;
+}
@@ -20,6 +20,8 @@ public class ConvEngineMcpConfig {
     private Db db = new Db();
     private HttpApi httpApi = new HttpApi();
     private Guardrail guardrail = new Guardrail();
+    private DocumentRetrieval documentRetrieval = new DocumentRetrieval();
+    private Outbox outbox = new Outbox();
     private int toolMaxLoops = 5;
     private long toolCallDelayMs = 0L;
     private int toolCallDelayAfterCalls = 4;
@@ -33,6 +35,8 @@ public class ConvEngineMcpConfig {
         private Semantic semantic = new Semantic();
         private Preflight preflight = new Preflight();
         private String sqlGuardrailTable = "";
+        private SqlGuardrailCache sqlGuardrailCache = new SqlGuardrailCache();
+        private Result result = new Result();
         /**
          * Optional schema-introspection allow-list.
          * Supports exact table names (e.g. ce_config) and wildcard patterns (e.g. ce_*).
@@ -40,6 +44,57 @@ public class ConvEngineMcpConfig {
          */
         private List<String> introspectTables = new ArrayList<>();
 
+        @Getter
+        @Setter
+        public static class Result {
+            /**
+             * JDBC fetch size hint for MCP DB reads (Postgres honours it only inside a transaction).
+             */
+            private int fetchSize = 500;
+            /**
+             * Hard cap on rows read per query, pushed to the driver via Statement#setMaxRows.
+             * Capped results carry truncated/truncatedBy.
+             */
+            private int maxRows = 1000;
+            /**
+             * Also cap each McpDbExecutor tool at its ce_mcp_db_tool.max_rows (column default 200).
+             * Off by default: existing tool rows were never enforced and may carry values lower
+             * than the results they are expected to return.
+             */
+            private boolean enforceToolMaxRows = false;
+            /**
+             * Approximate cap on bytes held for one result set; reading stops once exceeded.
+             */
+            private long maxBytes = 4L * 1024 * 1024;
+            /**
+             * OBJECTS emits the bare row array (wrapped as {rowCount, rows, truncated, truncatedBy}
+             * only when a cap cut the result short); COLUMNAR always emits {columns, rowCount, rows}
+             * with rows as value arrays.
+             */
+            private RowEncoding rowEncoding = RowEncoding.OBJECTS;
+        }
+
+        public enum RowEncoding {
+            OBJECTS,
+            COLUMNAR
+        }
+
+        @Getter
+        @Setter
+        public static class SqlGuardrailCache {
+            /**
+             * Caches read-only verdicts per normalized SQL (literals masked) so repeated guardrail
+             * passes and fixed ce_mcp_db_tool templates are validated once per rule set.
+             */
+            private boolean enabled = true;
+            private int maxEntries = 1024;
+            /**
+             * How long sqlGuardrailTable rules are reused before being re-read; verdicts are dropped
+             * whenever the re-read rules differ.
+             */
+            private long rulesTtlMs = 30000L;
+        }
+
         @Getter
         @Setter
         public static class Query {
@@ -66,6 +121,7 @@ public class ConvEngineMcpConfig {
             private Vector vector = new Vector();
             private Graph graph = new Graph();
             private Clarification clarification = new Clarification();
+            private PromptCache promptCache = new PromptCache();
 
             @Getter
             @Setter
@@ -141,6 +197,20 @@ public class ConvEngineMcpConfig {
                 private int maxEntityOptions = 2;
             }
 
+            @Getter
+            @Setter
+            public static class PromptCache {
+                /**
+                 * Reuses rendered static interpret prompt sections (allowed entities/fields,
+                 * semantic metadata and scoped ce_semantic_* JSON) per scope signature.
+                 */
+                private boolean enabled = true;
+                /**
+                 * Maximum number of scope signatures kept in memory (LRU).
+                 */
+                private int maxEntries = 256;
+            }
+
         }
 
         @Getter
@@ -180,6 +250,35 @@ public class ConvEngineMcpConfig {
              * Maximum correction retries after initial execution attempt.
              */
             private int sqlAutoRepairMaxRetries = 3;
+            /**
+             * Per-table JDBC metadata and semantic catalog cache shared by preflight and SQL repair.
+             */
+            private MetadataCache metadataCache = new MetadataCache();
+
+            @Getter
+            @Setter
+            public static class MetadataCache {
+                private boolean enabled = true;
+                /**
+                 * TTL for cached column/primary-key/foreign-key metadata of one table.
+                 */
+                private long tableTtlMs = 300000L;
+                /**
+                 * TTL for the indexed snapshot of ce_semantic_mapping/join_hint/source_table/source_column rows.
+                 */
+                private long semanticCatalogTtlMs = 60000L;
+                private int maxTables = 512;
+                /**
+                 * Optional single-value query returning the current schema version. When the value changes
+                 * all cached table metadata is dropped. On Postgres this is typically a counter bumped by a
+                 * pg_event_trigger on ddl_command_end, e.g. "SELECT version FROM ce_schema_version".
+                 */
+                private String schemaVersionSql;
+                /**
+                 * Minimum interval between two schemaVersionSql checks.
+                 */
+                private long schemaVersionCheckIntervalMs = 5000L;
+            }
 
             @Getter
             @Setter
@@ -212,6 +311,80 @@ public class ConvEngineMcpConfig {
         }
     }
 
+    /**
+     * Side-effecting tool groups delivered through ce_tool_outbox. The tool call records a row and
+     * returns a tracking id straight away; a background dispatcher invokes the adapter with retries
+     * and exponential backoff. Delivery is at-least-once, so adapters receive an
+     * {@code idempotencyKey} argument to de-duplicate on their side.
+     */
+    @Getter
+    @Setter
+    public static class Outbox {
+        private boolean enabled = false;
+        private List<String> toolGroups = new ArrayList<>(List.of("NOTIFICATION", "WORKFLOW_ACTION"));
+        private long pollIntervalMs = 1000L;
+        private int batchSize = 20;
+        /**
+         * Attempts before a row is marked FAILED and left for inspection.
+         */
+        private int maxAttempts = 5;
+        private long initialBackoffMs = 2000L;
+        private long maxBackoffMs = 300_000L;
+        /**
+         * A row claimed by a dispatcher that died mid-delivery becomes due again after this long.
+         */
+        private long leaseMs = 60_000L;
+    }
+
+    /**
+     * Built-in DOCUMENT_RETRIEVAL adapter: an in-process BM25 index plus LlmClient embeddings,
+     * fused with reciprocal-rank fusion. Works offline with {@code convengine.llm.stub.enabled}.
+     * Leave disabled when the application provides its own DocumentRetrievalExecutorAdapter.
+     */
+    @Getter
+    @Setter
+    public static class DocumentRetrieval {
+        private boolean enabled = false;
+        /**
+         * Directory indexed recursively; files are re-read when their size or modification time
+         * changes and dropped when deleted.
+         */
+        private String directory;
+        private List<String> fileExtensions = new ArrayList<>(List.of(".md", ".txt"));
+        /**
+         * Table indexed incrementally by {@code updatedAtColumn}; rows deleted from the table
+         * stay indexed until restart.
+         */
+        private String table;
+        private String idColumn = "id";
+        private String titleColumn;
+        private String contentColumn = "content";
+        private String updatedAtColumn = "updated_at";
+        /**
+         * Documents are split on paragraph boundaries into chunks of at most this many chars.
+         */
+        private int chunkChars = 1200;
+        /**
+         * Re-scan interval for the directory and table; 0 indexes once at startup.
+         */
+        private long refreshIntervalMs = 300_000L;
+        /**
+         * Embeds each chunk with LlmClient.generateEmbedding; off means BM25 only.
+         */
+        private boolean vectorEnabled = true;
+        private int topK = 5;
+        private int maxTopK = 50;
+        /**
+         * Hits taken from each of the BM25 and vector rankings before fusion.
+         */
+        private int candidatePool = 50;
+        private int rrfK = 60;
+        /**
+         * Cached fused results, keyed by query and topK; any index change invalidates them.
+         */
+        private int cacheMaxEntries = 512;
+    }
+
     @Getter
     @Setter
     public static class HttpApi {
@@ -0,0 +1,38 @@
+package com.github.salilvnair.convengine.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine meters published through Micrometer. Nothing is recorded unless micrometer-core is on
+ * the classpath and the application defines a MeterRegistry (e.g. via spring-boot-actuator).
+ */
+@Component
+@ConfigurationProperties(prefix = "convengine.metrics")
+@Getter
+@Setter
+public class ConvEngineMetricsConfig {
+    private boolean enabled = true;
+    /**
+     * Tags step timers with the session intent and state. Disable when intents/states are
+     * numerous enough to blow up time series cardinality.
+     */
+    private boolean tagIntentState = true;
+    /**
+     * Publishes histogram buckets for timers so percentiles can be aggregated across instances.
+     */
+    private boolean percentileHistogram = false;
+    /**
+     * Client-side percentiles computed per instance, e.g. [0.5, 0.95, 0.99]. Not aggregatable.
+     */
+    private List<Double> percentiles = new ArrayList<>();
+    /**
+     * Publishes the numeric stats() of the LLM limiter, caches, call-log writer and guardrail as gauges.
+     */
+    private boolean componentGauges = true;
+}
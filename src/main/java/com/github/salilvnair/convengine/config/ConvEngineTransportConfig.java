@@ -14,6 +14,7 @@ public class ConvEngineTransportConfig {
 
     private Sse sse = new Sse();
     private Stomp stomp = new Stomp();
+    private ResponseStream responseStream = new ResponseStream();
 
     @Getter
     @Setter
@@ -22,6 +23,15 @@ public class ConvEngineTransportConfig {
         private long emitterTimeoutMs = 30 * 60 * 1000L;
     }
 
+    /**
+     * Forwards TEXT response tokens over the SSE/STOMP channels while the LLM is still generating.
+     */
+    @Getter
+    @Setter
+    public static class ResponseStream {
+        private boolean enabled = false;
+    }
+
     @Getter
     @Setter
     public static class Stomp {
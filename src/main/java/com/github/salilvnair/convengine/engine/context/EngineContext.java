@@ -16,6 +16,8 @@ import java.util.Map;
 public class EngineContext {
     private String conversationId;
     private String userText;
+    // identifies one turn request; a retried request carries the same id
+    private String requestId;
     private Map<String, Object> inputParams;
     private Map<String, Object> userInputParams;
     private EngineSession session;
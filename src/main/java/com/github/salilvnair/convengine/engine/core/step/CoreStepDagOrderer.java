@@ -28,6 +28,57 @@ public class CoreStepDagOrderer {
             String pipelineName,
             @Nullable Predicate<Class<?>> requireStartDependency
     ) {
+        Map<Class<?>, T> byClass = byClass(discovered, contractType);
+        StepGraph graph = graph(byClass.keySet(), pipelineName, requireStartDependency);
+
+        // --------------------------------------------
+        // Topological sort
+        // --------------------------------------------
+        List<Class<?>> sorted = topoSort(byClass.keySet(), graph.outgoing(), graph.incoming(), pipelineName);
+        return sorted.stream().map(byClass::get).toList();
+    }
+
+    /**
+     * Splits an already {@link #order ordered} pipeline into consecutive groups. Runs of adjacent
+     * steps accepted by {@code parallelCapable} with no dependency path between any two of them
+     * share a group; every other step is a group of its own. The flattened groups are exactly
+     * {@code ordered}, so grouping never reorders the pipeline.
+     */
+    public <T> List<List<T>> parallelGroups(
+            List<T> ordered,
+            Class<?> contractType,
+            String pipelineName,
+            @Nullable Predicate<Class<?>> requireStartDependency,
+            Predicate<T> parallelCapable
+    ) {
+        Map<Class<?>, T> byClass = byClass(ordered, contractType);
+        StepGraph graph = graph(byClass.keySet(), pipelineName, requireStartDependency);
+
+        List<List<T>> groups = new ArrayList<>();
+        List<T> current = new ArrayList<>();
+        for (T step : ordered) {
+            boolean capable = parallelCapable.test(step);
+            if (capable && !current.isEmpty() && independentOf(graph.outgoing(), current, step)) {
+                current.add(step);
+                continue;
+            }
+            if (!current.isEmpty()) {
+                groups.add(current);
+            }
+            current = new ArrayList<>();
+            current.add(step);
+            if (!capable) {
+                groups.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    private <T> Map<Class<?>, T> byClass(List<T> discovered, Class<?> contractType) {
         // --------------------------------------------
         // Map step class -> bean (1:1 enforced)
         // --------------------------------------------
@@ -41,11 +92,18 @@ public class CoreStepDagOrderer {
                 throw new IllegalStateException("Duplicate step bean for class: " + cls.getName());
             }
         }
+        return byClass;
+    }
 
+    private StepGraph graph(
+            Set<Class<?>> classes,
+            String pipelineName,
+            @Nullable Predicate<Class<?>> requireStartDependency
+    ) {
         // --------------------------------------------
         // Start-step enforcement (EXACTLY ONE)
         // --------------------------------------------
-        List<Class<?>> starts = byClass.keySet().stream().filter(this::isStart).toList();
+        List<Class<?>> starts = classes.stream().filter(this::isStart).toList();
         if (starts.size() != 1) {
             throw new IllegalStateException("Exactly one start step required for " + pipelineName + ", found: "
                     + starts.stream().map(Class::getSimpleName).collect(Collectors.joining(", ")));
@@ -55,7 +113,7 @@ public class CoreStepDagOrderer {
         // --------------------------------------------
         // Terminal-step enforcement (EXACTLY ONE)
         // --------------------------------------------
-        List<Class<?>> terminals = byClass.keySet().stream().filter(this::isTerminal).toList();
+        List<Class<?>> terminals = classes.stream().filter(this::isTerminal).toList();
         if (terminals.size() != 1) {
             throw new IllegalStateException("Exactly one terminal step required for " + pipelineName + ", found: "
                     + terminals.stream().map(Class::getSimpleName).collect(Collectors.joining(", ")));
@@ -67,7 +125,7 @@ public class CoreStepDagOrderer {
         // --------------------------------------------
         Map<Class<?>, Set<Class<?>>> outgoing = new HashMap<>();
         Map<Class<?>, Set<Class<?>>> incoming = new HashMap<>();
-        for (Class<?> c : byClass.keySet()) {
+        for (Class<?> c : classes) {
             outgoing.put(c, new LinkedHashSet<>());
             incoming.put(c, new LinkedHashSet<>());
         }
@@ -75,9 +133,9 @@ public class CoreStepDagOrderer {
         // --------------------------------------------
         // @MustRunBefore
         // --------------------------------------------
-        for (Class<?> c : byClass.keySet()) {
+        for (Class<?> c : classes) {
             for (Class<?> before : beforeDependencies(c)) {
-                requirePresent(byClass, c, before);
+                requirePresent(classes, c, before);
                 addEdge(outgoing, incoming, c, before);
             }
         }
@@ -85,9 +143,9 @@ public class CoreStepDagOrderer {
         // --------------------------------------------
         // @MustRunAfter (A must run after B => B -> A)
         // --------------------------------------------
-        for (Class<?> c : byClass.keySet()) {
+        for (Class<?> c : classes) {
             for (Class<?> after : afterDependencies(c)) {
-                requirePresent(byClass, c, after);
+                requirePresent(classes, c, after);
                 addEdge(outgoing, incoming, after, c);
             }
         }
@@ -98,7 +156,7 @@ public class CoreStepDagOrderer {
         // Enforce: start -> step
         // --------------------------------------------
         Predicate<Class<?>> startDependency = requireStartDependency == null ? c -> false : requireStartDependency;
-        for (Class<?> c : byClass.keySet()) {
+        for (Class<?> c : classes) {
             if (startDependency.test(c) && !c.equals(start)) {
                 addEdge(outgoing, incoming, start, c);
             }
@@ -111,17 +169,37 @@ public class CoreStepDagOrderer {
         // bootstrap/start steps may legitimately declare
         // @MustRunAfter dependencies.
         // --------------------------------------------
-        for (Class<?> c : byClass.keySet()) {
+        for (Class<?> c : classes) {
             if (!c.equals(terminal)) {
                 addEdge(outgoing, incoming, c, terminal);
             }
         }
+        return new StepGraph(outgoing, incoming);
+    }
 
-        // --------------------------------------------
-        // Topological sort
-        // --------------------------------------------
-        List<Class<?>> sorted = topoSort(byClass.keySet(), outgoing, incoming, pipelineName);
-        return sorted.stream().map(byClass::get).toList();
+    private <T> boolean independentOf(Map<Class<?>, Set<Class<?>>> outgoing, List<T> group, T candidate) {
+        Class<?> target = candidate.getClass();
+        for (T member : group) {
+            if (reaches(outgoing, member.getClass(), target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean reaches(Map<Class<?>, Set<Class<?>>> outgoing, Class<?> from, Class<?> target) {
+        Set<Class<?>> seen = new LinkedHashSet<>();
+        List<Class<?>> pending = new ArrayList<>(outgoing.get(from));
+        while (!pending.isEmpty()) {
+            Class<?> next = pending.remove(pending.size() - 1);
+            if (next.equals(target)) {
+                return true;
+            }
+            if (seen.add(next)) {
+                pending.addAll(outgoing.get(next));
+            }
+        }
+        return false;
     }
 
     private boolean isStart(Class<?> c) {
@@ -151,8 +229,8 @@ public class CoreStepDagOrderer {
         return deps;
     }
 
-    private void requirePresent(Map<Class<?>, ?> byClass, Class<?> owner, Class<?> dep) {
-        if (!byClass.containsKey(dep)) {
+    private void requirePresent(Set<Class<?>> classes, Class<?> owner, Class<?> dep) {
+        if (!classes.contains(dep)) {
             throw new IllegalStateException(owner.getSimpleName() + " depends on missing step: " + dep.getName());
         }
     }
@@ -199,4 +277,7 @@ public class CoreStepDagOrderer {
         }
         return result;
     }
+
+    private record StepGraph(Map<Class<?>, Set<Class<?>>> outgoing, Map<Class<?>, Set<Class<?>>> incoming) {
+    }
 }
@@ -1,17 +1,27 @@
 package com.github.salilvnair.convengine.engine.eval;
 
+import com.github.salilvnair.convengine.config.ConvEngineLoadTestConfig;
 import com.github.salilvnair.convengine.engine.context.EngineContext;
 import com.github.salilvnair.convengine.engine.core.ConversationalEngine;
+import com.github.salilvnair.convengine.engine.eval.jdbc.JdbcQueryCounter;
+import com.github.salilvnair.convengine.engine.eval.model.LatencySummary;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestPlan;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestReport;
 import com.github.salilvnair.convengine.engine.eval.model.TraceExpectation;
 import com.github.salilvnair.convengine.engine.eval.model.TraceReplayResult;
 import com.github.salilvnair.convengine.engine.eval.model.TraceTurnResult;
 import com.github.salilvnair.convengine.engine.model.EngineResult;
+import com.github.salilvnair.convengine.engine.model.StepTiming;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 @Service
@@ -20,6 +30,9 @@ public class ConversationReplayService {
 
     private final ConversationalEngine engine;
 
+    @Autowired(required = false)
+    private ConvEngineLoadTestConfig loadTestConfig;
+
     public TraceReplayResult replay(List<String> userMessages) {
         return replay(userMessages, List.of());
     }
@@ -41,6 +54,151 @@ public class ConversationReplayService {
         return new TraceReplayResult(turns, failures);
     }
 
+    /**
+     * Replays the plan's traces from {@code virtualUsers} concurrent threads, each running
+     * {@code iterations} traces as fresh conversations with think time between turns, and reports
+     * turn throughput, turn and per-step latency percentiles (from the pipeline's step timings),
+     * allocation on the virtual-user threads and JDBC statements per turn when query counting is on.
+     */
+    public LoadTestReport load(LoadTestPlan plan) {
+        if (plan == null || plan.traces() == null || plan.traces().isEmpty()) {
+            throw new IllegalArgumentException("Load test plan needs at least one trace");
+        }
+        List<List<String>> traces = plan.traces().stream().filter(trace -> trace != null && !trace.isEmpty()).toList();
+        if (traces.isEmpty()) {
+            throw new IllegalArgumentException("Load test plan traces are all empty");
+        }
+        int virtualUsers = Math.max(1, plan.virtualUsers());
+        int iterations = Math.max(1, plan.iterations());
+        long longestTrace = traces.stream().mapToLong(List::size).max().orElse(0L);
+        if (loadTestConfig != null) {
+            if (virtualUsers > loadTestConfig.getMaxVirtualUsers()) {
+                throw new IllegalArgumentException("virtualUsers " + virtualUsers + " exceeds convengine.load-test.max-virtual-users="
+                        + loadTestConfig.getMaxVirtualUsers());
+            }
+            if ((long) virtualUsers * iterations * longestTrace > loadTestConfig.getMaxTurns()) {
+                throw new IllegalArgumentException("Plan may run more than convengine.load-test.max-turns="
+                        + loadTestConfig.getMaxTurns() + " turns");
+            }
+        }
+        long seed = plan.seed() == null ? System.nanoTime() : plan.seed();
+        long thinkTimeMs = Math.max(0L, plan.thinkTimeMs());
+        long jitterMs = Math.max(0L, plan.thinkTimeJitterMs());
+        com.sun.management.ThreadMXBean allocationBean = allocationBean();
+        boolean countQueries = JdbcQueryCounter.isActive();
+
+        LoadTestRecorder[] recorders = new LoadTestRecorder[virtualUsers];
+        Thread[] threads = new Thread[virtualUsers];
+        long queriesBefore = JdbcQueryCounter.total();
+        long startedAt = System.nanoTime();
+        for (int vu = 0; vu < virtualUsers; vu++) {
+            int user = vu;
+            LoadTestRecorder recorder = new LoadTestRecorder();
+            recorders[vu] = recorder;
+            threads[vu] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed + user);
+                for (int iteration = 0; iteration < iterations; iteration++) {
+                    List<String> trace = traces.get((user + iteration * virtualUsers) % traces.size());
+                    runTrace(trace, recorder, random, thinkTimeMs, jitterMs, allocationBean, countQueries);
+                }
+            }, "convengine-load-vu-" + vu);
+            threads[vu].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Thread running : threads) {
+                    running.interrupt();
+                }
+                throw new IllegalStateException("Interrupted while waiting for load test virtual users", e);
+            }
+        }
+        long elapsedNs = System.nanoTime() - startedAt;
+        long queriesTotal = JdbcQueryCounter.total() - queriesBefore;
+
+        LoadTestRecorder merged = new LoadTestRecorder();
+        for (LoadTestRecorder recorder : recorders) {
+            merged.merge(recorder);
+        }
+        int turns = merged.turnNanos.size;
+        double elapsedSeconds = Math.max(elapsedNs, 1L) / 1_000_000_000.0d;
+        Map<String, LatencySummary> steps = new LinkedHashMap<>();
+        merged.stepNanos.forEach((step, samples) -> steps.put(step, LoadTestRecorder.summarize(samples)));
+        boolean allocation = allocationBean != null && merged.allocationMeasured && turns > 0;
+        boolean queries = countQueries && merged.turnQueries.size > 0;
+        return new LoadTestReport(
+                virtualUsers,
+                turns,
+                merged.failedTurns,
+                elapsedNs / 1_000_000L,
+                turns / elapsedSeconds,
+                LoadTestRecorder.summarize(merged.turnNanos),
+                steps,
+                allocation ? merged.allocatedBytes / turns : null,
+                allocation ? merged.allocatedBytes / 1_048_576.0d / elapsedSeconds : null,
+                queries ? (double) merged.turnQueries.sum() / merged.turnQueries.size : null,
+                queries ? merged.turnQueries.max() : null,
+                countQueries ? Math.max(0L, queriesTotal - merged.turnQueries.sum()) : null,
+                List.copyOf(merged.errors));
+    }
+
+    private void runTrace(List<String> trace, LoadTestRecorder recorder, SplittableRandom random, long thinkTimeMs,
+                          long jitterMs, com.sun.management.ThreadMXBean allocationBean, boolean countQueries) {
+        String conversationId = UUID.randomUUID().toString();
+        for (int i = 0; i < trace.size(); i++) {
+            if (i > 0 && !think(random, thinkTimeMs, jitterMs)) {
+                return;
+            }
+            EngineContext context = EngineContext.builder()
+                    .conversationId(conversationId)
+                    .userText(trace.get(i))
+                    .inputParams(Map.of())
+                    .userInputParams(Map.of())
+                    .build();
+            long allocatedBefore = allocationBean == null ? 0L : allocationBean.getCurrentThreadAllocatedBytes();
+            long queriesBefore = countQueries ? JdbcQueryCounter.currentThread() : 0L;
+            long startedAt = System.nanoTime();
+            try {
+                engine.process(context);
+            } catch (Exception e) {
+                recorder.recordFailure(e);
+                // the rest of the trace depends on this turn's state
+                return;
+            }
+            long nanos = System.nanoTime() - startedAt;
+            long allocated = allocationBean == null ? -1L : allocationBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            long queries = countQueries ? JdbcQueryCounter.currentThread() - queriesBefore : -1L;
+            List<StepTiming> stepTimings = context.getSession() == null ? null : context.getSession().getStepTimings();
+            recorder.recordTurn(nanos, stepTimings, allocated, queries);
+        }
+    }
+
+    private boolean think(SplittableRandom random, long thinkTimeMs, long jitterMs) {
+        long pause = thinkTimeMs + (jitterMs == 0L ? 0L : random.nextLong(-jitterMs, jitterMs + 1));
+        if (pause <= 0L) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private com.sun.management.ThreadMXBean allocationBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+        return bean;
+    }
+
     private List<String> assertExpectations(List<TraceTurnResult> turns, List<TraceExpectation> expectations) {
         List<String> failures = new ArrayList<>();
         for (TraceExpectation expectation : expectations) {
@@ -0,0 +1,129 @@
+package com.github.salilvnair.convengine.engine.eval;
+
+import com.github.salilvnair.convengine.engine.eval.model.LatencySummary;
+import com.github.salilvnair.convengine.engine.model.StepTiming;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples of one virtual user, merged into the run totals once every user has finished so the
+ * turn loop never contends on shared state.
+ */
+final class LoadTestRecorder {
+
+    static final int MAX_ERRORS = 20;
+
+    final Samples turnNanos = new Samples();
+    final Samples turnQueries = new Samples();
+    final Map<String, Samples> stepNanos = new LinkedHashMap<>();
+    final List<String> errors = new ArrayList<>();
+    long allocatedBytes;
+    boolean allocationMeasured = true;
+    int failedTurns;
+
+    void recordTurn(long nanos, List<StepTiming> stepTimings, long allocated, long queries) {
+        turnNanos.add(nanos);
+        if (allocated < 0) {
+            allocationMeasured = false;
+        } else {
+            allocatedBytes += allocated;
+        }
+        if (queries >= 0) {
+            turnQueries.add(queries);
+        }
+        if (stepTimings == null) {
+            return;
+        }
+        for (StepTiming timing : stepTimings) {
+            if (timing.getStepName() == null || timing.getEndedAtNs() <= 0L) {
+                continue;
+            }
+            stepNanos.computeIfAbsent(timing.getStepName(), ignored -> new Samples())
+                    .add(timing.getEndedAtNs() - timing.getStartedAtNs());
+        }
+    }
+
+    void recordFailure(Throwable error) {
+        failedTurns++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+    }
+
+    void merge(LoadTestRecorder other) {
+        turnNanos.addAll(other.turnNanos);
+        turnQueries.addAll(other.turnQueries);
+        other.stepNanos.forEach((step, samples) -> stepNanos.computeIfAbsent(step, ignored -> new Samples()).addAll(samples));
+        allocatedBytes += other.allocatedBytes;
+        allocationMeasured &= other.allocationMeasured;
+        failedTurns += other.failedTurns;
+        for (String error : other.errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    static LatencySummary summarize(Samples samples) {
+        if (samples.size == 0) {
+            return new LatencySummary(0L, 0.0d, 0.0d, 0.0d, 0.0d, 0.0d);
+        }
+        long[] sorted = Arrays.copyOf(samples.values, samples.size);
+        Arrays.sort(sorted);
+        double total = 0.0d;
+        for (long value : sorted) {
+            total += value;
+        }
+        return new LatencySummary(sorted.length, toMs(total / sorted.length), toMs(percentile(sorted, 50)),
+                toMs(percentile(sorted, 95)), toMs(percentile(sorted, 99)), toMs(sorted[sorted.length - 1]));
+    }
+
+    // nearest-rank
+    static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0d * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double toMs(double nanos) {
+        return Math.round(nanos / 1_000.0d) / 1_000.0d;
+    }
+
+    static final class Samples {
+
+        long[] values = new long[64];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long sum() {
+            long total = 0L;
+            for (int i = 0; i < size; i++) {
+                total += values[i];
+            }
+            return total;
+        }
+
+        long max() {
+            long max = 0L;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+    }
+}
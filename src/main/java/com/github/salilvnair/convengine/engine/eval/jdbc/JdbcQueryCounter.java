@@ -0,0 +1,39 @@
+package com.github.salilvnair.convengine.engine.eval.jdbc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement executions seen by {@link QueryCountingDataSource}, per calling thread and in total.
+ * The per-thread count attributes queries to the turn running on that thread; the total also
+ * includes work the engine hands off to other threads (async persistence, audit flushers).
+ */
+public final class JdbcQueryCounter {
+
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final LongAdder TOTAL = new LongAdder();
+    private static volatile boolean active;
+
+    private JdbcQueryCounter() {
+    }
+
+    static void activate() {
+        active = true;
+    }
+
+    static void increment() {
+        CURRENT.get()[0]++;
+        TOTAL.increment();
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    public static long currentThread() {
+        return CURRENT.get()[0];
+    }
+
+    public static long total() {
+        return TOTAL.sum();
+    }
+}
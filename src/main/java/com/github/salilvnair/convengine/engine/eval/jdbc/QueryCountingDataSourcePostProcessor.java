@@ -0,0 +1,40 @@
+package com.github.salilvnair.convengine.engine.eval.jdbc;
+
+import com.github.salilvnair.convengine.config.ConvEngineLoadTestConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps DataSource beans in {@link QueryCountingDataSource} while the load harness is enabled.
+ * The config is resolved lazily because post-processors are created before regular beans.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "convengine.load-test", name = "enabled", havingValue = "true")
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConvEngineLoadTestConfig> configProvider;
+
+    public QueryCountingDataSourcePostProcessor(ObjectProvider<ConvEngineLoadTestConfig> configProvider) {
+        this.configProvider = configProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof QueryCountingDataSource) {
+            return bean;
+        }
+        ConvEngineLoadTestConfig config = configProvider.getIfAvailable();
+        if (config == null || !config.isCountQueries()) {
+            return bean;
+        }
+        log.info("ConvEngine load harness counting JDBC statements on DataSource bean '{}'", beanName);
+        return new QueryCountingDataSource(dataSource);
+    }
+}
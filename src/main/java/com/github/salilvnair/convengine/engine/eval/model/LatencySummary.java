@@ -0,0 +1,11 @@
+package com.github.salilvnair.convengine.engine.eval.model;
+
+public record LatencySummary(
+        long count,
+        double meanMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        double maxMs
+) {
+}
@@ -0,0 +1,18 @@
+package com.github.salilvnair.convengine.engine.eval.model;
+
+import java.util.List;
+
+/**
+ * Each virtual user replays {@code iterations} traces, each as a new conversation, pausing
+ * {@code thinkTimeMs} +/- {@code thinkTimeJitterMs} between turns. Users pick traces round-robin
+ * from their own offset. Use zero think time to find the engine's throughput ceiling.
+ */
+public record LoadTestPlan(
+        List<List<String>> traces,
+        int virtualUsers,
+        int iterations,
+        long thinkTimeMs,
+        long thinkTimeJitterMs,
+        Long seed
+) {
+}
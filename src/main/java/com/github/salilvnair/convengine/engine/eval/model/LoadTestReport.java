@@ -0,0 +1,27 @@
+package com.github.salilvnair.convengine.engine.eval.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocation figures cover the virtual-user threads only and are null when the JVM cannot
+ * measure per-thread allocation. Query figures are null unless JDBC query counting is active;
+ * {@code dbQueriesOffThread} are statements run on other threads during the test (async
+ * persistence, audit and call-log writers), not attributed to a turn.
+ */
+public record LoadTestReport(
+        int virtualUsers,
+        int turns,
+        int failedTurns,
+        long elapsedMs,
+        double turnsPerSecond,
+        LatencySummary turnLatency,
+        Map<String, LatencySummary> steps,
+        Long allocatedBytesPerTurn,
+        Double allocationRateMbPerSec,
+        Double dbQueriesPerTurn,
+        Long dbQueriesPerTurnMax,
+        Long dbQueriesOffThread,
+        List<String> errors
+) {
+}
@@ -68,6 +68,11 @@ public enum ConversationEngineErrorCode {
             false
     ),
 
+    LLM_CAPACITY_EXCEEDED(
+            "LLM concurrency limit reached",
+            true
+    ),
+
     // =========================
     // Intent resolution errors
     // =========================
@@ -140,6 +145,11 @@ public enum ConversationEngineErrorCode {
             false
     ),
 
+    ENGINE_CAPACITY_EXCEEDED(
+            "Concurrent conversation turn limit reached",
+            true
+    ),
+
     DUPLICATE_ENGINE_STEP(
             "Duplicate EngineStep bean detected",
             false
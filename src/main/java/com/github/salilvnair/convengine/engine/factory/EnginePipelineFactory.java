@@ -2,6 +2,8 @@ package com.github.salilvnair.convengine.engine.factory;
 
 import com.github.salilvnair.convengine.audit.AuditService;
 import com.github.salilvnair.convengine.audit.AuditSessionContext;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.config.ConvEngineMetricsConfig;
 import com.github.salilvnair.convengine.engine.core.step.CoreStepDagOrderer;
 import com.github.salilvnair.convengine.engine.core.step.annotation.RequiresConversationPersisted;
 import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
@@ -11,16 +13,23 @@ import com.github.salilvnair.convengine.engine.hook.EngineStepHook;
 import com.github.salilvnair.convengine.engine.model.StepTiming;
 import com.github.salilvnair.convengine.engine.pipeline.EnginePipeline;
 import com.github.salilvnair.convengine.engine.pipeline.EngineStep;
+import com.github.salilvnair.convengine.engine.pipeline.ParallelEngineStep;
 import com.github.salilvnair.convengine.engine.pipeline.StepResult;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
+import com.github.salilvnair.convengine.jfr.EngineStepEvent;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,6 +41,15 @@ public class EnginePipelineFactory {
     private final List<EngineStepHook> stepHooks;
     private final AuditService audit;
     private final CoreStepDagOrderer dagOrderer;
+    @Autowired(required = false)
+    private ConvEngineMetrics metrics = ConvEngineMetrics.NOOP;
+    @Autowired(required = false)
+    private ConvEngineMetricsConfig metricsConfig;
+    @Autowired(required = false)
+    private ConvEngineExecutionConfig executionConfig;
+    @Autowired(required = false)
+    @Qualifier(ConvEngineExecutorConfiguration.STEP_EXECUTOR)
+    private Executor stepExecutor;
 
     private EnginePipeline pipeline;
 
@@ -69,7 +87,7 @@ public class EnginePipelineFactory {
                     c -> c.getAnnotation(RequiresConversationPersisted.class) != null
             );
             debugPrint(ordered);
-            this.pipeline = new EnginePipeline(wrapWithTiming(ordered));
+            this.pipeline = createPipeline(ordered);
         } catch (ConversationEngineException ex) {
             throw ex;
         } catch (IllegalStateException ex) {
@@ -103,6 +121,35 @@ public class EnginePipelineFactory {
         return pipeline;
     }
 
+    private EnginePipeline createPipeline(List<EngineStep> ordered) {
+        List<EngineStep> wrapped = wrapWithTiming(ordered);
+        if (executionConfig == null || !executionConfig.getParallelSteps().isEnabled() || stepExecutor == null) {
+            return new EnginePipeline(wrapped);
+        }
+        List<List<EngineStep>> groups = dagOrderer.parallelGroups(
+                ordered,
+                EngineStep.class,
+                "ConvEngine pipeline",
+                c -> c.getAnnotation(RequiresConversationPersisted.class) != null,
+                step -> step instanceof ParallelEngineStep<?>
+        );
+        Map<Integer, List<ParallelEngineStep<?>>> parallelGroups = new LinkedHashMap<>();
+        int index = 0;
+        for (List<EngineStep> group : groups) {
+            if (group.size() > 1) {
+                parallelGroups.put(index, group.stream().<ParallelEngineStep<?>>map(step -> (ParallelEngineStep<?>) step).toList());
+                log.info(
+                        "ConvEngine parallel step group: {}",
+                        group.stream()
+                                .map(s -> s.getClass().getSimpleName())
+                                .collect(Collectors.joining(" | "))
+                );
+            }
+            index += group.size();
+        }
+        return new EnginePipeline(wrapped, parallelGroups, stepExecutor);
+    }
+
     // ---------------------------------------------------------------------
     // Debug print
     // ---------------------------------------------------------------------
@@ -120,8 +167,9 @@ public class EnginePipelineFactory {
     // ---------------------------------------------------------------------
     private List<EngineStep> wrapWithTiming(List<EngineStep> steps) {
         Map<Class<?>, EngineStep> wrapped = new ConcurrentHashMap<>();
+        boolean tagIntentState = metricsConfig == null || metricsConfig.isTagIntentState();
         for (EngineStep step : steps) {
-            wrapped.put(step.getClass(), new TimingEngineStep(step, stepHooks, audit));
+            wrapped.put(step.getClass(), new TimingEngineStep(step, stepHooks, audit, metrics, tagIntentState));
         }
         return steps.stream().map(s -> wrapped.get(s.getClass())).toList();
     }
@@ -131,15 +179,21 @@ public class EnginePipelineFactory {
         private final EngineStep delegate;
         private final List<EngineStepHook> stepHooks;
         private final AuditService audit;
+        private final ConvEngineMetrics metrics;
+        private final boolean tagIntentState;
 
         private TimingEngineStep(
                 EngineStep delegate,
                 List<EngineStepHook> stepHooks,
-                AuditService audit
+                AuditService audit,
+                ConvEngineMetrics metrics,
+                boolean tagIntentState
         ) {
             this.delegate = delegate;
             this.stepHooks = stepHooks == null ? List.of() : stepHooks;
             this.audit = audit;
+            this.metrics = metrics == null ? ConvEngineMetrics.NOOP : metrics;
+            this.tagIntentState = tagIntentState;
         }
 
         @Override
@@ -149,6 +203,7 @@ public class EnginePipelineFactory {
             EngineStep.Name typedStepName = EngineStep.Name.fromStepName(stepName);
             String stepClass = delegate.getClass().getName();
             AuditSessionContext.set(session);
+            EngineStepEvent jfrEvent = EngineStepEvent.start();
 
             StepTiming timing = StepTiming.builder()
                     .stepName(stepName)
@@ -172,12 +227,15 @@ public class EnginePipelineFactory {
             }
 
             try {
-                StepResult r = delegate.execute(session);
+                StepResult r = LlmUsageScope.step(stepName, () -> delegate.execute(session));
                 long end = System.nanoTime();
                 timing.setEndedAtNs(end);
                 timing.setDurationMs((end - start) / 1_000_000);
                 timing.setSuccess(true);
                 session.getStepTimings().add(timing);
+                recordStepTime(session, stepName, end - start, ConvEngineMetrics.OUTCOME_SUCCESS);
+                EngineStepEvent.emit(jfrEvent, session.getConversationId(), stepName, session.getIntent(),
+                        session.getState(), r.getClass().getSimpleName(), true);
                 session.recordStepExit(stepName, "STEP_EXIT", end, timing.getDurationMs(), r.getClass().getSimpleName(),
                         stepMetaMap(session),
                         mapOfNullable("resultType", r.getClass().getSimpleName()));
@@ -208,6 +266,9 @@ public class EnginePipelineFactory {
                 timing.setDurationMs((end - start) / 1_000_000);
                 timing.setError(e.getClass().getSimpleName() + ": " + e.getMessage());
                 session.getStepTimings().add(timing);
+                recordStepTime(session, stepName, end - start, ConvEngineMetrics.OUTCOME_ERROR);
+                EngineStepEvent.emit(jfrEvent, session.getConversationId(), stepName, session.getIntent(),
+                        session.getState(), e.getClass().getSimpleName(), false);
                 session.recordStepError(stepName, "STEP_ERROR", end, timing.getDurationMs(), e,
                         stepMetaMap(session),
                         mapOfNullable(
@@ -243,6 +304,14 @@ public class EnginePipelineFactory {
             }
         }
 
+        private void recordStepTime(EngineSession session, String stepName, long durationNanos, String outcome) {
+            metrics.recordTime("convengine.step", durationNanos,
+                    "step", stepName,
+                    "intent", tagIntentState ? session.getIntent() : null,
+                    "state", tagIntentState ? session.getState() : null,
+                    "outcome", outcome);
+        }
+
         private void runHookSafely(
                 Runnable hookCall,
                 EngineStepHook hook,
@@ -0,0 +1,156 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row-capped read path for MCP DB tools. Rows are mapped one at a time while the result set
+ * is open; the row cap is pushed to the driver with setMaxRows (so Postgres stops producing
+ * rows server-side) and the byte cap stops reading and closes the cursor early.
+ */
+public final class McpBoundedQuery {
+
+    public static final String TRUNCATED_BY_MAX_ROWS = "MAX_ROWS";
+    public static final String TRUNCATED_BY_MAX_BYTES = "MAX_BYTES";
+
+    private McpBoundedQuery() {
+    }
+
+    public static BoundedRows query(
+            NamedParameterJdbcTemplate jdbc,
+            String sql,
+            Map<String, ?> params,
+            Limits limits) {
+        BoundedRows result = jdbc.execute(sql, params, (PreparedStatementCallback<BoundedRows>) ps -> {
+            if (limits.fetchSize() > 0) {
+                ps.setFetchSize(limits.fetchSize());
+            }
+            // one extra row tells a capped result apart from one that is exactly maxRows long
+            ps.setMaxRows(limits.maxRows() + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return read(rs, limits);
+            }
+        });
+        return result == null ? BoundedRows.of(List.of()) : result;
+    }
+
+    static BoundedRows read(ResultSet rs, Limits limits) throws java.sql.SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        List<String> columns = new ArrayList<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            columns.add(meta.getColumnLabel(i));
+        }
+        ColumnMapRowMapper rowMapper = new ColumnMapRowMapper();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long bytes = 0L;
+        String truncatedBy = null;
+        while (rs.next()) {
+            if (rows.size() >= limits.maxRows()) {
+                truncatedBy = TRUNCATED_BY_MAX_ROWS;
+                break;
+            }
+            Map<String, Object> row = rowMapper.mapRow(rs, rows.size());
+            long rowBytes = estimateBytes(row);
+            if (!rows.isEmpty() && bytes + rowBytes > limits.maxBytes()) {
+                truncatedBy = TRUNCATED_BY_MAX_BYTES;
+                break;
+            }
+            bytes += rowBytes;
+            rows.add(row);
+        }
+        return new BoundedRows(columns, rows, truncatedBy, bytes);
+    }
+
+    /**
+     * Result for a DB tool call. A complete OBJECTS result stays the bare row array existing
+     * consumers read; COLUMNAR, or any result a cap cut short, becomes {@code {rowCount, rows}}
+     * (plus {@code columns} for COLUMNAR and {@code truncated}/{@code truncatedBy} when capped),
+     * so the planner never mistakes a capped result for the full one.
+     */
+    public static Object toOutput(BoundedRows bounded, ConvEngineMcpConfig.Db.RowEncoding encoding) {
+        if (encoding != ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR && !bounded.truncated()) {
+            return bounded.rows();
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (encoding == ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR) {
+            out.put("columns", bounded.columns());
+        }
+        out.put("rowCount", bounded.rows().size());
+        out.put("rows", encodeRows(bounded.rows(), bounded.columns(), encoding));
+        if (bounded.truncated()) {
+            out.put("truncated", true);
+            out.put("truncatedBy", bounded.truncatedBy());
+        }
+        return out;
+    }
+
+    public static Object encodeRows(List<Map<String, Object>> rows, List<String> columns, ConvEngineMcpConfig.Db.RowEncoding encoding) {
+        if (encoding != ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR) {
+            return rows;
+        }
+        List<List<Object>> out = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            List<Object> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                values.add(row.get(column));
+            }
+            out.add(values);
+        }
+        return out;
+    }
+
+    private static long estimateBytes(Map<String, Object> row) {
+        long total = 16L;
+        for (Map.Entry<String, Object> e : row.entrySet()) {
+            total += e.getKey() == null ? 0 : e.getKey().length();
+            Object value = e.getValue();
+            if (value instanceof CharSequence text) {
+                total += text.length();
+            } else if (value instanceof byte[] bytes) {
+                total += bytes.length;
+            } else if (value != null) {
+                total += 16L;
+            }
+        }
+        return total;
+    }
+
+    public record Limits(int fetchSize, int maxRows, long maxBytes) {
+
+        public static Limits from(ConvEngineMcpConfig mcpConfig) {
+            ConvEngineMcpConfig.Db.Result cfg = mcpConfig == null || mcpConfig.getDb() == null
+                    ? new ConvEngineMcpConfig.Db.Result()
+                    : mcpConfig.getDb().getResult();
+            if (cfg == null) {
+                cfg = new ConvEngineMcpConfig.Db.Result();
+            }
+            return new Limits(cfg.getFetchSize(), Math.max(1, cfg.getMaxRows()), Math.max(1L, cfg.getMaxBytes()));
+        }
+
+        public Limits withMaxRows(int toolMaxRows) {
+            return toolMaxRows > 0 && toolMaxRows < maxRows ? new Limits(fetchSize, toolMaxRows, maxBytes) : this;
+        }
+    }
+
+    public record BoundedRows(List<String> columns, List<Map<String, Object>> rows, String truncatedBy, long estimatedBytes) {
+
+        public static BoundedRows of(List<Map<String, Object>> rows) {
+            List<String> columns = rows.isEmpty() ? List.of() : new ArrayList<>(rows.get(0).keySet());
+            return new BoundedRows(columns, rows, null, 0L);
+        }
+
+        public boolean truncated() {
+            return truncatedBy != null;
+        }
+
+    }
+}
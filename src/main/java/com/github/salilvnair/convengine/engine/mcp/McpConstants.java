@@ -98,6 +98,8 @@ public final class McpConstants {
             "error",
             "queryCode",
             "rowCount",
+            "truncated",
+            "truncatedBy",
             "valid",
             "canExecute",
             "selectedCase",
@@ -9,6 +9,7 @@ import com.github.salilvnair.convengine.engine.mcp.preflight.DbSqlPreflightServi
 import com.github.salilvnair.convengine.engine.mcp.util.McpSqlAuditHelper;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeMcpDbTool;
+import com.github.salilvnair.convengine.jfr.SqlExecutionEvent;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import lombok.RequiredArgsConstructor;
@@ -95,11 +96,18 @@ public class McpDbExecutor {
             DbSqlPreflightService.RepairContext repairContext = preflightService.buildRepairContext(currentSql);
             auditPreflight(session, tool, attempt, maxRetries, sqlAutoRepairEnabled, sqlBeforePreflight, currentSql, currentParams, preflightDiagnostics, repairContext);
             enforceReadOnlySql(currentSql);
+            SqlExecutionEvent jfrEvent = SqlExecutionEvent.start();
             try {
-                List<Map<String, Object>> rows = jdbc.queryForList(currentSql, currentParams);
-                auditSqlExecution(tool, session, currentSql, currentParams, rows, null);
-                return mapper.writeValueAsString(rows);
+                McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.query(jdbc, currentSql, currentParams, limits(tool));
+                SqlExecutionEvent.emit(jfrEvent, session == null ? null : session.getConversationId(),
+                        tool.getTool().getToolCode(), attempt + 1, currentSql, bounded.rows().size(),
+                        bounded.estimatedBytes(), bounded.truncated(), true);
+                jfrEvent = null;
+                auditSqlExecution(tool, session, currentSql, currentParams, bounded.rows(), null);
+                return mapper.writeValueAsString(toOutput(bounded));
             } catch (Exception e) {
+                SqlExecutionEvent.emit(jfrEvent, session == null ? null : session.getConversationId(),
+                        tool.getTool().getToolCode(), attempt + 1, currentSql, 0, 0L, false, false);
                 auditSqlExecution(tool, session, currentSql, currentParams, List.of(), e);
                 if (!sqlAutoRepairEnabled || attempt >= maxRetries) {
                     throw wrapDbExecutionException(e);
@@ -115,6 +123,19 @@ public class McpDbExecutor {
         throw new IllegalStateException("Failed to execute SQL after repair loop");
     }
 
+    private McpBoundedQuery.Limits limits(CeMcpDbTool tool) {
+        McpBoundedQuery.Limits limits = McpBoundedQuery.Limits.from(mcpConfig);
+        ConvEngineMcpConfig.Db.Result result = mcpConfig.getDb().getResult();
+        return result != null && result.isEnforceToolMaxRows() ? limits.withMaxRows(tool.getMaxRows()) : limits;
+    }
+
+    private Object toOutput(McpBoundedQuery.BoundedRows bounded) {
+        ConvEngineMcpConfig.Db.RowEncoding encoding = mcpConfig.getDb().getResult() == null
+                ? ConvEngineMcpConfig.Db.RowEncoding.OBJECTS
+                : mcpConfig.getDb().getResult().getRowEncoding();
+        return McpBoundedQuery.toOutput(bounded, encoding);
+    }
+
     private String repairSql(
             String sql,
             Map<String, Object> params,
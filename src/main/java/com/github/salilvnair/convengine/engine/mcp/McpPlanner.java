@@ -11,6 +11,9 @@ import com.github.salilvnair.convengine.engine.mcp.model.McpObservation;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeMcpPlanner;
 import com.github.salilvnair.convengine.entity.CeMcpTool;
+import com.github.salilvnair.convengine.llm.budget.PromptBudget;
+import com.github.salilvnair.convengine.llm.budget.PromptSection;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
@@ -19,6 +22,7 @@ import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import com.github.salilvnair.convengine.util.JsonUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
@@ -38,6 +42,8 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 @Component
 public class McpPlanner {
+    private static final String SECTION_CONVERSATION_HISTORY = "conversation_history";
+    private static final String SECTION_MCP_OBSERVATIONS = "mcp_observations";
     private static final Pattern TOOL_CODE_IN_BACKTICKS = Pattern.compile("`([A-Za-z0-9_.-]+)`");
 
     private static final String DEFAULT_DB_SYSTEM_PROMPT = """
@@ -111,6 +117,9 @@ public class McpPlanner {
     private final CeConfigResolver configResolver;
     private final VerboseMessagePublisher verbosePublisher;
 
+    @Autowired(required = false)
+    private PromptBudget promptBudget;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     public McpPlan plan(EngineSession session, List<CeMcpTool> tools, List<McpObservation> observations) {
@@ -129,26 +138,25 @@ public class McpPlanner {
         Map<String, Object> contextMap = session.contextDict();
         extraVars.put("context", contextMap);
         PlannerTimeContext timeContext = resolvePlannerTimeContext();
-        PromptTemplateContext ctx = PromptTemplateContext.builder()
-                .templateName("McpPlanner")
-                .systemPrompt(promptSet.systemPrompt())
-                .userPrompt(promptSet.userPrompt())
-                .context(session.getContextJson())
-                .userInput(session.getUserText())
-                .resolvedUserInput(session.getResolvedUserInput())
-                .standaloneQuery(session.getStandaloneQuery())
-                .conversationHistory(JsonUtil.toJson(session.conversionHistory()))
-                .mcpTools(toolsJson)
-                .mcpObservations(obsJson)
-                .currentDate(timeContext.currentDate())
-                .currentDateTime(timeContext.currentDateTime())
-                .currentYear(timeContext.currentYear())
-                .currentTimezone(timeContext.currentTimezone())
-                .currentSystemDateTime(timeContext.currentSystemDateTime())
-                .currentSystemTimezone(timeContext.currentSystemTimezone())
-                .extra(extraVars)
-                .session(session)
-                .build();
+
+        // history goes before observations; both drop their oldest entries first
+        PromptSection historySection = PromptSection.json(SECTION_CONVERSATION_HISTORY, 10,
+                JsonUtil.toJson(session.conversionHistory()), PromptSection.Trim.DROP_HEAD);
+        PromptSection observationsSection = PromptSection.json(SECTION_MCP_OBSERVATIONS, 20,
+                obsJson, PromptSection.Trim.DROP_HEAD);
+        PromptBudget.Result budgetResult = promptBudget == null
+                ? null
+                : promptBudget.fit(session.getConversationId(), LlmCallSite.MCP_PLANNER,
+                        List.of(historySection, observationsSection),
+                        values -> {
+                            PromptTemplateContext budgetCtx = plannerContext(session, promptSet, toolsJson,
+                                    values.get(SECTION_CONVERSATION_HISTORY), values.get(SECTION_MCP_OBSERVATIONS),
+                                    extraVars, timeContext);
+                            return renderer.render(promptSet.systemPrompt(), budgetCtx)
+                                    + "\n\n" + renderer.render(promptSet.userPrompt(), budgetCtx);
+                        });
+        PromptTemplateContext ctx = plannerContext(session, promptSet, toolsJson,
+                historySection.value(), observationsSection.value(), extraVars, timeContext);
 
         String systemPrompt = renderer.render(promptSet.systemPrompt(), ctx);
         String userPrompt = renderer.render(promptSet.userPrompt(), ctx);
@@ -176,6 +184,10 @@ public class McpPlanner {
         inputPayload.put("mcp_observations_compacted", obsPayload.compacted());
         inputPayload.put("mcp_observations_raw_chars", obsPayload.rawChars());
         inputPayload.put("mcp_observations_final_chars", obsPayload.finalChars());
+        if (budgetResult != null && budgetResult.trimmed()) {
+            inputPayload.put("prompt_budget_tokens", budgetResult.budgetTokens());
+            inputPayload.put("prompt_budget_trims", budgetResult.trims());
+        }
         audit.audit(ConvEngineAuditStage.MCP_PLAN_LLM_INPUT, session.getConversationId(), inputPayload);
         verbosePublisher.publish(session, "McpPlanner", "MCP_PLAN_LLM_INPUT", null, null, false, inputPayload);
 
@@ -186,7 +198,9 @@ public class McpPlanner {
 
         String out;
         try {
-            out = llm.generateJson(session, systemPrompt + "\n\n" + userPrompt, schema, session.getContextJson());
+            String prompt = systemPrompt + "\n\n" + userPrompt;
+            out = LlmCallSite.call(LlmCallSite.MCP_PLANNER,
+                    () -> llm.generateJson(session, prompt, schema, session.getContextJson()));
         } catch (Exception e) {
             verbosePublisher.publish(session, "McpPlanner", "MCP_PLAN_LLM_ERROR", null, null, true,
                     Map.of("error", String.valueOf(e.getMessage())));
@@ -211,6 +225,36 @@ public class McpPlanner {
     private record ToolView(String tool_code, String tool_group, String description) {
     }
 
+    private PromptTemplateContext plannerContext(
+            EngineSession session,
+            PlannerPromptSet promptSet,
+            String toolsJson,
+            String historyJson,
+            String obsJson,
+            Map<String, Object> extraVars,
+            PlannerTimeContext timeContext) {
+        return PromptTemplateContext.builder()
+                .templateName("McpPlanner")
+                .systemPrompt(promptSet.systemPrompt())
+                .userPrompt(promptSet.userPrompt())
+                .context(session.getContextJson())
+                .userInput(session.getUserText())
+                .resolvedUserInput(session.getResolvedUserInput())
+                .standaloneQuery(session.getStandaloneQuery())
+                .conversationHistory(historyJson)
+                .mcpTools(toolsJson)
+                .mcpObservations(obsJson)
+                .currentDate(timeContext.currentDate())
+                .currentDateTime(timeContext.currentDateTime())
+                .currentYear(timeContext.currentYear())
+                .currentTimezone(timeContext.currentTimezone())
+                .currentSystemDateTime(timeContext.currentSystemDateTime())
+                .currentSystemTimezone(timeContext.currentSystemTimezone())
+                .extra(extraVars)
+                .session(session)
+                .build();
+    }
+
     private List<CeMcpTool> filterToolsByPlannerPrompt(List<CeMcpTool> tools, PlannerPromptSet promptSet) {
         if (tools == null || tools.isEmpty()) {
             return List.of();
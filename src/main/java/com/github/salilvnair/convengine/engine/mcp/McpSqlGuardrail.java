@@ -6,12 +6,14 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
@@ -23,14 +25,6 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class McpSqlGuardrail {
 
-    private static final Pattern LINE_COMMENT = Pattern.compile("--.*?(\\R|$)");
-    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
-    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
-    private static final Pattern SELECT_INTO = Pattern.compile("\\bselect\\b[\\s\\S]*\\binto\\b");
-    private static final Pattern FOR_UPDATE = Pattern.compile("\\bfor\\s+update\\b");
-    private static final Pattern FUNCTION_CALL =
-            Pattern.compile("\\b(?:[a-z_][a-z0-9_]*\\.)*([a-z_][a-z0-9_]*)\\s*\\(", Pattern.CASE_INSENSITIVE);
-
     private static final Set<String> DEFAULT_FORBIDDEN_TOKENS = Set.of(
             "insert",
             "update",
@@ -116,7 +110,9 @@ public class McpSqlGuardrail {
             "in",
             "interval",
             "join",
+            "lateral",
             "limit",
+            "not",
             "offset",
             "on",
             "or",
@@ -128,6 +124,7 @@ public class McpSqlGuardrail {
             "select",
             "then",
             "union",
+            "using",
             "values",
             "when",
             "where",
@@ -137,38 +134,102 @@ public class McpSqlGuardrail {
     private final NamedParameterJdbcTemplate jdbc;
     private final ConvEngineMcpConfig config;
 
+    private final AtomicLong rulesLoadedAtMs = new AtomicLong();
+    private final AtomicLong verdictHits = new AtomicLong();
+    private final AtomicLong verdictMisses = new AtomicLong();
+    private volatile CustomRules cachedRules;
+    private volatile String cachedRulesTable;
+    private final LinkedHashMap<String, Verdict> verdicts = new LinkedHashMap<>(128, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Verdict> eldest) {
+            return size() > Math.max(1, cacheCfg().getMaxEntries());
+        }
+    };
+
     public void assertReadOnly(String sql, String source) {
-        String normalized = normalize(sql);
-        normalized = stripOptionalTrailingSemicolon(normalized);
-        if (normalized.isBlank()) {
-            throw new IllegalArgumentException(source + " SQL is blank.");
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(sql);
+        CustomRules rules = currentRules();
+        Verdict verdict = cachedVerdict(parsed, rules);
+        if (verdict.rejection() != null) {
+            throw new IllegalArgumentException(source + verdict.rejection());
+        }
+    }
+
+    public void invalidate() {
+        cachedRules = null;
+        synchronized (verdicts) {
+            verdicts.clear();
         }
-        if (normalized.contains(";")) {
-            throw new IllegalArgumentException(source + " SQL must be a single statement.");
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", cacheCfg().isEnabled());
+        synchronized (verdicts) {
+            out.put("size", verdicts.size());
         }
-        if (!(normalized.startsWith("select ") || normalized.startsWith("with "))) {
-            throw new IllegalArgumentException(source + " SQL must begin with SELECT or WITH for read-only execution.");
+        out.put("hits", verdictHits.get());
+        out.put("misses", verdictMisses.get());
+        return out;
+    }
+
+    private Verdict cachedVerdict(McpSqlParser.ParsedSql parsed, CustomRules rules) {
+        if (!cacheCfg().isEnabled()) {
+            return evaluate(parsed, rules);
         }
-        if (SELECT_INTO.matcher(normalized).find()) {
-            throw new IllegalArgumentException(source + " SQL uses SELECT INTO, which is not allowed in read-only mode.");
+        // Masked literals never change the verdict, so the key only carries SQL shape.
+        String key = (parsed.wellFormed() ? "" : "!") + parsed.normalizedSql();
+        synchronized (verdicts) {
+            Verdict cached = verdicts.get(key);
+            if (cached != null && cached.rules() == rules) {
+                verdictHits.incrementAndGet();
+                return cached;
+            }
         }
-        if (FOR_UPDATE.matcher(normalized).find()) {
-            throw new IllegalArgumentException(source + " SQL uses FOR UPDATE, which is not allowed in read-only mode.");
+        verdictMisses.incrementAndGet();
+        Verdict verdict = evaluate(parsed, rules);
+        synchronized (verdicts) {
+            verdicts.put(key, verdict);
+        }
+        return verdict;
+    }
+
+    private Verdict evaluate(McpSqlParser.ParsedSql parsed, CustomRules rules) {
+        Set<String> functions = detectFunctions(parsed);
+        return new Verdict(rejectionReason(parsed, rules, functions), functions, rules);
+    }
+
+    private String rejectionReason(McpSqlParser.ParsedSql parsed, CustomRules rules, Set<String> functions) {
+        if (parsed.kind() == McpSqlParser.StatementKind.EMPTY) {
+            return " SQL is blank.";
+        }
+        if (!parsed.wellFormed()) {
+            return " SQL has an unterminated string, quoted identifier or comment.";
+        }
+        if (parsed.statementCount() > 1) {
+            return " SQL must be a single statement.";
+        }
+        if (parsed.kind() != McpSqlParser.StatementKind.SELECT && parsed.kind() != McpSqlParser.StatementKind.WITH) {
+            return " SQL must begin with SELECT or WITH for read-only execution.";
+        }
+        if (parsed.selectInto()) {
+            return " SQL uses SELECT INTO, which is not allowed in read-only mode.";
+        }
+        if (parsed.lockingClause() != null) {
+            return " SQL uses " + parsed.lockingClause().toUpperCase(Locale.ROOT) + ", which is not allowed in read-only mode.";
         }
 
-        CustomRules rules = loadCustomRules();
         Set<String> forbiddenTokens = new LinkedHashSet<>(DEFAULT_FORBIDDEN_TOKENS);
         forbiddenTokens.addAll(rules.blockedKeywords);
         for (String token : forbiddenTokens) {
-            if (containsWord(normalized, token)) {
-                throw new IllegalArgumentException(source + " SQL contains blocked keyword: " + token.toUpperCase(Locale.ROOT));
+            if (containsKeyword(parsed, token)) {
+                return " SQL contains blocked keyword: " + token.toUpperCase(Locale.ROOT);
             }
         }
 
-        Set<String> functions = detectFunctions(normalized);
         for (String function : functions) {
             if (rules.blockedFunctions.contains(function)) {
-                throw new IllegalArgumentException(source + " SQL uses blocked function: " + function.toUpperCase(Locale.ROOT));
+                return " SQL uses blocked function: " + function.toUpperCase(Locale.ROOT);
             }
         }
 
@@ -177,10 +238,44 @@ public class McpSqlGuardrail {
             permittedFunctions.addAll(rules.allowedFunctions);
             for (String function : functions) {
                 if (!permittedFunctions.contains(function)) {
-                    throw new IllegalArgumentException(source + " SQL uses function not present in the allowlist: " + function.toUpperCase(Locale.ROOT));
+                    return " SQL uses function not present in the allowlist: " + function.toUpperCase(Locale.ROOT);
                 }
             }
         }
+        return null;
+    }
+
+    private CustomRules currentRules() {
+        ConvEngineMcpConfig.Db.SqlGuardrailCache cfg = cacheCfg();
+        String table = config.getDb().getSqlGuardrailTable();
+        if (!cfg.isEnabled()) {
+            return loadCustomRules();
+        }
+        long now = System.currentTimeMillis();
+        CustomRules rules = cachedRules;
+        if (rules != null
+                && Objects.equals(table, cachedRulesTable)
+                && now - rulesLoadedAtMs.get() < cfg.getRulesTtlMs()) {
+            return rules;
+        }
+        CustomRules loaded = loadCustomRules();
+        if (rules != null && rules.equals(loaded) && Objects.equals(table, cachedRulesTable)) {
+            // unchanged rule set: keep the same instance so cached verdicts stay valid
+            loaded = rules;
+        } else {
+            synchronized (verdicts) {
+                verdicts.clear();
+            }
+        }
+        cachedRules = loaded;
+        cachedRulesTable = table;
+        rulesLoadedAtMs.set(now);
+        return loaded;
+    }
+
+    private ConvEngineMcpConfig.Db.SqlGuardrailCache cacheCfg() {
+        ConvEngineMcpConfig.Db.SqlGuardrailCache cfg = config.getDb().getSqlGuardrailCache();
+        return cfg == null ? new ConvEngineMcpConfig.Db.SqlGuardrailCache() : cfg;
     }
 
     private CustomRules loadCustomRules() {
@@ -218,15 +313,9 @@ public class McpSqlGuardrail {
         return new CustomRules(allowedFunctions, blockedFunctions, blockedKeywords);
     }
 
-    private Set<String> detectFunctions(String normalizedSql) {
+    private Set<String> detectFunctions(McpSqlParser.ParsedSql parsed) {
         Set<String> functions = new LinkedHashSet<>();
-        Matcher matcher = FUNCTION_CALL.matcher(normalizedSql);
-        while (matcher.find()) {
-            String token = matcher.group(1);
-            if (token == null) {
-                continue;
-            }
-            String function = token.toLowerCase(Locale.ROOT);
+        for (String function : parsed.functions()) {
             if (!FUNCTION_TOKENS_TO_IGNORE.contains(function)) {
                 functions.add(function);
             }
@@ -234,27 +323,12 @@ public class McpSqlGuardrail {
         return functions;
     }
 
-    private static boolean containsWord(String sql, String token) {
-        return Pattern.compile("\\b" + Pattern.quote(token) + "\\b").matcher(sql).find();
-    }
-
-    private static String normalize(String sql) {
-        String value = sql == null ? "" : sql;
-        value = LINE_COMMENT.matcher(value).replaceAll(" ");
-        value = BLOCK_COMMENT.matcher(value).replaceAll(" ");
-        value = WHITESPACE.matcher(value).replaceAll(" ").trim();
-        return value.toLowerCase(Locale.ROOT);
-    }
-
-    private static String stripOptionalTrailingSemicolon(String sql) {
-        if (sql == null) {
-            return "";
-        }
-        String value = sql.trim();
-        if (value.endsWith(";")) {
-            return value.substring(0, value.length() - 1).trim();
+    private static boolean containsKeyword(McpSqlParser.ParsedSql parsed, String token) {
+        if (token.indexOf(' ') < 0) {
+            return parsed.words().contains(token);
         }
-        return value;
+        // multi-word rule values (e.g. "for share") are matched against literal-masked SQL text
+        return Pattern.compile("\\b" + Pattern.quote(token) + "\\b").matcher(parsed.normalizedSql()).find();
     }
 
     private static String asLower(Object value) {
@@ -275,6 +349,9 @@ public class McpSqlGuardrail {
                 || "yes".equalsIgnoreCase(text);
     }
 
+    private record Verdict(String rejection, Set<String> functions, CustomRules rules) {
+    }
+
     private record CustomRules(Set<String> allowedFunctions,
                                Set<String> blockedFunctions,
                                Set<String> blockedKeywords) {
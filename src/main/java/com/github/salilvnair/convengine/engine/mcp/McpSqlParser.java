@@ -0,0 +1,523 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass SQL lexer shared by the MCP DB guardrail, preflight and semantic query checks.
+ * It is not a full SQL grammar: it tokenizes the statement once (honouring comments, string,
+ * dollar-quoted and quoted-identifier literals) and extracts what those validators need -
+ * statement kind, referenced tables and aliases, qualified column references and function calls.
+ * Results are memoized by SQL text so guardrail passes and repair retries over the same
+ * statement parse it only once.
+ */
+public final class McpSqlParser {
+
+    private static final int CACHE_MAX_ENTRIES = 512;
+
+    private static final Set<String> STRING_PREFIXES = Set.of("e", "b", "x", "n");
+
+    /**
+     * Functions whose argument list uses FROM as a keyword, e.g. EXTRACT(YEAR FROM col).
+     */
+    private static final Set<String> FROM_ARGUMENT_FUNCTIONS = Set.of("extract", "substring", "trim", "overlay", "position");
+
+    private static final Set<String> NON_ALIAS_KEYWORDS = Set.of(
+            "and", "as", "cross", "else", "end", "except", "fetch", "for", "from", "full", "group", "having",
+            "inner", "intersect", "into", "join", "lateral", "left", "limit", "natural", "not", "offset", "on",
+            "or", "order", "outer", "returning", "right", "select", "set", "tablesample", "then", "union",
+            "using", "values", "when", "where", "window", "with"
+    );
+
+    private static final Map<String, ParsedSql> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedSql> eldest) {
+            return size() > CACHE_MAX_ENTRIES;
+        }
+    };
+
+    private McpSqlParser() {
+        // static util
+    }
+
+    public static ParsedSql parse(String sql) {
+        String key = sql == null ? "" : sql;
+        synchronized (CACHE) {
+            ParsedSql cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ParsedSql parsed = analyze(new Lexer(key).tokenize());
+        synchronized (CACHE) {
+            CACHE.put(key, parsed);
+        }
+        return parsed;
+    }
+
+    private static ParsedSql analyze(Lexer lexer) {
+        List<Token> tokens = lexer.tokens;
+        int size = tokens.size();
+
+        StringBuilder normalized = new StringBuilder();
+        int semicolons = 0;
+        Set<String> words = new LinkedHashSet<>();
+        for (Token token : tokens) {
+            if (token.spaceBefore() && !normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(token.type() == TokenType.QUOTED
+                    ? "\"" + token.text().replace("\"", "\"\"") + "\""
+                    : token.text());
+            if (token.isSymbol(";")) {
+                semicolons++;
+            }
+            if (token.type() == TokenType.WORD) {
+                words.add(token.text());
+            }
+        }
+        int statementCount = semicolons == size ? 0 : 1 + semicolons - (tokens.get(size - 1).isSymbol(";") ? 1 : 0);
+
+        StatementKind kind = kindOf(tokens);
+        Set<String> cteNames = kind == StatementKind.WITH ? cteNames(tokens) : Set.of();
+
+        List<TableRef> tableRefs = new ArrayList<>();
+        boolean[] tableTokens = new boolean[size];
+        Set<String> functions = new LinkedHashSet<>();
+        Deque<String> parens = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            Token token = tokens.get(i);
+            if (token.isSymbol("(")) {
+                parens.push(i > 0 && tokens.get(i - 1).isIdentifier() ? tokens.get(i - 1).text() : "");
+                continue;
+            }
+            if (token.isSymbol(")")) {
+                if (!parens.isEmpty()) {
+                    parens.pop();
+                }
+                continue;
+            }
+            if (token.isIdentifier() && i + 1 < size && tokens.get(i + 1).isSymbol("(") && !cteNames.contains(token.text())) {
+                functions.add(token.text());
+            }
+            boolean from = token.isWord("from");
+            if (!from && !token.isWord("join")) {
+                continue;
+            }
+            if (from && (FROM_ARGUMENT_FUNCTIONS.contains(parens.peek() == null ? "" : parens.peek())
+                    || (i > 0 && tokens.get(i - 1).isWord("distinct")))) {
+                continue;
+            }
+            readTableRefs(tokens, i + 1, from, parens.size(), cteNames, tableRefs, tableTokens);
+        }
+
+        List<String> tables = new ArrayList<>();
+        Map<String, String> aliasToTable = new LinkedHashMap<>();
+        for (TableRef ref : tableRefs) {
+            if (!tables.contains(ref.table())) {
+                tables.add(ref.table());
+            }
+            aliasToTable.put(ref.table(), ref.table());
+            if (ref.alias() != null) {
+                aliasToTable.put(ref.alias(), ref.table());
+            }
+        }
+
+        return new ParsedSql(
+                normalized.toString(),
+                kind,
+                lexer.wellFormed,
+                statementCount,
+                Collections.unmodifiableList(tableRefs),
+                Collections.unmodifiableList(tables),
+                Collections.unmodifiableMap(aliasToTable),
+                Collections.unmodifiableList(columnRefs(tokens, tableTokens)),
+                Collections.unmodifiableSet(functions),
+                Collections.unmodifiableSet(words),
+                (kind == StatementKind.SELECT || kind == StatementKind.WITH) && words.contains("into"),
+                lockingClause(tokens));
+    }
+
+    private static void readTableRefs(
+            List<Token> tokens,
+            int start,
+            boolean fromClause,
+            int depth,
+            Set<String> cteNames,
+            List<TableRef> out,
+            boolean[] tableTokens) {
+        int size = tokens.size();
+        int j = start;
+        while (true) {
+            while (j < size && (tokens.get(j).isWord("only") || tokens.get(j).isWord("lateral"))) {
+                j++;
+            }
+            if (j >= size || !tokens.get(j).isIdentifier()) {
+                return;
+            }
+            int nameStart = j;
+            StringBuilder name = new StringBuilder(tokens.get(j).text());
+            j++;
+            while (j + 1 < size && tokens.get(j).isSymbol(".") && tokens.get(j + 1).isIdentifier()) {
+                name.append('.').append(tokens.get(j + 1).text());
+                j += 2;
+            }
+            if (j < size && tokens.get(j).isSymbol("(")) {
+                // table function such as generate_series(...)
+                return;
+            }
+            for (int k = nameStart; k < j; k++) {
+                tableTokens[k] = true;
+            }
+            String alias = null;
+            if (j + 1 < size && tokens.get(j).isWord("as") && tokens.get(j + 1).isIdentifier()) {
+                alias = tokens.get(j + 1).text();
+                j += 2;
+            } else if (j < size && tokens.get(j).isIdentifier()
+                    && !(tokens.get(j).type() == TokenType.WORD && NON_ALIAS_KEYWORDS.contains(tokens.get(j).text()))) {
+                alias = tokens.get(j).text();
+                j++;
+            }
+            String table = name.toString();
+            if (!cteNames.contains(table)) {
+                out.add(new TableRef(table, alias, depth));
+            }
+            if (!fromClause || j >= size || !tokens.get(j).isSymbol(",")) {
+                return;
+            }
+            j++;
+        }
+    }
+
+    private static List<ColumnRef> columnRefs(List<Token> tokens, boolean[] tableTokens) {
+        List<ColumnRef> out = new ArrayList<>();
+        int size = tokens.size();
+        int i = 0;
+        while (i < size) {
+            Token token = tokens.get(i);
+            boolean chainStart = token.isIdentifier()
+                    && !tableTokens[i]
+                    && (i == 0 || !tokens.get(i - 1).isSymbol("."));
+            if (!chainStart) {
+                i++;
+                continue;
+            }
+            List<String> parts = new ArrayList<>();
+            parts.add(token.text());
+            int j = i + 1;
+            while (j + 1 < size && tokens.get(j).isSymbol(".") && tokens.get(j + 1).isIdentifier()) {
+                parts.add(tokens.get(j + 1).text());
+                j += 2;
+            }
+            boolean functionCall = j < size && tokens.get(j).isSymbol("(");
+            if (parts.size() >= 2 && !functionCall) {
+                out.add(new ColumnRef(
+                        String.join(".", parts.subList(0, parts.size() - 1)),
+                        parts.get(parts.size() - 1)));
+            }
+            i = j;
+        }
+        return out;
+    }
+
+    private static StatementKind kindOf(List<Token> tokens) {
+        if (tokens.isEmpty() || tokens.stream().allMatch(t -> t.isSymbol(";"))) {
+            return StatementKind.EMPTY;
+        }
+        Token first = tokens.get(0);
+        if (first.type() != TokenType.WORD) {
+            return StatementKind.OTHER;
+        }
+        return switch (first.text()) {
+            case "select" -> StatementKind.SELECT;
+            case "with" -> StatementKind.WITH;
+            case "insert", "update", "delete", "merge" -> StatementKind.DML;
+            case "create", "alter", "drop", "truncate", "comment", "grant", "revoke" -> StatementKind.DDL;
+            default -> StatementKind.OTHER;
+        };
+    }
+
+    private static Set<String> cteNames(List<Token> tokens) {
+        Set<String> names = new LinkedHashSet<>();
+        int depth = 0;
+        for (int i = 1; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.isSymbol("(")) {
+                depth++;
+                continue;
+            }
+            if (token.isSymbol(")")) {
+                depth--;
+                continue;
+            }
+            if (depth != 0 || !token.isIdentifier()) {
+                continue;
+            }
+            if (token.isWord("select") || token.isWord("insert") || token.isWord("update")
+                    || token.isWord("delete") || token.isWord("values")) {
+                break;
+            }
+            int next = i + 1;
+            if (next < tokens.size() && tokens.get(next).isSymbol("(")) {
+                next = skipParens(tokens, next);
+            }
+            if (next < tokens.size() && tokens.get(next).isWord("as")) {
+                names.add(token.text());
+            }
+        }
+        return names;
+    }
+
+    private static int skipParens(List<Token> tokens, int open) {
+        int depth = 0;
+        for (int i = open; i < tokens.size(); i++) {
+            if (tokens.get(i).isSymbol("(")) {
+                depth++;
+            } else if (tokens.get(i).isSymbol(")") && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return tokens.size();
+    }
+
+    private static String lockingClause(List<Token> tokens) {
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            if (!tokens.get(i).isWord("for")) {
+                continue;
+            }
+            Token next = tokens.get(i + 1);
+            if (next.isWord("update") || next.isWord("share")) {
+                return "for " + next.text();
+            }
+            if (i + 3 < tokens.size() && next.isWord("no") && tokens.get(i + 2).isWord("key") && tokens.get(i + 3).isWord("update")) {
+                return "for no key update";
+            }
+            if (i + 2 < tokens.size() && next.isWord("key") && tokens.get(i + 2).isWord("share")) {
+                return "for key share";
+            }
+        }
+        return null;
+    }
+
+    private static final class Lexer {
+        private final String sql;
+        private final List<Token> tokens = new ArrayList<>();
+        private boolean wellFormed = true;
+
+        private Lexer(String sql) {
+            this.sql = sql;
+        }
+
+        private Lexer tokenize() {
+            int n = sql.length();
+            int i = 0;
+            boolean space = false;
+            while (i < n) {
+                char c = sql.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    space = true;
+                    i++;
+                    continue;
+                }
+                if (c == '-' && sql.startsWith("--", i)) {
+                    while (i < n && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+                        i++;
+                    }
+                    space = true;
+                    continue;
+                }
+                if (c == '/' && sql.startsWith("/*", i)) {
+                    i = skipBlockComment(i);
+                    space = true;
+                    continue;
+                }
+                int start = i;
+                if (c == '\'') {
+                    i = skipQuoted(i, '\'', false);
+                    add(TokenType.STRING, "'?'", space);
+                } else if (c == '"') {
+                    i = skipQuoted(i, '"', false);
+                    String content = sql.substring(start + 1, Math.max(start + 1, i - 1)).replace("\"\"", "\"");
+                    add(TokenType.QUOTED, content.toLowerCase(Locale.ROOT), space);
+                } else if (c == '$' && dollarTagEnd(i) > 0) {
+                    String tag = sql.substring(i, dollarTagEnd(i));
+                    int close = sql.indexOf(tag, i + tag.length());
+                    if (close < 0) {
+                        wellFormed = false;
+                        i = n;
+                    } else {
+                        i = close + tag.length();
+                    }
+                    add(TokenType.STRING, "'?'", space);
+                } else if (c == '$' && i + 1 < n && Character.isDigit(sql.charAt(i + 1))) {
+                    i++;
+                    while (i < n && Character.isDigit(sql.charAt(i))) {
+                        i++;
+                    }
+                    add(TokenType.PARAM, sql.substring(start, i), space);
+                } else if (isIdentifierStart(c)) {
+                    while (i < n && isIdentifierPart(sql.charAt(i))) {
+                        i++;
+                    }
+                    String word = sql.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (i < n && sql.charAt(i) == '\'' && STRING_PREFIXES.contains(word)) {
+                        i = skipQuoted(i, '\'', "e".equals(word));
+                        add(TokenType.STRING, "'?'", space);
+                    } else {
+                        add(TokenType.WORD, word, space);
+                    }
+                } else if (Character.isDigit(c)) {
+                    while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                        i++;
+                    }
+                    add(TokenType.NUMBER, sql.substring(start, i).toLowerCase(Locale.ROOT), space);
+                } else if (c == ':' && sql.startsWith("::", i)) {
+                    i += 2;
+                    add(TokenType.SYMBOL, "::", space);
+                } else if (c == ':' && i + 1 < n && isIdentifierStart(sql.charAt(i + 1))) {
+                    i++;
+                    while (i < n && isIdentifierPart(sql.charAt(i))) {
+                        i++;
+                    }
+                    add(TokenType.PARAM, sql.substring(start, i).toLowerCase(Locale.ROOT), space);
+                } else {
+                    i++;
+                    add(TokenType.SYMBOL, String.valueOf(c), space);
+                }
+                space = false;
+            }
+            return this;
+        }
+
+        private void add(TokenType type, String text, boolean spaceBefore) {
+            tokens.add(new Token(type, text, spaceBefore));
+        }
+
+        private int skipBlockComment(int start) {
+            // Postgres block comments nest.
+            int depth = 0;
+            int i = start;
+            while (i < sql.length()) {
+                if (sql.startsWith("/*", i)) {
+                    depth++;
+                    i += 2;
+                } else if (sql.startsWith("*/", i)) {
+                    i += 2;
+                    if (--depth == 0) {
+                        return i;
+                    }
+                } else {
+                    i++;
+                }
+            }
+            wellFormed = false;
+            return i;
+        }
+
+        private int skipQuoted(int start, char quote, boolean backslashEscapes) {
+            int i = start + 1;
+            while (i < sql.length()) {
+                char ch = sql.charAt(i);
+                if (backslashEscapes && ch == '\\') {
+                    i += 2;
+                    continue;
+                }
+                if (ch == quote) {
+                    if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                        i += 2;
+                        continue;
+                    }
+                    return i + 1;
+                }
+                i++;
+            }
+            wellFormed = false;
+            return sql.length();
+        }
+
+        private int dollarTagEnd(int start) {
+            int i = start + 1;
+            if (i < sql.length() && isIdentifierStart(sql.charAt(i))) {
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+            }
+            return i < sql.length() && sql.charAt(i) == '$' ? i + 1 : -1;
+        }
+
+        private static boolean isIdentifierStart(char c) {
+            return Character.isLetter(c) || c == '_';
+        }
+
+        private static boolean isIdentifierPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+
+    private enum TokenType {
+        WORD, QUOTED, STRING, NUMBER, PARAM, SYMBOL
+    }
+
+    private record Token(TokenType type, String text, boolean spaceBefore) {
+        boolean isSymbol(String symbol) {
+            return type == TokenType.SYMBOL && text.equals(symbol);
+        }
+
+        boolean isWord(String word) {
+            return type == TokenType.WORD && text.equals(word);
+        }
+
+        boolean isIdentifier() {
+            return type == TokenType.WORD || type == TokenType.QUOTED;
+        }
+    }
+
+    public enum StatementKind {
+        EMPTY, SELECT, WITH, DML, DDL, OTHER
+    }
+
+    public record TableRef(String table, String alias, int depth) {
+    }
+
+    public record ColumnRef(String qualifier, String column) {
+    }
+
+    /**
+     * Parse result. Names are lower-cased; string literal contents are masked as '?' in
+     * {@link #normalizedSql()} so checks never match text inside literals.
+     */
+    public record ParsedSql(
+            String normalizedSql,
+            StatementKind kind,
+            boolean wellFormed,
+            int statementCount,
+            List<TableRef> tableRefs,
+            List<String> tables,
+            Map<String, String> aliasToTable,
+            List<ColumnRef> columnRefs,
+            Set<String> functions,
+            Set<String> words,
+            boolean selectInto,
+            String lockingClause) {
+
+        /**
+         * First table of the outermost FROM clause.
+         */
+        public TableRef baseTableRef() {
+            for (TableRef ref : tableRefs) {
+                if (ref.depth() == 0) {
+                    return ref;
+                }
+            }
+            return tableRefs.isEmpty() ? null : tableRefs.get(0);
+        }
+    }
+}
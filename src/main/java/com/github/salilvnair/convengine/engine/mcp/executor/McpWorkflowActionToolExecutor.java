@@ -2,6 +2,7 @@ package com.github.salilvnair.convengine.engine.mcp.executor;
 
 import com.github.salilvnair.convengine.engine.mcp.executor.adapter.WorkflowActionExecutorAdapter;
 import com.github.salilvnair.convengine.engine.mcp.McpConstants;
+import com.github.salilvnair.convengine.engine.mcp.outbox.ToolOutboxService;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeMcpTool;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.Optional;
 public class McpWorkflowActionToolExecutor implements McpToolExecutor {
 
     private final Optional<WorkflowActionExecutorAdapter> adapter;
+    private final ToolOutboxService outbox;
 
     @Override
     public String toolGroup() {
@@ -23,6 +25,9 @@ public class McpWorkflowActionToolExecutor implements McpToolExecutor {
 
     @Override
     public String execute(CeMcpTool tool, Map<String, Object> args, EngineSession session) {
+        if (outbox.handles(tool)) {
+            return outbox.enqueue(tool, args, session);
+        }
         return adapter.map(value -> value.execute(tool, args, session))
                 .orElseThrow(() -> new IllegalStateException("No WorkflowActionExecutorAdapter configured"));
     }
@@ -4,7 +4,9 @@ import com.github.salilvnair.convengine.audit.AuditService;
 import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
 import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
 import com.github.salilvnair.convengine.engine.helper.CeConfigResolver;
+import com.github.salilvnair.convengine.engine.mcp.McpBoundedQuery;
 import com.github.salilvnair.convengine.engine.mcp.McpSqlGuardrail;
+import com.github.salilvnair.convengine.engine.mcp.McpSqlParser;
 import com.github.salilvnair.convengine.engine.mcp.preflight.DbSqlPreflightService;
 import com.github.salilvnair.convengine.engine.mcp.executor.adapter.DbToolHandler;
 import com.github.salilvnair.convengine.engine.mcp.executor.interceptor.PostgresQueryInterceptor;
@@ -13,6 +15,7 @@ import com.github.salilvnair.convengine.engine.mcp.query.semantic.feedback.Seman
 import com.github.salilvnair.convengine.engine.mcp.util.McpSqlAuditHelper;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeMcpTool;
+import com.github.salilvnair.convengine.jfr.SqlExecutionEvent;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import lombok.extern.slf4j.Slf4j;
@@ -57,8 +60,6 @@ public class PostgresQueryToolHandler implements DbToolHandler {
     private static final String CFG_DB_SQL_RECONCILE_SYSTEM_PROMPT = "DB_SQL_RECONCILE_SYSTEM_PROMPT";
     private static final String CFG_DB_SQL_RECONCILE_USER_PROMPT = "DB_SQL_RECONCILE_USER_PROMPT";
     private static final String CFG_DB_SQL_RECONCILE_SCHEMA_JSON = "DB_SQL_RECONCILE_SCHEMA_JSON";
-    private static final Pattern FROM_PATTERN = Pattern.compile("(?i)\\bfrom\\s+([a-zA-Z0-9_.]+)(?:\\s+([a-zA-Z0-9_]+))?");
-    private static final Pattern JOIN_PATTERN = Pattern.compile("(?i)\\bjoin\\s+([a-zA-Z0-9_.]+)(?:\\s+([a-zA-Z0-9_]+))?");
     private static final Pattern PARAM_EQUALITY_PATTERN = Pattern.compile(
             "(?i)\\b([a-zA-Z_][a-zA-Z0-9_]*)\\.([a-zA-Z_][a-zA-Z0-9_]*)\\s*=\\s*:([a-zA-Z_][a-zA-Z0-9_]*)\\b");
     private static final String DEFAULT_DB_SQL_PREFLIGHT_SYSTEM_PROMPT = """
@@ -137,6 +138,7 @@ public class PostgresQueryToolHandler implements DbToolHandler {
             }
             """;
     private static final String TOOL_EXECUTION_FAILED = "Tool execution failed";
+    private static final int MAX_PAYLOAD_ROWS = 100;
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final McpSqlGuardrail sqlGuardrail;
@@ -316,11 +318,16 @@ public class PostgresQueryToolHandler implements DbToolHandler {
             sqlGuardrail.assertReadOnly(currentSql, "postgres.query tool (post-preflight)");
             log.debug("Executing dynamic SQL from MCP (attempt {}/{}): {}", attempt + 1, maxRetries + 1, currentSql);
 
+            SqlExecutionEvent jfrEvent = SqlExecutionEvent.start();
             try {
-                List<Map<String, Object>> rows = jdbcTemplate.queryForList(currentSql, currentParams);
+                McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.query(
+                        jdbcTemplate, currentSql, currentParams, McpBoundedQuery.Limits.from(mcpConfig));
+                SqlExecutionEvent.emit(jfrEvent, session == null ? null : session.getConversationId(), toolCode(),
+                        attempt + 1, currentSql, bounded.rows().size(), bounded.estimatedBytes(), bounded.truncated(), true);
+                jfrEvent = null;
                 args.put("query", currentSql);
                 Map<String, Object> resultPayload = buildSuccessPayload(
-                        rows,
+                        bounded,
                         session,
                         semanticQuestion,
                         currentSql,
@@ -329,8 +336,9 @@ public class PostgresQueryToolHandler implements DbToolHandler {
                 if (reconcileResult.reconcileErrorMessage() != null && !reconcileResult.reconcileErrorMessage().isBlank()) {
                     resultPayload.put("sql_reconcile_error", reconcileResult.reconcileErrorMessage());
                 }
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> auditedRows = (List<Map<String, Object>>) resultPayload.getOrDefault("rows", rows);
+                List<Map<String, Object>> auditedRows = bounded.rows().size() > MAX_PAYLOAD_ROWS
+                        ? bounded.rows().subList(0, MAX_PAYLOAD_ROWS)
+                        : bounded.rows();
                 auditExecution(
                         session,
                         args,
@@ -342,6 +350,8 @@ public class PostgresQueryToolHandler implements DbToolHandler {
                         resultPayload);
                 return resultPayload;
             } catch (Exception e) {
+                SqlExecutionEvent.emit(jfrEvent, session == null ? null : session.getConversationId(), toolCode(),
+                        attempt + 1, currentSql, 0, 0L, false, false);
                 lastError = e;
                 args.put("preflight_diagnostics", preflightDiagnostics == null ? Map.of() : preflightDiagnostics);
                 args.put("root_cause_message", e.getMessage());
@@ -477,14 +487,20 @@ public class PostgresQueryToolHandler implements DbToolHandler {
     }
 
     private Map<String, Object> buildSuccessPayload(
-            List<Map<String, Object>> rows,
+            McpBoundedQuery.BoundedRows bounded,
             EngineSession session,
             String semanticQuestion,
             String sql,
             Map<String, Object> queryParams) {
+        List<Map<String, Object>> rows = bounded.rows();
         Map<String, Object> resultPayload = new LinkedHashMap<>();
         resultPayload.put("status", "SUCCESS");
         resultPayload.put("rowCount", rows.size());
+        if (bounded.truncated()) {
+            log.warn("Query result capped at {} rows ({}); remaining rows were not read", rows.size(), bounded.truncatedBy());
+            resultPayload.put("truncated", true);
+            resultPayload.put("truncatedBy", bounded.truncatedBy());
+        }
 
         Map<String, Object> correctionMeta = new LinkedHashMap<>();
         correctionMeta.put("toolCode", toolCode());
@@ -497,12 +513,18 @@ public class PostgresQueryToolHandler implements DbToolHandler {
                 correctionMeta
         );
 
-        if (rows.size() > 100) {
-            log.warn("Query returned {} rows, truncating to 100 for LLM context safety", rows.size());
-            resultPayload.put("warning", "Result set truncated from " + rows.size() + " to 100 rows.");
-            rows = rows.subList(0, 100);
+        if (rows.size() > MAX_PAYLOAD_ROWS) {
+            log.warn("Query returned {} rows, truncating to {} for LLM context safety", rows.size(), MAX_PAYLOAD_ROWS);
+            resultPayload.put("warning", "Result set truncated from " + rows.size() + " to " + MAX_PAYLOAD_ROWS + " rows.");
+            rows = rows.subList(0, MAX_PAYLOAD_ROWS);
+        }
+        ConvEngineMcpConfig.Db.RowEncoding encoding = mcpConfig == null || mcpConfig.getDb().getResult() == null
+                ? ConvEngineMcpConfig.Db.RowEncoding.OBJECTS
+                : mcpConfig.getDb().getResult().getRowEncoding();
+        if (encoding == ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR) {
+            resultPayload.put("columns", bounded.columns());
         }
-        resultPayload.put("rows", rows);
+        resultPayload.put("rows", McpBoundedQuery.encodeRows(rows, bounded.columns(), encoding));
         return resultPayload;
     }
 
@@ -1042,25 +1064,10 @@ public class PostgresQueryToolHandler implements DbToolHandler {
         if (!aliasToTable.isEmpty()) {
             return aliasToTable;
         }
-        collectAliases(FROM_PATTERN.matcher(sql == null ? "" : sql), aliasToTable);
-        collectAliases(JOIN_PATTERN.matcher(sql == null ? "" : sql), aliasToTable);
+        aliasToTable.putAll(McpSqlParser.parse(sql).aliasToTable());
         return aliasToTable;
     }
 
-    private void collectAliases(Matcher matcher, Map<String, String> aliasToTable) {
-        while (matcher.find()) {
-            String table = normalizeTableName(matcher.group(1));
-            String alias = matcher.group(2);
-            if (table == null || table.isBlank()) {
-                continue;
-            }
-            aliasToTable.put(table, table);
-            if (alias != null && !alias.isBlank()) {
-                aliasToTable.put(alias.toLowerCase(Locale.ROOT), table);
-            }
-        }
-    }
-
     @SuppressWarnings("unchecked")
     private Map<String, String> extractColumnTypeMap(DbSqlPreflightService.RepairContext context) {
         Map<String, String> out = new LinkedHashMap<>();
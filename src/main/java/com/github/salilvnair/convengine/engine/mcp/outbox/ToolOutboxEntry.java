@@ -0,0 +1,48 @@
+package com.github.salilvnair.convengine.engine.mcp.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One row of ce_tool_outbox. Intent, state, user text, the session context JSON and the turn's
+ * input params are kept so the adapter sees the conversation as it was when the call was made.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ToolOutboxEntry {
+
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        DELIVERED,
+        FAILED
+    }
+
+    private String outboxId;
+    private UUID conversationId;
+    private String toolCode;
+    private String toolGroup;
+    private String intentCode;
+    private String stateCode;
+    private String userText;
+    private String argsJson;
+    private String contextJson;
+    private String inputParamsJson;
+    private String idempotencyKey;
+    private Status status;
+    private int attempts;
+    private long nextAttemptAtMs;
+    private String lastError;
+    private String resultText;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,375 @@
+package com.github.salilvnair.convengine.engine.mcp.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.mcp.McpConstants;
+import com.github.salilvnair.convengine.engine.mcp.executor.adapter.NotificationExecutorAdapter;
+import com.github.salilvnair.convengine.engine.mcp.executor.adapter.WorkflowActionExecutorAdapter;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeMcpTool;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes side-effecting tool calls off the turn. {@link #enqueue} records the call in
+ * ce_tool_outbox and answers with a tracking id; a daemon dispatcher claims due rows, invokes the
+ * adapter and retries failures with exponential backoff until max-attempts. A conversation's rows
+ * are delivered in the order they were recorded, across retries and dispatcher nodes: a row only
+ * becomes due once the earlier ones are DELIVERED or FAILED (see {@link ToolOutboxStore#findDue}).
+ * <p>
+ * The adapter runs against a session rebuilt from the row: conversation id, user text, intent,
+ * state, context JSON and the turn's input params. Anything else on the live session (schema,
+ * history, payload, MCP observations) is not available at delivery time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ToolOutboxService {
+
+    public static final String ARG_IDEMPOTENCY_KEY = "idempotencyKey";
+
+    private final ConvEngineMcpConfig mcpConfig;
+    private final ToolOutboxStore store;
+    private final StaticConfigurationCacheService staticCacheService;
+    private final AuditService audit;
+    private final ObjectMapper mapper;
+    private final Optional<NotificationExecutorAdapter> notificationAdapter;
+    private final Optional<WorkflowActionExecutorAdapter> workflowActionAdapter;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        if (!mcpConfig.getOutbox().isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runDispatcher, "convengine-tool-outbox-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public boolean handles(CeMcpTool tool) {
+        ConvEngineMcpConfig.Outbox cfg = mcpConfig.getOutbox();
+        if (!cfg.isEnabled() || tool == null || tool.getToolGroup() == null || cfg.getToolGroups() == null) {
+            return false;
+        }
+        return cfg.getToolGroups().stream().anyMatch(group -> group.equalsIgnoreCase(tool.getToolGroup()));
+    }
+
+    /**
+     * Records the call and returns the receipt handed to the planner in place of the adapter
+     * result. Repeating a call with the same idempotency key returns the existing row.
+     */
+    public String enqueue(CeMcpTool tool, Map<String, Object> args, EngineSession session) {
+        adapterFor(tool.getToolGroup());
+        Map<String, Object> safeArgs = args == null ? Map.of() : args;
+        String idempotencyKey = idempotencyKey(tool, safeArgs, session);
+        ToolOutboxEntry entry = store.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (entry != null && entry.getStatus() == ToolOutboxEntry.Status.FAILED) {
+            // a failed side effect is requested again: free the key and record a new row
+            store.retireIdempotencyKey(entry.getOutboxId(), idempotencyKey);
+            entry = null;
+        }
+        boolean duplicate = entry != null;
+        if (!duplicate) {
+            entry = ToolOutboxEntry.builder()
+                    .outboxId(UUID.randomUUID().toString())
+                    .conversationId(session.getConversationId())
+                    .toolCode(tool.getToolCode())
+                    .toolGroup(tool.getToolGroup())
+                    .intentCode(session.getIntent())
+                    .stateCode(session.getState())
+                    .userText(session.getUserText())
+                    .argsJson(toJson(safeArgs))
+                    .contextJson(session.getContextJson())
+                    .inputParamsJson(session.ejectInputParamsJson())
+                    .idempotencyKey(idempotencyKey)
+                    .status(ToolOutboxEntry.Status.PENDING)
+                    .nextAttemptAtMs(System.currentTimeMillis())
+                    .build();
+            try {
+                store.insert(entry);
+                enqueued.incrementAndGet();
+                wakeDispatcher();
+            } catch (DuplicateKeyException e) {
+                entry = store.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+                duplicate = true;
+            }
+        }
+        if (duplicate) {
+            duplicates.incrementAndGet();
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("outboxId", entry.getOutboxId());
+        payload.put("toolCode", entry.getToolCode());
+        payload.put("toolGroup", entry.getToolGroup());
+        payload.put(ARG_IDEMPOTENCY_KEY, idempotencyKey);
+        payload.put("duplicate", duplicate);
+        audit.audit(ConvEngineAuditStage.MCP_TOOL_OUTBOX_ENQUEUED, session.getConversationId(), payload);
+
+        Map<String, Object> receipt = new LinkedHashMap<>();
+        receipt.put("accepted", true);
+        receipt.put("outboxId", entry.getOutboxId());
+        receipt.put("status", entry.getStatus().name());
+        receipt.put("toolCode", entry.getToolCode());
+        receipt.put("message", duplicate
+                ? "Already recorded for this request; check the status before asking again."
+                : "Queued for delivery; the result is not yet known.");
+        return toJson(receipt);
+    }
+
+    public Optional<Map<String, Object>> status(String outboxId) {
+        return store.findById(outboxId).map(this::view);
+    }
+
+    public List<Map<String, Object>> statusByConversation(UUID conversationId) {
+        return store.findByConversationId(conversationId).stream().map(this::view).toList();
+    }
+
+    private void runDispatcher() {
+        while (running) {
+            try {
+                if (dispatchDue() > 0) {
+                    continue;
+                }
+            } catch (Exception e) {
+                log.warn("Tool outbox dispatcher loop error: {}", e.getMessage());
+            }
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(10L, mcpConfig.getOutbox().getPollIntervalMs())));
+            if (Thread.interrupted()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * One dispatcher pass; returns the number of rows this pass claimed. Audits written during
+     * the pass are flushed at its end, since no turn will flush this thread's deferred batch.
+     */
+    int dispatchDue() {
+        ConvEngineMcpConfig.Outbox cfg = mcpConfig.getOutbox();
+        long now = System.currentTimeMillis();
+        int claimed = 0;
+        try {
+            for (ToolOutboxEntry entry : store.findDue(now, cfg.getBatchSize())) {
+                if (!store.claim(entry.getOutboxId(), entry.getAttempts(), now + Math.max(1000L, cfg.getLeaseMs()))) {
+                    continue;
+                }
+                entry.setAttempts(entry.getAttempts() + 1);
+                claimed++;
+                deliver(entry, cfg);
+            }
+        } finally {
+            if (claimed > 0) {
+                flushAudit();
+            }
+        }
+        return claimed;
+    }
+
+    private void flushAudit() {
+        try {
+            audit.flushPending(null);
+        } catch (Exception e) {
+            log.warn("Tool outbox audit flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(ToolOutboxEntry entry, ConvEngineMcpConfig.Outbox cfg) {
+        try {
+            String result = invoke(entry);
+            store.markDelivered(entry.getOutboxId(), entry.getAttempts(), result);
+            delivered.incrementAndGet();
+            audit.audit(ConvEngineAuditStage.MCP_TOOL_OUTBOX_DELIVERED, entry.getConversationId(), outcome(entry, null));
+        } catch (Exception e) {
+            String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            if (entry.getAttempts() >= Math.max(1, cfg.getMaxAttempts())) {
+                store.markFailed(entry.getOutboxId(), entry.getAttempts(), error);
+                failed.incrementAndGet();
+                audit.audit(ConvEngineAuditStage.MCP_TOOL_OUTBOX_FAILED, entry.getConversationId(), outcome(entry, error));
+                log.warn("Tool outbox delivery failed permanently outboxId={} tool={} attempts={} cause={}",
+                        entry.getOutboxId(), entry.getToolCode(), entry.getAttempts(), error);
+                return;
+            }
+            store.markRetry(entry.getOutboxId(), entry.getAttempts(), error,
+                    System.currentTimeMillis() + backoffMs(entry.getAttempts(), cfg));
+            retried.incrementAndGet();
+            log.debug("Tool outbox delivery retry scheduled outboxId={} attempt={} cause={}",
+                    entry.getOutboxId(), entry.getAttempts(), error);
+        }
+    }
+
+    private String invoke(ToolOutboxEntry entry) throws JsonProcessingException {
+        CeMcpTool tool = staticCacheService.findMcpTool(entry.getToolCode(), entry.getIntentCode(), entry.getStateCode())
+                .orElseThrow(() -> new IllegalStateException("MCP tool is no longer enabled: " + entry.getToolCode()));
+        Map<String, Object> args = new LinkedHashMap<>(mapper.readValue(entry.getArgsJson(), new TypeReference<Map<String, Object>>() {
+        }));
+        args.putIfAbsent(ARG_IDEMPOTENCY_KEY, entry.getIdempotencyKey());
+        EngineSession session = new EngineSession(EngineContext.builder()
+                .conversationId(entry.getConversationId().toString())
+                .userText(entry.getUserText())
+                .inputParams(entry.getInputParamsJson() == null ? null
+                        : mapper.readValue(entry.getInputParamsJson(), new TypeReference<Map<String, Object>>() {
+                }))
+                .build(), mapper);
+        session.setIntent(entry.getIntentCode());
+        session.setState(entry.getStateCode());
+        session.setContextJson(entry.getContextJson());
+        return adapterFor(entry.getToolGroup()).execute(tool, args, session);
+    }
+
+    private ToolAdapter adapterFor(String toolGroup) {
+        String group = toolGroup == null ? "" : toolGroup.toUpperCase(Locale.ROOT);
+        if (McpConstants.TOOL_GROUP_NOTIFICATION.equals(group)) {
+            return notificationAdapter.<ToolAdapter>map(adapter -> adapter::execute)
+                    .orElseThrow(() -> new IllegalStateException("No NotificationExecutorAdapter configured"));
+        }
+        if (McpConstants.TOOL_GROUP_WORKFLOW_ACTION.equals(group)) {
+            return workflowActionAdapter.<ToolAdapter>map(adapter -> adapter::execute)
+                    .orElseThrow(() -> new IllegalStateException("No WorkflowActionExecutorAdapter configured"));
+        }
+        throw new IllegalStateException("Tool group is not supported by the outbox: " + toolGroup);
+    }
+
+    long backoffMs(int attempts, ConvEngineMcpConfig.Outbox cfg) {
+        long base = Math.max(1L, cfg.getInitialBackoffMs());
+        long delay = base << Math.min(20, Math.max(0, attempts - 1));
+        return Math.min(delay, Math.max(base, cfg.getMaxBackoffMs()));
+    }
+
+    /**
+     * An explicit {@code idempotencyKey} argument wins; otherwise the key is the turn's request id
+     * plus the tool and its arguments. A retried request (same requestId, e.g. the async
+     * endpoint's Idempotency-Key) maps onto the rows it already produced, while a new turn with
+     * the same text gets its own request id and therefore a new row.
+     */
+    private String idempotencyKey(CeMcpTool tool, Map<String, Object> args, EngineSession session) {
+        Object explicit = args.get(ARG_IDEMPOTENCY_KEY);
+        String source = explicit != null && !String.valueOf(explicit).isBlank()
+                ? tool.getToolCode() + "|" + explicit
+                : session.getConversationId() + "|" + session.getRequestId() + "|" + tool.getToolCode()
+                        + "|" + canonicalJson(args);
+        return sha256(source);
+    }
+
+    private Map<String, Object> outcome(ToolOutboxEntry entry, String error) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("outboxId", entry.getOutboxId());
+        payload.put("toolCode", entry.getToolCode());
+        payload.put("attempts", entry.getAttempts());
+        if (error != null) {
+            payload.put("error", error);
+        }
+        return payload;
+    }
+
+    private Map<String, Object> view(ToolOutboxEntry entry) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("outboxId", entry.getOutboxId());
+        out.put("conversationId", entry.getConversationId());
+        out.put("toolCode", entry.getToolCode());
+        out.put("toolGroup", entry.getToolGroup());
+        out.put("status", entry.getStatus().name());
+        out.put("attempts", entry.getAttempts());
+        out.put(ARG_IDEMPOTENCY_KEY, entry.getIdempotencyKey());
+        if (entry.getStatus() == ToolOutboxEntry.Status.PENDING) {
+            out.put("nextAttemptAt", Instant.ofEpochMilli(entry.getNextAttemptAtMs()).toString());
+        }
+        out.put("lastError", entry.getLastError());
+        out.put("result", entry.getResultText());
+        out.put("createdAt", entry.getCreatedAt() == null ? null : entry.getCreatedAt().toString());
+        out.put("updatedAt", entry.getUpdatedAt() == null ? null : entry.getUpdatedAt().toString());
+        return out;
+    }
+
+    private void wakeDispatcher() {
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private String canonicalJson(Map<String, Object> args) {
+        try {
+            return mapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(args);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(args);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize tool outbox payload", e);
+        }
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", mcpConfig.getOutbox().isEnabled());
+        out.put("enqueued", enqueued.get());
+        out.put("duplicates", duplicates.get());
+        out.put("delivered", delivered.get());
+        out.put("retried", retried.get());
+        out.put("failed", failed.get());
+        return out;
+    }
+
+    @FunctionalInterface
+    private interface ToolAdapter {
+        String execute(CeMcpTool tool, Map<String, Object> args, EngineSession session);
+    }
+}
@@ -0,0 +1,256 @@
+package com.github.salilvnair.convengine.engine.mcp.outbox;
+
+import com.github.salilvnair.convengine.config.ConvEngineSqlTableResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC access to ce_tool_outbox. Every write is a single auto-committed statement, and state
+ * changes after the claim are guarded by the attempt number, so a dispatcher whose lease expired
+ * cannot overwrite the outcome of the one that re-claimed the row.
+ */
+@Component
+@RequiredArgsConstructor
+public class ToolOutboxStore {
+
+    private static final DateTimeFormatter SQLITE_TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final String COLUMNS = "outbox_id, conversation_id, tool_code, tool_group, intent_code, state_code,"
+            + " user_text, args_json, context_json, input_params_json, idempotency_key, status, attempts,"
+            + " next_attempt_at_ms, last_error, result_text, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    @Autowired(required = false)
+    private ConvEngineSqlTableResolver tableResolver;
+
+    private volatile DbDialect dbDialect;
+
+    public void insert(ToolOutboxEntry entry) {
+        DbDialect dialect = resolveDialect();
+        OffsetDateTime now = OffsetDateTime.now();
+        entry.setCreatedAt(now);
+        entry.setUpdatedAt(now);
+        jdbcTemplate.update("INSERT INTO " + table() + " (" + COLUMNS + ")"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", ps -> {
+            ps.setString(1, entry.getOutboxId());
+            bindUuid(ps, 2, entry.getConversationId(), dialect);
+            ps.setString(3, entry.getToolCode());
+            ps.setString(4, entry.getToolGroup());
+            ps.setString(5, entry.getIntentCode());
+            ps.setString(6, entry.getStateCode());
+            ps.setString(7, entry.getUserText());
+            ps.setString(8, entry.getArgsJson());
+            ps.setString(9, entry.getContextJson());
+            ps.setString(10, entry.getInputParamsJson());
+            ps.setString(11, entry.getIdempotencyKey());
+            ps.setString(12, entry.getStatus().name());
+            ps.setInt(13, entry.getAttempts());
+            ps.setLong(14, entry.getNextAttemptAtMs());
+            ps.setString(15, entry.getLastError());
+            ps.setString(16, entry.getResultText());
+            bindTimestamp(ps, 17, now, dialect);
+            bindTimestamp(ps, 18, now, dialect);
+        });
+    }
+
+    public Optional<ToolOutboxEntry> findById(String outboxId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table() + " WHERE outbox_id = ?",
+                rowMapper(), outboxId).stream().findFirst();
+    }
+
+    public Optional<ToolOutboxEntry> findByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table() + " WHERE idempotency_key = ?",
+                rowMapper(), idempotencyKey).stream().findFirst();
+    }
+
+    public List<ToolOutboxEntry> findByConversationId(UUID conversationId) {
+        DbDialect dialect = resolveDialect();
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table()
+                        + " WHERE conversation_id = ? ORDER BY created_at",
+                ps -> bindUuid(ps, 1, conversationId, dialect), rowMapper());
+    }
+
+    /**
+     * Moves a FAILED row off its idempotency key so the same side effect can be enqueued again;
+     * the row itself stays for inspection.
+     */
+    public boolean retireIdempotencyKey(String outboxId, String idempotencyKey) {
+        DbDialect dialect = resolveDialect();
+        return jdbcTemplate.update("UPDATE " + table() + " SET idempotency_key = ?, updated_at = ?"
+                + " WHERE outbox_id = ? AND idempotency_key = ? AND status = 'FAILED'", ps -> {
+            ps.setString(1, "failed:" + outboxId);
+            bindTimestamp(ps, 2, OffsetDateTime.now(), dialect);
+            ps.setString(3, outboxId);
+            ps.setString(4, idempotencyKey);
+        }) == 1;
+    }
+
+    /**
+     * PENDING rows whose retry time has come, plus IN_PROGRESS rows whose lease has run out.
+     * A row is only due once every earlier row of its conversation is DELIVERED or FAILED, so a
+     * row waiting on backoff, or held by another dispatcher, keeps the later ones back.
+     */
+    public List<ToolOutboxEntry> findDue(long nowMs, int limit) {
+        String table = table();
+        String sql = "SELECT " + COLUMNS + " FROM " + table + " o"
+                + " WHERE o.status IN ('PENDING', 'IN_PROGRESS') AND o.next_attempt_at_ms <= ?"
+                + " AND NOT EXISTS (SELECT 1 FROM " + table + " e"
+                + " WHERE e.conversation_id = o.conversation_id AND e.status IN ('PENDING', 'IN_PROGRESS')"
+                + " AND (e.created_at < o.created_at OR (e.created_at = o.created_at AND e.outbox_id < o.outbox_id)))"
+                + " ORDER BY o.next_attempt_at_ms, o.created_at";
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setMaxRows(Math.max(1, limit));
+            ps.setLong(1, nowMs);
+            return ps;
+        }, rowMapper());
+    }
+
+    /**
+     * Takes the row for one delivery attempt; false when another dispatcher got there first.
+     */
+    public boolean claim(String outboxId, int attempts, long leaseUntilMs) {
+        DbDialect dialect = resolveDialect();
+        return jdbcTemplate.update("UPDATE " + table()
+                + " SET status = 'IN_PROGRESS', attempts = attempts + 1, next_attempt_at_ms = ?, updated_at = ?"
+                + " WHERE outbox_id = ? AND attempts = ? AND status IN ('PENDING', 'IN_PROGRESS')", ps -> {
+            ps.setLong(1, leaseUntilMs);
+            bindTimestamp(ps, 2, OffsetDateTime.now(), dialect);
+            ps.setString(3, outboxId);
+            ps.setInt(4, attempts);
+        }) == 1;
+    }
+
+    public boolean markDelivered(String outboxId, int attempts, String resultText) {
+        return finish(outboxId, attempts, ToolOutboxEntry.Status.DELIVERED, null, resultText, 0L);
+    }
+
+    public boolean markRetry(String outboxId, int attempts, String error, long nextAttemptAtMs) {
+        return finish(outboxId, attempts, ToolOutboxEntry.Status.PENDING, error, null, nextAttemptAtMs);
+    }
+
+    public boolean markFailed(String outboxId, int attempts, String error) {
+        return finish(outboxId, attempts, ToolOutboxEntry.Status.FAILED, error, null, 0L);
+    }
+
+    private boolean finish(String outboxId, int attempts, ToolOutboxEntry.Status status, String error,
+                           String resultText, long nextAttemptAtMs) {
+        DbDialect dialect = resolveDialect();
+        return jdbcTemplate.update("UPDATE " + table()
+                + " SET status = ?, last_error = ?, result_text = ?, next_attempt_at_ms = ?, updated_at = ?"
+                + " WHERE outbox_id = ? AND attempts = ? AND status = 'IN_PROGRESS'", ps -> {
+            ps.setString(1, status.name());
+            ps.setString(2, error);
+            ps.setString(3, resultText);
+            ps.setLong(4, nextAttemptAtMs);
+            bindTimestamp(ps, 5, OffsetDateTime.now(), dialect);
+            ps.setString(6, outboxId);
+            ps.setInt(7, attempts);
+        }) == 1;
+    }
+
+    private RowMapper<ToolOutboxEntry> rowMapper() {
+        DbDialect dialect = resolveDialect();
+        return (rs, rowNum) -> ToolOutboxEntry.builder()
+                .outboxId(rs.getString("outbox_id"))
+                .conversationId(UUID.fromString(rs.getString("conversation_id")))
+                .toolCode(rs.getString("tool_code"))
+                .toolGroup(rs.getString("tool_group"))
+                .intentCode(rs.getString("intent_code"))
+                .stateCode(rs.getString("state_code"))
+                .userText(rs.getString("user_text"))
+                .argsJson(rs.getString("args_json"))
+                .contextJson(rs.getString("context_json"))
+                .inputParamsJson(rs.getString("input_params_json"))
+                .idempotencyKey(rs.getString("idempotency_key"))
+                .status(ToolOutboxEntry.Status.valueOf(rs.getString("status")))
+                .attempts(rs.getInt("attempts"))
+                .nextAttemptAtMs(rs.getLong("next_attempt_at_ms"))
+                .lastError(rs.getString("last_error"))
+                .resultText(rs.getString("result_text"))
+                .createdAt(readTimestamp(rs, "created_at", dialect))
+                .updatedAt(readTimestamp(rs, "updated_at", dialect))
+                .build();
+    }
+
+    private void bindUuid(PreparedStatement ps, int index, UUID value, DbDialect dialect) throws SQLException {
+        if (dialect == DbDialect.POSTGRES) {
+            ps.setObject(index, value);
+        } else {
+            ps.setString(index, value == null ? null : value.toString());
+        }
+    }
+
+    private void bindTimestamp(PreparedStatement ps, int index, OffsetDateTime value, DbDialect dialect)
+            throws SQLException {
+        if (dialect == DbDialect.SQLITE) {
+            ps.setString(index, SQLITE_TS_FMT.format(value.toLocalDateTime()));
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+
+    private OffsetDateTime readTimestamp(ResultSet rs, String column, DbDialect dialect) throws SQLException {
+        if (dialect == DbDialect.SQLITE) {
+            String value = rs.getString(column);
+            return value == null ? null
+                    : LocalDateTime.parse(value, SQLITE_TS_FMT).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        }
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toInstant().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private String table() {
+        return tableResolver == null ? "ce_tool_outbox" : tableResolver.resolveTableName("ce_tool_outbox");
+    }
+
+    private DbDialect resolveDialect() {
+        DbDialect cached = dbDialect;
+        if (cached != null) {
+            return cached;
+        }
+        String url = null;
+        try {
+            if (jdbcTemplate.getDataSource() != null) {
+                try (var conn = jdbcTemplate.getDataSource().getConnection()) {
+                    url = conn.getMetaData().getURL();
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        String normalized = url == null ? "" : url.toLowerCase(Locale.ROOT);
+        if (normalized.contains(":sqlite:")) {
+            cached = DbDialect.SQLITE;
+        } else if (normalized.contains(":postgresql:")) {
+            cached = DbDialect.POSTGRES;
+        } else if (normalized.contains(":oracle:")) {
+            cached = DbDialect.ORACLE;
+        } else {
+            cached = DbDialect.OTHER;
+        }
+        dbDialect = cached;
+        return cached;
+    }
+
+    private enum DbDialect {
+        SQLITE,
+        POSTGRES,
+        ORACLE,
+        OTHER
+    }
+}
@@ -0,0 +1,234 @@
+package com.github.salilvnair.convengine.engine.mcp.preflight;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * TTL cache of per-table JDBC metadata and of the indexed semantic catalog used by
+ * {@link DbSqlPreflightService}. Loading stays in the preflight service; this class only
+ * decides what is fresh. Entries are dropped on TTL expiry, on {@link #invalidateAll()}
+ * (cache refresh endpoint) and whenever the configured schema-version query reports a
+ * different value (DDL event).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DbSchemaMetadataCache {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConvEngineMcpConfig mcpConfig;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong lastVersionCheckAtMs = new AtomicLong();
+    private final AtomicReference<String> schemaVersion = new AtomicReference<>();
+    private final ConcurrentHashMap<String, Stamped<TableMetadata>> tables = new ConcurrentHashMap<>();
+    private volatile Stamped<SemanticCatalog> semanticCatalog;
+
+    public boolean isEnabled() {
+        ConvEngineMcpConfig.Db.Preflight.MetadataCache cfg = cacheCfg();
+        return cfg != null && cfg.isEnabled();
+    }
+
+    public Map<String, TableMetadata> getTables(
+            Collection<String> tableNames,
+            Function<Set<String>, Map<String, TableMetadata>> loader) {
+        Set<String> requested = new LinkedHashSet<>(tableNames);
+        if (!isEnabled()) {
+            return loader.apply(requested);
+        }
+        checkSchemaVersion();
+        long ttlMs = cacheCfg().getTableTtlMs();
+        long now = System.currentTimeMillis();
+        Map<String, TableMetadata> found = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String table : requested) {
+            Stamped<TableMetadata> cached = tables.get(table);
+            if (cached != null && !cached.isExpired(now, ttlMs)) {
+                found.put(table, cached.value());
+            } else {
+                missing.add(table);
+            }
+        }
+        hits.addAndGet(found.size());
+        if (!missing.isEmpty()) {
+            misses.addAndGet(missing.size());
+            long loadGeneration = generation.get();
+            Map<String, TableMetadata> loaded = loader.apply(missing);
+            if (loaded != null) {
+                found.putAll(loaded);
+                if (generation.get() == loadGeneration) {
+                    store(loaded, now);
+                }
+            }
+        }
+        Map<String, TableMetadata> out = new LinkedHashMap<>();
+        for (String table : requested) {
+            TableMetadata metadata = found.get(table);
+            if (metadata != null) {
+                out.put(table, metadata);
+            }
+        }
+        return out;
+    }
+
+    public SemanticCatalog getSemanticCatalog(Supplier<SemanticCatalog> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Stamped<SemanticCatalog> cached = semanticCatalog;
+        if (cached != null && !cached.isExpired(now, cacheCfg().getSemanticCatalogTtlMs())) {
+            hits.incrementAndGet();
+            return cached.value();
+        }
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        SemanticCatalog loaded = loader.get();
+        if (loaded != null && generation.get() == loadGeneration) {
+            semanticCatalog = new Stamped<>(loaded, now);
+        }
+        return loaded;
+    }
+
+    public void invalidateTable(String table) {
+        if (table != null) {
+            tables.remove(table);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        tables.clear();
+        semanticCatalog = null;
+        log.info("ConvEngine: preflight schema metadata cache invalidated (generation={}).", generation.get());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", isEnabled());
+        out.put("generation", generation.get());
+        out.put("tables", tables.size());
+        out.put("semanticCatalogCached", semanticCatalog != null);
+        out.put("schemaVersion", schemaVersion.get());
+        out.put("hits", hits.get());
+        out.put("misses", misses.get());
+        return out;
+    }
+
+    private void store(Map<String, TableMetadata> loaded, long loadedAtMs) {
+        for (Map.Entry<String, TableMetadata> entry : loaded.entrySet()) {
+            // Unknown tables are not cached so a freshly created table shows up on the next attempt.
+            if (entry.getValue() != null && !entry.getValue().columns().isEmpty()) {
+                tables.put(entry.getKey(), new Stamped<>(entry.getValue(), loadedAtMs));
+            }
+        }
+        int maxTables = Math.max(1, cacheCfg().getMaxTables());
+        while (tables.size() > maxTables) {
+            tables.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().loadedAtMs()))
+                    .map(Map.Entry::getKey)
+                    .ifPresent(tables::remove);
+        }
+    }
+
+    private void checkSchemaVersion() {
+        ConvEngineMcpConfig.Db.Preflight.MetadataCache cfg = cacheCfg();
+        String sql = cfg.getSchemaVersionSql();
+        if (sql == null || sql.isBlank()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastVersionCheckAtMs.get();
+        if (last > 0 && now - last < cfg.getSchemaVersionCheckIntervalMs()) {
+            return;
+        }
+        if (!lastVersionCheckAtMs.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            String current = jdbcTemplate.queryForObject(sql, String.class);
+            String previous = schemaVersion.getAndSet(current);
+            if (previous != null && !Objects.equals(previous, current)) {
+                log.info("ConvEngine: schema version changed {} -> {}, dropping cached table metadata.", previous, current);
+                invalidateAll();
+            }
+        } catch (Exception e) {
+            log.debug("ConvEngine: schema version check failed: {}", e.getMessage());
+        }
+    }
+
+    private ConvEngineMcpConfig.Db.Preflight.MetadataCache cacheCfg() {
+        if (mcpConfig == null || mcpConfig.getDb() == null || mcpConfig.getDb().getPreflight() == null) {
+            return null;
+        }
+        return mcpConfig.getDb().getPreflight().getMetadataCache();
+    }
+
+    private record Stamped<T>(T value, long loadedAtMs) {
+        boolean isExpired(long now, long ttlMs) {
+            return ttlMs <= 0 || now - loadedAtMs >= ttlMs;
+        }
+    }
+
+    public record TableMetadata(
+            String table,
+            Map<String, Integer> columnTypes,
+            List<Map<String, Object>> columns,
+            List<String> primaryKeys,
+            List<ImportedKey> importedKeys) {
+    }
+
+    public record ImportedKey(String fkTable, String fkColumn, String pkTable, String pkColumn) {
+    }
+
+    /**
+     * Catalog rows in their original order plus row positions keyed by normalized table name.
+     */
+    public record IndexedRows(List<Map<String, Object>> rows, Map<String, List<Integer>> rowIndexesByTable) {
+
+        public List<Map<String, Object>> forTables(Collection<String> normalizedTables) {
+            if (normalizedTables == null || normalizedTables.isEmpty()) {
+                return rows;
+            }
+            TreeSet<Integer> indexes = new TreeSet<>();
+            for (String table : normalizedTables) {
+                indexes.addAll(rowIndexesByTable.getOrDefault(table, List.of()));
+            }
+            List<Map<String, Object>> out = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                out.add(rows.get(index));
+            }
+            return out;
+        }
+    }
+
+    public record SemanticCatalog(
+            IndexedRows mappingRows,
+            IndexedRows joinHintRows,
+            IndexedRows sourceTableRows,
+            IndexedRows sourceColumnRows,
+            Set<String> semanticColumns,
+            Set<String> semanticJoinPairs) {
+    }
+}
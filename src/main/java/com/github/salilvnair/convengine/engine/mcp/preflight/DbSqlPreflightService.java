@@ -1,6 +1,7 @@
 package com.github.salilvnair.convengine.engine.mcp.preflight;
 
 import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.engine.mcp.McpSqlParser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -25,9 +27,6 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class DbSqlPreflightService {
 
-    private static final Pattern FROM_PATTERN = Pattern.compile("(?i)\\bfrom\\s+([a-zA-Z0-9_.]+)(?:\\s+([a-zA-Z0-9_]+))?");
-    private static final Pattern JOIN_PATTERN = Pattern.compile("(?i)\\bjoin\\s+([a-zA-Z0-9_.]+)(?:\\s+([a-zA-Z0-9_]+))?");
-    private static final Pattern ALIAS_COLUMN_PATTERN = Pattern.compile("\\b([a-zA-Z_][a-zA-Z0-9_]*)\\.([a-zA-Z_][a-zA-Z0-9_]*)\\b");
     private static final Pattern PARAM_EQUALITY_PATTERN = Pattern.compile(
             "(?i)\\b([a-zA-Z_][a-zA-Z0-9_]*)\\.([a-zA-Z_][a-zA-Z0-9_]*)\\s*=\\s*:([a-zA-Z_][a-zA-Z0-9_]*)\\b");
     private static final Pattern LITERAL_EQUALITY_PATTERN = Pattern.compile(
@@ -35,6 +34,7 @@ public class DbSqlPreflightService {
 
     private final JdbcTemplate jdbcTemplate;
     private final ConvEngineMcpConfig mcpConfig;
+    private final DbSchemaMetadataCache metadataCache;
 
     public PreflightResult prepare(String sql, Map<String, Object> params) {
         ConvEngineMcpConfig.Db.Preflight cfg = mcpConfig.getDb().getPreflight();
@@ -46,26 +46,27 @@ public class DbSqlPreflightService {
         String workingSql = sql;
         Map<String, Object> diagnostics = new LinkedHashMap<>();
 
-        Map<String, String> aliasToTable = extractAliasToTable(workingSql);
-        List<String> orderedTables = extractOrderedTables(workingSql);
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(workingSql);
+        Map<String, String> aliasToTable = parsed.aliasToTable();
+        List<String> orderedTables = parsed.tables();
         diagnostics.put("validatedSql", workingSql);
         diagnostics.put("aliasToTable", new LinkedHashMap<>(aliasToTable));
         diagnostics.put("referencedTables", new ArrayList<>(orderedTables));
-        diagnostics.put("referencedColumns", extractResolvedColumns(aliasToTable, workingSql));
+        diagnostics.put("referencedColumns", extractResolvedColumns(aliasToTable, parsed.columnRefs()));
 
         Map<String, Map<String, Integer>> tableColumns = loadTableColumns(aliasToTable.values(), false);
         diagnostics.put("schemaIntrospection", summarizeSchemaIntrospection(aliasToTable, tableColumns));
 
         if (cfg.getSemantic() != null && cfg.getSemantic().isEnabled()) {
             diagnostics.put("semanticValidation",
-                    validateSemanticMappings(aliasToTable, tableColumns, workingSql, cfg.getSemantic()));
+                    validateSemanticMappings(aliasToTable, tableColumns, parsed.columnRefs(), cfg.getSemantic()));
             diagnostics.put("joinValidation",
                     validateSemanticJoinPath(orderedTables, aliasToTable.values(), cfg.getSemantic()));
         }
 
         if (cfg.isStrictSchema()) {
             validateReferencedTablesExist(aliasToTable, tableColumns);
-            validateReferencedColumns(aliasToTable, tableColumns, workingSql);
+            validateReferencedColumns(aliasToTable, tableColumns, parsed.columnRefs());
         }
         if (cfg.isCoerceNumeric()) {
             coerceNumericParams(aliasToTable, tableColumns, mutableParams, workingSql, cfg);
@@ -80,11 +81,12 @@ public class DbSqlPreflightService {
             return Map.of();
         }
         Map<String, Object> diagnostics = new LinkedHashMap<>();
-        Map<String, String> aliasToTable = extractAliasToTable(sql);
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(sql);
+        Map<String, String> aliasToTable = parsed.aliasToTable();
         diagnostics.put("validatedSql", sql);
         diagnostics.put("aliasToTable", new LinkedHashMap<>(aliasToTable));
-        diagnostics.put("referencedTables", extractOrderedTables(sql));
-        diagnostics.put("referencedColumns", extractResolvedColumns(aliasToTable, sql));
+        diagnostics.put("referencedTables", new ArrayList<>(parsed.tables()));
+        diagnostics.put("referencedColumns", extractResolvedColumns(aliasToTable, parsed.columnRefs()));
         return diagnostics;
     }
 
@@ -114,11 +116,10 @@ public class DbSqlPreflightService {
     }
 
     public RepairContext buildRepairContext(String sql) {
-        Map<String, String> aliasToTable = extractAliasToTable(sql == null ? "" : sql);
-        List<String> orderedTables = extractOrderedTables(sql == null ? "" : sql);
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(sql);
         return new RepairContext(
-                loadRuntimeSchemaDetails(orderedTables),
-                loadRuntimeSemanticHints(aliasToTable, orderedTables));
+                loadRuntimeSchemaDetails(parsed.tables()),
+                loadRuntimeSemanticHints(new LinkedHashMap<>(parsed.aliasToTable()), parsed.tables()));
     }
 
     private Map<String, Object> loadRuntimeSchemaDetails(List<String> orderedTables) {
@@ -126,24 +127,71 @@ public class DbSqlPreflightService {
         if (orderedTables == null || orderedTables.isEmpty()) {
             return schema;
         }
+        Map<String, DbSchemaMetadataCache.TableMetadata> metadataByTable = loadTableMetadata(orderedTables);
+        for (String table : orderedTables) {
+            String normalized = normalizeTableName(table);
+            DbSchemaMetadataCache.TableMetadata metadata = normalized == null ? null : metadataByTable.get(normalized);
+            if (metadata == null) {
+                continue;
+            }
+            List<Map<String, Object>> foreignKeys = new ArrayList<>();
+            for (DbSchemaMetadataCache.ImportedKey key : metadata.importedKeys()) {
+                Map<String, Object> fk = new LinkedHashMap<>();
+                fk.put("fkColumn", key.fkColumn());
+                fk.put("pkTable", key.pkTable());
+                fk.put("pkColumn", key.pkColumn());
+                foreignKeys.add(fk);
+            }
+            Map<String, Object> oneTable = new LinkedHashMap<>();
+            oneTable.put("table", normalized);
+            oneTable.put("columns", metadata.columns());
+            oneTable.put("primaryKeys", metadata.primaryKeys());
+            oneTable.put("foreignKeys", foreignKeys);
+            schema.put(normalized, oneTable);
+        }
+        return schema;
+    }
+
+    private Map<String, DbSchemaMetadataCache.TableMetadata> loadTableMetadata(Iterable<String> tables) {
+        Set<String> uniqueTables = new LinkedHashSet<>();
+        if (tables != null) {
+            for (String table : tables) {
+                String normalized = normalizeTableName(table);
+                if (normalized != null) {
+                    uniqueTables.add(normalized);
+                }
+            }
+        }
+        if (uniqueTables.isEmpty()) {
+            return Map.of();
+        }
+        return metadataCache.getTables(uniqueTables, this::readTableMetadata);
+    }
+
+    private Map<String, DbSchemaMetadataCache.TableMetadata> readTableMetadata(Set<String> tables) {
+        Map<String, DbSchemaMetadataCache.TableMetadata> out = new LinkedHashMap<>();
         jdbcTemplate.execute((Connection conn) -> {
             DatabaseMetaData meta = conn.getMetaData();
-            for (String table : orderedTables) {
-                String normalized = normalizeTableName(table);
-                if (normalized == null) {
-                    continue;
+            for (String table : tables) {
+                String rawTable = stripSchema(table);
+                List<Map<String, Object>> columns = readColumns(meta, rawTable);
+                Map<String, Integer> columnTypes = new HashMap<>();
+                for (Map<String, Object> column : columns) {
+                    Object name = column.get("name");
+                    if (name != null) {
+                        columnTypes.put(String.valueOf(name).toLowerCase(Locale.ROOT), (Integer) column.get("dataType"));
+                    }
                 }
-                String rawTable = stripSchema(normalized);
-                Map<String, Object> oneTable = new LinkedHashMap<>();
-                oneTable.put("table", normalized);
-                oneTable.put("columns", readColumns(meta, rawTable));
-                oneTable.put("primaryKeys", readPrimaryKeys(meta, rawTable));
-                oneTable.put("foreignKeys", readForeignKeys(meta, rawTable));
-                schema.put(normalized, oneTable);
+                out.put(table, new DbSchemaMetadataCache.TableMetadata(
+                        table,
+                        Collections.unmodifiableMap(columnTypes),
+                        Collections.unmodifiableList(columns),
+                        Collections.unmodifiableList(readPrimaryKeys(meta, rawTable)),
+                        Collections.unmodifiableList(readImportedKeys(meta, rawTable))));
             }
             return null;
         });
-        return schema;
+        return out;
     }
 
     private List<Map<String, Object>> readColumns(DatabaseMetaData meta, String table) throws java.sql.SQLException {
@@ -155,7 +203,7 @@ public class DbSqlPreflightService {
                 c.put("dataType", rs.getInt("DATA_TYPE"));
                 c.put("typeName", rs.getString("TYPE_NAME"));
                 c.put("nullable", rs.getInt("NULLABLE") != ResultSetMetaData.columnNoNulls);
-                cols.add(c);
+                cols.add(Collections.unmodifiableMap(c));
             }
         }
         return cols;
@@ -174,15 +222,15 @@ public class DbSqlPreflightService {
         return out;
     }
 
-    private List<Map<String, Object>> readForeignKeys(DatabaseMetaData meta, String table) throws java.sql.SQLException {
-        List<Map<String, Object>> out = new ArrayList<>();
+    private List<DbSchemaMetadataCache.ImportedKey> readImportedKeys(DatabaseMetaData meta, String table) throws java.sql.SQLException {
+        List<DbSchemaMetadataCache.ImportedKey> out = new ArrayList<>();
         try (ResultSet rs = meta.getImportedKeys(null, null, table)) {
             while (rs.next()) {
-                Map<String, Object> fk = new LinkedHashMap<>();
-                fk.put("fkColumn", rs.getString("FKCOLUMN_NAME"));
-                fk.put("pkTable", rs.getString("PKTABLE_NAME"));
-                fk.put("pkColumn", rs.getString("PKCOLUMN_NAME"));
-                out.add(fk);
+                out.add(new DbSchemaMetadataCache.ImportedKey(
+                        rs.getString("FKTABLE_NAME"),
+                        rs.getString("FKCOLUMN_NAME"),
+                        rs.getString("PKTABLE_NAME"),
+                        rs.getString("PKCOLUMN_NAME")));
             }
         }
         return out;
@@ -195,183 +243,123 @@ public class DbSqlPreflightService {
         if (semanticCfg == null || !semanticCfg.isEnabled()) {
             return hints;
         }
-        hints.put("mappingRows", querySemanticMappingsForTables(semanticCfg, orderedTables));
-        hints.put("joinHintRows", querySemanticJoinHintsForTables(semanticCfg, orderedTables));
-        hints.put("sourceTableRows", querySemanticSourceTables(semanticCfg, orderedTables));
-        hints.put("sourceColumnRows", querySemanticSourceColumns(semanticCfg, orderedTables));
+        DbSchemaMetadataCache.SemanticCatalog catalog = loadSemanticCatalog(semanticCfg);
+        Set<String> allow = orderedTables == null ? Set.of() : normalizeAllowTables(orderedTables);
+        hints.put("mappingRows", catalog.mappingRows().forTables(allow));
+        hints.put("joinHintRows", catalog.joinHintRows().forTables(allow));
+        hints.put("sourceTableRows", catalog.sourceTableRows().forTables(allow));
+        hints.put("sourceColumnRows", catalog.sourceColumnRows().forTables(allow));
         hints.put("aliases", aliasToTable);
         return hints;
     }
 
-    private List<Map<String, Object>> querySemanticMappingsForTables(
-            ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg,
-            List<String> orderedTables) {
-        String tableName = requireSafeIdentifier(semanticCfg.getMappingTable());
+    private DbSchemaMetadataCache.SemanticCatalog loadSemanticCatalog(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
+        return metadataCache.getSemanticCatalog(() -> readSemanticCatalog(semanticCfg));
+    }
+
+    private DbSchemaMetadataCache.SemanticCatalog readSemanticCatalog(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
+        String mappingTable = requireSafeIdentifier(semanticCfg.getMappingTable());
         String mappedTableCol = requireSafeIdentifier(semanticCfg.getMappingTableColumn());
         String mappedColumnCol = requireSafeIdentifier(semanticCfg.getMappingColumnColumn());
-        String sql = "SELECT " + mappedTableCol + ", " + mappedColumnCol + " FROM " + tableName;
-        try {
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
-            if (orderedTables == null || orderedTables.isEmpty()) {
-                return rows;
-            }
-            Set<String> allow = new LinkedHashSet<>();
-            for (String t : orderedTables) {
-                if (t != null) {
-                    allow.add(normalizeTableName(t));
-                }
-            }
-            List<Map<String, Object>> filtered = new ArrayList<>();
-            for (Map<String, Object> row : rows) {
-                Object mappedTable = row.get(mappedTableCol);
-                if (mappedTable == null) {
-                    continue;
-                }
-                String t = normalizeTableName(String.valueOf(mappedTable));
-                if (allow.contains(t)) {
-                    filtered.add(row);
-                }
+        String joinHintTable = requireSafeIdentifier(semanticCfg.getJoinHintTable());
+        String leftCol = requireSafeIdentifier(semanticCfg.getJoinLeftTableColumn());
+        String rightCol = requireSafeIdentifier(semanticCfg.getJoinRightTableColumn());
+        String sourceTableCatalog = requireSafeIdentifier(semanticCfg.getSourceTableCatalogTable());
+        String sourceTableNameCol = requireSafeIdentifier(semanticCfg.getSourceTableNameColumn());
+        String sourceColumnCatalog = requireSafeIdentifier(semanticCfg.getSourceColumnCatalogTable());
+        String sourceColumnTableCol = requireSafeIdentifier(semanticCfg.getSourceColumnTableNameColumn());
+        String sourceColumnNameCol = requireSafeIdentifier(semanticCfg.getSourceColumnNameColumn());
+
+        List<Map<String, Object>> mappingRows =
+                queryCatalogRows("SELECT " + mappedTableCol + ", " + mappedColumnCol + " FROM " + mappingTable);
+        List<Map<String, Object>> joinHintRows =
+                queryCatalogRows("SELECT " + leftCol + ", " + rightCol + " FROM " + joinHintTable);
+        List<Map<String, Object>> sourceTableRows = queryCatalogRows("SELECT * FROM " + sourceTableCatalog);
+        List<Map<String, Object>> sourceColumnRows = queryCatalogRows("SELECT * FROM " + sourceColumnCatalog);
+
+        Set<String> semanticColumns = new LinkedHashSet<>();
+        Map<String, List<Integer>> mappingIndex = new HashMap<>();
+        for (int i = 0; i < mappingRows.size(); i++) {
+            Map<String, Object> row = mappingRows.get(i);
+            String table = normalizeTableName(stringValue(row.get(mappedTableCol)));
+            if (table == null) {
+                continue;
             }
-            return filtered;
-        } catch (Exception e) {
-            return List.of();
+            indexRow(mappingIndex, table, i);
+            addSemanticColumn(semanticColumns, table, stringValue(row.get(mappedColumnCol)));
         }
-    }
 
-    private List<Map<String, Object>> querySemanticJoinHintsForTables(
-            ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg,
-            List<String> orderedTables) {
-        String tableName = requireSafeIdentifier(semanticCfg.getJoinHintTable());
-        String leftCol = requireSafeIdentifier(semanticCfg.getJoinLeftTableColumn());
-        String rightCol = requireSafeIdentifier(semanticCfg.getJoinRightTableColumn());
-        String sql = "SELECT " + leftCol + ", " + rightCol + " FROM " + tableName;
-        try {
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
-            if (orderedTables == null || orderedTables.isEmpty()) {
-                return rows;
-            }
-            Set<String> allow = new LinkedHashSet<>();
-            for (String t : orderedTables) {
-                if (t != null) {
-                    allow.add(normalizeTableName(t));
-                }
+        Set<String> semanticJoinPairs = new LinkedHashSet<>();
+        Map<String, List<Integer>> joinIndex = new HashMap<>();
+        for (int i = 0; i < joinHintRows.size(); i++) {
+            Map<String, Object> row = joinHintRows.get(i);
+            String left = normalizeTableName(stringValue(row.get(leftCol)));
+            String right = normalizeTableName(stringValue(row.get(rightCol)));
+            if (left == null || right == null) {
+                continue;
             }
-            List<Map<String, Object>> filtered = new ArrayList<>();
-            for (Map<String, Object> row : rows) {
-                Object left = row.get(leftCol);
-                Object right = row.get(rightCol);
-                if (left == null || right == null) {
-                    continue;
-                }
-                String l = normalizeTableName(String.valueOf(left));
-                String r = normalizeTableName(String.valueOf(right));
-                if (allow.contains(l) || allow.contains(r)) {
-                    filtered.add(row);
-                }
+            indexRow(joinIndex, left, i);
+            indexRow(joinIndex, right, i);
+            semanticJoinPairs.add(joinKey(left, right));
+        }
+
+        Map<String, List<Integer>> sourceTableIndex = new HashMap<>();
+        for (int i = 0; i < sourceTableRows.size(); i++) {
+            String table = normalizeTableName(readRowValueCaseInsensitive(sourceTableRows.get(i), sourceTableNameCol));
+            if (table != null) {
+                indexRow(sourceTableIndex, table, i);
             }
-            return filtered;
-        } catch (Exception e) {
-            return List.of();
         }
-    }
 
-    private List<Map<String, Object>> querySemanticSourceTables(
-            ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg,
-            List<String> orderedTables) {
-        String catalogTable = requireSafeIdentifier(semanticCfg.getSourceTableCatalogTable());
-        String tableNameCol = requireSafeIdentifier(semanticCfg.getSourceTableNameColumn());
-        String sql = "SELECT * FROM " + catalogTable;
-        try {
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
-            if (orderedTables == null || orderedTables.isEmpty()) {
-                return rows;
-            }
-            Set<String> allow = normalizeAllowTables(orderedTables);
-            List<Map<String, Object>> filtered = new ArrayList<>();
-            for (Map<String, Object> row : rows) {
-                String rowTable = readRowValueCaseInsensitive(row, tableNameCol);
-                if (rowTable == null) {
-                    continue;
-                }
-                if (allow.contains(normalizeTableName(rowTable))) {
-                    filtered.add(row);
-                }
+        Map<String, List<Integer>> sourceColumnIndex = new HashMap<>();
+        for (int i = 0; i < sourceColumnRows.size(); i++) {
+            Map<String, Object> row = sourceColumnRows.get(i);
+            String table = normalizeTableName(readRowValueCaseInsensitive(row, sourceColumnTableCol));
+            if (table == null) {
+                continue;
             }
-            return filtered;
-        } catch (Exception e) {
-            return List.of();
+            indexRow(sourceColumnIndex, table, i);
+            addSemanticColumn(semanticColumns, table, readRowValueCaseInsensitive(row, sourceColumnNameCol));
         }
+
+        return new DbSchemaMetadataCache.SemanticCatalog(
+                new DbSchemaMetadataCache.IndexedRows(mappingRows, mappingIndex),
+                new DbSchemaMetadataCache.IndexedRows(joinHintRows, joinIndex),
+                new DbSchemaMetadataCache.IndexedRows(sourceTableRows, sourceTableIndex),
+                new DbSchemaMetadataCache.IndexedRows(sourceColumnRows, sourceColumnIndex),
+                Collections.unmodifiableSet(semanticColumns),
+                Collections.unmodifiableSet(semanticJoinPairs));
     }
 
-    private List<Map<String, Object>> querySemanticSourceColumns(
-            ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg,
-            List<String> orderedTables) {
-        String catalogTable = requireSafeIdentifier(semanticCfg.getSourceColumnCatalogTable());
-        String tableNameCol = requireSafeIdentifier(semanticCfg.getSourceColumnTableNameColumn());
-        String sql = "SELECT * FROM " + catalogTable;
+    private List<Map<String, Object>> queryCatalogRows(String sql) {
         try {
-            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql);
-            if (orderedTables == null || orderedTables.isEmpty()) {
-                return rows;
-            }
-            Set<String> allow = normalizeAllowTables(orderedTables);
-            List<Map<String, Object>> filtered = new ArrayList<>();
-            for (Map<String, Object> row : rows) {
-                String rowTable = readRowValueCaseInsensitive(row, tableNameCol);
-                if (rowTable == null) {
-                    continue;
-                }
-                if (allow.contains(normalizeTableName(rowTable))) {
-                    filtered.add(row);
-                }
-            }
-            return filtered;
+            return Collections.unmodifiableList(jdbcTemplate.queryForList(sql));
         } catch (Exception e) {
             return List.of();
         }
     }
 
-    private List<String> extractOrderedTables(String sql) {
-        LinkedHashSet<String> ordered = new LinkedHashSet<>();
-        appendTables(FROM_PATTERN.matcher(sql), ordered);
-        appendTables(JOIN_PATTERN.matcher(sql), ordered);
-        return new ArrayList<>(ordered);
-    }
-
-    private Map<String, String> extractAliasToTable(String sql) {
-        Map<String, String> aliasToTable = new LinkedHashMap<>();
-        collectAliases(FROM_PATTERN.matcher(sql), aliasToTable);
-        collectAliases(JOIN_PATTERN.matcher(sql), aliasToTable);
-        return aliasToTable;
+    private void indexRow(Map<String, List<Integer>> index, String table, int rowIndex) {
+        List<Integer> rows = index.computeIfAbsent(table, k -> new ArrayList<>());
+        if (rows.isEmpty() || rows.get(rows.size() - 1) != rowIndex) {
+            rows.add(rowIndex);
+        }
     }
 
-    private void collectAliases(Matcher matcher, Map<String, String> aliasToTable) {
-        while (matcher.find()) {
-            String table = normalizeTableName(matcher.group(1));
-            String alias = matcher.group(2);
-            if (table == null || table.isBlank()) {
-                continue;
-            }
-            aliasToTable.put(table, table);
-            if (alias != null && !alias.isBlank()) {
-                aliasToTable.put(alias.toLowerCase(Locale.ROOT), table);
-            }
+    private void addSemanticColumn(Set<String> semanticColumns, String table, String column) {
+        if (column != null && !column.isBlank()) {
+            semanticColumns.add(table + "." + column.toLowerCase(Locale.ROOT));
         }
     }
 
-    private void appendTables(Matcher matcher, Set<String> orderedTables) {
-        while (matcher.find()) {
-            String table = normalizeTableName(matcher.group(1));
-            if (table != null && !table.isBlank()) {
-                orderedTables.add(table);
-            }
-        }
+    private String stringValue(Object value) {
+        return value == null ? null : String.valueOf(value);
     }
 
     private Map<String, Object> validateSemanticMappings(
             Map<String, String> aliasToTable,
             Map<String, Map<String, Integer>> tableColumns,
-            String sql,
+            List<McpSqlParser.ColumnRef> columnRefs,
             ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
         Map<String, Object> diagnostics = new LinkedHashMap<>();
         Set<String> semanticColumns = loadSemanticColumns(semanticCfg);
@@ -386,16 +374,14 @@ public class DbSqlPreflightService {
             // Semantic metadata is advisory if runtime DB schema confirms columns.
             return diagnostics;
         }
-        Matcher matcher = ALIAS_COLUMN_PATTERN.matcher(sql);
         int semanticMissCount = 0;
         int dbFallbackHitCount = 0;
         List<String> semanticMisses = new ArrayList<>();
         List<String> dbFallbackHits = new ArrayList<>();
         List<String> unresolved = new ArrayList<>();
-        while (matcher.find()) {
-            String alias = matcher.group(1).toLowerCase(Locale.ROOT);
-            String column = matcher.group(2).toLowerCase(Locale.ROOT);
-            String table = aliasToTable.get(alias);
+        for (McpSqlParser.ColumnRef ref : columnRefs) {
+            String column = ref.column();
+            String table = aliasToTable.get(ref.qualifier());
             if (table == null) {
                 continue;
             }
@@ -426,56 +412,7 @@ public class DbSqlPreflightService {
     }
 
     private Set<String> loadSemanticColumns(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
-        Set<String> out = new LinkedHashSet<>();
-        out.addAll(loadSemanticColumnsFromMapping(semanticCfg));
-        out.addAll(loadSemanticColumnsFromSourceCatalog(semanticCfg));
-        return out;
-    }
-
-    private Set<String> loadSemanticColumnsFromMapping(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
-        String tableName = requireSafeIdentifier(semanticCfg.getMappingTable());
-        String mappedTableCol = requireSafeIdentifier(semanticCfg.getMappingTableColumn());
-        String mappedColumnCol = requireSafeIdentifier(semanticCfg.getMappingColumnColumn());
-        String sql = "SELECT " + mappedTableCol + ", " + mappedColumnCol + " FROM " + tableName;
-        try {
-            return jdbcTemplate.query(sql, rs -> {
-                Set<String> out = new LinkedHashSet<>();
-                while (rs.next()) {
-                    String table = normalizeTableName(rs.getString(1));
-                    String col = rs.getString(2);
-                    if (table == null || col == null || col.isBlank()) {
-                        continue;
-                    }
-                    out.add(table + "." + col.toLowerCase(Locale.ROOT));
-                }
-                return out;
-            });
-        } catch (Exception e) {
-            return Set.of();
-        }
-    }
-
-    private Set<String> loadSemanticColumnsFromSourceCatalog(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
-        String tableName = requireSafeIdentifier(semanticCfg.getSourceColumnCatalogTable());
-        String tableCol = requireSafeIdentifier(semanticCfg.getSourceColumnTableNameColumn());
-        String columnCol = requireSafeIdentifier(semanticCfg.getSourceColumnNameColumn());
-        String sql = "SELECT " + tableCol + ", " + columnCol + " FROM " + tableName;
-        try {
-            return jdbcTemplate.query(sql, rs -> {
-                Set<String> out = new LinkedHashSet<>();
-                while (rs.next()) {
-                    String table = normalizeTableName(rs.getString(1));
-                    String col = rs.getString(2);
-                    if (table == null || col == null || col.isBlank()) {
-                        continue;
-                    }
-                    out.add(table + "." + col.toLowerCase(Locale.ROOT));
-                }
-                return out;
-            });
-        } catch (Exception e) {
-            return Set.of();
-        }
+        return loadSemanticCatalog(semanticCfg).semanticColumns();
     }
 
     private Map<String, Object> validateSemanticJoinPath(
@@ -532,57 +469,20 @@ public class DbSqlPreflightService {
     }
 
     private Set<String> loadSemanticJoinPairs(ConvEngineMcpConfig.Db.Preflight.Semantic semanticCfg) {
-        String tableName = requireSafeIdentifier(semanticCfg.getJoinHintTable());
-        String leftCol = requireSafeIdentifier(semanticCfg.getJoinLeftTableColumn());
-        String rightCol = requireSafeIdentifier(semanticCfg.getJoinRightTableColumn());
-        String sql = "SELECT " + leftCol + ", " + rightCol + " FROM " + tableName;
-        try {
-            return jdbcTemplate.query(sql, rs -> {
-                Set<String> out = new LinkedHashSet<>();
-                while (rs.next()) {
-                    String left = normalizeTableName(rs.getString(1));
-                    String right = normalizeTableName(rs.getString(2));
-                    if (left == null || right == null) {
-                        continue;
-                    }
-                    out.add(joinKey(left, right));
-                }
-                return out;
-            });
-        } catch (Exception e) {
-            return Set.of();
-        }
+        return loadSemanticCatalog(semanticCfg).semanticJoinPairs();
     }
 
     private Set<String> loadPhysicalJoinPairs(Iterable<String> tables) {
-        Set<String> uniqueTables = new LinkedHashSet<>();
-        if (tables != null) {
-            for (String table : tables) {
-                if (table != null && !table.isBlank()) {
-                    uniqueTables.add(normalizeTableName(table));
-                }
-            }
-        }
-        if (uniqueTables.isEmpty()) {
-            return Set.of();
-        }
         Set<String> out = new LinkedHashSet<>();
-        jdbcTemplate.execute((Connection conn) -> {
-            DatabaseMetaData meta = conn.getMetaData();
-            for (String table : uniqueTables) {
-                String rawTable = stripSchema(table);
-                try (ResultSet rs = meta.getImportedKeys(null, null, rawTable)) {
-                    while (rs.next()) {
-                        String pkTable = normalizeTableName(rs.getString("PKTABLE_NAME"));
-                        String fkTable = normalizeTableName(rs.getString("FKTABLE_NAME"));
-                        if (pkTable != null && fkTable != null) {
-                            out.add(joinKey(pkTable, fkTable));
-                        }
-                    }
+        for (DbSchemaMetadataCache.TableMetadata metadata : loadTableMetadata(tables).values()) {
+            for (DbSchemaMetadataCache.ImportedKey key : metadata.importedKeys()) {
+                String pkTable = normalizeTableName(key.pkTable());
+                String fkTable = normalizeTableName(key.fkTable());
+                if (pkTable != null && fkTable != null) {
+                    out.add(joinKey(pkTable, fkTable));
                 }
             }
-            return null;
-        });
+        }
         return out;
     }
 
@@ -596,51 +496,25 @@ public class DbSqlPreflightService {
     }
 
     private Map<String, Map<String, Integer>> loadTableColumns(Iterable<String> tables, boolean strictSchema) {
-        Set<String> uniqueTables = new LinkedHashSet<>();
-        for (String table : tables) {
-            if (table != null && !table.isBlank()) {
-                uniqueTables.add(table.toLowerCase(Locale.ROOT));
-            }
-        }
-        if (uniqueTables.isEmpty()) {
-            return Map.of();
-        }
-
         Map<String, Map<String, Integer>> out = new HashMap<>();
-        jdbcTemplate.execute((Connection conn) -> {
-            DatabaseMetaData meta = conn.getMetaData();
-            for (String table : uniqueTables) {
-                Map<String, Integer> cols = new HashMap<>();
-                String rawTable = stripSchema(table);
-                try (ResultSet rs = meta.getColumns(null, null, rawTable, null)) {
-                    while (rs.next()) {
-                        String col = rs.getString("COLUMN_NAME");
-                        int dataType = rs.getInt("DATA_TYPE");
-                        if (col != null) {
-                            cols.put(col.toLowerCase(Locale.ROOT), dataType);
-                        }
-                    }
-                }
-                if (cols.isEmpty() && strictSchema) {
-                    throw new IllegalArgumentException("SQL preflight failed: table not found in metadata: " + table);
-                }
-                out.put(table, cols);
+        for (Map.Entry<String, DbSchemaMetadataCache.TableMetadata> entry : loadTableMetadata(tables).entrySet()) {
+            Map<String, Integer> cols = entry.getValue().columnTypes();
+            if (cols.isEmpty() && strictSchema) {
+                throw new IllegalArgumentException("SQL preflight failed: table not found in metadata: " + entry.getKey());
             }
-            return null;
-        });
+            out.put(entry.getKey(), cols);
+        }
         return out;
     }
 
     private void validateReferencedColumns(
             Map<String, String> aliasToTable,
             Map<String, Map<String, Integer>> tableColumns,
-            String sql) {
-        Matcher matcher = ALIAS_COLUMN_PATTERN.matcher(sql);
+            List<McpSqlParser.ColumnRef> columnRefs) {
         List<String> unknown = new ArrayList<>();
-        while (matcher.find()) {
-            String alias = matcher.group(1).toLowerCase(Locale.ROOT);
-            String col = matcher.group(2).toLowerCase(Locale.ROOT);
-            String table = aliasToTable.get(alias);
+        for (McpSqlParser.ColumnRef ref : columnRefs) {
+            String col = ref.column();
+            String table = aliasToTable.get(ref.qualifier());
             if (table == null) {
                 continue;
             }
@@ -673,21 +547,11 @@ public class DbSqlPreflightService {
         }
     }
 
-    private List<String> extractResolvedColumns(Map<String, String> aliasToTable, String sql) {
-        if (sql == null || sql.isBlank()) {
-            return List.of();
-        }
+    private List<String> extractResolvedColumns(Map<String, String> aliasToTable, List<McpSqlParser.ColumnRef> columnRefs) {
         List<String> out = new ArrayList<>();
-        Matcher matcher = ALIAS_COLUMN_PATTERN.matcher(sql);
-        while (matcher.find()) {
-            String alias = matcher.group(1).toLowerCase(Locale.ROOT);
-            String column = matcher.group(2).toLowerCase(Locale.ROOT);
-            String table = aliasToTable == null ? null : aliasToTable.get(alias);
-            if (table != null) {
-                out.add(table + "." + column);
-            } else {
-                out.add(alias + "." + column);
-            }
+        for (McpSqlParser.ColumnRef ref : columnRefs) {
+            String table = aliasToTable == null ? null : aliasToTable.get(ref.qualifier());
+            out.add((table != null ? table : ref.qualifier()) + "." + ref.column());
         }
         return out;
     }
@@ -3,6 +3,7 @@ package com.github.salilvnair.convengine.engine.mcp.query.semantic.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.salilvnair.convengine.audit.AuditService;
 import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
 import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
@@ -26,6 +27,10 @@ import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.Seman
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeOutputSchema;
 import com.github.salilvnair.convengine.entity.CePromptTemplate;
+import com.github.salilvnair.convengine.llm.budget.PromptBudget;
+import com.github.salilvnair.convengine.llm.budget.PromptSection;
+import com.github.salilvnair.convengine.llm.cache.LlmRequestKey;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
 import com.github.salilvnair.convengine.prompt.renderer.PromptTemplateRenderer;
@@ -51,6 +56,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -196,6 +202,10 @@ public class SemanticInterpretService {
     private final ObjectProvider<NamedParameterJdbcTemplate> jdbcTemplateProvider;
     @Autowired(required = false)
     private ConvEngineSqlTableResolver tableResolver;
+    @Autowired(required = false)
+    private SemanticPromptSectionCache promptSectionCache;
+    @Autowired(required = false)
+    private PromptBudget promptBudget;
 
     @PostConstruct
     public void validateSemanticMetadataOnStartup() {
@@ -254,6 +264,9 @@ public class SemanticInterpretService {
         }
     }
 
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     public SemanticInterpretResponse interpret(SemanticInterpretRequest request, EngineSession session) {
@@ -330,8 +343,9 @@ public class SemanticInterpretService {
         audit("SEMANTIC_INTERPRET_LLM_INPUT", conversationId, llmInputAudit);
         verbose(session, "SEMANTIC_INTERPRET_LLM_INPUT", false, llmInputAudit);
         try {
-            llmRaw = llmClient.generateJsonStrict(session, prompt, schemaPackage.schema(),
-                    session == null ? "{}" : session.getContextJson());
+            llmRaw = LlmCallSite.call(LlmCallSite.SEMANTIC_INTERPRET,
+                    () -> llmClient.generateJsonStrict(session, prompt, schemaPackage.schema(),
+                            session == null ? "{}" : session.getContextJson()));
             llmNode = parseStrictOrLenient(llmRaw);
             Map<String, Object> llmOutputAudit = new LinkedHashMap<>();
             llmOutputAudit.put("tool", TOOL_CODE);
@@ -1350,20 +1364,7 @@ public class SemanticInterpretService {
                 .replace("{{  value  }}", replacement);
     }
 
-    private String appendSemanticGuardrailBlock(String renderedUser,
-                                                List<String> allowedEntityKeys,
-                                                Map<String, Object> allowedFieldsByEntity,
-                                                Map<String, Object> semanticMetadata,
-                                                List<Map<String, Object>> semanticAmbiguityOptions,
-                                                List<Map<String, Object>> semanticConcepts,
-                                                List<Map<String, Object>> semanticEntities,
-                                                List<Map<String, Object>> semanticJoinHints,
-                                                List<Map<String, Object>> semanticMappings,
-                                                List<Map<String, Object>> semanticQueryClasses,
-                                                List<Map<String, Object>> semanticRelationships,
-                                                List<Map<String, Object>> semanticSynonyms,
-                                                List<Map<String, Object>> semanticValuePatterns,
-                                                List<Map<String, Object>> semanticEmbeddingCatalogForPrompt) {
+    private String appendSemanticGuardrailBlock(String renderedUser, Map<String, String> staticSections) {
         String base = renderedUser == null ? "" : renderedUser;
         if (base.contains("Strict guardrails (DB-driven):")) {
             return base;
@@ -1398,19 +1399,70 @@ public class SemanticInterpretService {
             return base;
         }
         return base + "\n\nStrict guardrails (DB-driven):\n"
-                + "allowed_entity_keys:\n" + safeJson(allowedEntityKeys) + "\n\n"
-                + "allowed_fields_by_entity:\n" + safeJson(allowedFieldsByEntity) + "\n\n"
-                + "semantic_metadata:\n" + safeJson(semanticMetadata) + "\n\n"
-                + K_SEMANTIC_AMBIGUITY_OPTION + ":\n" + safeJson(semanticAmbiguityOptions) + "\n\n"
-                + K_SEMANTIC_CONCEPT + ":\n" + safeJson(semanticConcepts) + "\n\n"
-                + K_SEMANTIC_ENTITY + ":\n" + safeJson(semanticEntities) + "\n\n"
-                + K_SEMANTIC_JOIN_HINT + ":\n" + safeJson(semanticJoinHints) + "\n\n"
-                + K_SEMANTIC_MAPPING + ":\n" + safeJson(semanticMappings) + "\n\n"
-                + K_SEMANTIC_QUERY_CLASS + ":\n" + safeJson(semanticQueryClasses) + "\n\n"
-                + K_SEMANTIC_RELATIONSHIP + ":\n" + safeJson(semanticRelationships) + "\n\n"
-                + K_SEMANTIC_SYNONYM + ":\n" + safeJson(semanticSynonyms) + "\n\n"
-                + K_SEMANTIC_VALUE_PATTERN + ":\n" + safeJson(semanticValuePatterns) + "\n\n"
-                + K_SEMANTIC_CONCEPT_EMBEDDING + ":\n" + safeJson(semanticEmbeddingCatalogForPrompt);
+                + "allowed_entity_keys:\n" + staticSections.get("allowed_entity_keys") + "\n\n"
+                + "allowed_fields_by_entity:\n" + staticSections.get("allowed_fields_by_entity") + "\n\n"
+                + "semantic_metadata:\n" + staticSections.get("semantic_metadata") + "\n\n"
+                + K_SEMANTIC_AMBIGUITY_OPTION + ":\n" + staticSections.get(K_SEMANTIC_AMBIGUITY_OPTION) + "\n\n"
+                + K_SEMANTIC_CONCEPT + ":\n" + staticSections.get(K_SEMANTIC_CONCEPT) + "\n\n"
+                + K_SEMANTIC_ENTITY + ":\n" + staticSections.get(K_SEMANTIC_ENTITY) + "\n\n"
+                + K_SEMANTIC_JOIN_HINT + ":\n" + staticSections.get(K_SEMANTIC_JOIN_HINT) + "\n\n"
+                + K_SEMANTIC_MAPPING + ":\n" + staticSections.get(K_SEMANTIC_MAPPING) + "\n\n"
+                + K_SEMANTIC_QUERY_CLASS + ":\n" + staticSections.get(K_SEMANTIC_QUERY_CLASS) + "\n\n"
+                + K_SEMANTIC_RELATIONSHIP + ":\n" + staticSections.get(K_SEMANTIC_RELATIONSHIP) + "\n\n"
+                + K_SEMANTIC_SYNONYM + ":\n" + staticSections.get(K_SEMANTIC_SYNONYM) + "\n\n"
+                + K_SEMANTIC_VALUE_PATTERN + ":\n" + staticSections.get(K_SEMANTIC_VALUE_PATTERN) + "\n\n"
+                + K_SEMANTIC_CONCEPT_EMBEDDING + ":\n" + staticSections.get(K_SEMANTIC_CONCEPT_EMBEDDING);
+    }
+
+    private SemanticPromptSectionCache.CachedSections staticPromptSections(String queryClassKeyForPrompt,
+                                                                           PromptSemanticScope scope,
+                                                                           Map<String, Object> queryClassConfigForPrompt,
+                                                                           Map<String, Object> semanticFields,
+                                                                           Map<String, Object> semanticAllowedValues,
+                                                                           Map<String, Object> semanticMetadata,
+                                                                           List<Map<String, Object>> semanticEmbeddingCatalogForPrompt) {
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("query_class_config", queryClassConfigForPrompt);
+        inputs.put("semantic_fields", semanticFields);
+        inputs.put("semantic_allowed_values", semanticAllowedValues);
+        inputs.put("allowed_entity_keys", scope.allowedEntityKeys());
+        inputs.put("allowed_fields_by_entity", scope.allowedFieldsByEntity());
+        inputs.put("semantic_metadata", semanticMetadata);
+        inputs.put(K_SEMANTIC_AMBIGUITY_OPTION, scope.semanticAmbiguityOptions());
+        inputs.put(K_SEMANTIC_CONCEPT, scope.semanticConcepts());
+        inputs.put(K_SEMANTIC_ENTITY, scope.semanticEntities());
+        inputs.put(K_SEMANTIC_JOIN_HINT, scope.semanticJoinHints());
+        inputs.put(K_SEMANTIC_MAPPING, scope.semanticMappings());
+        inputs.put(K_SEMANTIC_QUERY_CLASS, scope.semanticQueryClasses());
+        inputs.put(K_SEMANTIC_RELATIONSHIP, scope.semanticRelationships());
+        inputs.put(K_SEMANTIC_SYNONYM, scope.semanticSynonyms());
+        inputs.put(K_SEMANTIC_VALUE_PATTERN, scope.semanticValuePatterns());
+        inputs.put(K_SEMANTIC_CONCEPT_EMBEDDING, semanticEmbeddingCatalogForPrompt);
+        Supplier<Map<String, String>> renderer = () -> {
+            Map<String, String> out = new LinkedHashMap<>();
+            inputs.forEach((section, value) -> out.put(section, safeJson(value)));
+            return out;
+        };
+        if (promptSectionCache == null) {
+            return new SemanticPromptSectionCache.CachedSections(renderer.get(), false);
+        }
+        // Keyed on exactly what the sections render from, so direct DB edits stay visible even
+        // without an explicit cache refresh.
+        String signature = promptSectionSignature(queryClassKeyForPrompt, promptSectionCache.generation(), inputs);
+        return promptSectionCache.getOrRender(signature, renderer);
+    }
+
+    /**
+     * SHA-256 over a key-ordered serialization of the section inputs; {@code null} (render
+     * uncached) when the inputs cannot be serialized.
+     */
+    static String promptSectionSignature(String queryClassKey, long generation, Map<String, Object> inputs) {
+        try {
+            return LlmRequestKey.of(queryClassKey, Long.toString(generation),
+                    CANONICAL_MAPPER.writeValueAsString(inputs));
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     private List<Map<String, Object>> slimEmbeddingCatalogForPrompt(List<Map<String, Object>> rows) {
@@ -1507,6 +1559,16 @@ public class SemanticInterpretService {
         List<Map<String, Object>> semanticEmbeddingCatalogForPrompt = slimEmbeddingCatalogForPrompt(semanticEmbeddingCatalog);
         Map<String, Object> semanticMetadata = loadSemanticMetadataForPrompt(allowedEntityKeys, allowedFieldsByEntity, semanticQueryClasses);
         List<Map<String, Object>> ambiguityOptions = loadAmbiguityOptions(queryClassKey, entityKeyHint, safeQuestion, request);
+        SemanticPromptSectionCache.CachedSections cachedSections = staticPromptSections(
+                queryClassKeyForPrompt,
+                scope,
+                queryClassConfigForPrompt,
+                semanticFields,
+                semanticAllowedValues,
+                semanticMetadata,
+                semanticEmbeddingCatalogForPrompt
+        );
+        Map<String, String> staticSections = cachedSections.sections();
 
         String systemPrompt = """
                 You are a semantic interpreter for business analytics.
@@ -1614,22 +1676,22 @@ public class SemanticInterpretService {
                 safeJson(hints),
                 safeJson(context),
                 queryClassKeyForPrompt,
-                safeJson(queryClassConfigForPrompt),
-                safeJson(semanticFields),
-                safeJson(semanticAllowedValues),
-                safeJson(allowedEntityKeys),
-                safeJson(allowedFieldsByEntity),
-                safeJson(semanticMetadata),
-                safeJson(semanticAmbiguityOptions),
-                safeJson(semanticConcepts),
-                safeJson(semanticEntities),
-                safeJson(semanticJoinHints),
-                safeJson(semanticMappings),
-                safeJson(semanticQueryClasses),
-                safeJson(semanticRelationships),
-                safeJson(semanticSynonyms),
-                safeJson(semanticValuePatterns),
-                safeJson(semanticEmbeddingCatalogForPrompt),
+                staticSections.get("query_class_config"),
+                staticSections.get("semantic_fields"),
+                staticSections.get("semantic_allowed_values"),
+                staticSections.get("allowed_entity_keys"),
+                staticSections.get("allowed_fields_by_entity"),
+                staticSections.get("semantic_metadata"),
+                staticSections.get(K_SEMANTIC_AMBIGUITY_OPTION),
+                staticSections.get(K_SEMANTIC_CONCEPT),
+                staticSections.get(K_SEMANTIC_ENTITY),
+                staticSections.get(K_SEMANTIC_JOIN_HINT),
+                staticSections.get(K_SEMANTIC_MAPPING),
+                staticSections.get(K_SEMANTIC_QUERY_CLASS),
+                staticSections.get(K_SEMANTIC_RELATIONSHIP),
+                staticSections.get(K_SEMANTIC_SYNONYM),
+                staticSections.get(K_SEMANTIC_VALUE_PATTERN),
+                staticSections.get(K_SEMANTIC_CONCEPT_EMBEDDING),
                 safeJson(ambiguityOptions),
                 timezone
         );
@@ -1663,6 +1725,7 @@ public class SemanticInterpretService {
         meta.put("responseType", "SEMANTIC_INTERPRET");
         meta.put("intent", "SEMANTIC_QUERY");
         meta.put("state", "ANALYZE");
+        meta.put("staticSectionsCacheHit", cachedSections.hit());
         Map<String, Object> promptMutation = new LinkedHashMap<>();
         promptMutation.put("userPromptAltered", false);
         promptMutation.put("systemPromptAltered", false);
@@ -1752,27 +1815,22 @@ public class SemanticInterpretService {
         List<Map<String, Object>> semanticEmbeddingCatalogForPrompt = slimEmbeddingCatalogForPrompt(semanticEmbeddingCatalog);
         Map<String, Object> semanticMetadata = loadSemanticMetadataForPrompt(allowedEntityKeys, allowedFieldsByEntity, semanticQueryClasses);
         List<Map<String, Object>> ambiguityOptions = loadAmbiguityOptions(queryClassKey, entityKeyHint, defaultIfBlank(question, ""), request);
+        SemanticPromptSectionCache.CachedSections cachedSections = staticPromptSections(
+                queryClassKeyForPrompt,
+                scope,
+                queryClassConfigForPrompt,
+                semanticFields,
+                semanticAllowedValues,
+                semanticMetadata,
+                semanticEmbeddingCatalogForPrompt
+        );
+        Map<String, String> staticSections = cachedSections.sections();
 
         Map<String, Object> promptVars = new LinkedHashMap<>();
         promptVars.put("hints", safeJson(hints));
         promptVars.put("semantic_context", safeJson(semanticContext));
         promptVars.put("query_class_key", queryClassKeyForPrompt);
-        promptVars.put("query_class_config", safeJson(queryClassConfigForPrompt));
-        promptVars.put("semantic_fields", safeJson(semanticFields));
-        promptVars.put("semantic_allowed_values", safeJson(semanticAllowedValues));
-        promptVars.put("allowed_entity_keys", safeJson(allowedEntityKeys));
-        promptVars.put("allowed_fields_by_entity", safeJson(allowedFieldsByEntity));
-        promptVars.put("semantic_metadata", safeJson(semanticMetadata));
-        promptVars.put(K_SEMANTIC_AMBIGUITY_OPTION, safeJson(semanticAmbiguityOptions));
-        promptVars.put(K_SEMANTIC_CONCEPT, safeJson(semanticConcepts));
-        promptVars.put(K_SEMANTIC_ENTITY, safeJson(semanticEntities));
-        promptVars.put(K_SEMANTIC_JOIN_HINT, safeJson(semanticJoinHints));
-        promptVars.put(K_SEMANTIC_MAPPING, safeJson(semanticMappings));
-        promptVars.put(K_SEMANTIC_QUERY_CLASS, safeJson(semanticQueryClasses));
-        promptVars.put(K_SEMANTIC_RELATIONSHIP, safeJson(semanticRelationships));
-        promptVars.put(K_SEMANTIC_SYNONYM, safeJson(semanticSynonyms));
-        promptVars.put(K_SEMANTIC_VALUE_PATTERN, safeJson(semanticValuePatterns));
-        promptVars.put(K_SEMANTIC_CONCEPT_EMBEDDING, safeJson(semanticEmbeddingCatalogForPrompt));
+        promptVars.putAll(staticSections);
         promptVars.put("ambiguity_options", safeJson(ambiguityOptions));
 
         PromptTemplateContext ctx = PromptTemplateContext.builder()
@@ -1801,6 +1859,14 @@ public class SemanticInterpretService {
         String renderedSystem;
         String renderedUser;
         try {
+            if (promptBudget != null) {
+                promptBudget.fit(conversationId, LlmCallSite.SEMANTIC_INTERPRET, interpretPromptSections(promptVars),
+                        values -> {
+                            promptVars.putAll(values);
+                            return promptTemplateRenderer.render(template.getSystemPrompt(), ctx) + "\n\n"
+                                    + promptTemplateRenderer.render(template.getUserPrompt(), ctx);
+                        });
+            }
             renderedSystem = promptTemplateRenderer.render(template.getSystemPrompt(), ctx);
             renderedUser = promptTemplateRenderer.render(template.getUserPrompt(), ctx);
         } catch (Exception ex) {
@@ -1822,22 +1888,7 @@ public class SemanticInterpretService {
             return null;
         }
         String renderedUserBeforeGuardrails = renderedUser;
-        renderedUser = appendSemanticGuardrailBlock(
-                renderedUser,
-                allowedEntityKeys,
-                allowedFieldsByEntity,
-                semanticMetadata,
-                semanticAmbiguityOptions,
-                semanticConcepts,
-                semanticEntities,
-                semanticJoinHints,
-                semanticMappings,
-                semanticQueryClasses,
-                semanticRelationships,
-                semanticSynonyms,
-                semanticValuePatterns,
-                semanticEmbeddingCatalogForPrompt
-        );
+        renderedUser = appendSemanticGuardrailBlock(renderedUser, staticSections);
         boolean userPromptAltered = !safeEquals(renderedUserBeforeGuardrails, renderedUser);
 
         Map<String, Object> vars = new LinkedHashMap<>();
@@ -1870,6 +1921,7 @@ public class SemanticInterpretService {
         meta.put("responseType", "SEMANTIC_INTERPRET");
         meta.put("intent", intent);
         meta.put("state", state);
+        meta.put("staticSectionsCacheHit", cachedSections.hit());
         List<String> notes = new ArrayList<>();
         notes.add("Prompt rendered from ce_prompt_template.");
         if (userPromptAltered) {
@@ -1891,6 +1943,30 @@ public class SemanticInterpretService {
         return new PromptPackage(renderedSystem, renderedUser, meta);
     }
 
+    /**
+     * Optional grounding the interpreter can do without when the prompt is over budget: embedding
+     * matches go first, then synonyms and value patterns, then ambiguity and concept rows, then
+     * extra metadata. Scoped lists are relevance ordered, so each drops from the tail. Entities,
+     * fields, joins and mappings are never trimmed.
+     */
+    private List<PromptSection> interpretPromptSections(Map<String, Object> promptVars) {
+        List<PromptSection> sections = new ArrayList<>();
+        addPromptSection(sections, promptVars, K_SEMANTIC_CONCEPT_EMBEDDING, 10);
+        addPromptSection(sections, promptVars, K_SEMANTIC_SYNONYM, 20);
+        addPromptSection(sections, promptVars, K_SEMANTIC_VALUE_PATTERN, 20);
+        addPromptSection(sections, promptVars, K_SEMANTIC_AMBIGUITY_OPTION, 30);
+        addPromptSection(sections, promptVars, "ambiguity_options", 30);
+        addPromptSection(sections, promptVars, K_SEMANTIC_CONCEPT, 40);
+        addPromptSection(sections, promptVars, "semantic_metadata", 50);
+        return sections;
+    }
+
+    private void addPromptSection(List<PromptSection> sections, Map<String, Object> promptVars, String key, int priority) {
+        if (promptVars.get(key) instanceof String value && !value.isBlank()) {
+            sections.add(PromptSection.json(key, priority, value, PromptSection.Trim.DROP_TAIL));
+        }
+    }
+
     private String resolveQueryClassKey(SemanticInterpretRequest request) {
         if (request != null && request.hints() != null) {
             Object queryClass = request.hints().get("queryClass");
@@ -1959,6 +2035,7 @@ public class SemanticInterpretService {
         out.put("responseType", meta.get("responseType"));
         out.put("intent", meta.get("intent"));
         out.put("state", meta.get("state"));
+        out.put("staticSectionsCacheHit", meta.get("staticSectionsCacheHit"));
         Object varsObj = meta.get("vars");
         if (varsObj instanceof Map<?, ?> vars && !vars.isEmpty()) {
             out.put("varKeys", vars.keySet());
@@ -2435,10 +2512,11 @@ public class SemanticInterpretService {
         );
     }
 
-    private Set<String> selectEntitiesByEmbeddingSimilarity(String question,
-                                                            String queryClassKey,
-                                                            List<Map<String, Object>> embeddingCatalogRows,
-                                                            List<Map<String, Object>> mappingRows) {
+    // package-private for the jmh benchmark source set
+    Set<String> selectEntitiesByEmbeddingSimilarity(String question,
+                                                    String queryClassKey,
+                                                    List<Map<String, Object>> embeddingCatalogRows,
+                                                    List<Map<String, Object>> mappingRows) {
         if (question == null || question.isBlank() || embeddingCatalogRows == null || embeddingCatalogRows.isEmpty()) {
             return Set.of();
         }
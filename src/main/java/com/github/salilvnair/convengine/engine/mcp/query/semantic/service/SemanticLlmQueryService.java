@@ -9,6 +9,7 @@ import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
 import com.github.salilvnair.convengine.config.ConvEngineSqlTableResolver;
 import com.github.salilvnair.convengine.engine.helper.CeConfigResolver;
 import com.github.salilvnair.convengine.engine.mcp.McpSqlGuardrail;
+import com.github.salilvnair.convengine.engine.mcp.McpSqlParser;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.SemanticTableNames;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.CanonicalIntent;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.SemanticAmbiguity;
@@ -17,6 +18,9 @@ import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.Seman
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.SemanticQueryResponseV2;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.contract.SemanticToolMeta;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.budget.PromptBudget;
+import com.github.salilvnair.convengine.llm.budget.PromptSection;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
 import com.github.salilvnair.convengine.prompt.renderer.PromptTemplateRenderer;
@@ -39,7 +43,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Component
@@ -56,8 +59,6 @@ public class SemanticLlmQueryService {
     private static final int DEFAULT_SQL_RETRY_MAX_ATTEMPTS = 3;
     private static final int DEFAULT_FAILURE_EXAMPLE_TOP_K = 3;
     private static final int DEFAULT_FAILURE_EXAMPLE_CANDIDATE_LIMIT = 120;
-    private static final Pattern FROM_ALIAS_PATTERN = Pattern.compile("(?is)\\bfrom\\s+([a-zA-Z_][\\w.]*)\\s+([a-zA-Z_][\\w]*)");
-    private static final Pattern QUALIFIED_COLUMN_PATTERN = Pattern.compile("\\b([a-zA-Z_][\\w]*)\\.([a-zA-Z_][\\w]*)\\b");
     private static final Pattern DATE_ONLY_PATTERN = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}$");
 
     private final LlmClient llmClient;
@@ -71,6 +72,8 @@ public class SemanticLlmQueryService {
     private final ObjectMapper mapper = new ObjectMapper();
     @Autowired(required = false)
     private ConvEngineSqlTableResolver tableResolver;
+    @Autowired(required = false)
+    private PromptBudget promptBudget;
     private String querySystemPrompt;
     private String queryUserPrompt;
     private String querySchema;
@@ -100,9 +103,11 @@ public class SemanticLlmQueryService {
         promptVars.put("canonical_intent_json", safeJson(safeIntent));
         promptVars.put("metadata_scope_json", safeJson(metadataScope));
         List<Map<String, Object>> failureExamples = loadFailureSqlExamples(retrievalQuery, safeIntent);
-        promptVars.put("retrieved_failure_examples_json", safeJson(failureExamples));
+        String failureExamplesJson = safeJson(failureExamples);
+        promptVars.put("retrieved_failure_examples_json", failureExamplesJson);
         List<String> failureHints = loadRecentFailureHints(safeQuestion, safeIntent);
-        promptVars.put("recent_failure_hints_json", safeJson(failureHints));
+        String failureHintsJson = safeJson(failureHints);
+        promptVars.put("recent_failure_hints_json", failureHintsJson);
 
         PromptTemplateContext ctx = PromptTemplateContext.builder()
                 .templateName("SemanticLlmQueryService")
@@ -117,6 +122,24 @@ public class SemanticLlmQueryService {
                 .currentTimezone(timezone)
                 .extra(promptVars)
                 .build();
+        // retrieved examples and hints are ranked best/newest first, so trimming drops the tail
+        PromptSection examplesSection = PromptSection.json("retrieved_failure_examples_json", 10,
+                failureExamplesJson, PromptSection.Trim.DROP_TAIL);
+        PromptSection hintsSection = PromptSection.json("recent_failure_hints_json", 20,
+                failureHintsJson, PromptSection.Trim.DROP_TAIL);
+        if (promptBudget != null) {
+            List<String> allHints = failureHints;
+            List<Map<String, Object>> allExamples = failureExamples;
+            promptBudget.fit(conversationId, LlmCallSite.SEMANTIC_QUERY, List.of(examplesSection, hintsSection),
+                    values -> {
+                        promptVars.putAll(values);
+                        return promptTemplateRenderer.render(querySystemPrompt, ctx) + "\n\n"
+                                + appendFailureContext(promptTemplateRenderer.render(queryUserPrompt, ctx),
+                                keptPrefix(allHints, hintsSection), keptPrefix(allExamples, examplesSection));
+                    });
+            failureHints = keptPrefix(failureHints, hintsSection);
+            failureExamples = keptPrefix(failureExamples, examplesSection);
+        }
         String renderedSystem = promptTemplateRenderer.render(querySystemPrompt, ctx);
         String renderedUser = promptTemplateRenderer.render(queryUserPrompt, ctx);
         String renderedUserWithHints = appendFailureContext(renderedUser, failureHints, failureExamples);
@@ -246,7 +269,9 @@ public class SemanticLlmQueryService {
     }
 
     private QueryAttempt generateAttempt(EngineSession session, String renderedSystem, String renderedUser, String contextJson) throws Exception {
-        String raw = llmClient.generateJsonStrict(session, renderedSystem + "\n\n" + renderedUser, querySchema, contextJson);
+        String prompt = renderedSystem + "\n\n" + renderedUser;
+        String raw = LlmCallSite.call(LlmCallSite.SEMANTIC_QUERY,
+                () -> llmClient.generateJsonStrict(session, prompt, querySchema, contextJson));
         JsonNode node = mapper.readTree(raw == null ? "{}" : raw);
         String sql = readText(node, "sql");
         Map<String, Object> params = readParams(node.path("params"));
@@ -307,8 +332,10 @@ public class SemanticLlmQueryService {
         if (sql == null || sql.isBlank()) {
             return ValidationResult.ok();
         }
-        String baseAlias = extractBaseAlias(sql);
-        String baseTable = extractBaseTable(sql);
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(sql);
+        McpSqlParser.TableRef baseRef = parsed.baseTableRef();
+        String baseAlias = baseRef == null ? null : baseRef.alias();
+        String baseTable = baseRef == null ? null : baseRef.table();
         if (baseAlias == null || baseAlias.isBlank() || baseTable == null || baseTable.isBlank()) {
             return ValidationResult.ok();
         }
@@ -316,37 +343,18 @@ public class SemanticLlmQueryService {
         if (baseAllowedColumns.isEmpty()) {
             return ValidationResult.ok();
         }
-        Matcher matcher = QUALIFIED_COLUMN_PATTERN.matcher(sql);
-        while (matcher.find()) {
-            String alias = matcher.group(1);
-            String column = matcher.group(2);
-            if (!baseAlias.equalsIgnoreCase(alias)) {
+        for (McpSqlParser.ColumnRef ref : parsed.columnRefs()) {
+            if (!baseAlias.equals(ref.qualifier())) {
                 continue;
             }
-            if (!baseAllowedColumns.contains(column.toLowerCase(Locale.ROOT))) {
-                return ValidationResult.fail("Invalid base alias column '" + alias + "." + column
+            if (!baseAllowedColumns.contains(ref.column())) {
+                return ValidationResult.fail("Invalid base alias column '" + ref.qualifier() + "." + ref.column()
                         + "'. Base alias must reference only mapped columns for " + baseTable + ".");
             }
         }
         return ValidationResult.ok();
     }
 
-    private String extractBaseAlias(String sql) {
-        if (sql == null) {
-            return null;
-        }
-        Matcher matcher = FROM_ALIAS_PATTERN.matcher(sql);
-        return matcher.find() ? matcher.group(2) : null;
-    }
-
-    private String extractBaseTable(String sql) {
-        if (sql == null) {
-            return null;
-        }
-        Matcher matcher = FROM_ALIAS_PATTERN.matcher(sql);
-        return matcher.find() ? matcher.group(1) : null;
-    }
-
     @SuppressWarnings("unchecked")
     private Set<String> baseAllowedColumns(Map<String, Object> metadataScope, CanonicalIntent intent, String baseTable) {
         if (metadataScope == null || baseTable == null || baseTable.isBlank()) {
@@ -386,6 +394,13 @@ public class SemanticLlmQueryService {
         return columns;
     }
 
+    private static <T> List<T> keptPrefix(List<T> items, PromptSection section) {
+        if (items == null || !section.trimmed()) {
+            return items;
+        }
+        return items.subList(0, Math.min(items.size(), section.size()));
+    }
+
     private String appendFailureContext(String renderedUser, List<String> failureHints, List<Map<String, Object>> failureExamples) {
         String out = renderedUser;
         if (failureExamples != null && !failureExamples.isEmpty()) {
@@ -0,0 +1,100 @@
+package com.github.salilvnair.convengine.engine.mcp.query.semantic.service;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of rendered static semantic prompt sections (allowed entities,
+ * fields, semantic metadata and scoped ce_semantic_* JSON blocks).
+ * Entries are keyed by a scope signature built by {@link SemanticInterpretService};
+ * the signature carries the current {@link #generation()} so a cache refresh
+ * invalidates entries that were being rendered concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SemanticPromptSectionCache {
+
+    private final ConvEngineMcpConfig mcpConfig;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final LinkedHashMap<String, Map<String, String>> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+            return size() > maxEntries();
+        }
+    };
+
+    public boolean isEnabled() {
+        ConvEngineMcpConfig.Db.Semantic.PromptCache cfg = promptCacheCfg();
+        return cfg != null && cfg.isEnabled();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public CachedSections getOrRender(String signature, Supplier<Map<String, String>> renderer) {
+        if (!isEnabled() || signature == null) {
+            return new CachedSections(renderer.get(), false);
+        }
+        synchronized (entries) {
+            Map<String, String> cached = entries.get(signature);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return new CachedSections(cached, true);
+            }
+        }
+        misses.incrementAndGet();
+        Map<String, String> rendered = Map.copyOf(renderer.get());
+        synchronized (entries) {
+            entries.put(signature, rendered);
+        }
+        return new CachedSections(rendered, false);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+        log.info("ConvEngine: semantic prompt section cache invalidated (generation={}).", generation.get());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", isEnabled());
+        out.put("generation", generation.get());
+        synchronized (entries) {
+            out.put("size", entries.size());
+        }
+        out.put("maxEntries", maxEntries());
+        out.put("hits", hits.get());
+        out.put("misses", misses.get());
+        return out;
+    }
+
+    private int maxEntries() {
+        ConvEngineMcpConfig.Db.Semantic.PromptCache cfg = promptCacheCfg();
+        return cfg == null ? 0 : Math.max(1, cfg.getMaxEntries());
+    }
+
+    private ConvEngineMcpConfig.Db.Semantic.PromptCache promptCacheCfg() {
+        if (mcpConfig == null || mcpConfig.getDb() == null || mcpConfig.getDb().getSemantic() == null) {
+            return null;
+        }
+        return mcpConfig.getDb().getSemantic().getPromptCache();
+    }
+
+    public record CachedSections(Map<String, String> sections, boolean hit) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.github.salilvnair.convengine.engine.mcp.retrieval;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory chunk store with a BM25 inverted index and unit-length embedding vectors. Documents
+ * are replaced as a whole so re-indexing a changed file or row never leaves stale chunks behind;
+ * every change bumps {@link #generation()} so result caches can tell they are out of date.
+ * Vector search is an exact scan, which stays well under a millisecond for the tens of thousands
+ * of chunks a single application indexes.
+ */
+public class LocalDocumentIndex {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double K1 = 1.2d;
+    private static final double B = 0.75d;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Chunk> chunks = new LinkedHashMap<>();
+    private final Map<String, List<String>> documentChunks = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private long totalTokens;
+    private int vectorChunks;
+
+    public void upsert(String documentId, List<Chunk> documentChunkList) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(documentId);
+            List<String> ids = new ArrayList<>(documentChunkList.size());
+            for (Chunk chunk : documentChunkList) {
+                chunks.put(chunk.id(), chunk);
+                ids.add(chunk.id());
+                totalTokens += chunk.length();
+                if (chunk.vector() != null) {
+                    vectorChunks++;
+                }
+                chunk.termFrequencies().forEach((term, tf) ->
+                        postings.computeIfAbsent(term, key -> new HashMap<>()).put(chunk.id(), tf));
+            }
+            documentChunks.put(documentId, ids);
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String documentId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeUnlocked(documentId);
+            if (removed) {
+                generation.incrementAndGet();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean removeUnlocked(String documentId) {
+        List<String> ids = documentChunks.remove(documentId);
+        if (ids == null) {
+            return false;
+        }
+        for (String id : ids) {
+            Chunk chunk = chunks.remove(id);
+            if (chunk == null) {
+                continue;
+            }
+            totalTokens -= chunk.length();
+            if (chunk.vector() != null) {
+                vectorChunks--;
+            }
+            for (String term : chunk.termFrequencies().keySet()) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    public List<Hit> lexicalSearch(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = chunks.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = Math.max(1.0d, (double) totalTokens / n);
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : terms.stream().distinct().toList()) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double df = posting.size();
+                double idf = Math.log(1.0d + (n - df + 0.5d) / (df + 0.5d));
+                posting.forEach((chunkId, tf) -> {
+                    double norm = tf + K1 * (1.0d - B + B * chunks.get(chunkId).length() / avgLength);
+                    scores.merge(chunkId, idf * tf * (K1 + 1.0d) / norm, Double::sum);
+                });
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> vectorSearch(float[] query, int limit) {
+        float[] unit = normalize(query);
+        if (unit == null || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            for (Chunk chunk : chunks.values()) {
+                float[] vector = chunk.vector();
+                if (vector == null || vector.length != unit.length) {
+                    continue;
+                }
+                double dot = 0.0d;
+                for (int i = 0; i < unit.length; i++) {
+                    dot += unit[i] * vector[i];
+                }
+                scores.put(chunk.id(), dot);
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> top(Map<String, Double> scores, int limit) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new Hit(chunks.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    public boolean hasVectors() {
+        lock.readLock().lock();
+        try {
+            return vectorChunks > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Collection<String> documentIds() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(documentChunks.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("documents", documentChunks.size());
+            out.put("chunks", chunks.size());
+            out.put("vectorChunks", vectorChunks);
+            out.put("terms", postings.size());
+            out.put("generation", generation.get());
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static float[] normalize(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            return null;
+        }
+        double sum = 0.0d;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        if (sum == 0.0d) {
+            return null;
+        }
+        float norm = (float) Math.sqrt(sum);
+        float[] out = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            out[i] = vector[i] / norm;
+        }
+        return out;
+    }
+
+    public record Chunk(
+            String id,
+            String documentId,
+            String source,
+            String title,
+            String text,
+            int length,
+            Map<String, Integer> termFrequencies,
+            float[] vector
+    ) {
+        public static Chunk of(String id, String documentId, String source, String title, String text, float[] vector) {
+            List<String> tokens = tokenize(title == null ? text : title + "\n" + text);
+            Map<String, Integer> tf = new HashMap<>();
+            for (String token : tokens) {
+                tf.merge(token, 1, Integer::sum);
+            }
+            return new Chunk(id, documentId, source, title, text, tokens.size(), Map.copyOf(tf), normalize(vector));
+        }
+    }
+
+    public record Hit(Chunk chunk, double score) {
+    }
+}
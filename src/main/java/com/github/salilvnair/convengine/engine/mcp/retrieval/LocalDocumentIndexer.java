@@ -0,0 +1,330 @@
+package com.github.salilvnair.convengine.engine.mcp.retrieval;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link LocalDocumentIndex} in step with the configured directory and table. Each
+ * refresh re-reads only files whose size or modification time changed and rows updated since the
+ * last seen {@code updatedAtColumn} value; unchanged content is never re-embedded. Refreshes run
+ * on a single daemon thread so startup is not held up by embedding a large corpus.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "convengine.mcp.document-retrieval", name = "enabled", havingValue = "true")
+public class LocalDocumentIndexer {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+    private static final String FILE_PREFIX = "file:";
+    private static final String ROW_PREFIX = "row:";
+
+    private final ConvEngineMcpConfig mcpConfig;
+    private final LlmClient llmClient;
+    private final ObjectProvider<NamedParameterJdbcTemplate> jdbcTemplateProvider;
+
+    private final LocalDocumentIndex index = new LocalDocumentIndex();
+    private final Map<String, String> fileFingerprints = new HashMap<>();
+    private final Map<String, Integer> contentHashes = new ConcurrentHashMap<>();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong indexedDocuments = new AtomicLong();
+    private final AtomicLong removedDocuments = new AtomicLong();
+    private final AtomicLong embeddingFailures = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private Object tableWatermark;
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        ConvEngineMcpConfig.DocumentRetrieval cfg = config();
+        if (isBlank(cfg.getDirectory()) && isBlank(cfg.getTable())) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runLoop, "convengine-document-indexer");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            refresh();
+            long interval = config().getRefreshIntervalMs();
+            if (interval <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public LocalDocumentIndex index() {
+        return index;
+    }
+
+    /**
+     * Brings the index up to date with the directory and table; safe to call from an admin
+     * endpoint while the background refresh is running.
+     */
+    public synchronized void refresh() {
+        ConvEngineMcpConfig.DocumentRetrieval cfg = config();
+        refreshes.incrementAndGet();
+        if (!isBlank(cfg.getDirectory())) {
+            try {
+                refreshDirectory(cfg);
+            } catch (Exception e) {
+                refreshFailures.incrementAndGet();
+                log.warn("Document index refresh failed for directory={} cause={}", cfg.getDirectory(), e.getMessage());
+            }
+        }
+        if (!isBlank(cfg.getTable())) {
+            try {
+                refreshTable(cfg);
+            } catch (Exception e) {
+                refreshFailures.incrementAndGet();
+                log.warn("Document index refresh failed for table={} cause={}", cfg.getTable(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Adds or replaces a document outside the directory/table sources, e.g. from an upload.
+     */
+    public void index(String documentId, String source, String title, String text) {
+        if (isBlank(documentId)) {
+            throw new IllegalArgumentException("documentId is required");
+        }
+        if (isBlank(text)) {
+            remove(documentId);
+            return;
+        }
+        Integer hash = text.hashCode() * 31 + (title == null ? 0 : title.hashCode());
+        if (hash.equals(contentHashes.get(documentId))) {
+            return;
+        }
+        ConvEngineMcpConfig.DocumentRetrieval cfg = config();
+        List<LocalDocumentIndex.Chunk> chunks = new ArrayList<>();
+        List<String> parts = split(text, Math.max(200, cfg.getChunkChars()));
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            chunks.add(LocalDocumentIndex.Chunk.of(documentId + "#" + i, documentId, source, title, part,
+                    cfg.isVectorEnabled() ? embed(title == null ? part : title + "\n" + part) : null));
+        }
+        index.upsert(documentId, chunks);
+        contentHashes.put(documentId, hash);
+        indexedDocuments.incrementAndGet();
+    }
+
+    public void remove(String documentId) {
+        contentHashes.remove(documentId);
+        if (index.remove(documentId)) {
+            removedDocuments.incrementAndGet();
+        }
+    }
+
+    private void refreshDirectory(ConvEngineMcpConfig.DocumentRetrieval cfg) throws IOException {
+        Path root = Paths.get(cfg.getDirectory()).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            log.warn("Document retrieval directory does not exist: {}", root);
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).filter(path -> matchesExtension(path, cfg)).toList();
+        }
+        for (Path file : files) {
+            String relative = root.relativize(file).toString().replace('\\', '/');
+            String documentId = FILE_PREFIX + relative;
+            seen.add(documentId);
+            String fingerprint = Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+            if (fingerprint.equals(fileFingerprints.get(documentId))) {
+                continue;
+            }
+            index(documentId, relative, file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+            fileFingerprints.put(documentId, fingerprint);
+        }
+        for (String documentId : List.copyOf(fileFingerprints.keySet())) {
+            if (!seen.contains(documentId)) {
+                fileFingerprints.remove(documentId);
+                remove(documentId);
+            }
+        }
+    }
+
+    private void refreshTable(ConvEngineMcpConfig.DocumentRetrieval cfg) {
+        NamedParameterJdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate == null) {
+            log.warn("Document retrieval table={} configured but no NamedParameterJdbcTemplate is available", cfg.getTable());
+            return;
+        }
+        String table = identifier(cfg.getTable());
+        String idColumn = identifier(cfg.getIdColumn());
+        String contentColumn = identifier(cfg.getContentColumn());
+        String titleColumn = isBlank(cfg.getTitleColumn()) ? null : identifier(cfg.getTitleColumn());
+        String updatedAtColumn = isBlank(cfg.getUpdatedAtColumn()) ? null : identifier(cfg.getUpdatedAtColumn());
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(idColumn).append(", ").append(contentColumn);
+        if (titleColumn != null) {
+            sql.append(", ").append(titleColumn);
+        }
+        if (updatedAtColumn != null) {
+            sql.append(", ").append(updatedAtColumn);
+        }
+        sql.append(" FROM ").append(table);
+        Map<String, Object> params = new HashMap<>();
+        if (updatedAtColumn != null && tableWatermark != null) {
+            // >= rather than > so rows committed later with the same timestamp are not missed;
+            // unchanged rows are skipped by their content hash
+            sql.append(" WHERE ").append(updatedAtColumn).append(" >= :since");
+            params.put("since", tableWatermark);
+        }
+        if (updatedAtColumn != null) {
+            sql.append(" ORDER BY ").append(updatedAtColumn);
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql.toString(), params)) {
+            Object id = row.get(idColumn);
+            if (id == null) {
+                continue;
+            }
+            String documentId = ROW_PREFIX + id;
+            seen.add(documentId);
+            Object title = titleColumn == null ? null : row.get(titleColumn);
+            Object content = row.get(contentColumn);
+            index(documentId, table + ":" + id, title == null ? null : String.valueOf(title),
+                    content == null ? null : String.valueOf(content));
+            if (updatedAtColumn != null && row.get(updatedAtColumn) != null) {
+                tableWatermark = row.get(updatedAtColumn);
+            }
+        }
+        if (updatedAtColumn == null) {
+            // without a change column every refresh is a full read, so deleted rows can be dropped
+            for (String documentId : index.documentIds()) {
+                if (documentId.startsWith(ROW_PREFIX) && !seen.contains(documentId)) {
+                    remove(documentId);
+                }
+            }
+        }
+    }
+
+    private float[] embed(String text) {
+        try {
+            float[] vector = llmClient.generateEmbedding(null, text);
+            if (vector == null || vector.length == 0) {
+                embeddingFailures.incrementAndGet();
+                return null;
+            }
+            return vector;
+        } catch (Exception e) {
+            embeddingFailures.incrementAndGet();
+            log.debug("Document chunk embedding failed, indexing it for BM25 only. cause={}", e.getMessage());
+            return null;
+        }
+    }
+
+    static List<String> split(String text, int maxChars) {
+        List<String> out = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : text.split("\\R\\s*\\R")) {
+            String trimmed = paragraph.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (current.length() > 0 && current.length() + trimmed.length() + 2 > maxChars) {
+                out.add(current.toString());
+                current.setLength(0);
+            }
+            while (trimmed.length() > maxChars) {
+                int cut = trimmed.lastIndexOf(' ', maxChars);
+                cut = cut <= 0 ? maxChars : cut;
+                out.add(trimmed.substring(0, cut).strip());
+                trimmed = trimmed.substring(cut).strip();
+            }
+            if (current.length() > 0) {
+                current.append("\n\n");
+            }
+            current.append(trimmed);
+        }
+        if (current.length() > 0) {
+            out.add(current.toString());
+        }
+        return out;
+    }
+
+    private boolean matchesExtension(Path path, ConvEngineMcpConfig.DocumentRetrieval cfg) {
+        if (cfg.getFileExtensions() == null || cfg.getFileExtensions().isEmpty()) {
+            return true;
+        }
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return cfg.getFileExtensions().stream().anyMatch(ext -> name.endsWith(ext.toLowerCase(Locale.ROOT)));
+    }
+
+    private String identifier(String value) {
+        String trimmed = value == null ? "" : value.trim();
+        if (!IDENTIFIER.matcher(trimmed).matches()) {
+            throw new IllegalArgumentException("Invalid document retrieval identifier: " + value);
+        }
+        return trimmed;
+    }
+
+    private ConvEngineMcpConfig.DocumentRetrieval config() {
+        return mcpConfig.getDocumentRetrieval();
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>(index.stats());
+        out.put("refreshes", refreshes.get());
+        out.put("refreshFailures", refreshFailures.get());
+        out.put("indexedDocuments", indexedDocuments.get());
+        out.put("removedDocuments", removedDocuments.get());
+        out.put("embeddingFailures", embeddingFailures.get());
+        return out;
+    }
+}
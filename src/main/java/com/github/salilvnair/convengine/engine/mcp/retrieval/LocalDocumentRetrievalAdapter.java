@@ -0,0 +1,184 @@
+package com.github.salilvnair.convengine.engine.mcp.retrieval;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.engine.mcp.executor.adapter.DocumentRetrievalExecutorAdapter;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeMcpTool;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in DOCUMENT_RETRIEVAL adapter over {@link LocalDocumentIndex}. BM25 and embedding
+ * rankings are fused with reciprocal-rank fusion, so a chunk that is strong in either ranking
+ * surfaces without the two score scales having to be calibrated. Fused results are cached per
+ * index generation; with the stub LLM client the whole path runs offline.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "convengine.mcp.document-retrieval", name = "enabled", havingValue = "true")
+public class LocalDocumentRetrievalAdapter implements DocumentRetrievalExecutorAdapter {
+
+    private final ConvEngineMcpConfig mcpConfig;
+    private final LocalDocumentIndexer indexer;
+    private final LlmClient llmClient;
+    private final ObjectMapper mapper;
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong vectorFallbacks = new AtomicLong();
+    private final Map<String, String> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > Math.max(0, mcpConfig.getDocumentRetrieval().getCacheMaxEntries());
+        }
+    };
+
+    @Override
+    public String execute(CeMcpTool tool, Map<String, Object> args, EngineSession session) {
+        ConvEngineMcpConfig.DocumentRetrieval cfg = mcpConfig.getDocumentRetrieval();
+        String query = query(args, session);
+        int topK = Math.min(Math.max(1, intArg(args, cfg.getTopK())), Math.max(1, cfg.getMaxTopK()));
+        queries.incrementAndGet();
+        if (query == null) {
+            return toJson(Map.of("query", "", "results", List.of()));
+        }
+        LocalDocumentIndex index = indexer.index();
+        String key = index.generation() + "|" + topK + "|" + query.toLowerCase(Locale.ROOT);
+        if (cfg.getCacheMaxEntries() > 0) {
+            synchronized (cache) {
+                String cached = cache.get(key);
+                if (cached != null) {
+                    cacheHits.incrementAndGet();
+                    return cached;
+                }
+            }
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("query", query);
+        out.put("results", search(index, query, topK, cfg));
+        String json = toJson(out);
+        if (cfg.getCacheMaxEntries() > 0) {
+            synchronized (cache) {
+                cache.put(key, json);
+            }
+        }
+        return json;
+    }
+
+    List<Map<String, Object>> search(LocalDocumentIndex index, String query, int topK,
+                                     ConvEngineMcpConfig.DocumentRetrieval cfg) {
+        int pool = Math.max(topK, cfg.getCandidatePool());
+        List<LocalDocumentIndex.Hit> lexical = index.lexicalSearch(query, pool);
+        List<LocalDocumentIndex.Hit> vector = List.of();
+        if (cfg.isVectorEnabled() && index.hasVectors()) {
+            try {
+                vector = index.vectorSearch(llmClient.generateEmbedding(null, query), pool);
+            } catch (Exception e) {
+                vectorFallbacks.incrementAndGet();
+                log.debug("Query embedding failed, answering from BM25 only. cause={}", e.getMessage());
+            }
+        }
+
+        int rrfK = Math.max(1, cfg.getRrfK());
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        for (int i = 0; i < lexical.size(); i++) {
+            Fused entry = fused.computeIfAbsent(lexical.get(i).chunk().id(), id -> new Fused());
+            entry.chunk = lexical.get(i).chunk();
+            entry.lexicalRank = i + 1;
+            entry.score += 1.0d / (rrfK + i + 1);
+        }
+        for (int i = 0; i < vector.size(); i++) {
+            Fused entry = fused.computeIfAbsent(vector.get(i).chunk().id(), id -> new Fused());
+            entry.chunk = vector.get(i).chunk();
+            entry.vectorRank = i + 1;
+            entry.score += 1.0d / (rrfK + i + 1);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        fused.values().stream()
+                .sorted(Comparator.comparingDouble((Fused entry) -> entry.score).reversed()
+                        .thenComparing(entry -> entry.chunk.id()))
+                .limit(topK)
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("id", entry.chunk.id());
+                    row.put("documentId", entry.chunk.documentId());
+                    row.put("source", entry.chunk.source());
+                    row.put("title", entry.chunk.title());
+                    row.put("text", entry.chunk.text());
+                    row.put("score", entry.score);
+                    row.put("lexicalRank", entry.lexicalRank);
+                    row.put("vectorRank", entry.vectorRank);
+                    results.add(row);
+                });
+        return results;
+    }
+
+    private String query(Map<String, Object> args, EngineSession session) {
+        for (String key : List.of("query", "question", "text")) {
+            Object value = args == null ? null : args.get(key);
+            if (value != null && !String.valueOf(value).isBlank()) {
+                return String.valueOf(value).trim();
+            }
+        }
+        String fallback = session == null ? null : session.getResolvedUserInput();
+        return fallback == null || fallback.isBlank() ? null : fallback.trim();
+    }
+
+    private int intArg(Map<String, Object> args, int defaultValue) {
+        for (String key : List.of("topK", "limit")) {
+            Object value = args == null ? null : args.get(key);
+            if (value instanceof Number number) {
+                return number.intValue();
+            }
+            if (value != null) {
+                try {
+                    return Integer.parseInt(String.valueOf(value).trim());
+                } catch (NumberFormatException ignored) {
+                    // fall through to the configured default
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize document retrieval result", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>(indexer.stats());
+        out.put("queries", queries.get());
+        out.put("cacheHits", cacheHits.get());
+        out.put("vectorFallbacks", vectorFallbacks.get());
+        synchronized (cache) {
+            out.put("cacheSize", cache.size());
+        }
+        return out;
+    }
+
+    private static final class Fused {
+        private LocalDocumentIndex.Chunk chunk;
+        private Integer lexicalRank;
+        private Integer vectorRank;
+        private double score;
+    }
+}
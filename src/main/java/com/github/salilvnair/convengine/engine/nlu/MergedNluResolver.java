@@ -0,0 +1,327 @@
+package com.github.salilvnair.convengine.engine.nlu;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineFlowConfig;
+import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
+import com.github.salilvnair.convengine.engine.dialogue.DialogueAct;
+import com.github.salilvnair.convengine.engine.helper.CeConfigResolver;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.intent.AllowedIntent;
+import com.github.salilvnair.convengine.intent.AllowedIntentService;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
+import com.github.salilvnair.convengine.prompt.renderer.PromptTemplateRenderer;
+import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
+import com.github.salilvnair.convengine.util.JsonUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One strict-JSON LLM call returning the dialogue act, the rewritten query and the agent intent
+ * section together, used by DialogueActStep when {@code convengine.flow.merged-nlu.enabled} is
+ * set. A response that fails validation is audited as NLU_LLM_FALLBACK and discarded, and both
+ * steps then make their usual separate calls.
+ */
+@RequiredArgsConstructor
+@Component
+public class MergedNluResolver {
+
+    private final AuditService audit;
+    private final ConvEngineFlowConfig flowConfig;
+    private final LlmClient llm;
+    private final CeConfigResolver configResolver;
+    private final PromptTemplateRenderer renderer;
+    private final AllowedIntentService allowedIntentService;
+    private final VerboseMessagePublisher verbosePublisher;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String SYSTEM_PROMPT;
+    private String USER_PROMPT;
+    private String SCHEMA_JSON;
+
+    @PostConstruct
+    public void init() {
+        SYSTEM_PROMPT = configResolver.resolveString(this, "SYSTEM_PROMPT",
+                """
+                        You are the language understanding stage of a conversational engine.
+                        In one pass, classify the dialogue act, rewrite the user's text into an explicit standalone
+                        query using the conversation history, and resolve the user's intent.
+
+                        Return JSON ONLY matching the exact schema:
+                        - dialogueAct / confidence: the dialogue act of the latest user text.
+                        - standaloneQuery: the user's text rewritten so it needs no conversation history; repeat the
+                          text unchanged when it is already standalone.
+                        - intent: intent resolution with intent, state ("INTENT_COLLISION" or "IDLE"), confidence,
+                          needsClarification, clarificationQuestion, intentScores (every plausible allowed intent,
+                          sorted by confidence descending) and followups.
+
+                        Rules:
+                        - Use only allowed intents; set intent.intent to null when none fits.
+                        - If top intents are close and ambiguous, set state to INTENT_COLLISION, needsClarification=true
+                          and add one disambiguation question to followups.
+                        - Do not hallucinate missing identifiers or facts.
+                        """);
+        USER_PROMPT = configResolver.resolveString(this, "USER_PROMPT", """
+                Context:
+                {{context}}
+
+                Conversation History:
+                {{conversation_history}}
+
+                Allowed intents:
+                {{allowed_intents}}
+
+                Previous clarification question (if any):
+                {{pending_clarification}}
+
+                User text:
+                {{user_input}}
+                """);
+        SCHEMA_JSON = configResolver.resolveString(this, "SCHEMA_PROMPT",
+                """
+                        {
+                          "type":"object",
+                          "required":["dialogueAct","confidence","standaloneQuery","intent"],
+                          "properties":{
+                            "dialogueAct":{"type":"string","enum":[%s]},
+                            "confidence":{"type":"number"},
+                            "standaloneQuery":{"type":"string"},
+                            "intent":{
+                              "type":"object",
+                              "required":["intent","state","confidence","needsClarification","clarificationQuestion","intentScores","followups"],
+                              "properties":{
+                                "intent":{"type":["string","null"]},
+                                "state":{"type":"string"},
+                                "confidence":{"type":"number"},
+                                "needsClarification":{"type":"boolean"},
+                                "clarificationQuestion":{"type":"string"},
+                                "intentScores":{
+                                  "type":"array",
+                                  "items":{
+                                    "type":"object",
+                                    "required":["intent","confidence"],
+                                    "properties":{
+                                      "intent":{"type":"string"},
+                                      "confidence":{"type":"number"}
+                                    },
+                                    "additionalProperties":false
+                                  }
+                                },
+                                "followups":{"type":"array","items":{"type":"string"}}
+                              },
+                              "additionalProperties":false
+                            }
+                          },
+                          "additionalProperties":false
+                        }
+                        """.formatted(Arrays.stream(DialogueAct.values())
+                        .map(act -> "\"" + act.name() + "\"")
+                        .collect(Collectors.joining(","))));
+    }
+
+    /**
+     * Makes the combined call and keeps its intent section on the session for AgentIntentResolver.
+     * Returns null when the merged call does not apply to this turn or its output is rejected;
+     * the caller then falls back to its own dialogue-act call.
+     */
+    public MergedNluResult resolve(EngineSession session) {
+        if (!flowConfig.getMergedNlu().isEnabled() || session.isIntentLocked()) {
+            return null;
+        }
+        List<AllowedIntent> allowedIntents = allowedIntentService.allowedIntents();
+        if (allowedIntents.isEmpty()) {
+            return null;
+        }
+
+        String pendingClarification = MergedNluResult.pendingClarification(session);
+        PromptTemplateContext promptTemplateContext = PromptTemplateContext.builder()
+                .templateName("MergedNluResolver")
+                .systemPrompt(SYSTEM_PROMPT)
+                .userPrompt(USER_PROMPT)
+                .schemaJson(SCHEMA_JSON)
+                .context(session.getContextJson())
+                .userInput(session.getUserText())
+                .resolvedUserInput(session.getResolvedUserInput())
+                .standaloneQuery(session.getStandaloneQuery())
+                .allowedIntents(allowedIntents)
+                .pendingClarification(pendingClarification)
+                .conversationHistory(JsonUtil.toJson(session.conversionHistory()))
+                .extra(session.promptTemplateVars())
+                .session(session)
+                .build();
+        String systemPrompt = renderer.render(SYSTEM_PROMPT, promptTemplateContext);
+        String userPrompt = renderer.render(USER_PROMPT, promptTemplateContext);
+
+        Map<String, Object> inputPayload = new LinkedHashMap<>();
+        inputPayload.put(ConvEnginePayloadKey.SYSTEM_PROMPT, systemPrompt);
+        inputPayload.put(ConvEnginePayloadKey.USER_PROMPT, userPrompt);
+        inputPayload.put(ConvEnginePayloadKey.SCHEMA, SCHEMA_JSON);
+        audit.audit(ConvEngineAuditStage.NLU_LLM_INPUT, session.getConversationId(), inputPayload);
+        verbosePublisher.publish(session, "MergedNluResolver", "NLU_LLM_INPUT", null, null, false, inputPayload);
+
+        LlmInvocationContext.set(session.getConversationId(), session.getIntent(), session.getState());
+        String out;
+        try {
+            String prompt = systemPrompt + "\n\n" + userPrompt;
+            out = LlmCallSite.call(LlmCallSite.NLU,
+                    () -> llm.generateJsonStrict(session, prompt, SCHEMA_JSON, session.getContextJson()));
+        } catch (Exception e) {
+            fallback(session, "llm call failed: " + e.getMessage(), null);
+            return null;
+        }
+        audit.audit(ConvEngineAuditStage.NLU_LLM_OUTPUT, session.getConversationId(),
+                Map.of(ConvEnginePayloadKey.JSON, String.valueOf(out)));
+        verbosePublisher.publish(session, "MergedNluResolver", "NLU_LLM_OUTPUT", null, null, false,
+                Map.of(ConvEnginePayloadKey.JSON, String.valueOf(out)));
+
+        JsonNode node = parse(out);
+        String rejection = validate(node, allowedCodes(allowedIntents));
+        if (rejection != null) {
+            fallback(session, rejection, out);
+            return null;
+        }
+
+        MergedNluResult result = new MergedNluResult(
+                DialogueAct.valueOf(node.path("dialogueAct").asText().trim().toUpperCase(Locale.ROOT)),
+                node.path("confidence").asDouble(),
+                node.path("standaloneQuery").asText(null),
+                node.path("intent").toString(),
+                session.getIntent(),
+                session.getState(),
+                pendingClarification);
+        session.setMergedNlu(result);
+        return result;
+    }
+
+    /**
+     * Hands the intent section of this turn's merged call to AgentIntentResolver, at most once.
+     * Returns null when there is none or when intent, state or pending clarification changed
+     * since the call, in which case the agent makes its own call.
+     */
+    public String takeIntentOutput(EngineSession session) {
+        MergedNluResult result = session.getMergedNlu();
+        if (result == null) {
+            return null;
+        }
+        session.setMergedNlu(null);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(ConvEnginePayloadKey.INTENT, session.getIntent());
+        payload.put(ConvEnginePayloadKey.STATE, session.getState());
+        if (!result.stillApplies(session)) {
+            payload.put(ConvEnginePayloadKey.REASON, "intent, state or clarification changed since the merged call");
+            audit.audit(ConvEngineAuditStage.NLU_LLM_FALLBACK, session.getConversationId(), payload);
+            return null;
+        }
+        payload.put(ConvEnginePayloadKey.JSON, result.intentJson());
+        audit.audit(ConvEngineAuditStage.NLU_INTENT_REUSED, session.getConversationId(), payload);
+        verbosePublisher.publish(session, "MergedNluResolver", "NLU_INTENT_REUSED", null, null, false, payload);
+        return result.intentJson();
+    }
+
+    static String validate(JsonNode node, Set<String> allowedCodes) {
+        if (node == null || !node.isObject()) {
+            return "invalid json";
+        }
+        if (!isDialogueAct(node.path("dialogueAct"))) {
+            return "invalid dialogueAct";
+        }
+        if (!isConfidence(node.path("confidence"))) {
+            return "invalid confidence";
+        }
+        JsonNode standaloneQuery = node.path("standaloneQuery");
+        if (!standaloneQuery.isMissingNode() && !standaloneQuery.isNull() && !standaloneQuery.isTextual()) {
+            return "invalid standaloneQuery";
+        }
+        JsonNode intent = node.path("intent");
+        if (!intent.isObject()) {
+            return "missing intent section";
+        }
+        if (!isConfidence(intent.path("confidence"))) {
+            return "invalid intent confidence";
+        }
+        JsonNode intentCode = intent.path("intent");
+        if (intentCode.isTextual() && !intentCode.asText().isBlank() && !isAllowed(intentCode.asText(), allowedCodes)) {
+            return "intent not in allowed intents";
+        }
+        JsonNode scores = intent.path("intentScores");
+        if (!scores.isArray()) {
+            return "missing intentScores";
+        }
+        for (JsonNode score : scores) {
+            if (!score.path("intent").isTextual() || !isAllowed(score.path("intent").asText(), allowedCodes)) {
+                return "intentScores entry not in allowed intents";
+            }
+            if (!isConfidence(score.path("confidence"))) {
+                return "invalid intentScores confidence";
+            }
+        }
+        return null;
+    }
+
+    private void fallback(EngineSession session, String reason, String output) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(ConvEnginePayloadKey.REASON, reason);
+        if (output != null) {
+            payload.put(ConvEnginePayloadKey.JSON, output);
+        }
+        audit.audit(ConvEngineAuditStage.NLU_LLM_FALLBACK, session.getConversationId(), payload);
+        verbosePublisher.publish(session, "MergedNluResolver", "NLU_LLM_FALLBACK", null, null, true, payload);
+    }
+
+    private JsonNode parse(String out) {
+        if (out == null || out.isBlank()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(out);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean isDialogueAct(JsonNode value) {
+        if (!value.isTextual()) {
+            return false;
+        }
+        try {
+            DialogueAct.valueOf(value.asText().trim().toUpperCase(Locale.ROOT));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isConfidence(JsonNode value) {
+        return value.isNumber() && value.asDouble() >= 0.0d && value.asDouble() <= 1.0d;
+    }
+
+    private static boolean isAllowed(String code, Set<String> allowedCodes) {
+        return allowedCodes.contains(code.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static Set<String> allowedCodes(List<AllowedIntent> allowedIntents) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (AllowedIntent allowedIntent : allowedIntents) {
+            if (allowedIntent.code() != null) {
+                codes.add(allowedIntent.code().trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return codes;
+    }
+}
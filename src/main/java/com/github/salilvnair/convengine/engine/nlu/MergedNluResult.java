@@ -0,0 +1,33 @@
+package com.github.salilvnair.convengine.engine.nlu;
+
+import com.github.salilvnair.convengine.engine.dialogue.DialogueAct;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+
+import java.util.Objects;
+
+/**
+ * Validated output of the combined NLU call. {@code intentJson} is the intent section in the
+ * shape AgentIntentResolver expects from its own LLM call; the intent, state and pending
+ * clarification seen when the call was made decide whether it still applies at intent
+ * resolution.
+ */
+public record MergedNluResult(
+        DialogueAct dialogueAct,
+        double confidence,
+        String standaloneQuery,
+        String intentJson,
+        String intentAtCall,
+        String stateAtCall,
+        String pendingClarificationAtCall
+) {
+
+    boolean stillApplies(EngineSession session) {
+        return Objects.equals(intentAtCall, session.getIntent())
+                && Objects.equals(stateAtCall, session.getState())
+                && Objects.equals(pendingClarificationAtCall, pendingClarification(session));
+    }
+
+    static String pendingClarification(EngineSession session) {
+        return session.hasPendingClarification() ? session.getPendingClarificationQuestion() : null;
+    }
+}
@@ -5,18 +5,44 @@ import com.github.salilvnair.convengine.engine.exception.ConversationEngineExcep
 import com.github.salilvnair.convengine.engine.model.EngineResult;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 public final class EnginePipeline {
 
     private final List<EngineStep> steps;
+    private final Map<Integer, List<ParallelEngineStep<?>>> parallelGroups;
+    private final Executor parallelExecutor;
 
     public EnginePipeline(List<EngineStep> steps) {
+        this(steps, Map.of(), null);
+    }
+
+    /**
+     * @param parallelGroups steps to prepare concurrently, keyed by the index of the group's first
+     *                       step in {@code steps}
+     */
+    public EnginePipeline(List<EngineStep> steps, Map<Integer, List<ParallelEngineStep<?>>> parallelGroups,
+                          Executor parallelExecutor) {
         this.steps = steps;
+        this.parallelGroups = parallelExecutor == null ? Map.of() : Map.copyOf(parallelGroups);
+        this.parallelExecutor = parallelExecutor;
     }
 
     public EngineResult execute(EngineSession session) {
-        for (EngineStep step : steps) {
-            StepResult r = step.execute(session);
+        if (parallelGroups.isEmpty()) {
+            return executeSteps(session);
+        }
+        return ParallelStepScope.open(() -> executeSteps(session));
+    }
+
+    private EngineResult executeSteps(EngineSession session) {
+        for (int i = 0; i < steps.size(); i++) {
+            List<ParallelEngineStep<?>> group = parallelGroups.get(i);
+            if (group != null) {
+                ParallelStepScope.prepareAll(group, session, parallelExecutor);
+            }
+            StepResult r = steps.get(i).execute(session);
             if (r instanceof StepResult.Stop stop) {
                 return stop.result();
             }
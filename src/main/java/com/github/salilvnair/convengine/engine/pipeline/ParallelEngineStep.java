@@ -0,0 +1,29 @@
+package com.github.salilvnair.convengine.engine.pipeline;
+
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+
+/**
+ * A step whose expensive part (a fetch, a lookup, a regex pass) can run alongside other parallel
+ * steps. When {@code convengine.execution.parallel-steps.enabled} is on, adjacent parallel steps
+ * with no {@code @MustRunAfter}/{@code @MustRunBefore} path between them form a group. The group
+ * first runs every {@link #prepare} concurrently, waits for all of them, then runs each
+ * {@link #apply} on the turn thread in pipeline order, so session writes land in the same order
+ * as a sequential run.
+ * <p>
+ * {@code prepare} must only read the session: it runs on another thread, after the steps before
+ * the group and before the step hooks and STEP_ENTER audit of its own step. With parallel steps
+ * off, or when the step is not grouped, {@link #execute} simply runs both halves in sequence.
+ *
+ * @param <P> what prepare hands to apply
+ */
+public interface ParallelEngineStep<P> extends EngineStep {
+
+    P prepare(EngineSession session);
+
+    StepResult apply(EngineSession session, P prepared);
+
+    @Override
+    default StepResult execute(EngineSession session) {
+        return apply(session, ParallelStepScope.take(this, session));
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.salilvnair.convengine.engine.pipeline;
+
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Prepared results of the current turn's parallel group, held on the turn thread until each
+ * step's {@link ParallelEngineStep#execute} picks its own up.
+ */
+public final class ParallelStepScope {
+
+    private static final ThreadLocal<Map<ParallelEngineStep<?>, Prepared>> PREPARED = new ThreadLocal<>();
+
+    private ParallelStepScope() {
+    }
+
+    static <T> T open(Supplier<T> call) {
+        Map<ParallelEngineStep<?>, Prepared> previous = PREPARED.get();
+        PREPARED.set(new IdentityHashMap<>());
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                PREPARED.remove();
+            } else {
+                PREPARED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs every step's prepare, the first on the calling thread and the rest on {@code executor},
+     * and returns once all of them have finished. Failures are kept and rethrown from the owning
+     * step's execute, so they are audited as that step's STEP_ERROR.
+     */
+    static void prepareAll(List<ParallelEngineStep<?>> steps, EngineSession session, Executor executor) {
+        Map<ParallelEngineStep<?>, Prepared> prepared = PREPARED.get();
+        if (prepared == null || steps.isEmpty()) {
+            return;
+        }
+        Map<ParallelEngineStep<?>, CompletableFuture<Object>> running = new IdentityHashMap<>();
+        for (ParallelEngineStep<?> step : steps.subList(1, steps.size())) {
+            try {
+                running.put(step, CompletableFuture.supplyAsync(() -> prepare(step, session), executor));
+            } catch (RejectedExecutionException e) {
+                // saturated: this step prepares on the turn thread when it runs
+            }
+        }
+        ParallelEngineStep<?> first = steps.get(0);
+        prepared.put(first, capture(() -> prepare(first, session)));
+        running.forEach((step, future) -> prepared.put(step, capture(future::join)));
+    }
+
+    static <P> P take(ParallelEngineStep<P> step, EngineSession session) {
+        Map<ParallelEngineStep<?>, Prepared> prepared = PREPARED.get();
+        Prepared result = prepared == null ? null : prepared.remove(step);
+        if (result == null) {
+            return step.prepare(session);
+        }
+        if (result.error() instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (result.error() instanceof Error error) {
+            throw error;
+        }
+        @SuppressWarnings("unchecked")
+        P value = (P) result.value();
+        return value;
+    }
+
+    private static Object prepare(ParallelEngineStep<?> step, EngineSession session) {
+        return LlmUsageScope.step(step.getClass().getSimpleName(), () -> step.prepare(session));
+    }
+
+    private static Prepared capture(Supplier<Object> call) {
+        try {
+            return new Prepared(call.get(), null);
+        } catch (CompletionException e) {
+            return new Prepared(null, e.getCause() == null ? e : e.getCause());
+        } catch (RuntimeException | Error e) {
+            return new Prepared(null, e);
+        }
+    }
+
+    private record Prepared(Object value, Throwable error) {
+    }
+}
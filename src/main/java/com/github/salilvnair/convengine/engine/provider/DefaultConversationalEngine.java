@@ -9,7 +9,9 @@ import com.github.salilvnair.convengine.engine.history.core.ConversationHistoryP
 import com.github.salilvnair.convengine.engine.model.EngineResult;
 import com.github.salilvnair.convengine.engine.pipeline.EnginePipeline;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.execution.ConversationTurnLimiter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @RequiredArgsConstructor
@@ -20,9 +22,15 @@ public class DefaultConversationalEngine implements ConversationalEngine {
     private final EnginePipelineFactory pipelineFactory;
     private final ConversationHistoryProvider historyProvider;
     private final ConvEngineFlowConfig convEngineFlowConfig;
+    @Autowired(required = false)
+    private ConversationTurnLimiter turnLimiter;
 
     @Override
     public EngineResult process(EngineContext engineContext) {
+        return turnLimiter == null ? processTurn(engineContext) : turnLimiter.run(() -> processTurn(engineContext));
+    }
+
+    private EngineResult processTurn(EngineContext engineContext) {
         EngineSession session = sessionFactory.open(engineContext);
         session.setConversationHistory(historyProvider.lastTurns(session.getConversationId(), convEngineFlowConfig.getConversationHistory().getMaxTurns()));
         EnginePipeline pipeline = pipelineFactory.create();
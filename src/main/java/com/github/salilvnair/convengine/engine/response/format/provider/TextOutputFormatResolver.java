@@ -13,6 +13,7 @@ import com.github.salilvnair.convengine.model.ResponseTemplate;
 import com.github.salilvnair.convengine.model.TextPayload;
 import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
 import com.github.salilvnair.convengine.prompt.renderer.PromptTemplateRenderer;
+import com.github.salilvnair.convengine.transport.stream.ResponseStreamPublisher;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import com.github.salilvnair.convengine.util.JsonUtil;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +32,7 @@ public class TextOutputFormatResolver implements OutputFormatResolver {
         private final PromptTemplateRenderer renderer;
         private final AuditService audit;
         private final VerboseMessagePublisher verbosePublisher;
+        private final ResponseStreamPublisher responseStreamPublisher;
 
         @Override
         public String format() {
@@ -81,13 +83,21 @@ public class TextOutputFormatResolver implements OutputFormatResolver {
                 verbosePublisher.publish(session, "TextOutputFormatResolver", "RESOLVE_RESPONSE_LLM_INPUT", null, null,
                                 false, inputPayload);
 
+                String prompt = systemPrompt + "\n\n" + userPrompt + "\n\n" + safe(response.getDerivationHint());
+                String contextJson = JsonUtil.toJson(session.contextDict());
                 String text;
                 try {
-                        text = llm.generateText(
-                                        session,
-                                        systemPrompt + "\n\n" + userPrompt + "\n\n" +
-                                                        safe(response.getDerivationHint()),
-                                        JsonUtil.toJson(session.contextDict()));
+                        if (responseStreamPublisher.isEnabled(session)) {
+                                ResponseStreamPublisher.ResponseStream stream =
+                                                responseStreamPublisher.open(session, "TextOutputFormatResolver");
+                                try {
+                                        text = llm.generateTextStream(session, prompt, contextJson, stream);
+                                } finally {
+                                        stream.complete();
+                                }
+                        } else {
+                                text = llm.generateText(session, prompt, contextJson);
+                        }
                 } catch (Exception e) {
                         verbosePublisher.publish(session, "TextOutputFormatResolver", "RESOLVE_RESPONSE_LLM_ERROR",
                                         null, null, true, Map.of("error", String.valueOf(e.getMessage())));
@@ -11,6 +11,7 @@ import com.github.salilvnair.convengine.engine.history.model.ConversationTurn;
 import com.github.salilvnair.convengine.engine.model.EngineResult;
 import com.github.salilvnair.convengine.engine.model.StepInfo;
 import com.github.salilvnair.convengine.engine.model.StepTiming;
+import com.github.salilvnair.convengine.engine.nlu.MergedNluResult;
 import com.github.salilvnair.convengine.entity.CeConversation;
 import com.github.salilvnair.convengine.entity.CeOutputSchema;
 import com.github.salilvnair.convengine.model.JsonPayload;
@@ -31,6 +32,8 @@ public class EngineSession {
 
     private final EngineContext engineContext;
     private final UUID conversationId;
+    // the caller's request id when one was supplied, otherwise unique to this turn
+    private final String requestId;
 
     private CeConversation conversation;
 
@@ -78,6 +81,8 @@ public class EngineSession {
     private String lastClarificationQuestion;
 
     private boolean queryRewritten;
+    // dialogue act, rewrite and intent from one LLM call; turn-local, never persisted
+    private MergedNluResult mergedNlu;
 
     private final ObjectMapper mapper;
     private final List<StepTiming> stepTimings = new ArrayList<>();
@@ -153,6 +158,9 @@ public class EngineSession {
         this.engineContext = engineContext;
         this.mapper = mapper;
         this.conversationId = UUID.fromString(engineContext.getConversationId());
+        this.requestId = hasText(engineContext.getRequestId())
+                ? engineContext.getRequestId().trim()
+                : UUID.randomUUID().toString();
         this.userText = engineContext.getUserText();
         if (engineContext.getInputParams() != null) {
             mergeInputParams(engineContext.getInputParams(), true, false);
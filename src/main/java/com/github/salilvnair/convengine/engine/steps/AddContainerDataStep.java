@@ -9,8 +9,11 @@ import com.github.salilvnair.ccf.core.model.PageInfoRequest;
 import com.github.salilvnair.ccf.core.model.type.RequestType;
 import com.github.salilvnair.ccf.service.CcfCoreService;
 import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
 import com.github.salilvnair.convengine.container.interceptor.ContainerDataInterceptorExecutor;
 import com.github.salilvnair.convengine.container.service.ContainerDataTransformerService;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
 import com.github.salilvnair.convengine.engine.pipeline.EngineStep;
 import com.github.salilvnair.convengine.engine.pipeline.StepResult;
 import com.github.salilvnair.convengine.engine.core.step.annotation.MustRunAfter;
@@ -18,12 +21,21 @@ import com.github.salilvnair.convengine.engine.core.step.annotation.RequiresConv
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.entity.CeContainerConfig;
 import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RequiredArgsConstructor
 @Component
@@ -37,6 +49,11 @@ public class AddContainerDataStep implements EngineStep {
     private final ObjectMapper mapper;
     private final ContainerDataTransformerService transformerService;
     private final ContainerDataInterceptorExecutor interceptorExecutor;
+    @Autowired(required = false)
+    private ConvEngineExecutionConfig executionConfig;
+    @Autowired(required = false)
+    @Qualifier(ConvEngineExecutorConfiguration.CONTAINER_EXECUTOR)
+    private AsyncTaskExecutor containerExecutor;
 
     @SneakyThrows
     @Override
@@ -67,67 +84,20 @@ public class AddContainerDataStep implements EngineStep {
         }
 
         ObjectNode containerRoot = mapper.createObjectNode();
+        ConvEngineExecutionConfig.ContainerData containerData = executionConfig == null
+                ? new ConvEngineExecutionConfig.ContainerData()
+                : executionConfig.getContainerData();
 
-        for (CeContainerConfig cfg : configs) {
-
-            try {
-                Map<String, Object> inputParams = new HashMap<>();
-                String key = cfg.getInputParamName();
-                Object value = session.extractValueFromContext(key);
-                if (value == null) {
-                    value = session.isQueryRewritten() ? session.getStandaloneQuery() : session.getUserText();
-                }
-                inputParams.put(key, value);
-                if (session.getInputParams() != null) {
-                    inputParams.putAll(session.getInputParams());
-                }
-                if (session.getEngineContext().getInputParams() != null) {
-                    inputParams.putAll(session.getEngineContext().getInputParams());
+        if (containerData.isConcurrent() && containerExecutor != null && configs.size() > 1) {
+            fetchConcurrently(session, configs, containerRoot, containerData);
+        } else {
+            for (CeContainerConfig cfg : configs) {
+                try {
+                    Map<String, Object> inputParams = inputParams(session, cfg);
+                    attach(session, containerRoot, cfg, inputParams, fetch(session, cfg, inputParams));
+                } catch (Exception e) {
+                    failed(session, cfg, e, containerData.isFailOnError());
                 }
-
-                PageInfoRequest pageInfo = PageInfoRequest.builder()
-                        .userId("convengine")
-                        .loggedInUserId("convengine")
-                        .pageId(cfg.getPageId())
-                        .sectionId(cfg.getSectionId())
-                        .containerId(cfg.getContainerId())
-                        .inputParams(inputParams)
-                        .build();
-
-                ContainerComponentRequest req = new ContainerComponentRequest();
-                req.setPageInfo(List.of(pageInfo));
-                req.setRequestTypes(List.of(RequestType.CONTAINER));
-                interceptorExecutor.beforeExecute(req, session);
-                ContainerComponentResponse resp = ccfCoreService.execute(req);
-                resp = interceptorExecutor.afterExecute(resp, session);
-                // find classes with @ContainerDataTransformer(state, intent) to transform resp
-                // if needed
-                Map<String, Object> transformedData = transformerService.transformIfApplicable(resp, session,
-                        inputParams);
-                JsonNode responseNode = transformedData == null ? mapper.valueToTree(resp)
-                        : mapper.valueToTree(transformedData);
-                session.setContainerData(responseNode);
-                containerRoot.set(cfg.getInputParamName(), responseNode);
-                Map<String, Object> jsonMap = Map.of(
-                        "containerId", cfg.getContainerId(),
-                        "pageId", cfg.getPageId(),
-                        "sectionId", cfg.getSectionId(),
-                        "inputParam", cfg.getInputParamName(),
-                        "requestInput", inputParams,
-                        "response", responseNode);
-                audit.audit(
-                        "CONTAINER_DATA_EXECUTED",
-                        session.getConversationId(),
-                        jsonMap);
-
-            } catch (Exception e) {
-                Map<String, Object> errorJsonMap = new HashMap<>();
-                errorJsonMap.put("containerId", cfg.getContainerId());
-                errorJsonMap.put("error", e.getMessage());
-                audit.audit(
-                        "CONTAINER_DATA_FAILED",
-                        session.getConversationId(),
-                        errorJsonMap);
             }
         }
 
@@ -155,4 +125,135 @@ public class AddContainerDataStep implements EngineStep {
 
         return new StepResult.Continue();
     }
+
+    /**
+     * Starts every container fetch at once, then merges the results in config order so the
+     * session and {@code container_data} look the same as after a sequential run.
+     */
+    private void fetchConcurrently(EngineSession session, List<CeContainerConfig> configs, ObjectNode containerRoot,
+                                   ConvEngineExecutionConfig.ContainerData containerData) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, containerData.getCallTimeoutMs()));
+        List<PendingFetch> pending = new ArrayList<>(configs.size());
+        try {
+            for (CeContainerConfig cfg : configs) {
+                try {
+                    Map<String, Object> inputParams = inputParams(session, cfg);
+                    long deadline = System.nanoTime() + timeoutNanos;
+                    pending.add(new PendingFetch(cfg, inputParams,
+                            containerExecutor.submit(() -> fetch(session, cfg, inputParams)), deadline, null));
+                } catch (Exception e) {
+                    pending.add(new PendingFetch(cfg, null, null, 0L, e));
+                }
+            }
+            for (PendingFetch fetch : pending) {
+                if (fetch.error() != null) {
+                    failed(session, fetch.cfg(), fetch.error(), containerData.isFailOnError());
+                    continue;
+                }
+                JsonNode responseNode;
+                try {
+                    responseNode = fetch.result().get(Math.max(0L, fetch.deadline() - System.nanoTime()),
+                            TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    fetch.result().cancel(true);
+                    failed(session, fetch.cfg(), new TimeoutException("timed out after "
+                            + containerData.getCallTimeoutMs() + " ms"), containerData.isFailOnError());
+                    continue;
+                } catch (ExecutionException e) {
+                    failed(session, fetch.cfg(), e.getCause() instanceof Exception cause ? cause : e,
+                            containerData.isFailOnError());
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConversationEngineException(ConversationEngineErrorCode.CONTAINER_EXECUTION_FAILED,
+                            "Interrupted while waiting for container data");
+                }
+                attach(session, containerRoot, fetch.cfg(), fetch.inputParams(), responseNode);
+            }
+        } finally {
+            for (PendingFetch fetch : pending) {
+                if (fetch.result() != null) {
+                    fetch.result().cancel(true);
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> inputParams(EngineSession session, CeContainerConfig cfg) {
+        Map<String, Object> inputParams = new HashMap<>();
+        String key = cfg.getInputParamName();
+        Object value = session.extractValueFromContext(key);
+        if (value == null) {
+            value = session.isQueryRewritten() ? session.getStandaloneQuery() : session.getUserText();
+        }
+        inputParams.put(key, value);
+        if (session.getInputParams() != null) {
+            inputParams.putAll(session.getInputParams());
+        }
+        if (session.getEngineContext().getInputParams() != null) {
+            inputParams.putAll(session.getEngineContext().getInputParams());
+        }
+        return inputParams;
+    }
+
+    private JsonNode fetch(EngineSession session, CeContainerConfig cfg, Map<String, Object> inputParams)
+            throws Exception {
+        PageInfoRequest pageInfo = PageInfoRequest.builder()
+                .userId("convengine")
+                .loggedInUserId("convengine")
+                .pageId(cfg.getPageId())
+                .sectionId(cfg.getSectionId())
+                .containerId(cfg.getContainerId())
+                .inputParams(inputParams)
+                .build();
+
+        ContainerComponentRequest req = new ContainerComponentRequest();
+        req.setPageInfo(List.of(pageInfo));
+        req.setRequestTypes(List.of(RequestType.CONTAINER));
+        interceptorExecutor.beforeExecute(req, session);
+        ContainerComponentResponse resp = ccfCoreService.execute(req);
+        resp = interceptorExecutor.afterExecute(resp, session);
+        // find classes with @ContainerDataTransformer(state, intent) to transform resp
+        // if needed
+        Map<String, Object> transformedData = transformerService.transformIfApplicable(resp, session,
+                inputParams);
+        return transformedData == null ? mapper.valueToTree(resp)
+                : mapper.valueToTree(transformedData);
+    }
+
+    private void attach(EngineSession session, ObjectNode containerRoot, CeContainerConfig cfg,
+                        Map<String, Object> inputParams, JsonNode responseNode) {
+        session.setContainerData(responseNode);
+        containerRoot.set(cfg.getInputParamName(), responseNode);
+        Map<String, Object> jsonMap = Map.of(
+                "containerId", cfg.getContainerId(),
+                "pageId", cfg.getPageId(),
+                "sectionId", cfg.getSectionId(),
+                "inputParam", cfg.getInputParamName(),
+                "requestInput", inputParams,
+                "response", responseNode);
+        audit.audit(
+                "CONTAINER_DATA_EXECUTED",
+                session.getConversationId(),
+                jsonMap);
+    }
+
+    private void failed(EngineSession session, CeContainerConfig cfg, Exception e, boolean failOnError) {
+        Map<String, Object> errorJsonMap = new HashMap<>();
+        errorJsonMap.put("containerId", cfg.getContainerId());
+        errorJsonMap.put("error", e.getMessage());
+        audit.audit(
+                "CONTAINER_DATA_FAILED",
+                session.getConversationId(),
+                errorJsonMap);
+        if (failOnError) {
+            throw new ConversationEngineException(ConversationEngineErrorCode.CONTAINER_EXECUTION_FAILED,
+                    "Container " + cfg.getContainerId() + " failed: " + e.getMessage())
+                    .withMetaData(errorJsonMap);
+        }
+    }
+
+    private record PendingFetch(CeContainerConfig cfg, Map<String, Object> inputParams, Future<JsonNode> result,
+                                long deadline, Exception error) {
+    }
 }
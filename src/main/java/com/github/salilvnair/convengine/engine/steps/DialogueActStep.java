@@ -7,6 +7,9 @@ import com.github.salilvnair.convengine.engine.constants.ConvEngineInputParamKey
 import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
 import com.github.salilvnair.convengine.engine.dialogue.DialogueAct;
 import com.github.salilvnair.convengine.engine.dialogue.DialogueActResolveMode;
+import com.github.salilvnair.convengine.engine.nlu.MergedNluResolver;
+import com.github.salilvnair.convengine.engine.nlu.MergedNluResult;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.engine.pipeline.EngineStep;
@@ -52,6 +55,7 @@ public class DialogueActStep implements EngineStep {
     private final PromptTemplateRenderer renderer;
     private final VerboseMessagePublisher verbosePublisher;
     private final RulesStep rulesStep;
+    private final MergedNluResolver mergedNluResolver;
 
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -287,6 +291,15 @@ public class DialogueActStep implements EngineStep {
                     && session.conversionHistory() != null
                     && !session.conversionHistory().isEmpty();
 
+            MergedNluResult merged = mergedNluResolver.resolve(session);
+            if (merged != null) {
+                if (useQueryRewrite) {
+                    session.setQueryRewritten(true);
+                }
+                return new DialogueActResult(merged.dialogueAct(), clamp(merged.confidence()), "LLM",
+                        useQueryRewrite ? merged.standaloneQuery() : null);
+            }
+
             String systemPrompt;
             String userPrompt;
             String schema;
@@ -329,7 +342,9 @@ public class DialogueActStep implements EngineStep {
                     inputPayload);
             String out;
             try {
-                out = llm.generateJson(session, systemPrompt + "\n\n" + userPrompt, schema, session.getContextJson());
+                String prompt = systemPrompt + "\n\n" + userPrompt;
+                out = LlmCallSite.call(LlmCallSite.DIALOGUE_ACT,
+                        () -> llm.generateJson(session, prompt, schema, session.getContextJson()));
             } catch (Exception e) {
                 Map<String, Object> errorPayload = new LinkedHashMap<>();
                 errorPayload.put(ConvEnginePayloadKey.MESSAGE, String.valueOf(e.getMessage()));
@@ -29,8 +29,11 @@ import com.github.salilvnair.convengine.engine.core.step.annotation.RequiresConv
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.engine.type.RulePhase;
 import com.github.salilvnair.convengine.entity.CeMcpTool;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import java.util.ArrayList;
@@ -74,6 +77,8 @@ public class McpToolStep implements EngineStep {
     private final ConvEngineMcpConfig mcpConfig;
     private final VerboseMessagePublisher verbosePublisher;
     private final CeConfigResolver configResolver;
+    @Autowired(required = false)
+    private ConvEngineMetrics metrics = ConvEngineMetrics.NOOP;
 
     private final ObjectMapper mapper = new ObjectMapper();
 
@@ -225,6 +230,7 @@ public class McpToolStep implements EngineStep {
                         "args", args,
                         "operation_tag", plan.operation_tag(),
                         "error", "planner-marked restricted operation");
+                metrics.increment("convengine.tool.blocked", "tool", toolCode, "reason", "policy");
                 verbosePublisher.publish(session, STEP_NAME, "MCP_TOOL_ERROR", null, toolCode, true, blockedPayload);
                 audit.audit(ConvEngineAuditStage.MCP_TOOL_ERROR, session.getConversationId(), blockedPayload);
                 break;
@@ -247,6 +253,7 @@ public class McpToolStep implements EngineStep {
                         "reason", "DUPLICATE_TOOL_CALL_SUPPRESSED",
                         "tool_code", toolCode,
                         "args", args);
+                metrics.increment("convengine.tool.blocked", "tool", toolCode, "reason", "duplicate");
                 verbosePublisher.publish(session, "McpToolStep",
                         McpConstants.VERBOSE_EVENT_MCP_DUPLICATE_TOOL_CALL_SUPPRESSED, null, toolCode, false,
                         suppressedPayload);
@@ -278,6 +285,7 @@ public class McpToolStep implements EngineStep {
                 writeLifecycleToContext(session, McpConstants.STATUS_GUARDRAIL_BLOCKED, McpConstants.OUTCOME_BLOCKED,
                         true, true, false, plan.action(), toolCode, null, args,
                         guardrailBlockReason);
+                metrics.increment("convengine.tool.blocked", "tool", toolCode, "reason", "guardrail");
                 verbosePublisher.publish(session, "McpToolStep", "MCP_TOOL_ERROR", null, toolCode, true, mapOf("tool_code", toolCode, "error", guardrailBlockReason));
                 audit.audit(
                         ConvEngineAuditStage.MCP_TOOL_ERROR,
@@ -302,7 +310,7 @@ public class McpToolStep implements EngineStep {
             try {
                 applyToolDelay(i + 1);
                 McpToolExecutor executor = resolveExecutor(toolGroup);
-                String rowsJson = executor.execute(tool, args, session);
+                String rowsJson = executeTool(executor, tool, toolCode, toolGroup, args, session);
 
                 observations.add(new McpObservation(toolCode, rowsJson));
                 executedToolSignatures.add(toolSignature);
@@ -419,6 +427,20 @@ public class McpToolStep implements EngineStep {
         return new StepResult.Continue();
     }
 
+    private String executeTool(McpToolExecutor executor, CeMcpTool tool, String toolCode, String toolGroup,
+                               Map<String, Object> args, EngineSession session) {
+        long start = System.nanoTime();
+        String outcome = ConvEngineMetrics.OUTCOME_ERROR;
+        try {
+            String rowsJson = LlmUsageScope.tool(toolCode, () -> executor.execute(tool, args, session));
+            outcome = ConvEngineMetrics.OUTCOME_SUCCESS;
+            return rowsJson;
+        } finally {
+            metrics.recordTime("convengine.tool", System.nanoTime() - start,
+                    "tool", toolCode, "group", toolGroup, "outcome", outcome);
+        }
+    }
+
     private McpToolExecutor resolveExecutor(String normalizedToolGroup) {
         for (McpToolExecutor executor : toolExecutors) {
             String group = executor.toolGroup();
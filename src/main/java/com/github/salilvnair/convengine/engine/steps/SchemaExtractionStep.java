@@ -19,6 +19,7 @@ import com.github.salilvnair.convengine.engine.type.OutputType;
 import com.github.salilvnair.convengine.engine.type.RulePhase;
 import com.github.salilvnair.convengine.entity.CeOutputSchema;
 import com.github.salilvnair.convengine.entity.CePromptTemplate;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.prompt.context.PromptTemplateContext;
@@ -156,11 +157,12 @@ public class SchemaExtractionStep implements EngineStep {
 
         String extractedJson;
         try {
-            extractedJson = llm.generateJson(
+            String prompt = systemPrompt + "\n\n" + userPrompt;
+            extractedJson = LlmCallSite.call(LlmCallSite.SCHEMA_EXTRACTION, () -> llm.generateJson(
                     session,
-                    systemPrompt + "\n\n" + userPrompt,
+                    prompt,
                     schema.getJsonSchema(),
-                    safeJson(session.getContextJson()));
+                    safeJson(session.getContextJson())));
         } catch (Exception e) {
             verbosePublisher.publish(session, "SchemaExtractionStep", "SCHEMA_EXTRACTION_LLM_ERROR", null, null, true,
                     Map.of("error", String.valueOf(e.getMessage())));
@@ -19,6 +19,7 @@ import com.github.salilvnair.convengine.engine.core.step.annotation.RequiresConv
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.engine.type.RulePhase;
 import com.github.salilvnair.convengine.entity.CeMcpTool;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -75,7 +76,9 @@ public class ToolOrchestrationStep implements EngineStep {
             }
 
             McpToolExecutor executor = resolveExecutor(group);
-            String resultJson = executor.execute(resolvedTool, request.args(), session);
+            CeMcpTool toolToRun = resolvedTool;
+            String resultJson = LlmUsageScope.tool(request.toolCode(),
+                    () -> executor.execute(toolToRun, request.args(), session));
 
             Map<String, Object> result = new LinkedHashMap<>();
             result.put("status", McpConstants.TOOL_STATUS_SUCCESS);
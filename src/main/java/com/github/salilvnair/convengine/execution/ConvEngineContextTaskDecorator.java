@@ -0,0 +1,59 @@
+package com.github.salilvnair.convengine.execution;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's LLM attribution (invocation context, call site, step and tool)
+ * into ConvEngine background tasks, bound for the duration of the task only and restored after,
+ * so pooled threads never leak a previous turn's context. The mutable EngineSession behind
+ * AuditSessionContext is deliberately not shared across threads.
+ * <p>
+ * Deferred-bulk audit rows buffered by the task are flushed when it ends; otherwise they would
+ * stay on the worker thread, and a virtual thread takes them with it when it exits.
+ */
+@Slf4j
+public class ConvEngineContextTaskDecorator implements TaskDecorator {
+
+    private final ObjectProvider<AuditService> auditServiceProvider;
+
+    public ConvEngineContextTaskDecorator(ObjectProvider<AuditService> auditServiceProvider) {
+        this.auditServiceProvider = auditServiceProvider;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        LlmInvocationContext invocation = LlmInvocationContext.get();
+        String callSite = LlmCallSite.current();
+        String step = LlmUsageScope.currentStep();
+        String tool = LlmUsageScope.currentTool();
+        return () -> {
+            try {
+                LlmInvocationContext.call(invocation, () -> LlmCallSite.call(callSite,
+                        () -> LlmUsageScope.step(step, () -> LlmUsageScope.tool(tool, () -> {
+                            runnable.run();
+                            return null;
+                        }))));
+            } finally {
+                flushDeferredAudit();
+            }
+        };
+    }
+
+    private void flushDeferredAudit() {
+        AuditService auditService = auditServiceProvider.getIfAvailable();
+        if (auditService == null) {
+            return;
+        }
+        try {
+            auditService.flushPending(null);
+        } catch (Exception e) {
+            log.warn("Deferred audit flush after background task failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.salilvnair.convengine.execution;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for ConvEngine's own background work, referenced by name. They are not default
+ * autowiring candidates, so they neither replace Spring Boot's applicationTaskExecutor nor become
+ * the executor for the application's unqualified {@code @Async} methods.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ConvEngineExecutorConfiguration {
+
+    public static final String ASYNC_EXECUTOR = "convEngineAsyncExecutor";
+    public static final String TURN_EXECUTOR = "convEngineTurnExecutor";
+    public static final String STEP_EXECUTOR = "convEngineStepExecutor";
+    public static final String CONTAINER_EXECUTOR = "convEngineContainerExecutor";
+
+    @Bean(name = ASYNC_EXECUTOR, defaultCandidate = false)
+    public AsyncTaskExecutor convEngineAsyncExecutor(
+            ConvEngineExecutionConfig executionConfig,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        ConvEngineExecutionConfig.Async async = executionConfig.getAsync();
+        return executor(executionConfig.getThreadMode(), async.getThreadNamePrefix(), async.getCorePoolSize(),
+                async.getMaxPoolSize(), async.getQueueCapacity(), async.getConcurrencyLimit(),
+                async.getShutdownTimeoutMs(), new ThreadPoolExecutor.CallerRunsPolicy(),
+                new ConvEngineContextTaskDecorator(auditServiceProvider));
+    }
+
+    /**
+     * Runs turns accepted by the async message endpoint. Overflow is rejected rather than run on
+     * the caller, since the caller is the servlet thread the endpoint exists to free; in VIRTUAL
+     * mode a submission past the concurrency limit is rejected instead of blocking that thread.
+     */
+    @Bean(name = TURN_EXECUTOR, defaultCandidate = false)
+    public AsyncTaskExecutor convEngineTurnExecutor(
+            ConvEngineExecutionConfig executionConfig,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        ConvEngineExecutionConfig.AsyncTurns turns = executionConfig.getAsyncTurns();
+        return executor(executionConfig.getThreadMode(), turns.getThreadNamePrefix(), turns.getCorePoolSize(),
+                turns.getMaxPoolSize(), turns.getQueueCapacity(), turns.getConcurrencyLimit(),
+                executionConfig.getAsync().getShutdownTimeoutMs(), new ThreadPoolExecutor.AbortPolicy(),
+                new ConvEngineContextTaskDecorator(auditServiceProvider));
+    }
+
+    /**
+     * Runs ParallelEngineStep prepares. No queue: a prepare either gets a worker straight away or
+     * runs on the turn thread, so a saturated pool degrades to sequential execution.
+     */
+    @Bean(name = STEP_EXECUTOR, defaultCandidate = false)
+    public AsyncTaskExecutor convEngineStepExecutor(
+            ConvEngineExecutionConfig executionConfig,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        ConvEngineExecutionConfig.ParallelSteps steps = executionConfig.getParallelSteps();
+        return executor(executionConfig.getThreadMode(), steps.getThreadNamePrefix(), steps.getCorePoolSize(),
+                steps.getMaxPoolSize(), 0, steps.getConcurrencyLimit(),
+                executionConfig.getAsync().getShutdownTimeoutMs(), new ThreadPoolExecutor.CallerRunsPolicy(),
+                new ConvEngineContextTaskDecorator(auditServiceProvider));
+    }
+
+    /**
+     * Runs concurrent container fetches of AddContainerDataStep.
+     */
+    @Bean(name = CONTAINER_EXECUTOR, defaultCandidate = false)
+    public AsyncTaskExecutor convEngineContainerExecutor(
+            ConvEngineExecutionConfig executionConfig,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        ConvEngineExecutionConfig.ContainerData containers = executionConfig.getContainerData();
+        return executor(executionConfig.getThreadMode(), containers.getThreadNamePrefix(),
+                containers.getCorePoolSize(), containers.getMaxPoolSize(), containers.getQueueCapacity(),
+                containers.getConcurrencyLimit(), executionConfig.getAsync().getShutdownTimeoutMs(),
+                new ThreadPoolExecutor.CallerRunsPolicy(), new ConvEngineContextTaskDecorator(auditServiceProvider));
+    }
+
+    private AsyncTaskExecutor executor(ConvEngineExecutionConfig.ThreadMode threadMode, String threadNamePrefix,
+                                       int corePoolSize, int maxPoolSize, int queueCapacity, int concurrencyLimit,
+                                       long shutdownTimeoutMs, RejectedExecutionHandler rejectionHandler,
+                                       ConvEngineContextTaskDecorator decorator) {
+        if (threadMode == ConvEngineExecutionConfig.ThreadMode.VIRTUAL) {
+            boolean rejectWhenFull = rejectionHandler instanceof ThreadPoolExecutor.AbortPolicy;
+            AsyncTaskExecutor virtual = virtualExecutor(threadNamePrefix, concurrencyLimit, rejectWhenFull,
+                    shutdownTimeoutMs, decorator);
+            if (virtual != null) {
+                return virtual;
+            }
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(Math.max(1, corePoolSize));
+        executor.setMaxPoolSize(Math.max(Math.max(1, corePoolSize), maxPoolSize));
+        executor.setQueueCapacity(Math.max(0, queueCapacity));
+        executor.setRejectedExecutionHandler(rejectionHandler);
+        executor.setTaskDecorator(decorator);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(Math.max(0L, shutdownTimeoutMs));
+        executor.initialize();
+        return executor;
+    }
+
+    private AsyncTaskExecutor virtualExecutor(String threadNamePrefix, int concurrencyLimit, boolean rejectWhenFull,
+                                              long shutdownTimeoutMs, ConvEngineContextTaskDecorator decorator) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        try {
+            executor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException e) {
+            log.warn("convengine.execution.thread-mode=VIRTUAL needs JDK 21+, running {}* on platform threads: {}",
+                    threadNamePrefix, e.getMessage());
+            return null;
+        }
+        executor.setConcurrencyLimit(concurrencyLimit <= 0 ? SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY : concurrencyLimit);
+        // the limit blocks the submitting thread by default; AbortPolicy callers get TaskRejectedException instead
+        executor.setRejectTasksWhenLimitReached(rejectWhenFull);
+        executor.setTaskDecorator(decorator);
+        executor.setTaskTerminationTimeout(Math.max(0L, shutdownTimeoutMs));
+        log.info("{}* runs on virtual threads (concurrency limit {})", threadNamePrefix, concurrencyLimit);
+        return executor;
+    }
+}
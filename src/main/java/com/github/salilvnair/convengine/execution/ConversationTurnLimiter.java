@@ -0,0 +1,71 @@
+package com.github.salilvnair.convengine.execution;
+
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caps conversation turns processed at once ({@code convengine.execution.turns.max-concurrent}).
+ * Once request threads are virtual the thread count no longer bounds load, so this is what keeps
+ * a burst from opening more database connections and LLM calls than the pod can serve.
+ */
+@Component
+public class ConversationTurnLimiter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConversationTurnLimiter(ConvEngineExecutionConfig executionConfig) {
+        ConvEngineExecutionConfig.Turns turns = executionConfig.getTurns();
+        this.maxConcurrent = Math.max(0, turns.getMaxConcurrent());
+        this.acquireTimeoutMs = Math.max(0L, turns.getAcquireTimeoutMs());
+        this.permits = maxConcurrent == 0 ? null : new Semaphore(maxConcurrent, true);
+    }
+
+    public <T> T run(Supplier<T> turn) {
+        if (permits == null) {
+            return turn.get();
+        }
+        acquire();
+        try {
+            return turn.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("maxConcurrent", maxConcurrent);
+        out.put("inFlight", permits == null ? 0 : maxConcurrent - permits.availablePermits());
+        out.put("waiting", permits == null ? 0 : permits.getQueueLength());
+        out.put("rejected", rejected.get());
+        return out;
+    }
+
+    private void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+            throw new ConversationEngineException(ConversationEngineErrorCode.ENGINE_CAPACITY_EXCEEDED,
+                    "Conversation turn limit of " + maxConcurrent + " reached")
+                    .withMetaData(Map.of("maxConcurrent", maxConcurrent, "acquireTimeoutMs", acquireTimeoutMs));
+        }
+    }
+}
@@ -7,10 +7,14 @@ import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
 import com.github.salilvnair.convengine.engine.constants.ClarificationConstants;
 import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
 import com.github.salilvnair.convengine.engine.helper.CeConfigResolver;
+import com.github.salilvnair.convengine.engine.nlu.MergedNluResolver;
 import com.github.salilvnair.convengine.engine.constants.ConvEngineInputParamKey;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.engine.steps.RulesStep;
 import com.github.salilvnair.convengine.engine.type.RulePhase;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
 import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
 import com.github.salilvnair.convengine.llm.core.LlmClient;
 import com.github.salilvnair.convengine.model.JsonPayload;
@@ -21,6 +25,8 @@ import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublishe
 import com.github.salilvnair.convengine.util.JsonUtil;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -29,6 +35,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RequiredArgsConstructor
 @Component
@@ -46,8 +55,15 @@ public class AgentIntentResolver implements IntentResolver {
     private final StaticConfigurationCacheService staticCacheService;
     private final RulesStep rulesStep;
     private final VerboseMessagePublisher verbosePublisher;
+    private final MergedNluResolver mergedNluResolver;
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private static final List<String> AGENT_PARAM_KEYS = List.of(
+            ConvEngineInputParamKey.INTENT_COLLISION_CANDIDATES,
+            ConvEngineInputParamKey.INTENT_SCORES,
+            ConvEngineInputParamKey.INTENT_TOP3,
+            ConvEngineInputParamKey.FOLLOWUPS);
+
     @PostConstruct
     public void init() {
         MIN_CONFIDENCE = configResolver.resolveDouble(this, "MIN_CONFIDENCE", 0.55d);
@@ -115,25 +131,135 @@ public class AgentIntentResolver implements IntentResolver {
         return intent;
     }
 
+    /**
+     * Renders the agent prompt and starts its LLM call on {@code executor} so it overlaps the
+     * classifier. Returns null, leaving the session untouched, when there are no allowed intents,
+     * the merged NLU call already answered for the agent, or the executor refuses the call. The result is consumed by
+     * {@link #resolveSpeculated(EngineSession, Speculation)} or thrown away by
+     * {@link #discard(EngineSession, Speculation)}.
+     */
+    Speculation speculate(EngineSession session, AsyncTaskExecutor executor) {
+        List<AllowedIntent> allowedIntents = allowedIntentService.allowedIntents();
+        if (allowedIntents.isEmpty() || session.getMergedNlu() != null) {
+            return null;
+        }
+        Map<String, Object> previous = new LinkedHashMap<>();
+        for (String key : AGENT_PARAM_KEYS) {
+            if (session.getInputParams().containsKey(key)) {
+                previous.put(key, session.getInputParams().get(key));
+            }
+        }
+        session.putInputParam(ConvEngineInputParamKey.AGENT_RESOLVER, true);
+        resetIntentParams(session);
+        AgentPrompt prompt = renderPrompt(session, allowedIntents);
+        LlmInvocationContext.set(session.getConversationId(), session.getIntent(), session.getState());
+
+        Thread caller = Thread.currentThread();
+        AtomicBoolean declined = new AtomicBoolean();
+        Speculation speculation;
+        try {
+            speculation = new Speculation(allowedIntents, prompt, previous, executor.submit(() -> {
+                if (Thread.currentThread() == caller) {
+                    // a saturated executor ran us inline; the call is made sequentially instead
+                    declined.set(true);
+                    return null;
+                }
+                return callLlm(session, prompt);
+            }));
+        } catch (TaskRejectedException e) {
+            restore(session, previous);
+            return null;
+        }
+        return declined.get() ? restoreAndDrop(session, speculation) : speculation;
+    }
+
+    /**
+     * Completes agent resolution with the speculative LLM call, emitting the same events as
+     * {@link #resolve(EngineSession)} once the classifier has deferred to the agent.
+     */
+    String resolveSpeculated(EngineSession session, Speculation speculation) {
+        session.putInputParam(ConvEngineInputParamKey.AGENT_RESOLVER, true);
+        announce(session, speculation.allowedIntents());
+        auditPrompt(session, speculation.prompt());
+        LlmInvocationContext.set(session.getConversationId(), session.getIntent(), session.getState());
+        String output;
+        try {
+            output = speculation.await();
+        } catch (Exception e) {
+            verbosePublisher.publish(session, "AgentIntentResolver", "INTENT_AGENT_LLM_ERROR", null, null, true,
+                    Map.of("error", String.valueOf(e.getMessage())));
+            throw e;
+        }
+        String intent = applyOutput(session, speculation.allowedIntents(), output);
+        session.putInputParam(ConvEngineInputParamKey.AGENT_RESOLVER, false);
+        return intent;
+    }
+
+    /**
+     * Cancels the speculative call and puts back the agent input params it reset.
+     */
+    void discard(EngineSession session, Speculation speculation) {
+        speculation.call().cancel(true);
+        restore(session, speculation.previousParams());
+    }
+
+    private Speculation restoreAndDrop(EngineSession session, Speculation speculation) {
+        restore(session, speculation.previousParams());
+        return null;
+    }
+
+    private void restore(EngineSession session, Map<String, Object> previous) {
+        previous.forEach(session::putInputParam);
+        session.putInputParam(ConvEngineInputParamKey.AGENT_RESOLVER, false);
+    }
+
     private String _resolve(EngineSession session) {
-        UUID conversationId = session.getConversationId();
         List<AllowedIntent> allowedIntents = allowedIntentService.allowedIntents();
+        if (!announce(session, allowedIntents)) {
+            return null;
+        }
+        resetIntentParams(session);
+        String mergedOutput = mergedNluResolver.takeIntentOutput(session);
+        if (mergedOutput != null) {
+            return applyOutput(session, allowedIntents, mergedOutput);
+        }
+        AgentPrompt prompt = renderPrompt(session, allowedIntents);
+        auditPrompt(session, prompt);
+
+        LlmInvocationContext.set(session.getConversationId(), session.getIntent(), session.getState());
+        String output;
+        try {
+            output = callLlm(session, prompt);
+        } catch (Exception e) {
+            verbosePublisher.publish(session, "AgentIntentResolver", "INTENT_AGENT_LLM_ERROR", null, null, true,
+                    Map.of("error", String.valueOf(e.getMessage())));
+            throw e;
+        }
+        return applyOutput(session, allowedIntents, output);
+    }
+
+    private boolean announce(EngineSession session, List<AllowedIntent> allowedIntents) {
         verbosePublisher.publish(session, "AgentIntentResolver", "AGENT_INTENT_START", null, null, false,
                 Map.of("allowedIntentCount", allowedIntents.size()));
 
         if (allowedIntents.isEmpty()) {
             verbosePublisher.publish(session, "AgentIntentResolver", "AGENT_INTENT_REJECTED", null, null, true,
                     Map.of("reason", "no allowed intents"));
-            audit.audit(ConvEngineAuditStage.INTENT_AGENT_SKIPPED, conversationId,
+            audit.audit(ConvEngineAuditStage.INTENT_AGENT_SKIPPED, session.getConversationId(),
                     Map.of("reason", "no allowed intents"));
-            return null;
+            return false;
         }
+        return true;
+    }
 
+    private void resetIntentParams(EngineSession session) {
         session.putInputParam(ConvEngineInputParamKey.INTENT_COLLISION_CANDIDATES, List.of());
         session.putInputParam(ConvEngineInputParamKey.INTENT_SCORES, List.of());
         session.putInputParam(ConvEngineInputParamKey.INTENT_TOP3, List.of());
         session.putInputParam(ConvEngineInputParamKey.FOLLOWUPS, List.of());
+    }
 
+    private AgentPrompt renderPrompt(EngineSession session, List<AllowedIntent> allowedIntents) {
         String pendingClarification = session.hasPendingClarification()
                 ? session.getPendingClarificationQuestion()
                 : null;
@@ -153,29 +279,29 @@ public class AgentIntentResolver implements IntentResolver {
                 .session(session)
                 .build();
 
-        String systemPrompt = renderer.render(SYSTEM_PROMPT, promptTemplateContext);
-        String userPrompt = renderer.render(USER_PROMPT, promptTemplateContext);
+        return new AgentPrompt(renderer.render(SYSTEM_PROMPT, promptTemplateContext),
+                renderer.render(USER_PROMPT, promptTemplateContext), session.getContextJson());
+    }
 
+    private void auditPrompt(EngineSession session, AgentPrompt prompt) {
         Map<String, Object> llmInput = new LinkedHashMap<>();
         llmInput.put("templateFromCeConfig (AgentIntentResolver)", "USER_PROMPT, SYSTEM_PROMPT");
-        llmInput.put("systemPrompt", systemPrompt);
-        llmInput.put("userPrompt", userPrompt);
-        audit.audit(ConvEngineAuditStage.INTENT_AGENT_LLM_INPUT, conversationId, llmInput);
+        llmInput.put("systemPrompt", prompt.systemPrompt());
+        llmInput.put("userPrompt", prompt.userPrompt());
+        audit.audit(ConvEngineAuditStage.INTENT_AGENT_LLM_INPUT, session.getConversationId(), llmInput);
         verbosePublisher.publish(session, "AgentIntentResolver", "INTENT_AGENT_LLM_INPUT", null, null, false, llmInput);
+    }
 
-        LlmInvocationContext.set(conversationId, session.getIntent(), session.getState());
-        String output;
-        try {
-            output = llm.generateJson(session, 
-                    systemPrompt + "\n\n" + userPrompt,
-                    null,
-                    session.getContextJson());
-        } catch (Exception e) {
-            verbosePublisher.publish(session, "AgentIntentResolver", "INTENT_AGENT_LLM_ERROR", null, null, true,
-                    Map.of("error", String.valueOf(e.getMessage())));
-            throw e;
-        }
+    private String callLlm(EngineSession session, AgentPrompt prompt) {
+        String text = prompt.systemPrompt() + "\n\n" + prompt.userPrompt();
+        return LlmCallSite.call(LlmCallSite.AGENT_INTENT, () -> llm.generateJson(session,
+                text,
+                null,
+                prompt.contextJson()));
+    }
 
+    private String applyOutput(EngineSession session, List<AllowedIntent> allowedIntents, String output) {
+        UUID conversationId = session.getConversationId();
         session.setLastLlmOutput(output);
         session.setLastLlmStage("INTENT_AGENT");
         session.setPayload(new JsonPayload(output));
@@ -541,4 +667,36 @@ public class AgentIntentResolver implements IntentResolver {
             return 0.0d;
         return Math.min(x, 1.0d);
     }
+
+    private record AgentPrompt(String systemPrompt, String userPrompt, String contextJson) {
+    }
+
+    /**
+     * Agent LLM call started ahead of the classifier, with the input params it reset so a discard
+     * can put them back.
+     */
+    record Speculation(List<AllowedIntent> allowedIntents, AgentPrompt prompt, Map<String, Object> previousParams,
+                       Future<String> call) {
+
+        String await() {
+            try {
+                return call.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.cancel(true);
+                throw new ConversationEngineException(ConversationEngineErrorCode.LLM_CALL_FAILED,
+                        "Interrupted while waiting for the speculative agent intent call");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new ConversationEngineException(ConversationEngineErrorCode.LLM_CALL_FAILED,
+                        String.valueOf(cause.getMessage()));
+            }
+        }
+    }
 }
@@ -1,22 +1,61 @@
 package com.github.salilvnair.convengine.intent;
 
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineFlowConfig;
+import com.github.salilvnair.convengine.engine.constants.ConvEnginePayloadKey;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
 @RequiredArgsConstructor
 @Component
 public class CompositeIntentResolver implements IntentResolver {
 
     private final ClassifierIntentResolver classifier;
     private final AgentIntentResolver agentIntentResolver;
+    private final ConvEngineFlowConfig flowConfig;
+    private final AuditService audit;
+    @Autowired(required = false)
+    @Qualifier(ConvEngineExecutorConfiguration.STEP_EXECUTOR)
+    private AsyncTaskExecutor speculationExecutor;
+
+    private final AtomicLong speculatedCalls = new AtomicLong();
+    private final AtomicLong wastedCalls = new AtomicLong();
+    private final ClassifierOutcomeWindow recentOutcomes = new ClassifierOutcomeWindow();
 
 
     public IntentResolutionResult resolveWithTrace(EngineSession session) {
 
-        String classifierIntent = classifier.resolve(session);
+        AgentIntentResolver.Speculation speculation = shouldSpeculate()
+                ? agentIntentResolver.speculate(session, speculationExecutor)
+                : null;
 
-        if (classifierIntent != null && !classifierIntent.isBlank()) {
+        String classifierIntent;
+        try {
+            classifierIntent = classifier.resolve(session);
+        } catch (RuntimeException e) {
+            if (speculation != null) {
+                agentIntentResolver.discard(session, speculation);
+            }
+            throw e;
+        }
+        boolean classifierMatched = classifierIntent != null && !classifierIntent.isBlank();
+        recentOutcomes.record(classifierMatched, flowConfig.getIntentResolution().getRateWindow());
+
+        if (classifierMatched) {
+            if (speculation != null) {
+                agentIntentResolver.discard(session, speculation);
+                auditSpeculation(session, "DISCARDED", classifierIntent, wastedCalls.incrementAndGet());
+            }
             return new IntentResolutionResult(
                     classifierIntent,
                     IntentResolutionResult.Source.CLASSIFIER,
@@ -25,7 +64,13 @@ public class CompositeIntentResolver implements IntentResolver {
             );
         }
 
-        String agentIntent = agentIntentResolver.resolve(session);
+        String agentIntent;
+        if (speculation != null) {
+            auditSpeculation(session, "USED", classifierIntent, wastedCalls.get());
+            agentIntent = agentIntentResolver.resolveSpeculated(session, speculation);
+        } else {
+            agentIntent = agentIntentResolver.resolve(session);
+        }
 
         if (agentIntent != null && !agentIntent.isBlank()) {
             return new IntentResolutionResult(
@@ -45,6 +90,44 @@ public class CompositeIntentResolver implements IntentResolver {
         return r == null ? null : r.resolvedIntent();
     }
 
+    public Map<String, Object> speculationStats() {
+        long speculated = speculatedCalls.get();
+        long wasted = wastedCalls.get();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("speculatedCalls", speculated);
+        out.put("wastedCalls", wasted);
+        out.put("wastedCallRate", rate(wasted, speculated));
+        out.put("recentClassifierMatchRate", recentOutcomes.matchRate());
+        return out;
+    }
+
+    /**
+     * Speculates only while the classifier has recently been deferring to the agent often enough
+     * that the call is more likely used than thrown away.
+     */
+    private boolean shouldSpeculate() {
+        ConvEngineFlowConfig.IntentResolution config = flowConfig.getIntentResolution();
+        return config.isSpeculativeAgent()
+                && speculationExecutor != null
+                && recentOutcomes.matchRate() <= config.getMaxWastedCallRate();
+    }
+
+    private void auditSpeculation(EngineSession session, String outcome, String classifierIntent, long wasted) {
+        long speculated = speculatedCalls.incrementAndGet();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("outcome", outcome);
+        payload.put(ConvEnginePayloadKey.INTENT, classifierIntent);
+        payload.put("speculatedCalls", speculated);
+        payload.put("wastedCalls", wasted);
+        payload.put("wastedCallRate", rate(wasted, speculated));
+        payload.put("recentClassifierMatchRate", recentOutcomes.matchRate());
+        audit.audit(ConvEngineAuditStage.INTENT_AGENT_SPECULATION, session.getConversationId(), payload);
+    }
+
+    private static double rate(long part, long total) {
+        return total == 0L ? 0.0d : (double) part / total;
+    }
+
     public record IntentResolutionResult(
             String resolvedIntent,
             Source source,
@@ -57,4 +140,44 @@ public class CompositeIntentResolver implements IntentResolver {
         }
     }
 
+    /**
+     * Whether the classifier settled each of the last few turns on its own. Recorded on every
+     * turn, speculating or not, so a paused speculator notices when traffic turns ambiguous again.
+     */
+    static final class ClassifierOutcomeWindow {
+
+        private boolean[] matched = new boolean[0];
+        private int next;
+        private int size;
+        private int matches;
+
+        synchronized void record(boolean classifierMatched, int window) {
+            if (window <= 0) {
+                return;
+            }
+            if (matched.length != window) {
+                matched = new boolean[window];
+                next = 0;
+                size = 0;
+                matches = 0;
+            }
+            if (size == window) {
+                if (matched[next]) {
+                    matches--;
+                }
+            } else {
+                size++;
+            }
+            matched[next] = classifierMatched;
+            if (classifierMatched) {
+                matches++;
+            }
+            next = (next + 1) % window;
+        }
+
+        synchronized double matchRate() {
+            return size == 0 ? 0.0d : (double) matches / size;
+        }
+    }
+
 }
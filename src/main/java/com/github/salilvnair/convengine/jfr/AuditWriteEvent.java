@@ -0,0 +1,52 @@
+package com.github.salilvnair.convengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("convengine.AuditWrite")
+@Label("Audit Write")
+@Description("Insert of ce_audit rows, single or one JDBC batch")
+@Category({ConvEngineJfr.CATEGORY, "Audit"})
+@StackTrace(false)
+public class AuditWriteEvent extends Event {
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Payload Chars")
+    long payloadChars;
+
+    @Label("Success")
+    boolean success;
+
+    public static AuditWriteEvent start() {
+        if (!ConvEngineJfr.isEnabled()) {
+            return null;
+        }
+        AuditWriteEvent event = new AuditWriteEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void emit(AuditWriteEvent event, String mode, int rows, long payloadChars, boolean success) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.mode = mode;
+        event.rows = rows;
+        event.payloadChars = payloadChars;
+        event.success = success;
+        event.commit();
+    }
+}
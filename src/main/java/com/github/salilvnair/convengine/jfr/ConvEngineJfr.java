@@ -0,0 +1,23 @@
+package com.github.salilvnair.convengine.jfr;
+
+/**
+ * Process-wide switch for the ConvEngine JFR events, set from {@code convengine.jfr.enabled}.
+ * Event sites check it before allocating an event so the disabled path is a volatile read.
+ */
+public final class ConvEngineJfr {
+
+    static final String CATEGORY = "ConvEngine";
+
+    private static volatile boolean enabled;
+
+    private ConvEngineJfr() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.salilvnair.convengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("convengine.EngineStep")
+@Label("Engine Step")
+@Description("One pipeline step of a conversation turn")
+@Category({ConvEngineJfr.CATEGORY, "Pipeline"})
+@StackTrace(false)
+public class EngineStepEvent extends Event {
+
+    @Label("Conversation Id")
+    String conversationId;
+
+    @Label("Step")
+    String stepName;
+
+    @Label("Intent")
+    String intent;
+
+    @Label("State")
+    String state;
+
+    @Label("Result")
+    String result;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * Returns a started event, or null when ConvEngine JFR events are disabled.
+     */
+    public static EngineStepEvent start() {
+        if (!ConvEngineJfr.isEnabled()) {
+            return null;
+        }
+        EngineStepEvent event = new EngineStepEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void emit(EngineStepEvent event, Object conversationId, String stepName, String intent, String state,
+                            String result, boolean success) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.conversationId = conversationId == null ? null : conversationId.toString();
+        event.stepName = stepName;
+        event.intent = intent;
+        event.state = state;
+        event.result = result;
+        event.success = success;
+        event.commit();
+    }
+}
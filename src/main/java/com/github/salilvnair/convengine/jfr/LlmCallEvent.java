@@ -0,0 +1,69 @@
+package com.github.salilvnair.convengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("convengine.LlmCall")
+@Label("LLM Call")
+@Description("Provider call made through the LlmClient, below the cache and concurrency decorators")
+@Category({ConvEngineJfr.CATEGORY, "LLM"})
+@StackTrace(false)
+public class LlmCallEvent extends Event {
+
+    @Label("Conversation Id")
+    String conversationId;
+
+    @Label("Method")
+    String method;
+
+    @Label("Call Site")
+    String callSite;
+
+    @Label("Step")
+    String stepName;
+
+    @Label("Tool Code")
+    String toolCode;
+
+    @Label("Prompt Chars")
+    long promptChars;
+
+    @Label("Response Chars")
+    long responseChars;
+
+    @Label("Success")
+    boolean success;
+
+    public static LlmCallEvent start() {
+        if (!ConvEngineJfr.isEnabled()) {
+            return null;
+        }
+        LlmCallEvent event = new LlmCallEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void emit(LlmCallEvent event, Object conversationId, String method, String callSite, String stepName,
+                            String toolCode, long promptChars, long responseChars, boolean success) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.conversationId = conversationId == null ? null : conversationId.toString();
+        event.method = method;
+        event.callSite = callSite;
+        event.stepName = stepName;
+        event.toolCode = toolCode;
+        event.promptChars = promptChars;
+        event.responseChars = responseChars;
+        event.success = success;
+        event.commit();
+    }
+}
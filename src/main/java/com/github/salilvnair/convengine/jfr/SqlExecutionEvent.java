@@ -0,0 +1,71 @@
+package com.github.salilvnair.convengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("convengine.SqlExecution")
+@Label("MCP SQL Execution")
+@Description("One execution attempt of MCP tool SQL, after preflight and guardrail checks")
+@Category({ConvEngineJfr.CATEGORY, "MCP"})
+@StackTrace(false)
+public class SqlExecutionEvent extends Event {
+
+    @Label("Conversation Id")
+    String conversationId;
+
+    @Label("Tool Code")
+    String toolCode;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("SQL Length")
+    int sqlLength;
+
+    @Label("Row Count")
+    int rowCount;
+
+    @Label("Estimated Result Size")
+    @DataAmount
+    long estimatedBytes;
+
+    @Label("Truncated")
+    boolean truncated;
+
+    @Label("Success")
+    boolean success;
+
+    public static SqlExecutionEvent start() {
+        if (!ConvEngineJfr.isEnabled()) {
+            return null;
+        }
+        SqlExecutionEvent event = new SqlExecutionEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void emit(SqlExecutionEvent event, Object conversationId, String toolCode, int attempt, String sql,
+                            int rowCount, long estimatedBytes, boolean truncated, boolean success) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.conversationId = conversationId == null ? null : conversationId.toString();
+        event.toolCode = toolCode;
+        event.attempt = attempt;
+        event.sqlLength = sql == null ? 0 : sql.length();
+        event.rowCount = rowCount;
+        event.estimatedBytes = estimatedBytes;
+        event.truncated = truncated;
+        event.success = success;
+        event.commit();
+    }
+}
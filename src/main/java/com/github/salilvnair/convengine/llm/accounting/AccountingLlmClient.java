@@ -0,0 +1,115 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+import com.github.salilvnair.convengine.audit.AuditSessionContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.cache.LlmClientDecorator;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * LlmClient decorator that records estimated prompt and completion tokens for every call that
+ * reaches the provider. It sits below the cache and single-flight decorators, so cache hits and
+ * joined calls cost nothing. Failed calls are counted but not tokenized, since a timeout or
+ * rejection may never have been billed.
+ */
+public class AccountingLlmClient implements LlmClientDecorator {
+
+    private final LlmClient delegate;
+    private final LlmUsageAccounting accounting;
+
+    public AccountingLlmClient(LlmClient delegate, LlmUsageAccounting accounting) {
+        this.delegate = delegate;
+        this.accounting = accounting;
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return accounted(session, "generateText", () -> delegate.generateText(session, hint, contextJson),
+                Function.identity(), hint, contextJson);
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return accounted(session, "generateTextStream",
+                () -> delegate.generateTextStream(session, hint, contextJson, onChunk),
+                Function.identity(), hint, contextJson);
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return accounted(session, "generateJson", () -> delegate.generateJson(session, hint, jsonSchema, contextJson),
+                Function.identity(), hint, jsonSchema, contextJson);
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return accounted(session, "generateJsonStrict",
+                () -> delegate.generateJsonStrict(session, hint, jsonSchema, context),
+                Function.identity(), hint, jsonSchema, context);
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        return accounted(session, "generateEmbedding", () -> delegate.generateEmbedding(session, input),
+                vector -> null, input);
+    }
+
+    private <T> T accounted(
+            EngineSession session,
+            String method,
+            Supplier<T> call,
+            Function<T, String> completionText,
+            String... promptParts) {
+        if (!accounting.isEnabled()) {
+            return call.get();
+        }
+        boolean success = false;
+        T value = null;
+        try {
+            value = call.get();
+            success = true;
+            return value;
+        } finally {
+            int promptTokens = success ? accounting.countTokens(promptParts) : 0;
+            int completionTokens = success ? accounting.countTokens(completionText.apply(value)) : 0;
+            accounting.record(usage(session, method, promptTokens, completionTokens, success));
+        }
+    }
+
+    private LlmUsageAccounting.Usage usage(
+            EngineSession session,
+            String method,
+            int promptTokens,
+            int completionTokens,
+            boolean success) {
+        // embedding calls are often made without a session; fall back to the step's session
+        EngineSession effective = session != null ? session : AuditSessionContext.get();
+        LlmInvocationContext invocation = LlmInvocationContext.get();
+        UUID conversationId = effective != null ? effective.getConversationId()
+                : invocation == null ? null : invocation.conversationId();
+        String intent = effective != null ? effective.getIntent() : invocation == null ? null : invocation.intent();
+        String state = effective != null ? effective.getState() : invocation == null ? null : invocation.state();
+        return new LlmUsageAccounting.Usage(
+                conversationId,
+                method,
+                LlmUsageScope.currentStep(),
+                intent,
+                state,
+                LlmUsageScope.currentTool(),
+                LlmCallSite.current(),
+                promptTokens,
+                completionTokens,
+                success);
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+/**
+ * Provider-neutral estimate: one token per chars-per-token characters, but never fewer tokens
+ * than whitespace-separated words, which keeps short or punctuation-heavy prompts from being undercounted.
+ */
+public class CharRatioLlmTokenizer implements LlmTokenizer {
+
+    private final double charsPerToken;
+
+    public CharRatioLlmTokenizer(double charsPerToken) {
+        this.charsPerToken = charsPerToken > 0 ? charsPerToken : 4.0d;
+    }
+
+    @Override
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return Math.max(words, (int) Math.ceil(text.length() / charsPerToken));
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the application's {@link LlmTokenizer} once, falling back to
+ * {@link CharRatioLlmTokenizer}, for every component that needs local token estimates.
+ */
+@Component
+public class LlmTokenCounter {
+
+    private final ConvEngineLlmConfig llmConfig;
+    private final ObjectProvider<LlmTokenizer> tokenizerProvider;
+    private volatile LlmTokenizer tokenizer;
+
+    public LlmTokenCounter(ConvEngineLlmConfig llmConfig, ObjectProvider<LlmTokenizer> tokenizerProvider) {
+        this.llmConfig = llmConfig;
+        this.tokenizerProvider = tokenizerProvider;
+    }
+
+    public int count(String... parts) {
+        LlmTokenizer current = tokenizer();
+        int total = 0;
+        for (String part : parts) {
+            total += current.countTokens(part);
+        }
+        return total;
+    }
+
+    public String tokenizerName() {
+        return tokenizer().getClass().getSimpleName();
+    }
+
+    private LlmTokenizer tokenizer() {
+        LlmTokenizer current = tokenizer;
+        if (current == null) {
+            current = tokenizerProvider == null ? null : tokenizerProvider.getIfAvailable();
+            if (current == null) {
+                current = new CharRatioLlmTokenizer(llmConfig.getAccounting().getCharsPerToken());
+            }
+            tokenizer = current;
+        }
+        return current;
+    }
+}
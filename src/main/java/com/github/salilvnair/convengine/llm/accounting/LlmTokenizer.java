@@ -0,0 +1,10 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+/**
+ * Local token estimator used for LLM usage accounting. Applications that know their provider's
+ * encoding can expose their own bean; otherwise {@link CharRatioLlmTokenizer} is used.
+ */
+public interface LlmTokenizer {
+
+    int countTokens(String text);
+}
@@ -0,0 +1,322 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory token and cost ledger for provider calls. Every call is added to the global totals,
+ * to one bucket per attribution dimension (step, intent, state, tool, call site, method) and to
+ * the owning conversation. A daemon thread periodically flushes each conversation's delta as an
+ * LLM_USAGE audit row and drops conversations that have gone idle.
+ */
+@Slf4j
+@Component
+public class LlmUsageAccounting {
+
+    public static final String DIMENSION_STEP = "step";
+    public static final String DIMENSION_INTENT = "intent";
+    public static final String DIMENSION_STATE = "state";
+    public static final String DIMENSION_TOOL = "tool";
+    public static final String DIMENSION_CALL_SITE = "callSite";
+    public static final String DIMENSION_METHOD = "method";
+
+    private static final String UNATTRIBUTED = "UNATTRIBUTED";
+
+    private final ConvEngineLlmConfig llmConfig;
+    private final LlmTokenCounter tokenCounter;
+    private final ObjectProvider<AuditService> auditServiceProvider;
+
+    private final Totals global = new Totals();
+    private final Map<String, Map<String, Totals>> globalByDimension = new ConcurrentHashMap<>();
+    private final Map<UUID, ConversationUsage> conversations = new ConcurrentHashMap<>();
+    private volatile Thread flusher;
+    private volatile boolean running;
+
+    public LlmUsageAccounting(
+            ConvEngineLlmConfig llmConfig,
+            LlmTokenCounter tokenCounter,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        this.llmConfig = llmConfig;
+        this.tokenCounter = tokenCounter;
+        this.auditServiceProvider = auditServiceProvider;
+    }
+
+    public boolean isEnabled() {
+        return llmConfig.getAccounting().isEnabled();
+    }
+
+    public boolean isAuditMetaEnabled() {
+        return isEnabled() && llmConfig.getAccounting().isIncludeInAuditMeta();
+    }
+
+    public int countTokens(String... parts) {
+        return tokenCounter.count(parts);
+    }
+
+    public void record(Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        global.add(usage);
+        Map<String, String> dimensions = usage.dimensions();
+        dimensions.forEach((dimension, value) -> bucket(globalByDimension, dimension, value).add(usage));
+        if (usage.conversationId() != null) {
+            ConversationUsage conversation = conversations.computeIfAbsent(usage.conversationId(), id -> new ConversationUsage());
+            conversation.totals.add(usage);
+            dimensions.forEach((dimension, value) -> bucket(conversation.byDimension, dimension, value).add(usage));
+            conversation.lastActivityMs = System.currentTimeMillis();
+            enforceMaxConversations();
+        }
+        ensureFlusher();
+    }
+
+    /**
+     * Compact running totals for the audit {@code _meta} block, or null when the conversation
+     * has made no accounted call.
+     */
+    public Map<String, Object> auditMeta(UUID conversationId) {
+        ConversationUsage conversation = conversationId == null ? null : conversations.get(conversationId);
+        return conversation == null ? null : conversation.totals.toMap(llmConfig.getAccounting());
+    }
+
+    public Map<String, Object> conversationSummary(UUID conversationId) {
+        ConversationUsage conversation = conversationId == null ? null : conversations.get(conversationId);
+        if (conversation == null) {
+            return null;
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("conversationId", String.valueOf(conversationId));
+        out.put("totals", conversation.totals.toMap(llmConfig.getAccounting()));
+        out.put("breakdown", breakdown(conversation.byDimension));
+        return out;
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("tokenizer", tokenCounter.tokenizerName());
+        out.put("activeConversations", conversations.size());
+        out.put("totals", global.toMap(llmConfig.getAccounting()));
+        out.put("breakdown", breakdown(globalByDimension));
+        return out;
+    }
+
+    /**
+     * Audits every conversation's usage since its previous flush and evicts idle conversations.
+     * Runs on the flusher or shutdown thread, so the audits are flushed at the end of the pass
+     * rather than left in that thread's deferred batch.
+     */
+    public void flush() {
+        long idleBefore = System.currentTimeMillis() - Math.max(0L, llmConfig.getAccounting().getIdleEvictMs());
+        boolean audited = false;
+        for (Map.Entry<UUID, ConversationUsage> entry : conversations.entrySet()) {
+            audited |= flushConversation(entry.getKey(), entry.getValue());
+            if (entry.getValue().lastActivityMs < idleBefore) {
+                conversations.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (audited) {
+            flushPendingAudit();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread current = flusher;
+        if (current != null) {
+            current.interrupt();
+        }
+        flush();
+        flushPendingAudit();
+    }
+
+    private boolean flushConversation(UUID conversationId, ConversationUsage conversation) {
+        Map<String, Object> payload;
+        synchronized (conversation) {
+            long calls = conversation.totals.calls.sum();
+            long prompt = conversation.totals.promptTokens.sum();
+            long completion = conversation.totals.completionTokens.sum();
+            if (calls == conversation.flushedCalls) {
+                return false;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("calls", calls - conversation.flushedCalls);
+            delta.put("promptTokens", prompt - conversation.flushedPromptTokens);
+            delta.put("completionTokens", completion - conversation.flushedCompletionTokens);
+            conversation.flushedCalls = calls;
+            conversation.flushedPromptTokens = prompt;
+            conversation.flushedCompletionTokens = completion;
+            payload = new LinkedHashMap<>();
+            payload.put("delta", delta);
+            payload.put("totals", conversation.totals.toMap(llmConfig.getAccounting()));
+            payload.put("breakdown", breakdown(conversation.byDimension));
+        }
+        AuditService auditService = auditServiceProvider.getIfAvailable();
+        if (auditService == null) {
+            return false;
+        }
+        try {
+            auditService.audit(ConvEngineAuditStage.LLM_USAGE, conversationId, payload);
+            return true;
+        } catch (Exception e) {
+            log.warn("LLM usage flush failed convId={} msg={}", conversationId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void flushPendingAudit() {
+        AuditService auditService = auditServiceProvider.getIfAvailable();
+        if (auditService == null) {
+            return;
+        }
+        try {
+            auditService.flushPending(null);
+        } catch (Exception e) {
+            log.warn("LLM usage audit flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void enforceMaxConversations() {
+        int max = Math.max(1, llmConfig.getAccounting().getMaxConversations());
+        while (conversations.size() > max) {
+            Map.Entry<UUID, ConversationUsage> oldest = conversations.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastActivityMs))
+                    .orElse(null);
+            if (oldest == null) {
+                return;
+            }
+            flushConversation(oldest.getKey(), oldest.getValue());
+            conversations.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private void ensureFlusher() {
+        long intervalMs = llmConfig.getAccounting().getFlushIntervalMs();
+        if (flusher != null || intervalMs <= 0L) {
+            return;
+        }
+        synchronized (this) {
+            if (flusher != null) {
+                return;
+            }
+            running = true;
+            Thread thread = new Thread(() -> runFlusher(intervalMs), "convengine-llm-usage-flusher");
+            thread.setDaemon(true);
+            thread.start();
+            flusher = thread;
+        }
+    }
+
+    private void runFlusher(long intervalMs) {
+        while (running) {
+            try {
+                Thread.sleep(intervalMs);
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("LLM usage flusher loop error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static Totals bucket(Map<String, Map<String, Totals>> byDimension, String dimension, String value) {
+        return byDimension
+                .computeIfAbsent(dimension, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(value, v -> new Totals());
+    }
+
+    private Map<String, Object> breakdown(Map<String, Map<String, Totals>> byDimension) {
+        Map<String, Object> out = new TreeMap<>();
+        byDimension.forEach((dimension, buckets) -> {
+            Map<String, Object> values = new TreeMap<>();
+            buckets.forEach((value, totals) -> values.put(value, totals.toMap(llmConfig.getAccounting())));
+            out.put(dimension, values);
+        });
+        return out;
+    }
+
+    public record Usage(
+            UUID conversationId,
+            String method,
+            String step,
+            String intent,
+            String state,
+            String toolCode,
+            String callSite,
+            int promptTokens,
+            int completionTokens,
+            boolean success) {
+
+        Map<String, String> dimensions() {
+            Map<String, String> out = new LinkedHashMap<>();
+            out.put(DIMENSION_STEP, orUnattributed(step));
+            out.put(DIMENSION_INTENT, orUnattributed(intent));
+            out.put(DIMENSION_STATE, orUnattributed(state));
+            out.put(DIMENSION_CALL_SITE, orUnattributed(callSite));
+            out.put(DIMENSION_METHOD, orUnattributed(method));
+            if (toolCode != null && !toolCode.isBlank()) {
+                out.put(DIMENSION_TOOL, toolCode);
+            }
+            return out;
+        }
+
+        private static String orUnattributed(String value) {
+            return value == null || value.isBlank() ? UNATTRIBUTED : value;
+        }
+    }
+
+    static final class Totals {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+
+        void add(Usage usage) {
+            calls.increment();
+            if (!usage.success()) {
+                failures.increment();
+            }
+            promptTokens.add(usage.promptTokens());
+            completionTokens.add(usage.completionTokens());
+        }
+
+        Map<String, Object> toMap(ConvEngineLlmConfig.Accounting cfg) {
+            long prompt = promptTokens.sum();
+            long completion = completionTokens.sum();
+            double cost = prompt / 1000.0d * cfg.getPromptCostPer1kTokens()
+                    + completion / 1000.0d * cfg.getCompletionCostPer1kTokens();
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("calls", calls.sum());
+            out.put("failures", failures.sum());
+            out.put("promptTokens", prompt);
+            out.put("completionTokens", completion);
+            out.put("totalTokens", prompt + completion);
+            out.put("estimatedCost", Math.round(cost * 1_000_000d) / 1_000_000d);
+            return out;
+        }
+    }
+
+    private static final class ConversationUsage {
+        private final Totals totals = new Totals();
+        private final Map<String, Map<String, Totals>> byDimension = new ConcurrentHashMap<>();
+        private volatile long lastActivityMs = System.currentTimeMillis();
+        private long flushedCalls;
+        private long flushedPromptTokens;
+        private long flushedCompletionTokens;
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound attribution for LLM usage: the engine step being executed and the MCP tool being
+ * run. The pipeline and tool steps set these so accounting can attribute calls made deep inside
+ * planners and semantic services without passing extra arguments through them.
+ */
+public final class LlmUsageScope {
+
+    private static final ThreadLocal<String> STEP = new ThreadLocal<>();
+    private static final ThreadLocal<String> TOOL = new ThreadLocal<>();
+
+    private LlmUsageScope() {
+    }
+
+    public static <T> T step(String stepName, Supplier<T> call) {
+        return within(STEP, stepName, call);
+    }
+
+    public static <T> T tool(String toolCode, Supplier<T> call) {
+        return within(TOOL, toolCode, call);
+    }
+
+    public static String currentStep() {
+        return STEP.get();
+    }
+
+    public static String currentTool() {
+        return TOOL.get();
+    }
+
+    private static <T> T within(ThreadLocal<String> holder, String value, Supplier<T> call) {
+        String previous = holder.get();
+        holder.set(value);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.salilvnair.convengine.llm.budget;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.llm.accounting.LlmTokenCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keeps a call site's rendered prompt within its token budget. The caller supplies its trimmable
+ * sections and a renderer over their current values; sections are shrunk lowest priority first
+ * and the prompt re-rendered until it fits or nothing is left to trim. The budget comes from
+ * convengine.llm.prompt-budget.call-sites.&lt;site&gt;.max-prompt-tokens, falling back to
+ * default-max-prompt-tokens.
+ */
+@Component
+@RequiredArgsConstructor
+public class PromptBudget {
+
+    private static final int MAX_SHRINK_STEPS_PER_SECTION = 8;
+
+    private final ConvEngineLlmConfig llmConfig;
+    private final LlmTokenCounter tokenCounter;
+    private final AuditService auditService;
+
+    public int budgetFor(String callSite) {
+        ConvEngineLlmConfig.PromptBudget cfg = llmConfig.getPromptBudget();
+        if (!cfg.isEnabled()) {
+            return 0;
+        }
+        Map<String, ConvEngineLlmConfig.CallSiteBudget> sites = cfg.getCallSites();
+        ConvEngineLlmConfig.CallSiteBudget site = callSite == null || sites == null ? null : sites.get(callSite);
+        if (site != null && site.getMaxPromptTokens() != null) {
+            return site.getMaxPromptTokens();
+        }
+        return cfg.getDefaultMaxPromptTokens();
+    }
+
+    /**
+     * Trims {@code sections} in place. Without a budget for the call site this returns at once
+     * without rendering, leaving every section at its original value.
+     */
+    public Result fit(
+            UUID conversationId,
+            String callSite,
+            List<PromptSection> sections,
+            Function<Map<String, String>, String> renderer) {
+        int budget = budgetFor(callSite);
+        if (budget <= 0 || sections == null || sections.isEmpty()) {
+            return new Result(budget, -1, -1, List.of());
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        sections.forEach(section -> values.put(section.name(), section.value()));
+        int initialTokens = tokenCounter.count(renderer.apply(values));
+        int tokens = initialTokens;
+        List<Map<String, Object>> trims = new ArrayList<>();
+        List<PromptSection> ordered = new ArrayList<>(sections);
+        ordered.sort(Comparator.comparingInt(PromptSection::priority));
+        for (PromptSection section : ordered) {
+            if (tokens <= budget) {
+                break;
+            }
+            int sectionTokensBefore = tokenCounter.count(section.value());
+            for (int step = 0; step < MAX_SHRINK_STEPS_PER_SECTION && tokens > budget; step++) {
+                if (!section.shrink(tokens - budget, tokenCounter.count(section.value()))) {
+                    break;
+                }
+                values.put(section.name(), section.value());
+                tokens = tokenCounter.count(renderer.apply(values));
+            }
+            if (section.trimmed()) {
+                trims.add(trimRecord(section, sectionTokensBefore));
+            }
+        }
+        Result result = new Result(budget, initialTokens, tokens, trims);
+        if (!trims.isEmpty() || !result.withinBudget()) {
+            audit(conversationId, callSite, result);
+        }
+        return result;
+    }
+
+    private Map<String, Object> trimRecord(PromptSection section, int sectionTokensBefore) {
+        Map<String, Object> trim = new LinkedHashMap<>();
+        trim.put("section", section.name());
+        trim.put("priority", section.priority());
+        trim.put("strategy", section.trim().name());
+        trim.put("tokensBefore", sectionTokensBefore);
+        trim.put("tokensAfter", tokenCounter.count(section.value()));
+        if (section.trim() != PromptSection.Trim.TRUNCATE) {
+            trim.put("elementsBefore", section.originalElements());
+            trim.put("elementsAfter", section.size());
+        }
+        return trim;
+    }
+
+    private void audit(UUID conversationId, String callSite, Result result) {
+        if (!llmConfig.getPromptBudget().isAuditEnabled() || conversationId == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("callSite", callSite);
+        payload.put("budgetTokens", result.budgetTokens());
+        payload.put("promptTokensBefore", result.promptTokensBefore());
+        payload.put("promptTokensAfter", result.promptTokensAfter());
+        payload.put("withinBudget", result.withinBudget());
+        payload.put("trims", result.trims());
+        auditService.audit(ConvEngineAuditStage.PROMPT_BUDGET_TRIMMED, conversationId, payload);
+    }
+
+    public record Result(int budgetTokens, int promptTokensBefore, int promptTokensAfter, List<Map<String, Object>> trims) {
+
+        public boolean enforced() {
+            return budgetTokens > 0 && promptTokensBefore >= 0;
+        }
+
+        public boolean withinBudget() {
+            return !enforced() || promptTokensAfter <= budgetTokens;
+        }
+
+        public boolean trimmed() {
+            return !trims.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.salilvnair.convengine.llm.budget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One trimmable prompt variable. JSON arrays and objects shrink by whole elements, from the head
+ * (oldest first) or the tail (least relevant first); anything else is cut at the end. Lower
+ * priority sections are trimmed before higher ones.
+ */
+public final class PromptSection {
+
+    public enum Trim {
+        DROP_HEAD,
+        DROP_TAIL,
+        TRUNCATE
+    }
+
+    static final String TRUNCATION_MARKER = "...[truncated]";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String name;
+    private final int priority;
+    private final String original;
+    private Trim trim;
+    private boolean parsed;
+    private JsonNode node;
+    private String text;
+    private int originalElements;
+
+    private PromptSection(String name, int priority, Trim trim, String value) {
+        this.name = name;
+        this.priority = priority;
+        this.trim = trim;
+        this.original = value == null ? "" : value;
+        this.text = this.original;
+    }
+
+    public static PromptSection json(String name, int priority, String json, Trim trim) {
+        return new PromptSection(name, priority, trim, json);
+    }
+
+    public static PromptSection text(String name, int priority, String text) {
+        return new PromptSection(name, priority, Trim.TRUNCATE, text);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
+    public Trim trim() {
+        ensureParsed();
+        return trim;
+    }
+
+    public String value() {
+        return text;
+    }
+
+    /**
+     * Elements still present; for DROP_TAIL sections callers can use it to cut their own copy of
+     * the source list to the same prefix.
+     */
+    public int size() {
+        ensureParsed();
+        return node == null ? 0 : node.size();
+    }
+
+    public boolean trimmed() {
+        return !original.equals(text);
+    }
+
+    int originalElements() {
+        ensureParsed();
+        return originalElements;
+    }
+
+    /**
+     * Shrinks roughly in proportion to how far the prompt is over budget.
+     *
+     * @return false once there is nothing left to remove
+     */
+    boolean shrink(int excessTokens, int sectionTokens) {
+        ensureParsed();
+        if (node != null) {
+            int n = node.size();
+            if (n == 0) {
+                return false;
+            }
+            int drop = sectionTokens <= 0 ? n : (int) Math.ceil((double) n * excessTokens / sectionTokens);
+            drop = Math.max(1, Math.min(n, drop));
+            for (int i = 0; i < drop; i++) {
+                removeOne();
+            }
+            text = node.toString();
+            return true;
+        }
+        if (text.isEmpty()) {
+            return false;
+        }
+        String body = text.endsWith(TRUNCATION_MARKER)
+                ? text.substring(0, text.length() - TRUNCATION_MARKER.length())
+                : text;
+        int keep = sectionTokens <= 0
+                ? 0
+                : (int) ((long) text.length() * Math.max(0, sectionTokens - excessTokens) / sectionTokens);
+        keep = Math.min(keep - TRUNCATION_MARKER.length(), body.length() - 1);
+        text = keep <= 0 ? "" : body.substring(0, keep) + TRUNCATION_MARKER;
+        return true;
+    }
+
+    private void removeOne() {
+        if (node instanceof ArrayNode array) {
+            array.remove(trim == Trim.DROP_HEAD ? 0 : array.size() - 1);
+        } else if (node instanceof ObjectNode object) {
+            List<String> fields = new ArrayList<>();
+            object.fieldNames().forEachRemaining(fields::add);
+            object.remove(trim == Trim.DROP_HEAD ? fields.get(0) : fields.get(fields.size() - 1));
+        }
+    }
+
+    // parsed on first use so call sites without a budget never pay for it
+    private void ensureParsed() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        JsonNode value = trim == Trim.TRUNCATE ? null : parse(original);
+        if (value != null && (value.isArray() || value.isObject())) {
+            node = value;
+            originalElements = value.size();
+        } else {
+            trim = Trim.TRUNCATE;
+        }
+    }
+
+    private static JsonNode parse(String value) {
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LlmClient decorator that memoizes generateJson/generateJsonStrict for tagged call sites.
+ * The key is a SHA-256 over method, model identity, hint, schema and context, so any prompt or
+ * context change is a natural miss. generateText and embeddings always go to the delegate.
+ */
+@Slf4j
+public class CachingLlmClient implements LlmClientDecorator {
+
+    private static final String METHOD_JSON = "generateJson";
+    private static final String METHOD_JSON_STRICT = "generateJsonStrict";
+
+    private final LlmClient delegate;
+    private final LlmResponseCache cache;
+    private final ConvEngineLlmConfig config;
+    private final ObjectProvider<AuditService> auditServiceProvider;
+
+    public CachingLlmClient(
+            LlmClient delegate,
+            LlmResponseCache cache,
+            ConvEngineLlmConfig config,
+            ObjectProvider<AuditService> auditServiceProvider) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.config = config;
+        this.auditServiceProvider = auditServiceProvider;
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return delegate.generateText(session, hint, contextJson);
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return delegate.generateTextStream(session, hint, contextJson, onChunk);
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return cached(session, METHOD_JSON, hint, jsonSchema, contextJson,
+                () -> delegate.generateJson(session, hint, jsonSchema, contextJson));
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return cached(session, METHOD_JSON_STRICT, hint, jsonSchema, context,
+                () -> delegate.generateJsonStrict(session, hint, jsonSchema, context));
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        return delegate.generateEmbedding(session, input);
+    }
+
+    private String cached(
+            EngineSession session,
+            String method,
+            String hint,
+            String schema,
+            String context,
+            Supplier<String> call) {
+        String callSite = LlmCallSite.current();
+        long ttlMs = ttlMs(callSite);
+        if (ttlMs <= 0) {
+            return call.get();
+        }
+        String key = key(method, hint, schema, context);
+        LlmResponseCache.Lookup lookup = cache.get(key);
+        if (lookup != null) {
+            audit(session, ConvEngineAuditStage.LLM_CACHE_HIT, callSite, method, key, lookup.tier());
+            return lookup.response();
+        }
+        audit(session, ConvEngineAuditStage.LLM_CACHE_MISS, callSite, method, key, null);
+        String response = call.get();
+        cache.put(key, response, ttlMs);
+        return response;
+    }
+
+    long ttlMs(String callSite) {
+        ConvEngineLlmConfig.Cache cfg = config.getCache();
+        if (!cfg.isEnabled()) {
+            return 0L;
+        }
+        if (callSite == null) {
+            return cfg.isCacheUntaggedCalls() ? cfg.getDefaultTtlMs() : 0L;
+        }
+        ConvEngineLlmConfig.CallSite site = cfg.getCallSites() == null ? null : cfg.getCallSites().get(callSite);
+        if (site == null) {
+            return cfg.getDefaultTtlMs();
+        }
+        if (!site.isEnabled()) {
+            return 0L;
+        }
+        return site.getTtlMs() == null ? cfg.getDefaultTtlMs() : site.getTtlMs();
+    }
+
+    String key(String method, String hint, String schema, String context) {
+        return LlmRequestKey.of(method, config.getCache().getModelIdentity(),
+                LlmClientDecorator.unwrap(delegate).getClass().getName(), hint, schema, context);
+    }
+
+    private void audit(
+            EngineSession session,
+            ConvEngineAuditStage stage,
+            String callSite,
+            String method,
+            String key,
+            String tier) {
+        if (!config.getCache().isAuditEnabled() || session == null || session.getConversationId() == null) {
+            return;
+        }
+        AuditService auditService = auditServiceProvider == null ? null : auditServiceProvider.getIfAvailable();
+        if (auditService == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("callSite", callSite);
+        payload.put("method", method);
+        payload.put("cacheKey", key.substring(0, 16));
+        if (tier != null) {
+            payload.put("tier", tier);
+        }
+        try {
+            auditService.audit(stage, session.getConversationId(), payload);
+        } catch (Exception e) {
+            log.debug("Failed to audit {}: {}", stage, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+
+public interface LlmClientDecorator extends LlmClient {
+
+    LlmClient getDelegate();
+
+    /**
+     * Provider client underneath any ConvEngine decorators; used as part of request identity.
+     */
+    static LlmClient unwrap(LlmClient client) {
+        LlmClient current = client;
+        while (current instanceof LlmClientDecorator decorator && decorator.getDelegate() != null) {
+            current = decorator.getDelegate();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.config.ConvEngineJfrConfig;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.llm.accounting.AccountingLlmClient;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageAccounting;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.llm.jfr.JfrLlmClient;
+import com.github.salilvnair.convengine.llm.limit.LimitingLlmClient;
+import com.github.salilvnair.convengine.llm.limit.LlmConcurrencyLimiter;
+import com.github.salilvnair.convengine.llm.metrics.MeteredLlmClient;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the consumer-provided LlmClient in the enabled ConvEngine decorators, innermost first:
+ * {@link JfrLlmClient}, {@link MeteredLlmClient}, {@link LimitingLlmClient}, {@link AccountingLlmClient}, {@link SingleFlightLlmClient} then
+ * {@link CachingLlmClient}, so a cache miss burst still collapses to one provider call and only
+ * that call takes a permit and is charged tokens. Collaborators are resolved lazily because
+ * post-processors are created before regular beans.
+ */
+@Slf4j
+@Component
+public class LlmClientDecoratorPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ConvEngineLlmConfig> configProvider;
+    private final ObjectProvider<LlmResponseCache> cacheProvider;
+    private final ObjectProvider<AuditService> auditServiceProvider;
+    private final ObjectProvider<LlmConcurrencyLimiter> limiterProvider;
+    private final ObjectProvider<LlmUsageAccounting> accountingProvider;
+    private final ObjectProvider<ConvEngineMetrics> metricsProvider;
+    private final ObjectProvider<ConvEngineJfrConfig> jfrConfigProvider;
+
+    public LlmClientDecoratorPostProcessor(
+            ObjectProvider<ConvEngineLlmConfig> configProvider,
+            ObjectProvider<LlmResponseCache> cacheProvider,
+            ObjectProvider<AuditService> auditServiceProvider,
+            ObjectProvider<LlmConcurrencyLimiter> limiterProvider,
+            ObjectProvider<LlmUsageAccounting> accountingProvider,
+            ObjectProvider<ConvEngineMetrics> metricsProvider,
+            ObjectProvider<ConvEngineJfrConfig> jfrConfigProvider) {
+        this.configProvider = configProvider;
+        this.cacheProvider = cacheProvider;
+        this.auditServiceProvider = auditServiceProvider;
+        this.limiterProvider = limiterProvider;
+        this.accountingProvider = accountingProvider;
+        this.metricsProvider = metricsProvider;
+        this.jfrConfigProvider = jfrConfigProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof LlmClient client) || bean instanceof LlmClientDecorator) {
+            return bean;
+        }
+        ConvEngineLlmConfig config = configProvider.getIfAvailable();
+        if (config == null) {
+            return bean;
+        }
+        LlmClient decorated = client;
+        ConvEngineJfrConfig jfrConfig = jfrConfigProvider.getIfAvailable();
+        if (jfrConfig != null && jfrConfig.isEnabled()) {
+            log.info("ConvEngine JFR LLM call events enabled for bean '{}'", beanName);
+            decorated = new JfrLlmClient(decorated);
+        }
+        ConvEngineMetrics metrics = metricsProvider.getIfAvailable();
+        if (metrics != null && metrics.isEnabled()) {
+            decorated = new MeteredLlmClient(decorated, metrics);
+        }
+        LlmConcurrencyLimiter limiter = config.getConcurrency().isEnabled() ? limiterProvider.getIfAvailable() : null;
+        if (limiter != null) {
+            log.info("ConvEngine LLM concurrency limiter enabled for bean '{}'", beanName);
+            decorated = new LimitingLlmClient(decorated, limiter, config);
+        }
+        LlmUsageAccounting accounting = config.getAccounting().isEnabled() ? accountingProvider.getIfAvailable() : null;
+        if (accounting != null) {
+            log.info("ConvEngine LLM usage accounting enabled for bean '{}'", beanName);
+            decorated = new AccountingLlmClient(decorated, accounting);
+        }
+        if (config.getSingleFlight().isEnabled()) {
+            log.info("ConvEngine LLM single-flight enabled for bean '{}'", beanName);
+            decorated = new SingleFlightLlmClient(decorated, config);
+        }
+        LlmResponseCache cache = config.getCache().isEnabled() ? cacheProvider.getIfAvailable() : null;
+        if (cache != null) {
+            log.info("ConvEngine LLM response cache enabled for bean '{}'", beanName);
+            decorated = new CachingLlmClient(decorated, cache, config, auditServiceProvider);
+        }
+        return decorated;
+    }
+}
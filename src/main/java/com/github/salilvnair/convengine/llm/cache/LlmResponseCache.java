@@ -0,0 +1,180 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Two-tier store for deterministic LLM responses: a bounded in-process LRU backed by an
+ * optional shared table. Table errors never fail the LLM call; they just degrade to a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmResponseCache {
+
+    public static final String TIER_MEMORY = "MEMORY";
+    public static final String TIER_TABLE = "TABLE";
+
+    private static final Pattern SAFE_TABLE = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+
+    private final ConvEngineLlmConfig config;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong tableHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(128, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > Math.max(1, config.getCache().getMaxEntries());
+        }
+    };
+
+    public Lookup get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtMs() > now) {
+                    hits.incrementAndGet();
+                    return new Lookup(entry.response(), TIER_MEMORY);
+                }
+                entries.remove(key);
+            }
+        }
+        Entry stored = readTable(key, now);
+        if (stored != null) {
+            synchronized (entries) {
+                entries.put(key, stored);
+            }
+            tableHits.incrementAndGet();
+            return new Lookup(stored.response(), TIER_TABLE);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, String response, long ttlMs) {
+        if (response == null || response.isBlank() || ttlMs <= 0) {
+            return;
+        }
+        Entry entry = new Entry(response, System.currentTimeMillis() + ttlMs);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        writeTable(key, entry);
+    }
+
+    /**
+     * Drops the in-memory tier only; table rows expire on their own.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", config.getCache().isEnabled());
+        synchronized (entries) {
+            out.put("size", entries.size());
+        }
+        out.put("hits", hits.get());
+        out.put("tableHits", tableHits.get());
+        out.put("misses", misses.get());
+        return out;
+    }
+
+    private Entry readTable(String key, long now) {
+        String table = table();
+        JdbcTemplate jdbc = table == null ? null : jdbcTemplateProvider.getIfAvailable();
+        if (jdbc == null) {
+            return null;
+        }
+        try {
+            List<Map<String, Object>> rows = jdbc.queryForList(
+                    "SELECT response, expires_at FROM " + table + " WHERE cache_key = ?", key);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            Object response = rows.get(0).get("response");
+            long expiresAtMs = toEpochMs(rows.get(0).get("expires_at"));
+            if (response == null || expiresAtMs <= now) {
+                return null;
+            }
+            return new Entry(String.valueOf(response), expiresAtMs);
+        } catch (Exception e) {
+            log.debug("LLM response cache table read failed for {}: {}", table, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeTable(String key, Entry entry) {
+        String table = table();
+        JdbcTemplate jdbc = table == null ? null : jdbcTemplateProvider.getIfAvailable();
+        if (jdbc == null) {
+            return;
+        }
+        try {
+            Timestamp expiresAt = new Timestamp(entry.expiresAtMs());
+            int updated = jdbc.update("UPDATE " + table + " SET response = ?, expires_at = ? WHERE cache_key = ?",
+                    entry.response(), expiresAt, key);
+            if (updated == 0) {
+                jdbc.update("INSERT INTO " + table + " (cache_key, response, expires_at, created_at) VALUES (?, ?, ?, ?)",
+                        key, entry.response(), expiresAt, new Timestamp(System.currentTimeMillis()));
+            }
+        } catch (Exception e) {
+            log.debug("LLM response cache table write failed for {}: {}", table, e.getMessage());
+        }
+    }
+
+    private String table() {
+        String table = config.getCache().getTable();
+        if (table == null || table.isBlank()) {
+            return null;
+        }
+        String trimmed = table.trim();
+        if (!SAFE_TABLE.matcher(trimmed).matches()) {
+            log.warn("Ignoring convengine.llm.cache.table '{}': not a plain table name", trimmed);
+            return null;
+        }
+        return trimmed;
+    }
+
+    private long toEpochMs(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.getTime();
+        }
+        if (value instanceof java.util.Date date) {
+            return date.getTime();
+        }
+        if (value instanceof java.time.OffsetDateTime odt) {
+            return odt.toInstant().toEpochMilli();
+        }
+        if (value instanceof java.time.LocalDateTime ldt) {
+            return Timestamp.valueOf(ldt).getTime();
+        }
+        if (value instanceof Number n) {
+            return n.longValue();
+        }
+        return 0L;
+    }
+
+    private record Entry(String response, long expiresAtMs) {
+    }
+
+    public record Lookup(String response, String tier) {
+    }
+}
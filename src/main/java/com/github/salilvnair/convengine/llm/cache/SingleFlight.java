@@ -0,0 +1,73 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key onto one in-flight execution. The first caller
+ * runs the call on its own thread; later callers wait on the shared future up to their own
+ * timeout and observe the same result or exception. Nothing is retained once the call ends.
+ */
+public final class SingleFlight<V> {
+
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    public V execute(String key, long waitTimeoutMs, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            joined.incrementAndGet();
+            return await(existing, waitTimeoutMs);
+        }
+        executed.incrementAndGet();
+        try {
+            V value = call.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long executedCount() {
+        return executed.get();
+    }
+
+    public long joinedCount() {
+        return joined.get();
+    }
+
+    private V await(CompletableFuture<V> future, long waitTimeoutMs) {
+        try {
+            return waitTimeoutMs > 0 ? future.get(waitTimeoutMs, TimeUnit.MILLISECONDS) : future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shared LLM call failed", cause);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + waitTimeoutMs + " ms waiting for shared LLM call", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shared LLM call", e);
+        }
+    }
+}
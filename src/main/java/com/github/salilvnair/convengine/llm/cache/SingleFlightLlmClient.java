@@ -0,0 +1,98 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * LlmClient decorator that lets concurrent identical generateJson/generateJsonStrict and
+ * generateEmbedding calls share one provider request. generateText is never shared because
+ * free-form generation is usually sampled.
+ */
+public class SingleFlightLlmClient implements LlmClientDecorator {
+
+    private static final String METHOD_JSON = "generateJson";
+    private static final String METHOD_JSON_STRICT = "generateJsonStrict";
+    private static final String METHOD_EMBEDDING = "generateEmbedding";
+
+    private final LlmClient delegate;
+    private final ConvEngineLlmConfig config;
+    private final String delegateIdentity;
+    private final SingleFlight<String> jsonCalls = new SingleFlight<>();
+    private final SingleFlight<float[]> embeddingCalls = new SingleFlight<>();
+
+    public SingleFlightLlmClient(LlmClient delegate, ConvEngineLlmConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+        this.delegateIdentity = LlmClientDecorator.unwrap(delegate).getClass().getName();
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return delegate.generateText(session, hint, contextJson);
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return delegate.generateTextStream(session, hint, contextJson, onChunk);
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        if (!enabled()) {
+            return delegate.generateJson(session, hint, jsonSchema, contextJson);
+        }
+        return jsonCalls.execute(key(METHOD_JSON, hint, jsonSchema, contextJson), waitTimeoutMs(),
+                () -> delegate.generateJson(session, hint, jsonSchema, contextJson));
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        if (!enabled()) {
+            return delegate.generateJsonStrict(session, hint, jsonSchema, context);
+        }
+        return jsonCalls.execute(key(METHOD_JSON_STRICT, hint, jsonSchema, context), waitTimeoutMs(),
+                () -> delegate.generateJsonStrict(session, hint, jsonSchema, context));
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        if (!enabled()) {
+            return delegate.generateEmbedding(session, input);
+        }
+        float[] shared = embeddingCalls.execute(key(METHOD_EMBEDDING, input, null, null), waitTimeoutMs(),
+                () -> delegate.generateEmbedding(session, input));
+        // callers are free to normalise vectors in place
+        return shared == null ? null : shared.clone();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled());
+        out.put("inFlight", jsonCalls.inFlightCount() + embeddingCalls.inFlightCount());
+        out.put("executed", jsonCalls.executedCount() + embeddingCalls.executedCount());
+        out.put("joined", jsonCalls.joinedCount() + embeddingCalls.joinedCount());
+        return out;
+    }
+
+    private String key(String method, String first, String second, String third) {
+        return LlmRequestKey.of(method, config.getCache().getModelIdentity(), delegateIdentity, first, second, third);
+    }
+
+    private boolean enabled() {
+        return config.getSingleFlight().isEnabled();
+    }
+
+    private long waitTimeoutMs() {
+        return config.getSingleFlight().getWaitTimeoutMs();
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.salilvnair.convengine.llm.context;
+
+import java.util.function.Supplier;
+
+/**
+ * Names the engine component issuing an LLM call so that LlmClient decorators can apply
+ * per-call-site policy (response caching, concurrency caps, prompt budgets) without changing
+ * the LlmClient contract.
+ */
+public final class LlmCallSite {
+
+    public static final String DIALOGUE_ACT = "DIALOGUE_ACT";
+    public static final String NLU = "NLU";
+    public static final String AGENT_INTENT = "AGENT_INTENT";
+    public static final String SCHEMA_EXTRACTION = "SCHEMA_EXTRACTION";
+    public static final String MCP_PLANNER = "MCP_PLANNER";
+    public static final String SEMANTIC_INTERPRET = "SEMANTIC_INTERPRET";
+    public static final String SEMANTIC_QUERY = "SEMANTIC_QUERY";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private LlmCallSite() {
+    }
+
+    public static <T> T call(String callSite, Supplier<T> call) {
+        String previous = CURRENT.get();
+        CURRENT.set(callSite);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.salilvnair.convengine.llm.context;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public final class LlmInvocationContext {
 
@@ -29,6 +30,28 @@ public final class LlmInvocationContext {
         HOLDER.set(new LlmInvocationContext(conversationId, intent, state));
     }
 
+    /**
+     * Binds {@code context} (null for none) for the duration of {@code call}, then restores the
+     * previous binding.
+     */
+    public static <T> T call(LlmInvocationContext context, Supplier<T> call) {
+        LlmInvocationContext previous = HOLDER.get();
+        if (context == null) {
+            HOLDER.remove();
+        } else {
+            HOLDER.set(context);
+        }
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                HOLDER.remove();
+            } else {
+                HOLDER.set(previous);
+            }
+        }
+    }
+
     public static LlmInvocationContext get() {
         return HOLDER.get();
     }
@@ -1,27 +1,54 @@
 package com.github.salilvnair.convengine.llm.core;
 
 import com.github.salilvnair.convengine.entity.CeLlmCallLog;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
 import com.github.salilvnair.convengine.repo.LlmCallLogRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 
+/**
+ * Persists CeLlmCallLog rows off the LLM calling thread. BATCHED mode hands the row straight to
+ * {@link LlmCallLogBatchWriter#enqueue}, which never blocks, so only IMMEDIATE mode pays a hop
+ * to the async executor for its one-row save.
+ */
 @Slf4j
-@RequiredArgsConstructor
 @Service
 public class AsyncLlmCallLogPersistenceService {
 
     private final LlmCallLogRepository llmCallLogRepository;
+    private final LlmCallLogBatchWriter batchWriter;
+    private final AsyncTaskExecutor asyncExecutor;
+
+    public AsyncLlmCallLogPersistenceService(LlmCallLogRepository llmCallLogRepository,
+                                             LlmCallLogBatchWriter batchWriter,
+                                             @Qualifier(ConvEngineExecutorConfiguration.ASYNC_EXECUTOR) AsyncTaskExecutor asyncExecutor) {
+        this.llmCallLogRepository = llmCallLogRepository;
+        this.batchWriter = batchWriter;
+        this.asyncExecutor = asyncExecutor;
+    }
 
-    @Async
     public void saveLog(CeLlmCallLog callLog) {
+        if (callLog == null) {
+            return;
+        }
         try {
-            if (callLog == null) {
+            if (batchWriter.isBatched()) {
+                batchWriter.enqueue(callLog);
                 return;
             }
+            asyncExecutor.execute(() -> saveNow(callLog));
+        } catch (Exception e) {
+            log.error("Failed to hand off CeLlmCallLog for conversation {}: {}",
+                    callLog.getConversationId(), e.getMessage());
+        }
+    }
+
+    private void saveNow(CeLlmCallLog callLog) {
+        try {
             llmCallLogRepository.save(normalizeForPersistence(callLog));
         } catch (Exception e) {
             log.error("Failed to asynchronously persist CeLlmCallLog for conversation {}: {}",
@@ -29,7 +56,7 @@ public class AsyncLlmCallLogPersistenceService {
         }
     }
 
-    private CeLlmCallLog normalizeForPersistence(CeLlmCallLog callLog) {
+    static CeLlmCallLog normalizeForPersistence(CeLlmCallLog callLog) {
         if (callLog.getIntentCode() == null || callLog.getIntentCode().isBlank()) {
             callLog.setIntentCode("UNKNOWN");
         }
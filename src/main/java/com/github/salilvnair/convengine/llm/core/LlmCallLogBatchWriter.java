@@ -0,0 +1,448 @@
+package com.github.salilvnair.convengine.llm.core;
+
+import com.github.salilvnair.convengine.config.ConvEngineAuditConfig;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.config.ConvEngineSqlTableResolver;
+import com.github.salilvnair.convengine.entity.CeLlmCallLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer for CeLlmCallLog in BATCHED mode. Rows go into a bounded queue and a single
+ * daemon thread flushes them with JDBC batch inserts once batch-size rows are queued or
+ * flush-interval-ms has passed since the first queued row. Under pressure successful calls are
+ * sampled and a full queue is handled by the configured overflow policy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmCallLogBatchWriter {
+
+    public static final String PROMPT_REF_PREFIX = "sha256:";
+
+    private static final DateTimeFormatter SQLITE_TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConvEngineLlmConfig llmConfig;
+    @Autowired(required = false)
+    private ConvEngineSqlTableResolver tableResolver;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Map<String, Boolean> knownPromptHashes = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > Math.max(1, llmConfig.getCallLog().getPromptHashCacheSize());
+        }
+    });
+    private volatile BlockingQueue<CeLlmCallLog> queue;
+    private volatile Thread worker;
+    private volatile boolean running;
+    private volatile DbDialect dbDialect;
+
+    @PostConstruct
+    void init() {
+        if (isBatched()) {
+            start();
+        }
+    }
+
+    public boolean isBatched() {
+        return llmConfig.getCallLog().getMode() == ConvEngineLlmConfig.CallLogMode.BATCHED;
+    }
+
+    /**
+     * Non-blocking hand-off; safe to call from the LLM calling thread.
+     */
+    public void enqueue(CeLlmCallLog callLog) {
+        if (callLog == null) {
+            return;
+        }
+        offer(callLog, queue == null ? start() : queue);
+    }
+
+    void offer(CeLlmCallLog callLog, BlockingQueue<CeLlmCallLog> current) {
+        ConvEngineLlmConfig.CallLog cfg = llmConfig.getCallLog();
+        if (shouldSampleOut(callLog, current, cfg)) {
+            sampledOut.incrementAndGet();
+            return;
+        }
+        if (current.offer(callLog)) {
+            return;
+        }
+        ConvEngineAuditConfig.RejectionPolicy policy = cfg.getOverflowPolicy() == null
+                ? ConvEngineAuditConfig.RejectionPolicy.DROP_NEWEST
+                : cfg.getOverflowPolicy();
+        switch (policy) {
+            case CALLER_RUNS -> write(List.of(callLog));
+            case DROP_NEWEST -> dropped.incrementAndGet();
+            case DROP_OLDEST -> {
+                if (current.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+                if (!current.offer(callLog)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            case ABORT -> {
+                dropped.incrementAndGet();
+                throw new RejectedExecutionException("LLM call log queue full");
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("mode", llmConfig.getCallLog().getMode());
+        out.put("queued", queue == null ? 0 : queue.size());
+        out.put("written", written.get());
+        out.put("dropped", dropped.get());
+        out.put("sampledOut", sampledOut.get());
+        out.put("failed", failed.get());
+        return out;
+    }
+
+    /**
+     * Stops the worker through the running flag rather than an interrupt, so a batch it has already
+     * taken off the queue, or is writing, is finished before it exits; whatever is still queued is
+     * then written here.
+     */
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join(Math.max(1L, llmConfig.getCallLog().getFlushIntervalMs()) * 2 + TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        BlockingQueue<CeLlmCallLog> remaining = queue;
+        if (remaining != null && !remaining.isEmpty()) {
+            List<CeLlmCallLog> batch = new ArrayList<>();
+            remaining.drainTo(batch);
+            write(batch);
+        }
+    }
+
+    private synchronized BlockingQueue<CeLlmCallLog> start() {
+        if (queue != null) {
+            return queue;
+        }
+        ConvEngineLlmConfig.CallLog cfg = llmConfig.getCallLog();
+        BlockingQueue<CeLlmCallLog> created = new ArrayBlockingQueue<>(Math.max(1, cfg.getQueueCapacity()));
+        running = true;
+        Thread thread = new Thread(() -> runWriter(created), "convengine-llm-call-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+        queue = created;
+        return created;
+    }
+
+    private boolean shouldSampleOut(CeLlmCallLog callLog, BlockingQueue<CeLlmCallLog> current, ConvEngineLlmConfig.CallLog cfg) {
+        if (!Boolean.TRUE.equals(callLog.getSuccess())) {
+            return false;
+        }
+        int capacity = current.size() + current.remainingCapacity();
+        if (capacity <= 0 || (double) current.size() / capacity < cfg.getSampleThreshold()) {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextDouble() >= cfg.getSampleRate();
+    }
+
+    private void runWriter(BlockingQueue<CeLlmCallLog> source) {
+        while (running) {
+            try {
+                List<CeLlmCallLog> batch = nextBatch(source);
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("LLM call log writer loop error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Waits for the first row, then coalesces up to batch-size rows for at most flush-interval-ms.
+     * An interrupt ends the wait but still returns the rows already taken off the queue, with the
+     * interrupt flag restored for the caller.
+     */
+    List<CeLlmCallLog> nextBatch(BlockingQueue<CeLlmCallLog> source) {
+        ConvEngineLlmConfig.CallLog cfg = llmConfig.getCallLog();
+        int batchSize = Math.max(1, cfg.getBatchSize());
+        long intervalMs = Math.max(1L, cfg.getFlushIntervalMs());
+        List<CeLlmCallLog> batch = new ArrayList<>(batchSize);
+        try {
+            CeLlmCallLog first = source.poll(intervalMs, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervalMs);
+            while (batch.size() < batchSize) {
+                source.drainTo(batch, batchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0L) {
+                    break;
+                }
+                CeLlmCallLog next = source.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return batch;
+    }
+
+    void write(List<CeLlmCallLog> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<CeLlmCallLog> rows = new ArrayList<>(batch.size());
+            for (CeLlmCallLog row : batch) {
+                rows.add(AsyncLlmCallLogPersistenceService.normalizeForPersistence(row));
+            }
+            DbDialect dialect = resolveDialect();
+            if (llmConfig.getCallLog().isDedupePromptBodies()) {
+                dedupePromptBodies(rows, dialect);
+            }
+            insertLogs(rows, dialect);
+            written.addAndGet(rows.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.warn("Failed to persist {} CeLlmCallLog rows in batch: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void insertLogs(List<CeLlmCallLog> rows, DbDialect dialect) {
+        String sql = "INSERT INTO " + resolveTableName("ce_llm_call_log")
+                + " (conversation_id, intent_code, state_code, provider, model, temperature, prompt_text,"
+                + " user_context, response_text, success, error_message, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int idx) throws SQLException {
+                bindLogInsert(ps, rows.get(idx), dialect);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    /**
+     * Moves prompt bodies into ce_llm_prompt_body and points the rows at them. Bodies are written
+     * insert-if-absent because another node, or the shutdown drain, may store the same hash at the
+     * same time. If the body write fails anyway the rows keep their inline prompt, so a body
+     * problem never costs the call-log rows themselves.
+     */
+    private void dedupePromptBodies(List<CeLlmCallLog> rows, DbDialect dialect) {
+        Map<CeLlmCallLog, String> originals = new IdentityHashMap<>();
+        Map<String, String> newBodies = new LinkedHashMap<>();
+        for (CeLlmCallLog row : rows) {
+            String prompt = row.getPromptText();
+            if (prompt == null || prompt.startsWith(PROMPT_REF_PREFIX)) {
+                continue;
+            }
+            String hash = sha256(prompt);
+            if (!knownPromptHashes.containsKey(hash)) {
+                newBodies.putIfAbsent(hash, prompt);
+            }
+            originals.put(row, prompt);
+            row.setPromptText(PROMPT_REF_PREFIX + hash);
+        }
+        if (newBodies.isEmpty()) {
+            return;
+        }
+        try {
+            insertPromptBodies(newBodies, dialect);
+        } catch (Exception e) {
+            originals.forEach(CeLlmCallLog::setPromptText);
+            log.warn("Failed to store {} LLM prompt bodies, keeping prompts inline: {}", newBodies.size(), e.getMessage());
+            return;
+        }
+        for (String hash : newBodies.keySet()) {
+            knownPromptHashes.put(hash, Boolean.TRUE);
+        }
+    }
+
+    private void insertPromptBodies(Map<String, String> newBodies, DbDialect dialect) {
+        String table = resolveTableName("ce_llm_prompt_body");
+        String placeholders = String.join(", ", Collections.nCopies(newBodies.size(), "?"));
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT prompt_hash FROM " + table + " WHERE prompt_hash IN (" + placeholders + ")",
+                String.class, newBodies.keySet().toArray());
+        Set<String> present = Set.copyOf(existing);
+        List<Map.Entry<String, String>> missing = newBodies.entrySet().stream()
+                .filter(e -> !present.contains(e.getKey()))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        String sql = switch (dialect) {
+            case POSTGRES -> "INSERT INTO " + table + " (prompt_hash, prompt_text, created_at) VALUES (?, ?, ?)"
+                    + " ON CONFLICT (prompt_hash) DO NOTHING";
+            case SQLITE -> "INSERT OR IGNORE INTO " + table + " (prompt_hash, prompt_text, created_at) VALUES (?, ?, ?)";
+            case ORACLE -> "MERGE INTO " + table + " t USING (SELECT ? AS prompt_hash, ? AS prompt_text, ? AS created_at FROM dual) s"
+                    + " ON (t.prompt_hash = s.prompt_hash)"
+                    + " WHEN NOT MATCHED THEN INSERT (prompt_hash, prompt_text, created_at)"
+                    + " VALUES (s.prompt_hash, s.prompt_text, s.created_at)";
+            case OTHER -> "INSERT INTO " + table + " (prompt_hash, prompt_text, created_at) VALUES (?, ?, ?)";
+        };
+        BatchPreparedStatementSetter setter = new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int idx) throws SQLException {
+                ps.setString(1, missing.get(idx).getKey());
+                ps.setString(2, missing.get(idx).getValue());
+                bindTimestamp(ps, 3, java.time.OffsetDateTime.now(), dialect);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return missing.size();
+            }
+        };
+        try {
+            jdbcTemplate.batchUpdate(sql, setter);
+        } catch (DuplicateKeyException e) {
+            // a concurrent writer stored some of these bodies first (MERGE can still race on Oracle);
+            // the batch may have stopped early, so write the rest one by one and skip duplicates
+            for (int i = 0; i < missing.size(); i++) {
+                int idx = i;
+                try {
+                    jdbcTemplate.update(sql, ps -> setter.setValues(ps, idx));
+                } catch (DuplicateKeyException ignored) {
+                    // already stored by the other writer
+                }
+            }
+        }
+    }
+
+    private void bindLogInsert(PreparedStatement ps, CeLlmCallLog row, DbDialect dialect) throws SQLException {
+        if (dialect == DbDialect.POSTGRES) {
+            ps.setObject(1, row.getConversationId());
+        } else {
+            ps.setString(1, row.getConversationId() == null ? null : row.getConversationId().toString());
+        }
+        ps.setString(2, row.getIntentCode());
+        ps.setString(3, row.getStateCode());
+        ps.setString(4, row.getProvider());
+        ps.setString(5, row.getModel());
+        if (row.getTemperature() == null) {
+            ps.setNull(6, Types.NUMERIC);
+        } else {
+            ps.setDouble(6, row.getTemperature());
+        }
+        ps.setString(7, row.getPromptText());
+        ps.setString(8, row.getUserContext());
+        ps.setString(9, row.getResponseText());
+        if (dialect == DbDialect.ORACLE) {
+            ps.setInt(10, Boolean.TRUE.equals(row.getSuccess()) ? 1 : 0);
+        } else {
+            ps.setBoolean(10, Boolean.TRUE.equals(row.getSuccess()));
+        }
+        ps.setString(11, row.getErrorMessage());
+        bindTimestamp(ps, 12, row.getCreatedAt(), dialect);
+    }
+
+    private void bindTimestamp(PreparedStatement ps, int index, java.time.OffsetDateTime value, DbDialect dialect)
+            throws SQLException {
+        if (dialect == DbDialect.SQLITE) {
+            ps.setString(index, SQLITE_TS_FMT.format(value.toLocalDateTime()));
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private DbDialect resolveDialect() {
+        DbDialect cached = dbDialect;
+        if (cached != null) {
+            return cached;
+        }
+        String url = null;
+        try {
+            if (jdbcTemplate.getDataSource() != null) {
+                try (var conn = jdbcTemplate.getDataSource().getConnection()) {
+                    url = conn.getMetaData().getURL();
+                }
+            }
+        } catch (Exception ignored) {
+        }
+        String normalized = url == null ? "" : url.toLowerCase(Locale.ROOT);
+        if (normalized.contains(":sqlite:")) {
+            cached = DbDialect.SQLITE;
+        } else if (normalized.contains(":postgresql:")) {
+            cached = DbDialect.POSTGRES;
+        } else if (normalized.contains(":oracle:")) {
+            cached = DbDialect.ORACLE;
+        } else {
+            cached = DbDialect.OTHER;
+        }
+        dbDialect = cached;
+        return cached;
+    }
+
+    private String resolveTableName(String logicalTableName) {
+        return tableResolver == null ? logicalTableName : tableResolver.resolveTableName(logicalTableName);
+    }
+
+    private enum DbDialect {
+        SQLITE,
+        POSTGRES,
+        ORACLE,
+        OTHER
+    }
+}
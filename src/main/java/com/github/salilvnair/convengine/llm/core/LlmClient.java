@@ -2,6 +2,8 @@ package com.github.salilvnair.convengine.llm.core;
 
 import com.github.salilvnair.convengine.engine.session.EngineSession;
 
+import java.util.function.Consumer;
+
 public interface LlmClient {
     String generateText(EngineSession session, String hint, String contextJson);
     String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson);
@@ -10,4 +12,15 @@ public interface LlmClient {
         // fallback for older / non-strict models
         return generateJson(session, hint, jsonSchema, context);
     }
+    /**
+     * Emits text deltas to {@code onChunk} as the provider produces them and returns the full text.
+     * Providers without streaming support fall back to one chunk carrying the whole response.
+     */
+    default String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        String text = generateText(session, hint, contextJson);
+        if (onChunk != null && text != null && !text.isEmpty()) {
+            onChunk.accept(text);
+        }
+        return text;
+    }
 }
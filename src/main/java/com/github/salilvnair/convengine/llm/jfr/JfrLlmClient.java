@@ -0,0 +1,99 @@
+package com.github.salilvnair.convengine.llm.jfr;
+
+import com.github.salilvnair.convengine.audit.AuditSessionContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.jfr.LlmCallEvent;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.llm.cache.LlmClientDecorator;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Emits a {@link LlmCallEvent} per provider call so flight recordings can attribute LLM latency
+ * to a conversation, step and call site. Prompt and response sizes are character counts.
+ */
+public class JfrLlmClient implements LlmClientDecorator {
+
+    private final LlmClient delegate;
+
+    public JfrLlmClient(LlmClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return recorded(session, "generateText", () -> delegate.generateText(session, hint, contextJson),
+                JfrLlmClient::length, hint, contextJson);
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return recorded(session, "generateTextStream",
+                () -> delegate.generateTextStream(session, hint, contextJson, onChunk),
+                JfrLlmClient::length, hint, contextJson);
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return recorded(session, "generateJson", () -> delegate.generateJson(session, hint, jsonSchema, contextJson),
+                JfrLlmClient::length, hint, jsonSchema, contextJson);
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return recorded(session, "generateJsonStrict",
+                () -> delegate.generateJsonStrict(session, hint, jsonSchema, context),
+                JfrLlmClient::length, hint, jsonSchema, context);
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        return recorded(session, "generateEmbedding", () -> delegate.generateEmbedding(session, input),
+                vector -> 0L, input);
+    }
+
+    private <T> T recorded(EngineSession session, String method, Supplier<T> call, ToLongFunction<T> responseChars,
+                           String... promptParts) {
+        LlmCallEvent event = LlmCallEvent.start();
+        if (event == null) {
+            return call.get();
+        }
+        boolean success = false;
+        T value = null;
+        try {
+            value = call.get();
+            success = true;
+            return value;
+        } finally {
+            long promptChars = 0L;
+            for (String part : promptParts) {
+                promptChars += length(part);
+            }
+            LlmCallEvent.emit(event, conversationId(session), method, LlmCallSite.current(), LlmUsageScope.currentStep(),
+                    LlmUsageScope.currentTool(), promptChars, success ? responseChars.applyAsLong(value) : 0L, success);
+        }
+    }
+
+    private static Object conversationId(EngineSession session) {
+        EngineSession effective = session != null ? session : AuditSessionContext.get();
+        if (effective != null) {
+            return effective.getConversationId();
+        }
+        LlmInvocationContext invocation = LlmInvocationContext.get();
+        return invocation == null ? null : invocation.conversationId();
+    }
+
+    private static long length(String value) {
+        return value == null ? 0L : value.length();
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.salilvnair.convengine.llm.limit;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.cache.LlmClientDecorator;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LlmClient decorator that takes a {@link LlmConcurrencyLimiter} permit around every provider
+ * call. It sits directly on the provider so cache hits and single-flight followers never
+ * consume a permit.
+ */
+public class LimitingLlmClient implements LlmClientDecorator {
+
+    private final LlmClient delegate;
+    private final LlmConcurrencyLimiter limiter;
+    private final ConvEngineLlmConfig config;
+
+    public LimitingLlmClient(LlmClient delegate, LlmConcurrencyLimiter limiter, ConvEngineLlmConfig config) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.config = config;
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return limited(session, "generateText", () -> delegate.generateText(session, hint, contextJson));
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return limited(session, "generateTextStream",
+                () -> delegate.generateTextStream(session, hint, contextJson, onChunk));
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return limited(session, "generateJson", () -> delegate.generateJson(session, hint, jsonSchema, contextJson));
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return limited(session, "generateJsonStrict",
+                () -> delegate.generateJsonStrict(session, hint, jsonSchema, context));
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        return limited(session, "generateEmbedding", () -> delegate.generateEmbedding(session, input));
+    }
+
+    private <T> T limited(EngineSession session, String method, Supplier<T> call) {
+        if (!config.getConcurrency().isEnabled()) {
+            return call.get();
+        }
+        LlmConcurrencyLimiter.Permit permit = limiter.acquire(
+                LlmCallSite.current(), method, session == null ? null : session.getConversationId());
+        boolean success = false;
+        try {
+            T value = call.get();
+            success = true;
+            return value;
+        } finally {
+            permit.release(success);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.salilvnair.convengine.llm.limit;
+
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
+
+import java.util.Map;
+
+/**
+ * Thrown instead of blocking when the LLM concurrency limiter has no permit to give within the
+ * configured queue wait. Recoverable: the same request can be retried once load drops.
+ */
+public class LlmCapacityExceededException extends ConversationEngineException {
+
+    public LlmCapacityExceededException(String message, Map<String, Object> metaData) {
+        super(ConversationEngineErrorCode.LLM_CAPACITY_EXCEEDED, message);
+        withMetaData(metaData);
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.salilvnair.convengine.llm.limit;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive bulkhead for outbound LLM calls. A caller gets a permit when total in-flight calls are
+ * under the current limit, its conversation is under max-per-conversation and its call site is
+ * under its own cap (convengine.llm.concurrency.call-sites.&lt;SITE&gt;.max-concurrency); otherwise
+ * it queues for at most max-queue-wait-ms and is then rejected with
+ * {@link LlmCapacityExceededException}. The limit follows AIMD against a per call-site/method
+ * latency baseline, so a fast embedding call and a slow generation are judged separately.
+ */
+@Component
+@RequiredArgsConstructor
+public class LlmConcurrencyLimiter {
+
+    private static final String UNTAGGED = "UNTAGGED";
+
+    private final ConvEngineLlmConfig config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<UUID, Integer> perConversation = new HashMap<>();
+    private final Map<String, Integer> perCallSite = new HashMap<>();
+    private final Map<String, Long> baselineRttNanos = new HashMap<>();
+    private double limit = -1d;
+    private int inFlight;
+    private int queued;
+    private long acquired;
+    private long rejected;
+    private long queuedAcquires;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+
+    public Permit acquire(String callSite, String method, UUID conversationId) {
+        ConvEngineLlmConfig.Concurrency cfg = config.getConcurrency();
+        String site = callSite == null ? UNTAGGED : callSite;
+        long startNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (limit < 0) {
+                limit = clamp(cfg.getInitialLimit(), cfg);
+            }
+            if (canRun(site, conversationId, cfg)) {
+                return grant(site, method, conversationId, startNanos, false);
+            }
+            if (queued >= Math.max(0, cfg.getMaxQueued())) {
+                throw reject(site, "LLM concurrency queue is full");
+            }
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, cfg.getMaxQueueWaitMs()));
+            queued++;
+            try {
+                while (!canRun(site, conversationId, cfg)) {
+                    if (remainingNanos <= 0L) {
+                        throw reject(site, "Timed out after " + cfg.getMaxQueueWaitMs() + " ms waiting for an LLM permit");
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject(site, "Interrupted while waiting for an LLM permit");
+            } finally {
+                queued--;
+            }
+            return grant(site, method, conversationId, startNanos, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("enabled", config.getConcurrency().isEnabled());
+            out.put("limit", limit < 0 ? config.getConcurrency().getInitialLimit() : (int) limit);
+            out.put("inFlight", inFlight);
+            out.put("queued", queued);
+            out.put("acquired", acquired);
+            out.put("rejected", rejected);
+            out.put("avgQueueMs", queuedAcquires == 0 ? 0d : TimeUnit.NANOSECONDS.toMicros(totalQueueNanos / queuedAcquires) / 1000d);
+            out.put("maxQueueMs", TimeUnit.NANOSECONDS.toMicros(maxQueueNanos) / 1000d);
+            out.put("inFlightByCallSite", new LinkedHashMap<>(perCallSite));
+            return out;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canRun(String site, UUID conversationId, ConvEngineLlmConfig.Concurrency cfg) {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        if (conversationId != null && cfg.getMaxPerConversation() > 0
+                && perConversation.getOrDefault(conversationId, 0) >= cfg.getMaxPerConversation()) {
+            return false;
+        }
+        Integer siteCap = siteCap(site, cfg);
+        return siteCap == null || perCallSite.getOrDefault(site, 0) < siteCap;
+    }
+
+    private Integer siteCap(String site, ConvEngineLlmConfig.Concurrency cfg) {
+        Map<String, ConvEngineLlmConfig.CallSiteLimit> sites = cfg.getCallSites();
+        ConvEngineLlmConfig.CallSiteLimit siteCfg = sites == null ? null : sites.get(site);
+        return siteCfg == null || siteCfg.getMaxConcurrency() == null ? null : Math.max(1, siteCfg.getMaxConcurrency());
+    }
+
+    private Permit grant(String site, String method, UUID conversationId, long startNanos, boolean waited) {
+        inFlight++;
+        acquired++;
+        perCallSite.merge(site, 1, Integer::sum);
+        if (conversationId != null) {
+            perConversation.merge(conversationId, 1, Integer::sum);
+        }
+        long now = System.nanoTime();
+        if (waited) {
+            long waitedNanos = now - startNanos;
+            queuedAcquires++;
+            totalQueueNanos += waitedNanos;
+            maxQueueNanos = Math.max(maxQueueNanos, waitedNanos);
+        }
+        return new Permit(site, site + ":" + method, conversationId, now);
+    }
+
+    private void release(Permit permit, boolean success) {
+        long rttNanos = System.nanoTime() - permit.startNanos;
+        ConvEngineLlmConfig.Concurrency cfg = config.getConcurrency();
+        lock.lock();
+        try {
+            int inFlightBefore = inFlight;
+            inFlight--;
+            perCallSite.computeIfPresent(permit.callSite, (k, v) -> v <= 1 ? null : v - 1);
+            if (permit.conversationId != null) {
+                perConversation.computeIfPresent(permit.conversationId, (k, v) -> v <= 1 ? null : v - 1);
+            }
+            adjustLimit(permit.latencyKey, rttNanos, success, inFlightBefore, cfg);
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjustLimit(String latencyKey, long rttNanos, boolean success, int inFlightBefore,
+                             ConvEngineLlmConfig.Concurrency cfg) {
+        if (!success) {
+            limit = clamp(limit * cfg.getBackoffRatio(), cfg);
+            return;
+        }
+        Long baseline = baselineRttNanos.get(latencyKey);
+        if (baseline == null || rttNanos < baseline) {
+            baselineRttNanos.put(latencyKey, rttNanos);
+            baseline = rttNanos;
+        } else {
+            // drift upwards slowly so a permanently heavier prompt does not read as congestion forever
+            baselineRttNanos.put(latencyKey, baseline + (rttNanos - baseline) / 64);
+        }
+        if (rttNanos > baseline * Math.max(1d, cfg.getLatencyTolerance())) {
+            limit = clamp(limit * cfg.getBackoffRatio(), cfg);
+        } else if (inFlightBefore * 2 >= (int) limit) {
+            // only grow while the current limit is actually being used
+            limit = clamp(limit + 1d / limit, cfg);
+        }
+    }
+
+    private double clamp(double value, ConvEngineLlmConfig.Concurrency cfg) {
+        int min = Math.max(1, cfg.getMinLimit());
+        int max = Math.max(min, cfg.getMaxLimit());
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private LlmCapacityExceededException reject(String site, String message) {
+        rejected++;
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("callSite", site);
+        meta.put("limit", (int) limit);
+        meta.put("inFlight", inFlight);
+        meta.put("queued", queued);
+        return new LlmCapacityExceededException(message, meta);
+    }
+
+    public final class Permit {
+
+        private final String callSite;
+        private final String latencyKey;
+        private final UUID conversationId;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(String callSite, String latencyKey, UUID conversationId, long startNanos) {
+            this.callSite = callSite;
+            this.latencyKey = latencyKey;
+            this.conversationId = conversationId;
+            this.startNanos = startNanos;
+        }
+
+        public void release(boolean success) {
+            if (released) {
+                return;
+            }
+            released = true;
+            LlmConcurrencyLimiter.this.release(this, success);
+        }
+    }
+}
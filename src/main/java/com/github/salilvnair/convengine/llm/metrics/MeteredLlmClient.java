@@ -0,0 +1,75 @@
+package com.github.salilvnair.convengine.llm.metrics;
+
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.llm.cache.LlmClientDecorator;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Times provider calls into {@code convengine.llm.call}, tagged by method, call site, step and
+ * outcome. It wraps the provider client directly, so the timer is provider latency; time spent
+ * waiting for a permit, joining a single-flight call or served from the cache is not included.
+ */
+public class MeteredLlmClient implements LlmClientDecorator {
+
+    static final String METER = "convengine.llm.call";
+
+    private final LlmClient delegate;
+    private final ConvEngineMetrics metrics;
+
+    public MeteredLlmClient(LlmClient delegate, ConvEngineMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public LlmClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return timed("generateText", () -> delegate.generateText(session, hint, contextJson));
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        return timed("generateTextStream", () -> delegate.generateTextStream(session, hint, contextJson, onChunk));
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return timed("generateJson", () -> delegate.generateJson(session, hint, jsonSchema, contextJson));
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return timed("generateJsonStrict", () -> delegate.generateJsonStrict(session, hint, jsonSchema, context));
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        return timed("generateEmbedding", () -> delegate.generateEmbedding(session, input));
+    }
+
+    private <T> T timed(String method, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = ConvEngineMetrics.OUTCOME_ERROR;
+        try {
+            T value = call.get();
+            outcome = ConvEngineMetrics.OUTCOME_SUCCESS;
+            return value;
+        } finally {
+            metrics.recordTime(METER, System.nanoTime() - start,
+                    "method", method,
+                    "call.site", LlmCallSite.current(),
+                    "step", LlmUsageScope.currentStep(),
+                    "outcome", outcome);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.salilvnair.convengine.llm.stub;
+
+import java.util.Locale;
+
+/**
+ * Deterministic stand-in embedding: character n-grams of the lower-cased, whitespace-collapsed
+ * text are hashed into a fixed number of signed buckets and the vector is L2-normalised. Texts
+ * sharing many n-grams get a high cosine similarity, which is enough to exercise retrieval paths.
+ */
+public final class HashedNgramEmbedding {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private HashedNgramEmbedding() {
+    }
+
+    public static float[] embed(String text, int dimension, int ngram) {
+        int dim = Math.max(1, dimension);
+        int n = Math.max(1, ngram);
+        float[] vector = new float[dim];
+        String normalized = " " + (text == null ? "" : text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ")) + " ";
+        if (normalized.length() < n) {
+            n = normalized.length();
+        }
+        for (int i = 0; i + n <= normalized.length(); i++) {
+            long hash = fnv1a(normalized, i, i + n);
+            int bucket = (int) Long.remainderUnsigned(hash, dim);
+            vector[bucket] += (hash >>> 63) == 0 ? 1.0f : -1.0f;
+        }
+        double norm = 0.0d;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0.0d) {
+            float scale = (float) (1.0d / Math.sqrt(norm));
+            for (int i = 0; i < dim; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private static long fnv1a(String text, int from, int to) {
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
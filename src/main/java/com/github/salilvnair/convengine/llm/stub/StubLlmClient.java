@@ -0,0 +1,213 @@
+package com.github.salilvnair.convengine.llm.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Offline LlmClient: answers from recorded responses keyed by the normalised prompt (the hint;
+ * context JSON is not part of the key), then from scripted pattern fallbacks, then from the
+ * configured default. Embeddings are hashed character n-gram vectors. Latency is drawn from the
+ * configured distribution with a per-prompt seed, so a replay sees the same delays every run.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "convengine.llm.stub", name = "enabled", havingValue = "true")
+public class StubLlmClient implements LlmClient {
+
+    private static final String METHOD_TEXT = "generateText";
+    private static final String METHOD_JSON = "generateJson";
+    private static final String METHOD_JSON_STRICT = "generateJsonStrict";
+    private static final String METHOD_EMBEDDING = "generateEmbedding";
+
+    private final ConvEngineLlmConfig llmConfig;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong recordedHits = new AtomicLong();
+    private final AtomicLong scriptedHits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private StubLlmRecordings recordings;
+    private List<CompiledScript> scripts = List.of();
+
+    public StubLlmClient(ConvEngineLlmConfig llmConfig) {
+        this.llmConfig = llmConfig;
+    }
+
+    @PostConstruct
+    void init() {
+        ConvEngineLlmConfig.Stub cfg = llmConfig.getStub();
+        recordings = new StubLlmRecordings(cfg.getNormalizePatterns());
+        recordings.load(cfg.getRecordingsPath());
+        List<CompiledScript> compiled = new ArrayList<>();
+        if (cfg.getScripts() != null) {
+            for (ConvEngineLlmConfig.Script script : cfg.getScripts()) {
+                if (script.getPattern() != null && script.getResponse() != null) {
+                    compiled.add(new CompiledScript(Pattern.compile(script.getPattern()), script.getMethod(), script.getResponse()));
+                }
+            }
+        }
+        scripts = compiled;
+        log.warn("ConvEngine LLM stub is active: {} recordings, {} scripts; no provider will be called",
+                recordings.size(), scripts.size());
+    }
+
+    @Override
+    public String generateText(EngineSession session, String hint, String contextJson) {
+        return respond(METHOD_TEXT, hint, llmConfig.getStub().getFallbackText());
+    }
+
+    @Override
+    public String generateTextStream(EngineSession session, String hint, String contextJson, Consumer<String> onChunk) {
+        String text = generateText(session, hint, contextJson);
+        if (onChunk != null && text != null) {
+            // word-sized deltas so stream consumers see more than one chunk
+            for (String chunk : text.split("(?<=\\s)")) {
+                if (!chunk.isEmpty()) {
+                    onChunk.accept(chunk);
+                }
+            }
+        }
+        return text;
+    }
+
+    @Override
+    public String generateJson(EngineSession session, String hint, String jsonSchema, String contextJson) {
+        return respond(METHOD_JSON, hint, llmConfig.getStub().getFallbackJson());
+    }
+
+    @Override
+    public String generateJsonStrict(EngineSession session, String hint, String jsonSchema, String context) {
+        return respond(METHOD_JSON_STRICT, hint, llmConfig.getStub().getFallbackJson());
+    }
+
+    @Override
+    public float[] generateEmbedding(EngineSession session, String input) {
+        ConvEngineLlmConfig.Stub cfg = llmConfig.getStub();
+        String hash = ensureRecordings().promptHash(input);
+        pause(hash);
+        String recorded = recordings.find(METHOD_EMBEDDING, hash);
+        if (recorded != null) {
+            float[] vector = parseVector(recorded);
+            if (vector != null) {
+                recordedHits.incrementAndGet();
+                return vector;
+            }
+        }
+        fallbacks.incrementAndGet();
+        return HashedNgramEmbedding.embed(input, cfg.getEmbeddingDimension(), cfg.getEmbeddingNgram());
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("recordings", recordings == null ? 0 : recordings.size());
+        out.put("scripts", scripts.size());
+        out.put("recordedHits", recordedHits.get());
+        out.put("scriptedHits", scriptedHits.get());
+        out.put("fallbacks", fallbacks.get());
+        return out;
+    }
+
+    private String respond(String method, String prompt, String fallback) {
+        String hash = ensureRecordings().promptHash(prompt);
+        pause(hash);
+        String recorded = recordings.find(method, hash);
+        if (recorded != null) {
+            recordedHits.incrementAndGet();
+            return recorded;
+        }
+        for (CompiledScript script : scripts) {
+            if (script.matches(method, prompt)) {
+                scriptedHits.incrementAndGet();
+                return script.response();
+            }
+        }
+        fallbacks.incrementAndGet();
+        log.debug("LLM stub miss method={} promptHash={}", method, hash);
+        return fallback;
+    }
+
+    long latencyFor(String promptHash) {
+        ConvEngineLlmConfig.Stub cfg = llmConfig.getStub();
+        if (cfg.getLatencyDistribution() == null) {
+            return 0L;
+        }
+        long seed = cfg.getSeed() ^ Long.parseUnsignedLong(promptHash.substring(0, 15), 16);
+        SplittableRandom random = new SplittableRandom(seed);
+        long delay = switch (cfg.getLatencyDistribution()) {
+            case NONE -> 0L;
+            case FIXED -> cfg.getLatencyMs();
+            case UNIFORM -> cfg.getLatencyMs() - cfg.getLatencyJitterMs()
+                    + (long) (random.nextDouble() * 2 * cfg.getLatencyJitterMs());
+            case LOG_NORMAL -> (long) (cfg.getLatencyMs() * Math.exp(cfg.getLatencySigma() * gaussian(random)));
+        };
+        return Math.max(0L, Math.min(delay, cfg.getLatencyMaxMs()));
+    }
+
+    private void pause(String promptHash) {
+        long delay = latencyFor(promptHash);
+        if (delay <= 0L) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private StubLlmRecordings ensureRecordings() {
+        if (recordings == null) {
+            init();
+        }
+        return recordings;
+    }
+
+    private float[] parseVector(String json) {
+        try {
+            JsonNode node = mapper.readTree(json);
+            if (!node.isArray()) {
+                return null;
+            }
+            float[] out = new float[node.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (float) node.get(i).asDouble();
+            }
+            return out;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = Math.max(Double.MIN_VALUE, random.nextDouble());
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0d * Math.log(u1)) * Math.cos(2.0d * Math.PI * u2);
+    }
+
+    private record CompiledScript(Pattern pattern, String method, String response) {
+
+        boolean matches(String calledMethod, String prompt) {
+            if (method != null && !method.isBlank() && !method.equalsIgnoreCase(calledMethod)) {
+                return false;
+            }
+            return prompt != null && pattern.matcher(prompt).find();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.salilvnair.convengine.llm.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.llm.cache.LlmRequestKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Recorded responses keyed by normalised prompt hash, optionally qualified by LlmClient method.
+ */
+@Slf4j
+final class StubLlmRecordings {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Pattern> normalizePatterns;
+    private final Map<String, String> responses = new HashMap<>();
+
+    StubLlmRecordings(List<String> normalizePatterns) {
+        List<Pattern> compiled = new ArrayList<>();
+        if (normalizePatterns != null) {
+            for (String pattern : normalizePatterns) {
+                if (pattern != null && !pattern.isBlank()) {
+                    compiled.add(Pattern.compile(pattern));
+                }
+            }
+        }
+        this.normalizePatterns = compiled;
+    }
+
+    String promptHash(String prompt) {
+        String normalized = prompt == null ? "" : prompt;
+        for (Pattern pattern : normalizePatterns) {
+            normalized = pattern.matcher(normalized).replaceAll("?");
+        }
+        return LlmRequestKey.of(normalized.trim().replaceAll("\\s+", " "));
+    }
+
+    String find(String method, String promptHash) {
+        String exact = responses.get(method + ":" + promptHash);
+        return exact != null ? exact : responses.get(promptHash);
+    }
+
+    int size() {
+        return responses.size();
+    }
+
+    void put(String method, String promptHash, String response) {
+        responses.put(method == null || method.isBlank() ? promptHash : method + ":" + promptHash, response);
+    }
+
+    void load(String path) {
+        if (path == null || path.isBlank()) {
+            return;
+        }
+        Resource resource = new FileSystemResource(path);
+        if (!resource.exists()) {
+            resource = new DefaultResourceLoader().getResource(path);
+        }
+        if (!resource.exists()) {
+            log.warn("LLM stub recordings not found at '{}'", path);
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            loadText(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            log.info("Loaded {} LLM stub recordings from '{}'", responses.size(), path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read LLM stub recordings from " + path, e);
+        }
+    }
+
+    void loadText(String text) throws IOException {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.startsWith("[")) {
+            for (JsonNode entry : MAPPER.readTree(trimmed)) {
+                add(entry);
+            }
+            return;
+        }
+        for (String line : trimmed.split("\\R")) {
+            if (!line.isBlank()) {
+                add(MAPPER.readTree(line));
+            }
+        }
+    }
+
+    private void add(JsonNode entry) {
+        String response = firstText(entry, "response", "response_text", "responseText");
+        if (response == null) {
+            return;
+        }
+        String hash = firstText(entry, "promptHash", "prompt_hash");
+        if (hash == null) {
+            String prompt = firstText(entry, "prompt", "prompt_text", "promptText");
+            if (prompt == null) {
+                return;
+            }
+            hash = promptHash(prompt);
+        }
+        put(firstText(entry, "method"), hash, response);
+    }
+
+    private static String firstText(JsonNode entry, String... fields) {
+        for (String field : fields) {
+            JsonNode value = entry.get(field);
+            if (value != null && !value.isNull()) {
+                return value.isTextual() ? value.asText() : value.toString();
+            }
+        }
+        return null;
+    }
+}
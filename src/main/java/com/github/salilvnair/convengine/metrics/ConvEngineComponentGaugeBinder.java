@@ -0,0 +1,83 @@
+package com.github.salilvnair.convengine.metrics;
+
+import com.github.salilvnair.convengine.api.service.ConversationTurnDispatcher;
+import com.github.salilvnair.convengine.config.ConvEngineMetricsConfig;
+import com.github.salilvnair.convengine.engine.mcp.McpSqlGuardrail;
+import com.github.salilvnair.convengine.engine.mcp.preflight.DbSchemaMetadataCache;
+import com.github.salilvnair.convengine.engine.mcp.outbox.ToolOutboxService;
+import com.github.salilvnair.convengine.engine.mcp.retrieval.LocalDocumentRetrievalAdapter;
+import com.github.salilvnair.convengine.engine.mcp.query.semantic.service.SemanticPromptSectionCache;
+import com.github.salilvnair.convengine.execution.ConversationTurnLimiter;
+import com.github.salilvnair.convengine.intent.CompositeIntentResolver;
+import com.github.salilvnair.convengine.llm.cache.LlmClientDecorator;
+import com.github.salilvnair.convengine.llm.cache.LlmResponseCache;
+import com.github.salilvnair.convengine.llm.cache.SingleFlightLlmClient;
+import com.github.salilvnair.convengine.llm.core.LlmCallLogBatchWriter;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.llm.limit.LlmConcurrencyLimiter;
+import com.github.salilvnair.convengine.llm.stub.StubLlmClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Publishes the counters ConvEngine components already keep for their stats() endpoints as
+ * gauges, so limiter saturation, cache hit counts and call-log backlog show up next to the step
+ * and LLM timers without another poller.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConvEngineComponentGaugeBinder implements SmartInitializingSingleton {
+
+    private final ConvEngineMetrics metrics;
+    private final ConvEngineMetricsConfig metricsConfig;
+    private final ObjectProvider<LlmConcurrencyLimiter> limiterProvider;
+    private final ObjectProvider<LlmResponseCache> llmCacheProvider;
+    private final ObjectProvider<LlmCallLogBatchWriter> callLogWriterProvider;
+    private final ObjectProvider<McpSqlGuardrail> sqlGuardrailProvider;
+    private final ObjectProvider<DbSchemaMetadataCache> schemaMetadataCacheProvider;
+    private final ObjectProvider<SemanticPromptSectionCache> promptSectionCacheProvider;
+    private final ObjectProvider<LlmClient> llmClientProvider;
+    private final ObjectProvider<ConversationTurnLimiter> turnLimiterProvider;
+    private final ObjectProvider<ConversationTurnDispatcher> turnDispatcherProvider;
+    private final ObjectProvider<CompositeIntentResolver> intentResolverProvider;
+    private final ObjectProvider<LocalDocumentRetrievalAdapter> documentRetrievalProvider;
+    private final ObjectProvider<ToolOutboxService> toolOutboxProvider;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!metrics.isEnabled() || !metricsConfig.isComponentGauges()) {
+            return;
+        }
+        limiterProvider.ifAvailable(limiter -> metrics.registerGauges("convengine.llm.limiter", limiter::stats));
+        llmCacheProvider.ifAvailable(cache -> metrics.registerGauges("convengine.llm.cache", cache::stats));
+        callLogWriterProvider.ifAvailable(writer -> metrics.registerGauges("convengine.llm.call.log", writer::stats));
+        sqlGuardrailProvider.ifAvailable(guardrail -> metrics.registerGauges("convengine.mcp.sql.guardrail", guardrail::stats));
+        schemaMetadataCacheProvider.ifAvailable(cache -> metrics.registerGauges("convengine.mcp.schema.metadata", cache::stats));
+        promptSectionCacheProvider.ifAvailable(cache -> metrics.registerGauges("convengine.semantic.prompt.sections", cache::stats));
+        turnLimiterProvider.ifAvailable(limiter -> metrics.registerGauges("convengine.turns", limiter::stats));
+        turnDispatcherProvider.ifAvailable(dispatcher -> metrics.registerGauges("convengine.turns.async", dispatcher::stats));
+        intentResolverProvider.ifAvailable(resolver -> metrics.registerGauges("convengine.intent.speculation", resolver::speculationStats));
+        documentRetrievalProvider.ifAvailable(adapter -> metrics.registerGauges("convengine.mcp.document.retrieval", adapter::stats));
+        toolOutboxProvider.ifAvailable(outbox -> metrics.registerGauges("convengine.mcp.outbox", outbox::stats));
+
+        // single-flight is not a bean and the stub sits under the decorators; walk each client chain
+        Set<LlmClient> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        llmClientProvider.orderedStream().forEach(client -> {
+            LlmClient current = client;
+            while (current != null && seen.add(current)) {
+                if (current instanceof SingleFlightLlmClient singleFlight) {
+                    metrics.registerGauges("convengine.llm.single.flight", singleFlight::stats);
+                } else if (current instanceof StubLlmClient stub) {
+                    metrics.registerGauges("convengine.llm.stub", stub::stats);
+                }
+                current = current instanceof LlmClientDecorator decorator ? decorator.getDelegate() : null;
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.salilvnair.convengine.metrics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meter facade used by the engine so that Micrometer stays an optional dependency. Tags are
+ * alternating key/value pairs; null values are published as {@code none}. Implementations must be
+ * cheap when disabled, callers do not guard.
+ */
+public interface ConvEngineMetrics {
+
+    String OUTCOME_SUCCESS = "success";
+    String OUTCOME_ERROR = "error";
+
+    ConvEngineMetrics NOOP = new ConvEngineMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordTime(String name, long durationNanos, String... tags) {
+        }
+
+        @Override
+        public void increment(String name, String... tags) {
+        }
+
+        @Override
+        public void recordValue(String name, double value, String... tags) {
+        }
+
+        @Override
+        public void registerGauges(String name, Supplier<Map<String, Object>> stats) {
+        }
+    };
+
+    boolean isEnabled();
+
+    void recordTime(String name, long durationNanos, String... tags);
+
+    void increment(String name, String... tags);
+
+    /**
+     * Records a sample in a distribution summary (sizes, counts per operation).
+     */
+    void recordValue(String name, double value, String... tags);
+
+    /**
+     * Publishes every top-level numeric entry of {@code stats} as a gauge named
+     * {@code <name>.<key>}, read on each scrape.
+     */
+    void registerGauges(String name, Supplier<Map<String, Object>> stats);
+}
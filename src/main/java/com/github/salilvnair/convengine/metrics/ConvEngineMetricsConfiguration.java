@@ -0,0 +1,46 @@
+package com.github.salilvnair.convengine.metrics;
+
+import com.github.salilvnair.convengine.config.ConvEngineMetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Always defines a {@link ConvEngineMetrics} bean: the Micrometer-backed one when micrometer-core
+ * is present and a MeterRegistry bean exists, {@link ConvEngineMetrics#NOOP} otherwise.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ConvEngineMetricsConfiguration {
+
+    private static final String METER_REGISTRY = "io.micrometer.core.instrument.MeterRegistry";
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = METER_REGISTRY)
+    static class Micrometer {
+
+        @Bean
+        ConvEngineMetrics convEngineMetrics(ObjectProvider<MeterRegistry> registryProvider, ConvEngineMetricsConfig config) {
+            MeterRegistry registry = config.isEnabled() ? registryProvider.getIfAvailable() : null;
+            if (registry == null) {
+                return ConvEngineMetrics.NOOP;
+            }
+            log.info("ConvEngine metrics published to {}", registry.getClass().getSimpleName());
+            return new MicrometerConvEngineMetrics(registry, config);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnMissingClass(METER_REGISTRY)
+    static class NoOp {
+
+        @Bean
+        ConvEngineMetrics convEngineMetrics() {
+            return ConvEngineMetrics.NOOP;
+        }
+    }
+}
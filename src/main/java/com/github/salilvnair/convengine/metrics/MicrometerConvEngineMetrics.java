@@ -0,0 +1,102 @@
+package com.github.salilvnair.convengine.metrics;
+
+import com.github.salilvnair.convengine.config.ConvEngineMetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class MicrometerConvEngineMetrics implements ConvEngineMetrics {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final boolean percentileHistogram;
+    private final double[] percentiles;
+
+    public MicrometerConvEngineMetrics(MeterRegistry registry, ConvEngineMetricsConfig config) {
+        this.registry = registry;
+        this.percentileHistogram = config.isPercentileHistogram();
+        this.percentiles = config.getPercentiles() == null ? new double[0]
+                : config.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordTime(String name, long durationNanos, String... tags) {
+        Timer.builder(name)
+                .tags(normalize(tags))
+                .publishPercentileHistogram(percentileHistogram)
+                .publishPercentiles(percentiles)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+        Counter.builder(name).tags(normalize(tags)).register(registry).increment();
+    }
+
+    @Override
+    public void recordValue(String name, double value, String... tags) {
+        DistributionSummary.builder(name)
+                .tags(normalize(tags))
+                .publishPercentileHistogram(percentileHistogram)
+                .register(registry)
+                .record(value);
+    }
+
+    @Override
+    public void registerGauges(String name, Supplier<Map<String, Object>> stats) {
+        Map<String, Object> snapshot = stats.get();
+        if (snapshot == null) {
+            return;
+        }
+        snapshot.forEach((key, value) -> {
+            if (!(value instanceof Number)) {
+                return;
+            }
+            Gauge.builder(name + "." + meterSuffix(key), stats, source -> number(source.get(), key))
+                    .strongReference(true)
+                    .register(registry);
+        });
+    }
+
+    private static double number(Map<String, Object> stats, String key) {
+        Object value = stats == null ? null : stats.get(key);
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    // inFlight -> in.flight, avgQueueMs -> avg.queue.ms
+    static String meterSuffix(String key) {
+        StringBuilder out = new StringBuilder(key.length() + 4);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                out.append('.');
+            }
+            out.append(c == '_' ? '.' : Character.toLowerCase(c));
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] normalize(String[] tags) {
+        String[] out = tags.clone();
+        for (int i = 1; i < out.length; i += 2) {
+            if (out[i] == null || out[i].isBlank()) {
+                out[i] = NONE;
+            }
+        }
+        return out;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.salilvnair.convengine.service;
 
 import com.github.salilvnair.convengine.entity.CeConversationHistory;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
 import com.github.salilvnair.convengine.repo.ConversationHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +15,7 @@ public class AsyncConversationHistoryPersistenceService {
 
     private final ConversationHistoryRepository conversationHistoryRepository;
 
-    @Async
+    @Async(ConvEngineExecutorConfiguration.ASYNC_EXECUTOR)
     public void saveHistory(CeConversationHistory history) {
         try {
             conversationHistoryRepository.save(history);
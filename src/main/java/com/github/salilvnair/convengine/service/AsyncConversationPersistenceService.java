@@ -1,6 +1,7 @@
 package com.github.salilvnair.convengine.service;
 
 import com.github.salilvnair.convengine.entity.CeConversation;
+import com.github.salilvnair.convengine.execution.ConvEngineExecutorConfiguration;
 import com.github.salilvnair.convengine.repo.ConversationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +15,7 @@ public class AsyncConversationPersistenceService {
 
     private final ConversationRepository conversationRepository;
 
-    @Async
+    @Async(ConvEngineExecutorConfiguration.ASYNC_EXECUTOR)
     public void saveAsync(CeConversation conversation) {
         try {
             conversationRepository.save(conversation);
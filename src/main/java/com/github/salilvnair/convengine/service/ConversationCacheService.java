@@ -2,8 +2,10 @@ package com.github.salilvnair.convengine.service;
 
 import com.github.salilvnair.convengine.entity.CeConversation;
 import com.github.salilvnair.convengine.repo.ConversationRepository;
+import com.github.salilvnair.convengine.cache.MeteredCacheResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +13,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@CacheConfig(cacheResolver = MeteredCacheResolver.BEAN_NAME)
 @RequiredArgsConstructor
 public class ConversationCacheService {
 
@@ -2,8 +2,10 @@ package com.github.salilvnair.convengine.service;
 
 import com.github.salilvnair.convengine.entity.CeConversationHistory;
 import com.github.salilvnair.convengine.repo.ConversationHistoryRepository;
+import com.github.salilvnair.convengine.cache.MeteredCacheResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -12,6 +14,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@CacheConfig(cacheResolver = MeteredCacheResolver.BEAN_NAME)
 @RequiredArgsConstructor
 public class ConversationHistoryCacheService {
 
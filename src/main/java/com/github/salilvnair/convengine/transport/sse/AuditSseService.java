@@ -6,6 +6,10 @@ import com.github.salilvnair.convengine.audit.AuditPayloadMapper;
 import com.github.salilvnair.convengine.config.ConvEngineTransportConfig;
 import com.github.salilvnair.convengine.entity.CeAudit;
 import com.github.salilvnair.convengine.api.dto.VerboseStreamPayload;
+import com.github.salilvnair.convengine.api.dto.ResponseStreamChunk;
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+import com.github.salilvnair.convengine.transport.stream.ConversationResultListener;
+import com.github.salilvnair.convengine.transport.stream.ResponseStreamListener;
 import com.github.salilvnair.convengine.transport.verbose.VerboseEventListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,7 +30,10 @@ import java.util.concurrent.ConcurrentHashMap;
 @Conditional(ConvEngineStreamEnabledCondition.class)
 @ConditionalOnProperty(prefix = "convengine.transport.sse", name = "enabled", havingValue = "true", matchIfMissing = true)
 @Slf4j
-public class AuditSseService implements AuditEventListener, VerboseEventListener {
+public class AuditSseService implements AuditEventListener, VerboseEventListener, ResponseStreamListener, ConversationResultListener {
+
+    private static final String RESPONSE_CHUNK = "RESPONSE_CHUNK";
+    private static final String CONVERSATION_RESULT = "CONVERSATION_RESULT";
 
     private final ConvEngineTransportConfig transportConfig;
     private final AuditPayloadMapper payloadMapper;
@@ -90,6 +97,50 @@ public class AuditSseService implements AuditEventListener, VerboseEventListener
         }
     }
 
+    @Override
+    public void onResponseChunk(UUID conversationId, ResponseStreamChunk chunk) {
+        Set<SseEmitter> conversationEmitters = emitters.get(conversationId);
+        if (conversationEmitters == null || conversationEmitters.isEmpty() || chunk == null) {
+            return;
+        }
+        AuditStreamEventResponse event = new AuditStreamEventResponse(
+                RESPONSE_CHUNK,
+                null,
+                RESPONSE_CHUNK,
+                OffsetDateTime.now().toString(),
+                Map.of("chunk", chunk),
+                null);
+        for (SseEmitter emitter : conversationEmitters.toArray(new SseEmitter[0])) {
+            try {
+                emitter.send(SseEmitter.event().name(RESPONSE_CHUNK).data(event));
+            } catch (IOException ex) {
+                removeEmitter(conversationId, emitter);
+            }
+        }
+    }
+
+    @Override
+    public void onConversationResult(UUID conversationId, ConversationTurnTicket ticket) {
+        Set<SseEmitter> conversationEmitters = emitters.get(conversationId);
+        if (conversationEmitters == null || conversationEmitters.isEmpty() || ticket == null) {
+            return;
+        }
+        AuditStreamEventResponse event = new AuditStreamEventResponse(
+                CONVERSATION_RESULT,
+                null,
+                CONVERSATION_RESULT,
+                OffsetDateTime.now().toString(),
+                Map.of("ticket", ticket),
+                null);
+        for (SseEmitter emitter : conversationEmitters.toArray(new SseEmitter[0])) {
+            try {
+                emitter.send(SseEmitter.event().name(CONVERSATION_RESULT).data(event));
+            } catch (IOException ex) {
+                removeEmitter(conversationId, emitter);
+            }
+        }
+    }
+
     private void sendConnected(UUID conversationId, SseEmitter emitter) {
         try {
             emitter.send(
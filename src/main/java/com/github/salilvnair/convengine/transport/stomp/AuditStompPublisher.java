@@ -6,6 +6,10 @@ import com.github.salilvnair.convengine.audit.AuditPayloadMapper;
 import com.github.salilvnair.convengine.config.ConvEngineTransportConfig;
 import com.github.salilvnair.convengine.entity.CeAudit;
 import com.github.salilvnair.convengine.api.dto.VerboseStreamPayload;
+import com.github.salilvnair.convengine.api.dto.ResponseStreamChunk;
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+import com.github.salilvnair.convengine.transport.stream.ConversationResultListener;
+import com.github.salilvnair.convengine.transport.stream.ResponseStreamListener;
 import com.github.salilvnair.convengine.transport.verbose.VerboseEventListener;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -24,7 +28,7 @@ import java.util.UUID;
 @Conditional(ConvEngineStreamEnabledCondition.class)
 @ConditionalOnBean(SimpMessagingTemplate.class)
 @ConditionalOnProperty(prefix = "convengine.transport.stomp", name = "enabled", havingValue = "true")
-public class AuditStompPublisher implements AuditEventListener, VerboseEventListener {
+public class AuditStompPublisher implements AuditEventListener, VerboseEventListener, ResponseStreamListener, ConversationResultListener {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final ConvEngineTransportConfig transportConfig;
@@ -59,4 +63,36 @@ public class AuditStompPublisher implements AuditEventListener, VerboseEventList
                 verbosePayload);
         messagingTemplate.convertAndSend(destination, event);
     }
+
+    @Override
+    public void onResponseChunk(UUID conversationId, ResponseStreamChunk chunk) {
+        if (conversationId == null || chunk == null) {
+            return;
+        }
+        String destination = transportConfig.getStomp().getAuditDestinationBase() + "/" + conversationId;
+        AuditStreamEventResponse event = new AuditStreamEventResponse(
+                "RESPONSE_CHUNK",
+                null,
+                "RESPONSE_CHUNK",
+                OffsetDateTime.now().toString(),
+                Map.of("chunk", chunk),
+                null);
+        messagingTemplate.convertAndSend(destination, event);
+    }
+
+    @Override
+    public void onConversationResult(UUID conversationId, ConversationTurnTicket ticket) {
+        if (conversationId == null || ticket == null) {
+            return;
+        }
+        String destination = transportConfig.getStomp().getAuditDestinationBase() + "/" + conversationId;
+        AuditStreamEventResponse event = new AuditStreamEventResponse(
+                "CONVERSATION_RESULT",
+                null,
+                "CONVERSATION_RESULT",
+                OffsetDateTime.now().toString(),
+                Map.of("ticket", ticket),
+                null);
+        messagingTemplate.convertAndSend(destination, event);
+    }
 }
@@ -0,0 +1,9 @@
+package com.github.salilvnair.convengine.transport.stream;
+
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+
+import java.util.UUID;
+
+public interface ConversationResultListener {
+    void onConversationResult(UUID conversationId, ConversationTurnTicket ticket);
+}
@@ -0,0 +1,9 @@
+package com.github.salilvnair.convengine.transport.stream;
+
+import com.github.salilvnair.convengine.api.dto.ResponseStreamChunk;
+
+import java.util.UUID;
+
+public interface ResponseStreamListener {
+    void onResponseChunk(UUID conversationId, ResponseStreamChunk chunk);
+}
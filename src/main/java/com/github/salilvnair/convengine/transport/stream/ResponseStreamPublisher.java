@@ -0,0 +1,100 @@
+package com.github.salilvnair.convengine.transport.stream;
+
+import com.github.salilvnair.convengine.api.dto.ResponseStreamChunk;
+import com.github.salilvnair.convengine.config.ConvEngineTransportConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseStreamPublisher {
+
+    private final ConvEngineTransportConfig transportConfig;
+    private final ObjectProvider<ResponseStreamListener> listenerProvider;
+
+    public boolean isEnabled(EngineSession session) {
+        return transportConfig.getResponseStream().isEnabled()
+                && session != null
+                && session.getConversationId() != null
+                && listenerProvider.stream().findAny().isPresent();
+    }
+
+    public ResponseStream open(EngineSession session, String stepName) {
+        return new ResponseStream(session, stepName, listenerProvider.orderedStream().toList());
+    }
+
+    /**
+     * One streamed response. Deltas are numbered in arrival order; {@link #complete()} sends the
+     * closing event so clients can swap the partial text for the persisted payload.
+     */
+    public static final class ResponseStream implements Consumer<String> {
+
+        private final UUID conversationId;
+        private final String stepName;
+        private final String intent;
+        private final String state;
+        private final List<ResponseStreamListener> listeners;
+        private int sequence;
+        private boolean completed;
+
+        private ResponseStream(EngineSession session, String stepName, List<ResponseStreamListener> listeners) {
+            this.conversationId = session.getConversationId();
+            this.stepName = stepName;
+            this.intent = session.getIntent();
+            this.state = session.getState();
+            this.listeners = listeners;
+        }
+
+        @Override
+        public synchronized void accept(String delta) {
+            if (completed || delta == null || delta.isEmpty()) {
+                return;
+            }
+            dispatch(chunk(delta, false));
+        }
+
+        public synchronized void complete() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            dispatch(chunk(null, true));
+        }
+
+        public int sequence() {
+            return sequence;
+        }
+
+        private ResponseStreamChunk chunk(String delta, boolean done) {
+            return ResponseStreamChunk.builder()
+                    .stepName(stepName)
+                    .intent(intent)
+                    .state(state)
+                    .sequence(sequence++)
+                    .delta(delta)
+                    .done(done)
+                    .build();
+        }
+
+        private void dispatch(ResponseStreamChunk chunk) {
+            for (ResponseStreamListener listener : listeners) {
+                try {
+                    listener.onResponseChunk(conversationId, chunk);
+                } catch (Exception e) {
+                    log.debug("Response chunk dispatch failed listener={} convId={} msg={}",
+                            listener.getClass().getSimpleName(),
+                            conversationId,
+                            e.getMessage());
+                }
+            }
+        }
+    }
+}
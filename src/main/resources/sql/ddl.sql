@@ -17,6 +17,8 @@ DROP TABLE IF EXISTS ce_prompt_template CASCADE;
 DROP TABLE IF EXISTS ce_policy CASCADE;
 DROP TABLE IF EXISTS ce_output_schema CASCADE;
 DROP TABLE IF EXISTS ce_mcp_tool CASCADE;
+DROP TABLE IF EXISTS ce_tool_outbox CASCADE;
+DROP TABLE IF EXISTS ce_llm_prompt_body CASCADE;
 DROP TABLE IF EXISTS ce_llm_call_log CASCADE;
 DROP TABLE IF EXISTS ce_intent_classifier CASCADE;
 DROP TABLE IF EXISTS ce_intent CASCADE;
@@ -120,6 +122,38 @@ CREATE TABLE ce_llm_call_log (
 CREATE INDEX idx_ce_llm_log_conversation ON public.ce_llm_call_log USING btree (conversation_id);
 CREATE INDEX idx_ce_llm_log_intent_state ON public.ce_llm_call_log USING btree (intent_code, state_code);
 
+CREATE TABLE ce_llm_prompt_body (
+                                    prompt_hash text NOT NULL,
+                                    prompt_text text NOT NULL,
+                                    created_at timestamptz DEFAULT now() NOT NULL,
+                                    CONSTRAINT ce_llm_prompt_body_pkey PRIMARY KEY (prompt_hash)
+);
+
+CREATE TABLE ce_tool_outbox (
+                                outbox_id text NOT NULL,
+                                conversation_id uuid NOT NULL,
+                                tool_code text NOT NULL,
+                                tool_group text NOT NULL,
+                                intent_code text NULL,
+                                state_code text NULL,
+                                user_text text NULL,
+                                args_json text NOT NULL,
+                                context_json text NULL,
+                                input_params_json text NULL,
+                                idempotency_key text NOT NULL,
+                                status text NOT NULL,
+                                attempts int4 DEFAULT 0 NOT NULL,
+                                next_attempt_at_ms int8 NOT NULL,
+                                last_error text NULL,
+                                result_text text NULL,
+                                created_at timestamptz DEFAULT now() NOT NULL,
+                                updated_at timestamptz DEFAULT now() NOT NULL,
+                                CONSTRAINT ce_tool_outbox_pkey PRIMARY KEY (outbox_id),
+                                CONSTRAINT ce_tool_outbox_idempotency_key_key UNIQUE (idempotency_key)
+);
+CREATE INDEX idx_ce_tool_outbox_due ON public.ce_tool_outbox USING btree (status, next_attempt_at_ms);
+CREATE INDEX idx_ce_tool_outbox_conversation ON public.ce_tool_outbox USING btree (conversation_id);
+
 CREATE TABLE ce_mcp_tool (
                              tool_id bigserial NOT NULL,
                              tool_code text NOT NULL,
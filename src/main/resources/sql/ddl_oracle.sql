@@ -17,6 +17,8 @@ DROP TABLE ce_prompt_template;
 DROP TABLE ce_policy;
 DROP TABLE ce_output_schema;
 DROP TABLE ce_mcp_tool;
+DROP TABLE ce_tool_outbox;
+DROP TABLE ce_llm_prompt_body;
 DROP TABLE ce_llm_call_log;
 DROP TABLE ce_intent_classifier;
 DROP TABLE ce_intent;
@@ -111,6 +113,36 @@ CREATE TABLE ce_llm_call_log (
 CREATE INDEX idx_ce_llm_log_conversation ON ce_llm_call_log (conversation_id);
 CREATE INDEX idx_ce_llm_log_intent_state ON ce_llm_call_log (intent_code, state_code);
 
+CREATE TABLE ce_llm_prompt_body (
+  prompt_hash VARCHAR2(64) PRIMARY KEY,
+  prompt_text CLOB NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE ce_tool_outbox (
+  outbox_id VARCHAR2(36) PRIMARY KEY,
+  conversation_id VARCHAR2(36) NOT NULL,
+  tool_code VARCHAR2(255) NOT NULL,
+  tool_group VARCHAR2(255) NOT NULL,
+  intent_code VARCHAR2(255),
+  state_code VARCHAR2(255),
+  user_text CLOB,
+  args_json CLOB NOT NULL,
+  context_json CLOB,
+  input_params_json CLOB,
+  idempotency_key VARCHAR2(64) NOT NULL,
+  status VARCHAR2(32) NOT NULL,
+  attempts NUMBER(10) DEFAULT 0 NOT NULL,
+  next_attempt_at_ms NUMBER(19) NOT NULL,
+  last_error CLOB,
+  result_text CLOB,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+  CONSTRAINT ce_tool_outbox_idempotency_key_key UNIQUE (idempotency_key)
+);
+CREATE INDEX idx_ce_tool_outbox_due ON ce_tool_outbox (status, next_attempt_at_ms);
+CREATE INDEX idx_ce_tool_outbox_conversation ON ce_tool_outbox (conversation_id);
+
 CREATE TABLE ce_mcp_tool (
   tool_id NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   tool_code VARCHAR2(255) NOT NULL,
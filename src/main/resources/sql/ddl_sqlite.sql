@@ -17,6 +17,8 @@ DROP TABLE IF EXISTS ce_prompt_template;
 DROP TABLE IF EXISTS ce_policy;
 DROP TABLE IF EXISTS ce_output_schema;
 DROP TABLE IF EXISTS ce_mcp_tool;
+DROP TABLE IF EXISTS ce_tool_outbox;
+DROP TABLE IF EXISTS ce_llm_prompt_body;
 DROP TABLE IF EXISTS ce_llm_call_log;
 DROP TABLE IF EXISTS ce_intent_classifier;
 DROP TABLE IF EXISTS ce_intent;
@@ -103,6 +105,35 @@ CREATE TABLE ce_llm_call_log (
 CREATE INDEX idx_ce_llm_log_conversation ON ce_llm_call_log (conversation_id);
 CREATE INDEX idx_ce_llm_log_intent_state ON ce_llm_call_log (intent_code, state_code);
 
+CREATE TABLE ce_llm_prompt_body (
+  prompt_hash TEXT PRIMARY KEY,
+  prompt_text TEXT NOT NULL,
+  created_at DATETIME NOT NULL DEFAULT (strftime('%Y-%m-%d %H:%M:%f', 'now'))
+);
+
+CREATE TABLE ce_tool_outbox (
+  outbox_id TEXT PRIMARY KEY,
+  conversation_id TEXT NOT NULL,
+  tool_code TEXT NOT NULL,
+  tool_group TEXT NOT NULL,
+  intent_code TEXT,
+  state_code TEXT,
+  user_text TEXT,
+  args_json TEXT NOT NULL,
+  context_json TEXT,
+  input_params_json TEXT,
+  idempotency_key TEXT NOT NULL UNIQUE,
+  status TEXT NOT NULL,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  next_attempt_at_ms INTEGER NOT NULL,
+  last_error TEXT,
+  result_text TEXT,
+  created_at DATETIME NOT NULL DEFAULT (strftime('%Y-%m-%d %H:%M:%f', 'now')),
+  updated_at DATETIME NOT NULL DEFAULT (strftime('%Y-%m-%d %H:%M:%f', 'now'))
+);
+CREATE INDEX idx_ce_tool_outbox_due ON ce_tool_outbox (status, next_attempt_at_ms);
+CREATE INDEX idx_ce_tool_outbox_conversation ON ce_tool_outbox (conversation_id);
+
 CREATE TABLE ce_mcp_tool (
   tool_id INTEGER PRIMARY KEY AUTOINCREMENT,
   tool_code TEXT NOT NULL UNIQUE,
@@ -0,0 +1,195 @@
+package com.github.salilvnair.convengine.api.service;
+
+import com.github.salilvnair.convengine.api.dto.ConversationRequest;
+import com.github.salilvnair.convengine.api.dto.ConversationResponse;
+import com.github.salilvnair.convengine.api.dto.ConversationTurnTicket;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.transport.stream.ConversationResultListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationTurnDispatcherTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void repeatedIdempotencyKeyReturnsTheExistingTicketWithoutReprocessing() throws Exception {
+        ConversationTurnService turnService = mock(ConversationTurnService.class);
+        when(turnService.process(any())).thenReturn(response("done"));
+        List<ConversationTurnTicket> pushed = new CopyOnWriteArrayList<>();
+        ConversationTurnDispatcher dispatcher = dispatcher(turnService, new TaskExecutorAdapter(pool),
+                (conversationId, ticket) -> pushed.add(ticket));
+        ConversationRequest request = request(UUID.randomUUID(), "hi");
+
+        ConversationTurnTicket first = dispatcher.submit(request, "key-1");
+        ConversationTurnTicket done = dispatcher.whenDone(first.getTicketId()).orElseThrow().get(5, TimeUnit.SECONDS);
+        ConversationTurnTicket repeat = dispatcher.submit(request(request.getConversationId(), "hi"), "key-1");
+
+        assertEquals(first.getTicketId(), repeat.getTicketId());
+        assertEquals(ConversationTurnTicket.Status.COMPLETED, done.getStatus());
+        assertEquals("done", done.getResponse().getState());
+        assertEquals(ConversationTurnTicket.Status.COMPLETED, repeat.getStatus());
+        assertEquals(1, pushed.size());
+        assertEquals(first.getTicketId(), pushed.get(0).getTicketId());
+        verify(turnService, times(1)).process(any());
+    }
+
+    @Test
+    void turnsOfOneConversationRunInSubmissionOrder() throws Exception {
+        ConversationTurnService turnService = mock(ConversationTurnService.class);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(turnService.process(any())).thenAnswer(invocation -> {
+            ConversationRequest request = invocation.getArgument(0);
+            if ("first".equals(request.getMessage())) {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            }
+            order.add(request.getMessage());
+            return response(request.getMessage());
+        });
+        ConversationTurnDispatcher dispatcher = dispatcher(turnService, new TaskExecutorAdapter(pool), null);
+        UUID conversationId = UUID.randomUUID();
+
+        dispatcher.submit(request(conversationId, "first"), null);
+        ConversationTurnTicket second = dispatcher.submit(request(conversationId, "second"), null);
+        assertEquals(ConversationTurnTicket.Status.PENDING, dispatcher.find(second.getTicketId()).orElseThrow().getStatus());
+        releaseFirst.countDown();
+        dispatcher.whenDone(second.getTicketId()).orElseThrow().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("first", "second"), order);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Integer.valueOf(0).equals(dispatcher.stats().get("activeConversations")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, dispatcher.stats().get("activeConversations"));
+    }
+
+    @Test
+    void rejectsTurnsWhenTheExecutorIsSaturated() {
+        ConversationTurnService turnService = mock(ConversationTurnService.class);
+        when(turnService.errorResponse(any(), anyString(), anyString(), anyBoolean())).thenReturn(response("ERROR"));
+        AsyncTaskExecutor saturated = mock(AsyncTaskExecutor.class);
+        doThrow(new TaskRejectedException("full")).when(saturated).execute(any(Runnable.class));
+        ConversationTurnDispatcher dispatcher = dispatcher(turnService, saturated, null);
+
+        ConversationTurnTicket ticket = dispatcher.submit(request(null, "hi"), null);
+
+        assertEquals(ConversationTurnTicket.Status.REJECTED, ticket.getStatus());
+        assertTrue(ticket.getConversationId() != null);
+        verify(turnService).errorResponse(any(), eq(ConversationEngineErrorCode.ENGINE_CAPACITY_EXCEEDED.name()), anyString(), eq(true));
+        assertEquals(1L, dispatcher.stats().get("rejected"));
+    }
+
+    @Test
+    void floodingOneConversationIsRejectedPastItsLaneCap() throws Exception {
+        ConversationTurnService turnService = mock(ConversationTurnService.class);
+        when(turnService.errorResponse(any(), anyString(), anyString(), anyBoolean())).thenReturn(response("ERROR"));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(turnService.process(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("done");
+        });
+        ConvEngineExecutionConfig config = new ConvEngineExecutionConfig();
+        config.getAsyncTurns().setMaxPendingPerConversation(3);
+        ConversationTurnDispatcher dispatcher = dispatcher(turnService, new TaskExecutorAdapter(pool), null, config);
+        UUID conversationId = UUID.randomUUID();
+
+        dispatcher.submit(request(conversationId, "turn-0"), null);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        List<ConversationTurnTicket> flood = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            flood.add(dispatcher.submit(request(conversationId, "turn-" + i), "key-" + i));
+        }
+
+        assertEquals(3, flood.stream().filter(t -> t.getStatus() == ConversationTurnTicket.Status.PENDING).count());
+        assertEquals(47L, dispatcher.stats().get("rejected"));
+        assertEquals(4, dispatcher.stats().get("pending"));
+        verify(turnService, times(47)).errorResponse(any(), eq(ConversationEngineErrorCode.ENGINE_CAPACITY_EXCEEDED.name()), anyString(), eq(true));
+        // a rejected key is free again, so the client's retry is accepted once there is room
+        release.countDown();
+        dispatcher.whenDone(flood.get(2).getTicketId()).orElseThrow().get(5, TimeUnit.SECONDS);
+        ConversationTurnTicket retry = dispatcher.submit(request(conversationId, "turn-50"), "key-50");
+        assertTrue(retry.getStatus() != ConversationTurnTicket.Status.REJECTED);
+    }
+
+    @Test
+    void pendingTurnsAreCappedAcrossConversations() {
+        ConversationTurnService turnService = mock(ConversationTurnService.class);
+        when(turnService.errorResponse(any(), anyString(), anyString(), anyBoolean())).thenReturn(response("ERROR"));
+        ConvEngineExecutionConfig config = new ConvEngineExecutionConfig();
+        config.getAsyncTurns().setMaxPendingTurns(2);
+        // accepted but never started, so every turn stays pending
+        ConversationTurnDispatcher dispatcher = dispatcher(turnService, mock(AsyncTaskExecutor.class), null, config);
+
+        dispatcher.submit(request(UUID.randomUUID(), "a"), null);
+        dispatcher.submit(request(UUID.randomUUID(), "b"), null);
+        ConversationTurnTicket third = dispatcher.submit(request(UUID.randomUUID(), "c"), null);
+
+        assertEquals(ConversationTurnTicket.Status.REJECTED, third.getStatus());
+        assertEquals(2, dispatcher.stats().get("pending"));
+    }
+
+    private static ConversationTurnDispatcher dispatcher(ConversationTurnService turnService, AsyncTaskExecutor executor,
+                                                         ConversationResultListener listener) {
+        return dispatcher(turnService, executor, listener, new ConvEngineExecutionConfig());
+    }
+
+    private static ConversationTurnDispatcher dispatcher(ConversationTurnService turnService, AsyncTaskExecutor executor,
+                                                         ConversationResultListener listener,
+                                                         ConvEngineExecutionConfig config) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        if (listener != null) {
+            beanFactory.registerSingleton("listener", listener);
+        }
+        ObjectProvider<ConversationResultListener> listeners = beanFactory.getBeanProvider(ConversationResultListener.class);
+        return new ConversationTurnDispatcher(turnService, executor, config, listeners);
+    }
+
+    private static ConversationRequest request(UUID conversationId, String message) {
+        ConversationRequest request = new ConversationRequest();
+        request.setConversationId(conversationId);
+        request.setMessage(message);
+        return request;
+    }
+
+    private static ConversationResponse response(String state) {
+        ConversationResponse response = new ConversationResponse();
+        response.setSuccess(true);
+        response.setState(state);
+        return response;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.salilvnair.convengine.cache;
+
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheableOperation;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MeteredCacheResolverTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Test
+    void countsHitsAndMissesWhenMetricsEnabled() {
+        ConvEngineMetrics metrics = mock(ConvEngineMetrics.class);
+        when(metrics.isEnabled()).thenReturn(true);
+        MeteredCacheResolver resolver = new MeteredCacheResolver(cacheManager, metrics);
+
+        Cache cache = resolver.resolveCaches(context("ce_rule")).iterator().next();
+        cache.get("all");
+        cache.put("all", "rules");
+        cache.get("all");
+
+        verify(metrics).increment(MeteredCacheResolver.METER, "cache", "ce_rule", "result", "miss");
+        verify(metrics).increment(MeteredCacheResolver.METER, "cache", "ce_rule", "result", "hit");
+        assertSame(cache, resolver.resolveCaches(context("ce_rule")).iterator().next());
+        assertEquals("rules", cacheManager.getCache("ce_rule").get("all").get());
+    }
+
+    @Test
+    void returnsNativeCachesWhenMetricsDisabled() {
+        MeteredCacheResolver resolver = new MeteredCacheResolver(cacheManager, ConvEngineMetrics.NOOP);
+
+        Collection<? extends Cache> caches = resolver.resolveCaches(context("ce_intent"));
+
+        assertSame(cacheManager.getCache("ce_intent"), caches.iterator().next());
+    }
+
+    @Test
+    void doesNotCountLoaderLookups() {
+        ConvEngineMetrics metrics = mock(ConvEngineMetrics.class);
+        when(metrics.isEnabled()).thenReturn(true);
+        MeteredCacheResolver resolver = new MeteredCacheResolver(cacheManager, metrics);
+
+        Cache cache = resolver.resolveCaches(context("ce_policy")).iterator().next();
+        cache.get("all", () -> "policies");
+
+        verify(metrics, never()).increment(anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheOperationInvocationContext<CacheableOperation> context(String cacheName) {
+        CacheableOperation.Builder builder = new CacheableOperation.Builder();
+        builder.setName("load");
+        builder.setCacheName(cacheName);
+        CacheOperationInvocationContext<CacheableOperation> context = mock(CacheOperationInvocationContext.class);
+        when(context.getOperation()).thenReturn(builder.build());
+        return context;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.salilvnair.convengine.engine.eval;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.core.ConversationalEngine;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestPlan;
+import com.github.salilvnair.convengine.engine.eval.model.LoadTestReport;
+import com.github.salilvnair.convengine.engine.model.EngineResult;
+import com.github.salilvnair.convengine.engine.model.StepTiming;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConversationReplayServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void loadRunsEveryTraceTurnAndSummarisesStepTimings() {
+        ConversationalEngine engine = mock(ConversationalEngine.class);
+        when(engine.process(any())).thenAnswer(invocation -> {
+            EngineContext context = invocation.getArgument(0);
+            EngineSession session = new EngineSession(context, mapper);
+            session.getStepTimings().add(timing("IntentResolutionStep", 2_000_000L));
+            session.getStepTimings().add(timing("RulesStep", 1_000_000L));
+            context.setSession(session);
+            return new EngineResult("GREETING", "IDLE", null, "{}");
+        });
+
+        LoadTestReport report = new ConversationReplayService(engine)
+                .load(new LoadTestPlan(List.of(List.of("hi", "status"), List.of("hello")), 3, 2, 0L, 0L, 7L));
+
+        // each user runs two traces: vu0 -> 2 + 1 turns, vu1 -> 1 + 2, vu2 -> 2 + 1
+        assertEquals(3, report.virtualUsers());
+        assertEquals(9, report.turns());
+        assertEquals(0, report.failedTurns());
+        assertEquals(9, report.turnLatency().count());
+        assertEquals(List.of("IntentResolutionStep", "RulesStep"), List.copyOf(report.steps().keySet()));
+        assertEquals(2.0d, report.steps().get("IntentResolutionStep").p95Ms());
+        assertEquals(1.0d, report.steps().get("RulesStep").p50Ms());
+        assertTrue(report.turnsPerSecond() > 0.0d);
+        assertNull(report.dbQueriesPerTurn());
+    }
+
+    @Test
+    void loadRecordsFailedTurnsAndAbandonsTheTrace() {
+        ConversationalEngine engine = mock(ConversationalEngine.class);
+        when(engine.process(any())).thenAnswer(invocation -> {
+            EngineContext context = invocation.getArgument(0);
+            if ("boom".equals(context.getUserText())) {
+                throw new IllegalStateException("engine failed");
+            }
+            return new EngineResult("GREETING", "IDLE", null, "{}");
+        });
+
+        LoadTestReport report = new ConversationReplayService(engine)
+                .load(new LoadTestPlan(List.of(List.of("hi", "boom", "never sent")), 2, 1, 0L, 0L, 1L));
+
+        assertEquals(2, report.turns());
+        assertEquals(2, report.failedTurns());
+        assertEquals(List.of("IllegalStateException: engine failed", "IllegalStateException: engine failed"), report.errors());
+        assertTrue(report.steps().isEmpty());
+    }
+
+    @Test
+    void loadRejectsPlanWithoutTraces() {
+        ConversationReplayService service = new ConversationReplayService(mock(ConversationalEngine.class));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.load(new LoadTestPlan(List.of(List.of()), 1, 1, 0L, 0L, null)));
+    }
+
+    @Test
+    void percentileUsesNearestRank() {
+        long[] sorted = {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L};
+
+        assertEquals(5L, LoadTestRecorder.percentile(sorted, 50));
+        assertEquals(10L, LoadTestRecorder.percentile(sorted, 95));
+        assertEquals(10L, LoadTestRecorder.percentile(sorted, 99));
+    }
+
+    private static StepTiming timing(String stepName, long durationNs) {
+        return StepTiming.builder()
+                .stepName(stepName)
+                .startedAtNs(1_000L)
+                .endedAtNs(1_000L + durationNs)
+                .success(true)
+                .build();
+    }
+}
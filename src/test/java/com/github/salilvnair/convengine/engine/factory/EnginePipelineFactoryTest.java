@@ -2,30 +2,45 @@ package com.github.salilvnair.convengine.engine.factory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
 import com.github.salilvnair.convengine.engine.context.EngineContext;
 import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
 import com.github.salilvnair.convengine.engine.model.EngineResult;
 import com.github.salilvnair.convengine.engine.pipeline.EnginePipeline;
 import com.github.salilvnair.convengine.engine.pipeline.EngineStep;
+import com.github.salilvnair.convengine.engine.pipeline.ParallelEngineStep;
 import com.github.salilvnair.convengine.engine.pipeline.StepResult;
 import com.github.salilvnair.convengine.engine.core.step.annotation.ConversationBootstrapStep;
 import com.github.salilvnair.convengine.engine.core.step.annotation.MustRunAfter;
 import com.github.salilvnair.convengine.engine.core.step.annotation.RequiresConversationPersisted;
 import com.github.salilvnair.convengine.engine.core.step.annotation.TerminalStep;
 import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.salilvnair.convengine.support.TestConstants.EMPTY_JSON;
 import static com.github.salilvnair.convengine.support.TestConstants.INTENT_LOAN_APPLICATION;
 import static com.github.salilvnair.convengine.support.TestConstants.STATE_COMPLETED;
 import static com.github.salilvnair.convengine.support.TestConstants.USER_TEXT_HELLO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class EnginePipelineFactoryTest {
 
@@ -59,6 +74,90 @@ class EnginePipelineFactoryTest {
         assertThrows(ConversationEngineException.class, factory::init);
     }
 
+    @Test
+    void timingWrapperRecordsStepTimerPerStep() {
+        ConvEngineMetrics metrics = mock(ConvEngineMetrics.class);
+        EnginePipelineFactory factory = new EnginePipelineFactory(
+                List.of(
+                        new FinalAnnotatedStep(new ArrayList<>()),
+                        new PersistedAnnotatedStep(new ArrayList<>()),
+                        new BootstrapAnnotatedStep(new ArrayList<>())
+                ),
+                List.of(),
+                auditNoop());
+        ReflectionTestUtils.setField(factory, "metrics", metrics);
+
+        factory.init();
+        factory.create().execute(newSession());
+
+        verify(metrics).recordTime(eq("convengine.step"), anyLong(),
+                eq("step"), eq("BootstrapAnnotatedStep"),
+                eq("intent"), any(),
+                eq("state"), any(),
+                eq("outcome"), eq(ConvEngineMetrics.OUTCOME_SUCCESS));
+    }
+
+    @Test
+    void independentParallelStepsPrepareConcurrentlyAndApplyInPipelineOrder() throws Exception {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch bothPreparing = new CountDownLatch(2);
+        ParallelFetchAStep fetchA = new ParallelFetchAStep(calls, bothPreparing);
+        ParallelFetchBStep fetchB = new ParallelFetchBStep(calls, bothPreparing);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            EnginePipelineFactory factory = parallelFactory(List.of(
+                    new ParallelFinalStep(calls),
+                    fetchB,
+                    fetchA,
+                    new BootstrapAnnotatedStep(calls)
+            ), executor);
+
+            factory.init();
+            EngineResult result = factory.create().execute(newSession());
+
+            assertEquals(STATE_COMPLETED, result.state());
+            assertEquals(List.of("bootstrap", "apply:A", "apply:B", "terminal"),
+                    calls.stream().filter(call -> !call.startsWith("prepare")).toList());
+            assertTrue(calls.indexOf("prepare:A") < calls.indexOf("apply:A"));
+            assertTrue(calls.indexOf("prepare:B") < calls.indexOf("apply:A"));
+            assertNotEquals(fetchA.preparedOn, fetchB.preparedOn);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void parallelStepsWithADependencyStaySequential() {
+        List<String> calls = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            EnginePipelineFactory factory = parallelFactory(List.of(
+                    new ParallelFinalStep(calls),
+                    new DependentParallelStep(calls),
+                    new ParallelFetchAStep(calls, null),
+                    new ParallelFetchBStep(calls, null),
+                    new BootstrapAnnotatedStep(calls)
+            ), executor);
+
+            factory.init();
+            factory.create().execute(newSession());
+
+            assertTrue(calls.indexOf("apply:A") < calls.indexOf("prepare:dependent"));
+            assertTrue(calls.indexOf("apply:B") < calls.indexOf("prepare:dependent"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private EnginePipelineFactory parallelFactory(List<EngineStep> steps, ExecutorService executor) {
+        EnginePipelineFactory factory = new EnginePipelineFactory(steps, List.of(), auditNoop());
+        ConvEngineExecutionConfig executionConfig = new ConvEngineExecutionConfig();
+        executionConfig.getParallelSteps().setEnabled(true);
+        ReflectionTestUtils.setField(factory, "executionConfig", executionConfig);
+        ReflectionTestUtils.setField(factory, "stepExecutor", executor);
+        return factory;
+    }
+
     private AuditService auditNoop() {
         return mock(AuditService.class);
     }
@@ -118,4 +217,79 @@ class EnginePipelineFactoryTest {
             return new StepResult.Stop(result);
         }
     }
+
+    private abstract static class RecordingParallelStep implements ParallelEngineStep<String> {
+        private final List<String> calls;
+        private final String label;
+        private final CountDownLatch bothPreparing;
+        volatile String preparedOn;
+
+        private RecordingParallelStep(List<String> calls, String label, CountDownLatch bothPreparing) {
+            this.calls = calls;
+            this.label = label;
+            this.bothPreparing = bothPreparing;
+        }
+
+        @Override
+        public String prepare(EngineSession session) {
+            preparedOn = Thread.currentThread().getName();
+            calls.add("prepare:" + label);
+            if (bothPreparing != null) {
+                bothPreparing.countDown();
+                try {
+                    assertTrue(bothPreparing.await(5, TimeUnit.SECONDS), "prepares did not overlap");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return label;
+        }
+
+        @Override
+        public StepResult apply(EngineSession session, String prepared) {
+            calls.add("apply:" + prepared);
+            return new StepResult.Continue();
+        }
+    }
+
+    @RequiresConversationPersisted
+    @MustRunAfter(BootstrapAnnotatedStep.class)
+    private static final class ParallelFetchAStep extends RecordingParallelStep {
+        private ParallelFetchAStep(List<String> calls, CountDownLatch bothPreparing) {
+            super(calls, "A", bothPreparing);
+        }
+    }
+
+    @RequiresConversationPersisted
+    @MustRunAfter(BootstrapAnnotatedStep.class)
+    private static final class ParallelFetchBStep extends RecordingParallelStep {
+        private ParallelFetchBStep(List<String> calls, CountDownLatch bothPreparing) {
+            super(calls, "B", bothPreparing);
+        }
+    }
+
+    @RequiresConversationPersisted
+    @MustRunAfter({ParallelFetchAStep.class, ParallelFetchBStep.class})
+    private static final class DependentParallelStep extends RecordingParallelStep {
+        private DependentParallelStep(List<String> calls) {
+            super(calls, "dependent", null);
+        }
+    }
+
+    @TerminalStep
+    private static final class ParallelFinalStep implements EngineStep {
+        private final List<String> calls;
+
+        private ParallelFinalStep(List<String> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public StepResult execute(EngineSession session) {
+            calls.add("terminal");
+            EngineResult result = new EngineResult(INTENT_LOAN_APPLICATION, STATE_COMPLETED, null, EMPTY_JSON);
+            session.setFinalResult(result);
+            return new StepResult.Stop(result);
+        }
+    }
 }
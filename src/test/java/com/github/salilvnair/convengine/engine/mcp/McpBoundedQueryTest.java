@@ -0,0 +1,119 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class McpBoundedQueryTest {
+
+    @Test
+    void stopsReadingAtRowCap() throws SQLException {
+        ResultSet rs = resultSet(5, "abc");
+
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(rs, new McpBoundedQuery.Limits(0, 3, 1_000_000L));
+
+        assertEquals(3, bounded.rows().size());
+        assertEquals(McpBoundedQuery.TRUNCATED_BY_MAX_ROWS, bounded.truncatedBy());
+        assertEquals(List.of("id", "name"), bounded.columns());
+    }
+
+    @Test
+    void stopsReadingAtByteCapButKeepsFirstRow() throws SQLException {
+        ResultSet rs = resultSet(5, "x".repeat(200));
+
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(rs, new McpBoundedQuery.Limits(0, 100, 10L));
+
+        assertEquals(1, bounded.rows().size());
+        assertEquals(McpBoundedQuery.TRUNCATED_BY_MAX_BYTES, bounded.truncatedBy());
+    }
+
+    @Test
+    void exactlyMaxRowsIsNotTruncated() throws SQLException {
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(resultSet(3, "a"), new McpBoundedQuery.Limits(0, 3, 1_000_000L));
+
+        assertFalse(bounded.truncated());
+        assertNull(bounded.truncatedBy());
+    }
+
+    @Test
+    void encodesColumnarRowsInColumnOrder() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("name", "n1");
+        row.put("id", 1);
+
+        Object encoded = McpBoundedQuery.encodeRows(List.of(row), List.of("id", "name"), ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR);
+
+        assertEquals(List.of(List.of(1, "n1")), encoded);
+        assertEquals(List.of(row), McpBoundedQuery.encodeRows(List.of(row), List.of("id", "name"), ConvEngineMcpConfig.Db.RowEncoding.OBJECTS));
+    }
+
+    @Test
+    void objectRowsCarryTheTruncationMarker() throws SQLException {
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(resultSet(5, "a"), new McpBoundedQuery.Limits(0, 3, 1_000_000L));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> out = (Map<String, Object>) McpBoundedQuery.toOutput(bounded, ConvEngineMcpConfig.Db.RowEncoding.OBJECTS);
+
+        assertEquals(3, out.get("rowCount"));
+        assertEquals(bounded.rows(), out.get("rows"));
+        assertEquals(true, out.get("truncated"));
+        assertEquals(McpBoundedQuery.TRUNCATED_BY_MAX_ROWS, out.get("truncatedBy"));
+        assertFalse(out.containsKey("columns"));
+    }
+
+    @Test
+    void completeObjectResultStaysABareRowArray() throws SQLException {
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(resultSet(2, "a"), new McpBoundedQuery.Limits(0, 3, 1_000_000L));
+
+        assertEquals(bounded.rows(), McpBoundedQuery.toOutput(bounded, ConvEngineMcpConfig.Db.RowEncoding.OBJECTS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void completeColumnarResultHasNoTruncationMarker() throws SQLException {
+        McpBoundedQuery.BoundedRows bounded = McpBoundedQuery.read(resultSet(2, "a"), new McpBoundedQuery.Limits(0, 3, 1_000_000L));
+
+        Map<String, Object> out = (Map<String, Object>) McpBoundedQuery.toOutput(bounded, ConvEngineMcpConfig.Db.RowEncoding.COLUMNAR);
+
+        assertEquals(List.of("id", "name"), out.get("columns"));
+        assertFalse(out.containsKey("truncated"));
+    }
+
+    @Test
+    void toolMaxRowsOnlyTightensConfiguredCap() {
+        McpBoundedQuery.Limits limits = McpBoundedQuery.Limits.from(new ConvEngineMcpConfig());
+
+        assertEquals(50, limits.withMaxRows(50).maxRows());
+        assertEquals(limits.maxRows(), limits.withMaxRows(0).maxRows());
+        assertEquals(limits.maxRows(), limits.withMaxRows(limits.maxRows() + 10).maxRows());
+    }
+
+    private ResultSet resultSet(int rowCount, String name) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(meta);
+        when(meta.getColumnCount()).thenReturn(2);
+        when(meta.getColumnLabel(1)).thenReturn("id");
+        when(meta.getColumnLabel(2)).thenReturn("name");
+        when(meta.getColumnType(anyInt())).thenReturn(Types.VARCHAR);
+        int[] cursor = {0};
+        when(rs.next()).thenAnswer(inv -> ++cursor[0] <= rowCount);
+        when(rs.getObject(1)).thenAnswer(inv -> cursor[0]);
+        when(rs.getObject(2)).thenReturn(name);
+        return rs;
+    }
+}
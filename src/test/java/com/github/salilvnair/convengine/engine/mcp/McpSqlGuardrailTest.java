@@ -0,0 +1,77 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class McpSqlGuardrailTest {
+
+    private NamedParameterJdbcTemplate jdbc;
+    private ConvEngineMcpConfig config;
+    private McpSqlGuardrail guardrail;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(NamedParameterJdbcTemplate.class);
+        config = new ConvEngineMcpConfig();
+        config.getDb().setSqlGuardrailTable("ce_mcp_sql_guardrail");
+        guardrail = new McpSqlGuardrail(jdbc, config);
+    }
+
+    @Test
+    void reusesRulesAndVerdictForSameSqlShape() {
+        when(jdbc.queryForList(anyString(), anyMap())).thenReturn(List.of());
+
+        guardrail.assertReadOnly("select r.id from zp_request r where r.status = 'OPEN'", "test");
+        guardrail.assertReadOnly("select r.id from zp_request r where r.status = 'CLOSED'", "test");
+
+        verify(jdbc, times(1)).queryForList(anyString(), anyMap());
+        assertEquals(1L, guardrail.stats().get("hits"));
+    }
+
+    @Test
+    void changedRulesInvalidateCachedVerdicts() {
+        config.getDb().getSqlGuardrailCache().setRulesTtlMs(0L);
+        when(jdbc.queryForList(anyString(), anyMap()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(Map.of("rule_type", "BLOCK_FUNCTION", "match_value", "md5", "enabled", true)));
+
+        assertDoesNotThrow(() -> guardrail.assertReadOnly("select md5(name) from t", "test"));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> guardrail.assertReadOnly("select md5(name) from t", "test"));
+        assertEquals("test SQL uses blocked function: MD5", ex.getMessage());
+    }
+
+    @Test
+    void cachedRejectionKeepsCallerSource() {
+        when(jdbc.queryForList(anyString(), anyMap())).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> guardrail.assertReadOnly("delete from t", "first"));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> guardrail.assertReadOnly("delete from t", "second"));
+        assertEquals("second SQL must begin with SELECT or WITH for read-only execution.", ex.getMessage());
+    }
+
+    @Test
+    void literalsDoNotTripKeywordChecks() {
+        when(jdbc.queryForList(anyString(), anyMap())).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> guardrail.assertReadOnly("select id from t where action = 'delete; drop'", "test"));
+        assertThrows(IllegalArgumentException.class,
+                () -> guardrail.assertReadOnly("select id from t for share", "test"));
+    }
+}
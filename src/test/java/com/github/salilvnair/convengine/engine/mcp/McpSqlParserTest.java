@@ -0,0 +1,70 @@
+package com.github.salilvnair.convengine.engine.mcp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpSqlParserTest {
+
+    @Test
+    void extractsTablesAliasesAndColumnsAcrossJoinsAndCommaLists() {
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(
+                "SELECT r.request_id, c.name FROM zp_request r, zp_region g "
+                        + "JOIN zp_customer AS c ON c.id = r.customer_id WHERE r.status = :status");
+
+        assertEquals(McpSqlParser.StatementKind.SELECT, parsed.kind());
+        assertEquals(List.of("zp_request", "zp_region", "zp_customer"), parsed.tables());
+        assertEquals("zp_customer", parsed.aliasToTable().get("c"));
+        assertEquals("zp_region", parsed.aliasToTable().get("g"));
+        assertEquals(new McpSqlParser.ColumnRef("r", "customer_id"), parsed.columnRefs().get(3));
+        assertEquals("r", parsed.baseTableRef().alias());
+    }
+
+    @Test
+    void ignoresFromInsideFunctionArgumentsLiteralsAndCteNames() {
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(
+                "WITH recent AS (SELECT id FROM orders o WHERE o.note <> 'from x.y') "
+                        + "SELECT EXTRACT(YEAR FROM r.created_at), r.a IS DISTINCT FROM r.b FROM recent r");
+
+        assertEquals(List.of("orders"), parsed.tables());
+        assertFalse(parsed.aliasToTable().containsKey("r"));
+        assertFalse(parsed.columnRefs().contains(new McpSqlParser.ColumnRef("x", "y")));
+        assertTrue(parsed.functions().contains("extract"));
+    }
+
+    @Test
+    void masksLiteralsAndCommentsForGuardrailChecks() {
+        McpSqlParser.ParsedSql parsed = McpSqlParser.parse(
+                "select id from t where note = 'drop; delete' /* update */ -- insert\n and body = $$x;y$$;");
+
+        assertEquals(1, parsed.statementCount());
+        assertFalse(parsed.words().contains("drop"));
+        assertFalse(parsed.words().contains("update"));
+        assertFalse(parsed.words().contains("insert"));
+        assertEquals("select id from t where note = '?' and body = '?';", parsed.normalizedSql());
+    }
+
+    @Test
+    void detectsStatementShapeProblems() {
+        assertEquals(2, McpSqlParser.parse("select 1; select 2").statementCount());
+        assertTrue(McpSqlParser.parse("select * into tmp from t").selectInto());
+        assertEquals("for share", McpSqlParser.parse("select * from t for share").lockingClause());
+        assertFalse(McpSqlParser.parse("select 'unterminated from t").wellFormed());
+        assertEquals(McpSqlParser.StatementKind.EMPTY, McpSqlParser.parse(" -- nothing\n ;").kind());
+        assertNull(McpSqlParser.parse("select 1").baseTableRef());
+    }
+
+    @Test
+    void memoizesParsesBySqlText() {
+        String sql = "select a.id from accounts a";
+        assertSame(McpSqlParser.parse(sql), McpSqlParser.parse(sql));
+        assertEquals(Map.of("accounts", "accounts", "a", "accounts"), McpSqlParser.parse(sql).aliasToTable());
+    }
+}
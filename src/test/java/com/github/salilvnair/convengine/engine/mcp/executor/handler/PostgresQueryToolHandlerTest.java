@@ -3,6 +3,7 @@ package com.github.salilvnair.convengine.engine.mcp.executor.handler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.salilvnair.convengine.audit.AuditService;
 import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.mcp.McpBoundedQuery;
 import com.github.salilvnair.convengine.engine.mcp.McpSqlGuardrail;
 import com.github.salilvnair.convengine.engine.mcp.executor.interceptor.PostgresQueryInterceptor;
 import com.github.salilvnair.convengine.engine.mcp.query.semantic.feedback.SemanticFailureFeedbackService;
@@ -11,6 +12,7 @@ import com.github.salilvnair.convengine.engine.session.EngineSession;
 import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import java.sql.Timestamp;
@@ -46,7 +48,8 @@ class PostgresQueryToolHandlerTest {
 
         Map<String, Object> row = new LinkedHashMap<>();
         row.put("request_id", "ZPR123");
-        when(jdbcTemplate.queryForList(anyString(), anyMap())).thenReturn(List.of(row));
+        when(jdbcTemplate.execute(anyString(), anyMap(), any(PreparedStatementCallback.class)))
+                .thenReturn(McpBoundedQuery.BoundedRows.of(List.of(row)));
 
         PostgresQueryToolHandler handler = new PostgresQueryToolHandler(
                 jdbcTemplate,
@@ -64,7 +67,10 @@ class PostgresQueryToolHandlerTest {
         Object out = handler.execute(null, args, session("show request ZPR123"));
         Map<?, ?> payload = (Map<?, ?>) out;
         assertEquals("SUCCESS", payload.get("status"));
-        verify(jdbcTemplate).queryForList("SELECT request_id FROM zp_disco_request WHERE request_id=:id", Map.of("id", "ZPR123"));
+        verify(jdbcTemplate).execute(
+                eq("SELECT request_id FROM zp_disco_request WHERE request_id=:id"),
+                eq(Map.of("id", "ZPR123")),
+                any(PreparedStatementCallback.class));
     }
 
     @Test
@@ -75,7 +81,7 @@ class PostgresQueryToolHandlerTest {
         VerboseMessagePublisher verbosePublisher = mock(VerboseMessagePublisher.class);
         SemanticFailureFeedbackService failureService = mock(SemanticFailureFeedbackService.class);
         doNothing().when(guardrail).assertReadOnly(anyString(), anyString());
-        when(jdbcTemplate.queryForList(anyString(), anyMap())).thenThrow(new RuntimeException("syntax error"));
+        when(jdbcTemplate.execute(anyString(), anyMap(), any(PreparedStatementCallback.class))).thenThrow(new RuntimeException("syntax error"));
 
         PostgresQueryToolHandler handler = new PostgresQueryToolHandler(
                 jdbcTemplate,
@@ -104,7 +110,8 @@ class PostgresQueryToolHandlerTest {
 
         Map<String, Object> row = new LinkedHashMap<>();
         row.put("request_id", "REQ-20260311-0001");
-        when(jdbcTemplate.queryForList(anyString(), anyMap())).thenReturn(List.of(row));
+        when(jdbcTemplate.execute(anyString(), anyMap(), any(PreparedStatementCallback.class)))
+                .thenReturn(McpBoundedQuery.BoundedRows.of(List.of(row)));
 
         PostgresQueryToolHandler handler = new PostgresQueryToolHandler(
                 jdbcTemplate,
@@ -123,9 +130,10 @@ class PostgresQueryToolHandlerTest {
         Map<?, ?> payload = (Map<?, ?>) out;
         assertEquals("SUCCESS", payload.get("status"));
         assertEquals("SELECT request_id FROM zp_disco_request WHERE customer_name=:customer", args.get("query"));
-        verify(jdbcTemplate).queryForList(
-                "SELECT request_id FROM zp_disco_request WHERE customer_name=:customer",
-                Map.of("customer", "UPS")
+        verify(jdbcTemplate).execute(
+                eq("SELECT request_id FROM zp_disco_request WHERE customer_name=:customer"),
+                eq(Map.of("customer", "UPS")),
+                any(PreparedStatementCallback.class)
         );
     }
 
@@ -145,8 +153,11 @@ class PostgresQueryToolHandlerTest {
             assertTrue(paramMap.get("to_date") instanceof Timestamp);
             assertEquals(Timestamp.from(Instant.parse("2026-03-12T00:00:00Z")), paramMap.get("from_date"));
             assertEquals(Timestamp.from(Instant.parse("2026-03-12T23:59:59Z")), paramMap.get("to_date"));
-            return List.<Map<String, Object>>of();
-        }).when(jdbcTemplate).queryForList(eq("SELECT * FROM zp_disco_request_log WHERE logged_at BETWEEN :from_date AND :to_date"), anyMap());
+            return McpBoundedQuery.BoundedRows.of(List.of());
+        }).when(jdbcTemplate).execute(
+                eq("SELECT * FROM zp_disco_request_log WHERE logged_at BETWEEN :from_date AND :to_date"),
+                anyMap(),
+                any(PreparedStatementCallback.class));
 
         PostgresQueryToolHandler handler = new PostgresQueryToolHandler(
                 jdbcTemplate,
@@ -0,0 +1,232 @@
+package com.github.salilvnair.convengine.engine.mcp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.mcp.McpConstants;
+import com.github.salilvnair.convengine.engine.mcp.executor.McpNotificationToolExecutor;
+import com.github.salilvnair.convengine.engine.mcp.executor.adapter.NotificationExecutorAdapter;
+import com.github.salilvnair.convengine.engine.mcp.executor.adapter.WorkflowActionExecutorAdapter;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeMcpTool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ToolOutboxServiceTest {
+
+    @Mock
+    private ToolOutboxStore store;
+    @Mock
+    private StaticConfigurationCacheService staticCacheService;
+    @Mock
+    private AuditService audit;
+    @Mock
+    private NotificationExecutorAdapter notificationAdapter;
+    @Mock
+    private WorkflowActionExecutorAdapter workflowActionAdapter;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConvEngineMcpConfig mcpConfig = new ConvEngineMcpConfig();
+    private final CeMcpTool tool = new CeMcpTool();
+    private ToolOutboxService outbox;
+    private EngineSession session;
+
+    @BeforeEach
+    void setUp() {
+        mcpConfig.getOutbox().setEnabled(true);
+        mcpConfig.getOutbox().setMaxAttempts(3);
+        mcpConfig.getOutbox().setInitialBackoffMs(1000L);
+        tool.setToolCode("SEND_STATEMENT_EMAIL");
+        tool.setToolGroup(McpConstants.TOOL_GROUP_NOTIFICATION);
+        outbox = new ToolOutboxService(mcpConfig, store, staticCacheService, audit, mapper,
+                Optional.of(notificationAdapter), Optional.of(workflowActionAdapter));
+        session = new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("email me my statement")
+                .build(), mapper);
+        session.setIntent("STATEMENT");
+        session.setState("CONFIRMED");
+        session.setContextJson("{\"accountId\":\"ACC-1\"}");
+    }
+
+    @Test
+    void toolCallIsRecordedAndAcknowledgedWithoutCallingTheAdapter() throws Exception {
+        McpNotificationToolExecutor executor = new McpNotificationToolExecutor(Optional.of(notificationAdapter), outbox);
+
+        String receipt = executor.execute(tool, Map.of("channel", "EMAIL"), session);
+
+        ArgumentCaptor<ToolOutboxEntry> entry = ArgumentCaptor.forClass(ToolOutboxEntry.class);
+        verify(store).insert(entry.capture());
+        assertEquals(ToolOutboxEntry.Status.PENDING, entry.getValue().getStatus());
+        assertEquals("STATEMENT", entry.getValue().getIntentCode());
+        assertEquals("{\"accountId\":\"ACC-1\"}", entry.getValue().getContextJson());
+        assertEquals(entry.getValue().getOutboxId(), mapper.readTree(receipt).path("outboxId").asText());
+        verify(notificationAdapter, never()).execute(any(), anyMap(), any());
+        verify(audit).audit(eq(ConvEngineAuditStage.MCP_TOOL_OUTBOX_ENQUEUED), any(), anyMap());
+    }
+
+    @Test
+    void replayedCallReturnsTheExistingRow() throws Exception {
+        ToolOutboxEntry existing = entry(ToolOutboxEntry.Status.DELIVERED, 1);
+        when(store.findByIdempotencyKey(anyString())).thenReturn(Optional.of(existing));
+
+        String receipt = outbox.enqueue(tool, Map.of("channel", "EMAIL"), session);
+
+        verify(store, never()).insert(any());
+        assertEquals(existing.getOutboxId(), mapper.readTree(receipt).path("outboxId").asText());
+        assertEquals("DELIVERED", mapper.readTree(receipt).path("status").asText());
+        assertEquals(1L, outbox.stats().get("duplicates"));
+    }
+
+    @Test
+    void sameTextInANewTurnEnqueuesANewRow() {
+        outbox.enqueue(tool, Map.of("channel", "EMAIL"), session);
+        EngineSession nextTurn = new EngineSession(EngineContext.builder()
+                .conversationId(session.getConversationId().toString())
+                .userText("email me my statement")
+                .build(), mapper);
+        outbox.enqueue(tool, Map.of("channel", "EMAIL"), nextTurn);
+
+        ArgumentCaptor<ToolOutboxEntry> entries = ArgumentCaptor.forClass(ToolOutboxEntry.class);
+        verify(store, times(2)).insert(entries.capture());
+        assertNotEquals(entries.getAllValues().get(0).getIdempotencyKey(), entries.getAllValues().get(1).getIdempotencyKey());
+    }
+
+    @Test
+    void retriedRequestMapsOntoTheSameKey() {
+        EngineSession first = turn("req-42");
+        EngineSession retry = turn("req-42");
+        outbox.enqueue(tool, Map.of("channel", "EMAIL"), first);
+        outbox.enqueue(tool, Map.of("channel", "EMAIL"), retry);
+
+        ArgumentCaptor<ToolOutboxEntry> entries = ArgumentCaptor.forClass(ToolOutboxEntry.class);
+        verify(store, times(2)).insert(entries.capture());
+        assertEquals(entries.getAllValues().get(0).getIdempotencyKey(), entries.getAllValues().get(1).getIdempotencyKey());
+    }
+
+    @Test
+    void failedRowIsNotReusedWhenTheCallIsRequestedAgain() throws Exception {
+        ToolOutboxEntry failedRow = entry(ToolOutboxEntry.Status.FAILED, 3);
+        when(store.findByIdempotencyKey(anyString())).thenReturn(Optional.of(failedRow));
+
+        String receipt = outbox.enqueue(tool, Map.of("channel", "EMAIL"), session);
+
+        verify(store).retireIdempotencyKey(eq(failedRow.getOutboxId()), anyString());
+        ArgumentCaptor<ToolOutboxEntry> entry = ArgumentCaptor.forClass(ToolOutboxEntry.class);
+        verify(store).insert(entry.capture());
+        assertNotEquals(failedRow.getOutboxId(), entry.getValue().getOutboxId());
+        assertEquals("PENDING", mapper.readTree(receipt).path("status").asText());
+    }
+
+    @Test
+    void dispatcherDeliversWithIdempotencyKeyAndMarksDelivered() {
+        ToolOutboxEntry due = entry(ToolOutboxEntry.Status.PENDING, 0);
+        due.setContextJson("{\"accountId\":\"ACC-1\"}");
+        due.setInputParamsJson("{\"customerTier\":\"GOLD\"}");
+        when(store.findDue(anyLong(), anyInt())).thenReturn(List.of(due));
+        when(store.claim(eq(due.getOutboxId()), eq(0), anyLong())).thenReturn(true);
+        when(staticCacheService.findMcpTool("SEND_STATEMENT_EMAIL", "STATEMENT", "CONFIRMED")).thenReturn(Optional.of(tool));
+        when(notificationAdapter.execute(eq(tool), anyMap(), any())).thenReturn("{\"sent\":true}");
+
+        assertEquals(1, outbox.dispatchDue());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> args = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<EngineSession> deliverySession = ArgumentCaptor.forClass(EngineSession.class);
+        verify(notificationAdapter).execute(eq(tool), args.capture(), deliverySession.capture());
+        assertEquals("EMAIL", args.getValue().get("channel"));
+        assertEquals(due.getIdempotencyKey(), args.getValue().get(ToolOutboxService.ARG_IDEMPOTENCY_KEY));
+        assertEquals(due.getConversationId(), deliverySession.getValue().getConversationId());
+        assertEquals("{\"accountId\":\"ACC-1\"}", deliverySession.getValue().getContextJson());
+        assertEquals("GOLD", deliverySession.getValue().getInputParams().get("customerTier"));
+        verify(store).markDelivered(due.getOutboxId(), 1, "{\"sent\":true}");
+        verify(audit).flushPending(null);
+    }
+
+    @Test
+    void failedDeliveryBacksOffThenFailsAfterMaxAttempts() {
+        ToolOutboxEntry due = entry(ToolOutboxEntry.Status.PENDING, 1);
+        when(store.findDue(anyLong(), anyInt())).thenReturn(List.of(due));
+        when(store.claim(eq(due.getOutboxId()), eq(1), anyLong())).thenReturn(true);
+        when(staticCacheService.findMcpTool(anyString(), anyString(), anyString())).thenReturn(Optional.of(tool));
+        when(notificationAdapter.execute(any(), anyMap(), any())).thenThrow(new IllegalStateException("smtp down"));
+
+        long before = System.currentTimeMillis();
+        outbox.dispatchDue();
+
+        ArgumentCaptor<Long> nextAttempt = ArgumentCaptor.forClass(Long.class);
+        verify(store).markRetry(eq(due.getOutboxId()), eq(2), eq("smtp down"), nextAttempt.capture());
+        // second attempt failed: 1000ms * 2^1
+        assertTrue(nextAttempt.getValue() >= before + 2000L);
+
+        ToolOutboxEntry last = entry(ToolOutboxEntry.Status.PENDING, 2);
+        when(store.findDue(anyLong(), anyInt())).thenReturn(List.of(last));
+        when(store.claim(eq(last.getOutboxId()), eq(2), anyLong())).thenReturn(true);
+        outbox.dispatchDue();
+
+        verify(store).markFailed(last.getOutboxId(), 3, "smtp down");
+        verify(audit).audit(eq(ConvEngineAuditStage.MCP_TOOL_OUTBOX_FAILED), any(), anyMap());
+    }
+
+    @Test
+    void rowClaimedElsewhereIsSkipped() {
+        ToolOutboxEntry due = entry(ToolOutboxEntry.Status.IN_PROGRESS, 1);
+        when(store.findDue(anyLong(), anyInt())).thenReturn(List.of(due));
+        when(store.claim(eq(due.getOutboxId()), eq(1), anyLong())).thenReturn(false);
+
+        assertEquals(0, outbox.dispatchDue());
+        verify(notificationAdapter, never()).execute(any(), anyMap(), any());
+        verify(audit, never()).flushPending(any());
+    }
+
+    private EngineSession turn(String requestId) {
+        return new EngineSession(EngineContext.builder()
+                .conversationId(session.getConversationId().toString())
+                .userText("email me my statement")
+                .requestId(requestId)
+                .build(), mapper);
+    }
+
+    private ToolOutboxEntry entry(ToolOutboxEntry.Status status, int attempts) {
+        return ToolOutboxEntry.builder()
+                .outboxId(UUID.randomUUID().toString())
+                .conversationId(session.getConversationId())
+                .toolCode("SEND_STATEMENT_EMAIL")
+                .toolGroup(McpConstants.TOOL_GROUP_NOTIFICATION)
+                .intentCode("STATEMENT")
+                .stateCode("CONFIRMED")
+                .userText("email me my statement")
+                .argsJson("{\"channel\":\"EMAIL\"}")
+                .idempotencyKey("key-" + attempts)
+                .status(status)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.salilvnair.convengine.engine.mcp.preflight;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DbSchemaMetadataCacheTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ConvEngineMcpConfig mcpConfig;
+    private DbSchemaMetadataCache cache;
+    private List<Set<String>> loads;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        mcpConfig = new ConvEngineMcpConfig();
+        cache = new DbSchemaMetadataCache(jdbcTemplate, mcpConfig);
+        loads = new ArrayList<>();
+    }
+
+    @Test
+    void loadsOnlyTablesMissingFromCache() {
+        cache.getTables(List.of("orders"), this::load);
+        Map<String, DbSchemaMetadataCache.TableMetadata> second = cache.getTables(List.of("orders", "customers"), this::load);
+
+        assertEquals(List.of(Set.of("orders"), Set.of("customers")), loads);
+        assertEquals(List.of("orders", "customers"), new ArrayList<>(second.keySet()));
+    }
+
+    @Test
+    void doesNotCacheTablesWithoutColumns() {
+        cache.getTables(List.of("missing_table"), this::load);
+        cache.getTables(List.of("missing_table"), this::load);
+
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void schemaVersionChangeDropsCachedTables() {
+        ConvEngineMcpConfig.Db.Preflight.MetadataCache cfg = mcpConfig.getDb().getPreflight().getMetadataCache();
+        cfg.setSchemaVersionSql("SELECT version FROM ce_schema_version");
+        cfg.setSchemaVersionCheckIntervalMs(0L);
+        when(jdbcTemplate.queryForObject("SELECT version FROM ce_schema_version", String.class))
+                .thenReturn("1", "1", "2");
+
+        cache.getTables(List.of("orders"), this::load);
+        cache.getTables(List.of("orders"), this::load);
+        cache.getTables(List.of("orders"), this::load);
+
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void indexedRowsKeepCatalogOrderAndDeduplicate() {
+        List<Map<String, Object>> rows = List.of(
+                Map.of("left_table", "orders", "right_table", "customers"),
+                Map.of("left_table", "items", "right_table", "products"),
+                Map.of("left_table", "orders", "right_table", "items"));
+        DbSchemaMetadataCache.IndexedRows indexed = new DbSchemaMetadataCache.IndexedRows(rows, Map.of(
+                "orders", List.of(0, 2),
+                "customers", List.of(0),
+                "items", List.of(1, 2),
+                "products", List.of(1)));
+
+        assertEquals(List.of(rows.get(0), rows.get(2)), indexed.forTables(Set.of("customers", "orders")));
+        assertEquals(rows, indexed.forTables(Set.of()));
+    }
+
+    private Map<String, DbSchemaMetadataCache.TableMetadata> load(Set<String> tables) {
+        loads.add(Set.copyOf(tables));
+        Map<String, DbSchemaMetadataCache.TableMetadata> out = new LinkedHashMap<>();
+        for (String table : tables) {
+            List<Map<String, Object>> columns = table.startsWith("missing")
+                    ? List.of()
+                    : List.of(Map.of("name", "id", "dataType", 4));
+            out.put(table, new DbSchemaMetadataCache.TableMetadata(
+                    table, Map.of("id", 4), columns, List.of("id"), List.of()));
+        }
+        return out;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -229,6 +230,34 @@ class SemanticInterpretServiceTest {
         assertFalse(schemaNode.path("additionalProperties").asBoolean(true));
     }
 
+    @Test
+    void promptSectionSignatureSeparatesInputsWhoseHashCodesCollide() {
+        // "Aa" and "BB" share a String.hashCode, so an Objects.hash fingerprint cannot tell them apart.
+        Map<String, Object> first = Map.of("semantic_metadata", Map.of("label", "Aa"));
+        Map<String, Object> second = Map.of("semantic_metadata", Map.of("label", "BB"));
+        assertEquals(first.hashCode(), second.hashCode());
+
+        assertNotEquals(SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 0, first),
+                SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 0, second));
+    }
+
+    @Test
+    void promptSectionSignatureIgnoresMapOrderButNotGeneration() {
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("a", 1);
+        ordered.put("b", 2);
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("b", 2);
+        reversed.put("a", 1);
+        Map<String, Object> first = Map.of("query_class_config", ordered);
+        Map<String, Object> second = Map.of("query_class_config", reversed);
+
+        assertEquals(SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 3, first),
+                SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 3, second));
+        assertNotEquals(SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 3, first),
+                SemanticInterpretService.promptSectionSignature("LIST_REQUESTS", 4, first));
+    }
+
     private EngineSession session(String userText) {
         EngineContext context = EngineContext.builder()
                 .conversationId(UUID.randomUUID().toString())
@@ -0,0 +1,76 @@
+package com.github.salilvnair.convengine.engine.mcp.query.semantic.service;
+
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SemanticPromptSectionCacheTest {
+
+    private ConvEngineMcpConfig mcpConfig;
+    private SemanticPromptSectionCache cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        mcpConfig = new ConvEngineMcpConfig();
+        mcpConfig.getDb().getSemantic().getPromptCache().setMaxEntries(2);
+        cache = new SemanticPromptSectionCache(mcpConfig);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void reusesRenderedSectionsForSameSignature() {
+        SemanticPromptSectionCache.CachedSections first = cache.getOrRender("LIST_REQUESTS|REQUEST", this::render);
+        SemanticPromptSectionCache.CachedSections second = cache.getOrRender("LIST_REQUESTS|REQUEST", this::render);
+
+        assertFalse(first.hit());
+        assertTrue(second.hit());
+        assertEquals(1, renders.get());
+        assertEquals(first.sections(), second.sections());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSignatureBeyondMaxEntries() {
+        cache.getOrRender("A", this::render);
+        cache.getOrRender("B", this::render);
+        cache.getOrRender("A", this::render);
+        cache.getOrRender("C", this::render);
+
+        assertTrue(cache.getOrRender("A", this::render).hit());
+        assertFalse(cache.getOrRender("B", this::render).hit());
+    }
+
+    @Test
+    void invalidateAllAdvancesGenerationAndDropsEntries() {
+        cache.getOrRender("A", this::render);
+        long generation = cache.generation();
+
+        cache.invalidateAll();
+
+        assertEquals(generation + 1, cache.generation());
+        assertFalse(cache.getOrRender("A", this::render).hit());
+    }
+
+    @Test
+    void bypassesCacheWhenDisabled() {
+        mcpConfig.getDb().getSemantic().getPromptCache().setEnabled(false);
+
+        cache.getOrRender("A", this::render);
+        SemanticPromptSectionCache.CachedSections second = cache.getOrRender("A", this::render);
+
+        assertFalse(second.hit());
+        assertEquals(2, renders.get());
+    }
+
+    private Map<String, String> render() {
+        renders.incrementAndGet();
+        return Map.of("allowed_entity_keys", "[\"REQUEST\"]");
+    }
+}
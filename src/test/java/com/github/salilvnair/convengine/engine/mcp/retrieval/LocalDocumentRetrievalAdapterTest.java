@@ -0,0 +1,124 @@
+package com.github.salilvnair.convengine.engine.mcp.retrieval;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.config.ConvEngineMcpConfig;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocalDocumentRetrievalAdapterTest {
+
+    @Mock
+    private LlmClient llmClient;
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConvEngineMcpConfig mcpConfig = new ConvEngineMcpConfig();
+    private LocalDocumentIndexer indexer;
+    private LocalDocumentRetrievalAdapter adapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mcpConfig.getDocumentRetrieval().setEnabled(true);
+        mcpConfig.getDocumentRetrieval().setDirectory(directory.toString());
+        indexer = new LocalDocumentIndexer(mcpConfig, llmClient, mock(ObjectProvider.class));
+        adapter = new LocalDocumentRetrievalAdapter(mcpConfig, indexer, llmClient, mapper);
+        // two-dimensional "embedding": money-related wording points one way, everything else the other
+        lenient().when(llmClient.generateEmbedding(any(), anyString())).thenAnswer(invocation -> {
+            String text = invocation.getArgument(1, String.class).toLowerCase();
+            boolean money = text.contains("refund") || text.contains("money back");
+            return money ? new float[]{1f, 0f} : new float[]{0f, 1f};
+        });
+    }
+
+    @Test
+    void fusesLexicalAndVectorHits() throws Exception {
+        Files.writeString(directory.resolve("refunds.md"), "Refund policy\n\nRefunds are issued within 5 business days.");
+        Files.writeString(directory.resolve("shipping.md"), "Shipping\n\nOrders ship from the nearest warehouse.");
+        indexer.refresh();
+
+        JsonNode out = mapper.readTree(adapter.execute(null, Map.of("query", "how do I get my money back", "topK", 1), null));
+
+        JsonNode top = out.path("results").get(0);
+        assertEquals(1, out.path("results").size());
+        assertEquals("refunds.md", top.path("source").asText());
+        // no query term appears in the document, so only the embedding ranking found it
+        assertTrue(top.path("lexicalRank").isNull());
+        assertEquals(1, top.path("vectorRank").asInt());
+    }
+
+    @Test
+    void refreshReindexesOnlyChangedFilesAndDropsDeletedOnes() throws Exception {
+        mcpConfig.getDocumentRetrieval().setVectorEnabled(false);
+        Path refunds = directory.resolve("refunds.md");
+        Files.writeString(refunds, "Refunds are issued within 5 business days.");
+        Files.writeString(directory.resolve("shipping.md"), "Orders ship from the nearest warehouse.");
+        Files.writeString(directory.resolve("notes.bin"), "warehouse");
+        indexer.refresh();
+        assertEquals(2, indexer.stats().get("documents"));
+        assertEquals(List.of("shipping.md"), sources("warehouse"));
+
+        Files.writeString(refunds, "Refunds are issued within 10 business days for warehouse returns.");
+        Files.setLastModifiedTime(refunds, FileTime.fromMillis(System.currentTimeMillis() + 5_000L));
+        indexer.refresh();
+        assertEquals(3L, indexer.stats().get("indexedDocuments"));
+        assertEquals(2, sources("warehouse").size());
+
+        Files.delete(refunds);
+        indexer.refresh();
+        assertEquals(List.of("shipping.md"), sources("warehouse"));
+        assertEquals(1, indexer.stats().get("documents"));
+    }
+
+    @Test
+    void repeatedQueriesAreServedFromCacheUntilTheIndexChanges() throws Exception {
+        indexer.index("faq-1", "faq", "Hours", "The branch opens at 9am.");
+        adapter.execute(null, Map.of("query", "branch hours"), null);
+        adapter.execute(null, Map.of("query", "Branch hours"), null);
+        assertEquals(1L, adapter.stats().get("cacheHits"));
+
+        indexer.index("faq-2", "faq", "Branch", "Branch staff can help with loans.");
+        assertEquals(List.of("faq", "faq"), sources("branch hours"));
+        assertEquals(1L, adapter.stats().get("cacheHits"));
+    }
+
+    @Test
+    void failedEmbeddingsFallBackToBm25() throws Exception {
+        when(llmClient.generateEmbedding(any(), anyString())).thenThrow(new IllegalStateException("offline"));
+        indexer.index("faq-1", "faq", null, "Branch opens at 9am on weekdays.");
+
+        assertEquals(List.of("faq"), sources("weekdays"));
+        assertEquals(1L, indexer.stats().get("embeddingFailures"));
+    }
+
+    private List<String> sources(String query) throws Exception {
+        JsonNode out = mapper.readTree(adapter.execute(null, Map.of("query", query), null));
+        List<String> sources = new ArrayList<>();
+        out.path("results").forEach(result -> sources.add(result.path("source").asText()));
+        return sources;
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.salilvnair.convengine.engine.nlu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineFlowConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.dialogue.DialogueAct;
+import com.github.salilvnair.convengine.engine.helper.CeConfigResolver;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.intent.AllowedIntent;
+import com.github.salilvnair.convengine.intent.AllowedIntentService;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.prompt.renderer.PromptTemplateRenderer;
+import com.github.salilvnair.convengine.transport.verbose.VerboseMessagePublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MergedNluResolverTest {
+
+    private static final String VALID_OUTPUT = """
+            {"dialogueAct":"QUESTION","confidence":0.92,"standaloneQuery":"what is the loan rate",
+             "intent":{"intent":"FAQ","state":"IDLE","confidence":0.88,"needsClarification":false,
+                       "clarificationQuestion":"","intentScores":[{"intent":"FAQ","confidence":0.88}],"followups":[]}}
+            """;
+
+    @Mock
+    private AuditService audit;
+    @Mock
+    private LlmClient llm;
+    @Mock
+    private CeConfigResolver configResolver;
+    @Mock
+    private PromptTemplateRenderer renderer;
+    @Mock
+    private AllowedIntentService allowedIntentService;
+    @Mock
+    private VerboseMessagePublisher verbosePublisher;
+
+    private final ConvEngineFlowConfig flowConfig = new ConvEngineFlowConfig();
+    private MergedNluResolver resolver;
+    private EngineSession session;
+
+    @BeforeEach
+    void setUp() {
+        when(configResolver.resolveString(any(), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(2));
+        when(renderer.render(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(allowedIntentService.allowedIntents()).thenReturn(List.of(
+                new AllowedIntent("FAQ", "Questions", null, 1),
+                new AllowedIntent("LOAN_APPLICATION", "Loan", null, 2)));
+        flowConfig.getMergedNlu().setEnabled(true);
+        resolver = new MergedNluResolver(audit, flowConfig, llm, configResolver, renderer, allowedIntentService,
+                verbosePublisher);
+        resolver.init();
+        session = new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("and the rate?")
+                .build(), new ObjectMapper());
+    }
+
+    @Test
+    void validOutputIsReturnedAndIntentSectionHandedOverOnce() throws Exception {
+        when(llm.generateJsonStrict(any(), anyString(), anyString(), any())).thenReturn(VALID_OUTPUT);
+
+        MergedNluResult result = resolver.resolve(session);
+
+        assertNotNull(result);
+        assertEquals(DialogueAct.QUESTION, result.dialogueAct());
+        assertEquals("what is the loan rate", result.standaloneQuery());
+        String intentOutput = resolver.takeIntentOutput(session);
+        assertNotNull(intentOutput);
+        assertEquals("FAQ", new ObjectMapper().readTree(intentOutput).path("intent").asText());
+        assertNull(resolver.takeIntentOutput(session));
+        verify(audit).audit(eq(ConvEngineAuditStage.NLU_INTENT_REUSED), any(), anyMap());
+    }
+
+    @Test
+    void intentOutsideAllowedIntentsFallsBack() {
+        when(llm.generateJsonStrict(any(), anyString(), anyString(), any())).thenReturn(
+                VALID_OUTPUT.replace("[{\"intent\":\"FAQ\"", "[{\"intent\":\"WIRE_TRANSFER\""));
+
+        assertNull(resolver.resolve(session));
+        assertNull(session.getMergedNlu());
+        verify(audit).audit(eq(ConvEngineAuditStage.NLU_LLM_FALLBACK), any(), anyMap());
+    }
+
+    @Test
+    void failedCallFallsBack() {
+        when(llm.generateJsonStrict(any(), anyString(), anyString(), any()))
+                .thenThrow(new IllegalStateException("provider down"));
+
+        assertNull(resolver.resolve(session));
+        verify(audit).audit(eq(ConvEngineAuditStage.NLU_LLM_FALLBACK), any(), anyMap());
+    }
+
+    @Test
+    void intentSectionIsDroppedWhenStateChangedSinceTheCall() {
+        when(llm.generateJsonStrict(any(), anyString(), anyString(), any())).thenReturn(VALID_OUTPUT);
+        resolver.resolve(session);
+
+        session.setState("ANSWERED");
+
+        assertNull(resolver.takeIntentOutput(session));
+        verify(audit, never()).audit(eq(ConvEngineAuditStage.NLU_INTENT_REUSED), any(), anyMap());
+    }
+
+    @Test
+    void disabledMakesNoCall() {
+        flowConfig.getMergedNlu().setEnabled(false);
+
+        assertNull(resolver.resolve(session));
+        verify(llm, never()).generateJsonStrict(any(), anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.salilvnair.convengine.engine.steps;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.ccf.core.model.ContainerComponentRequest;
+import com.github.salilvnair.ccf.service.CcfCoreService;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.cache.StaticConfigurationCacheService;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.container.interceptor.ContainerDataInterceptorExecutor;
+import com.github.salilvnair.convengine.container.service.ContainerDataTransformerService;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.entity.CeContainerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AddContainerDataStepTest {
+
+    private static final int SLOW = 1;
+    private static final int FAST = 2;
+
+    @Mock
+    private StaticConfigurationCacheService cacheService;
+    @Mock
+    private CcfCoreService ccfCoreService;
+    @Mock
+    private AuditService audit;
+    @Mock
+    private ContainerDataTransformerService transformerService;
+    @Mock
+    private ContainerDataInterceptorExecutor interceptorExecutor;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConvEngineExecutionConfig executionConfig = new ConvEngineExecutionConfig();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private AddContainerDataStep step;
+    private EngineSession session;
+
+    @BeforeEach
+    void setUp() {
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        executionConfig.getContainerData().setConcurrent(true);
+        step = new AddContainerDataStep(cacheService, ccfCoreService, audit, mapper, transformerService,
+                interceptorExecutor);
+        ReflectionTestUtils.setField(step, "executionConfig", executionConfig);
+        ReflectionTestUtils.setField(step, "containerExecutor", executor);
+
+        session = new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("show my orders")
+                .build(), mapper);
+        session.setIntent("ORDERS");
+        session.setState("IDLE");
+        session.setContextJson("{}");
+        when(cacheService.findContainerConfigsByIntentAndState("ORDERS", "IDLE")).thenReturn(List.of(
+                container(SLOW, "orders"),
+                container(FAST, "profile")));
+        lenient().when(interceptorExecutor.afterExecute(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(transformerService.transformIfApplicable(any(), any(), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> inputParams = invocation.getArgument(2);
+            return Map.of("source", inputParams.containsKey("orders") ? "orders" : "profile");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void concurrentFetchesMergeInConfigOrder() throws Exception {
+        CountDownLatch fastStarted = new CountDownLatch(1);
+        List<String> threads = new ArrayList<>();
+        when(ccfCoreService.execute(any())).thenAnswer(invocation -> {
+            synchronized (threads) {
+                threads.add(Thread.currentThread().getName());
+            }
+            if (containerId(invocation.getArgument(0)) == SLOW) {
+                // completes only if the second container is fetched at the same time
+                assertTrue(fastStarted.await(5, TimeUnit.SECONDS));
+            } else {
+                fastStarted.countDown();
+            }
+            return null;
+        });
+
+        step.execute(session);
+
+        JsonNode merged = mapper.readTree(session.getContainerDataJson());
+        assertEquals(List.of("orders", "profile"), fieldNames(merged));
+        assertEquals("profile", session.getContainerData().path("source").asText());
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void timedOutContainerIsSkippedWithoutFailingTheTurn() throws Exception {
+        executionConfig.getContainerData().setCallTimeoutMs(100L);
+        when(ccfCoreService.execute(any())).thenAnswer(invocation -> {
+            if (containerId(invocation.getArgument(0)) == SLOW) {
+                Thread.sleep(5_000L);
+            }
+            return null;
+        });
+
+        step.execute(session);
+
+        assertEquals(List.of("profile"), fieldNames(mapper.readTree(session.getContainerDataJson())));
+        verify(audit).audit(eq("CONTAINER_DATA_FAILED"), any(), anyMap());
+    }
+
+    @Test
+    void failOnErrorFailsTheTurn() throws Exception {
+        executionConfig.getContainerData().setConcurrent(false);
+        executionConfig.getContainerData().setFailOnError(true);
+        when(ccfCoreService.execute(any())).thenThrow(new IllegalStateException("backend down"));
+
+        assertThrows(ConversationEngineException.class, () -> step.execute(session));
+        verify(audit).audit(eq("CONTAINER_DATA_FAILED"), any(), anyMap());
+    }
+
+    private static CeContainerConfig container(int containerId, String inputParamName) {
+        return CeContainerConfig.builder()
+                .intentCode("ORDERS")
+                .stateCode("IDLE")
+                .pageId(1)
+                .sectionId(1)
+                .containerId(containerId)
+                .inputParamName(inputParamName)
+                .build();
+    }
+
+    private static int containerId(ContainerComponentRequest request) {
+        return request.getPageInfo().get(0).getContainerId();
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
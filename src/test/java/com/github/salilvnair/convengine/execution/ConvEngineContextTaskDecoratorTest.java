@@ -0,0 +1,136 @@
+package com.github.salilvnair.convengine.execution;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.context.LlmInvocationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ConvEngineContextTaskDecoratorTest {
+
+    @AfterEach
+    void tearDown() {
+        LlmInvocationContext.clear();
+    }
+
+    @Test
+    void bindsSubmitterContextForTheTaskAndRestoresTheWorkerAfterwards() {
+        AuditService auditService = mock(AuditService.class);
+        ConvEngineContextTaskDecorator decorator = new ConvEngineContextTaskDecorator(provider(auditService));
+        UUID conversationId = UUID.randomUUID();
+        List<Object> seen = new ArrayList<>();
+
+        LlmInvocationContext.set(conversationId, "ORDER_STATUS", "COLLECT");
+        Runnable decorated = LlmCallSite.call(LlmCallSite.AGENT_INTENT, () -> LlmUsageScope.step("AgentIntentResolveStep",
+                () -> LlmUsageScope.tool("ORDER_LOOKUP", () -> decorator.decorate(() -> {
+                    seen.add(LlmInvocationContext.get().conversationId());
+                    seen.add(LlmCallSite.current());
+                    seen.add(LlmUsageScope.currentStep());
+                    seen.add(LlmUsageScope.currentTool());
+                }))));
+        LlmInvocationContext.clear();
+
+        decorated.run();
+
+        assertEquals(List.of(conversationId, LlmCallSite.AGENT_INTENT, "AgentIntentResolveStep", "ORDER_LOOKUP"), seen);
+        assertNull(LlmInvocationContext.get());
+        assertNull(LlmCallSite.current());
+        assertNull(LlmUsageScope.currentStep());
+        assertNull(LlmUsageScope.currentTool());
+        verify(auditService).flushPending(isNull());
+    }
+
+    @Test
+    void flushesDeferredAuditEvenWhenTheTaskFails() {
+        AuditService auditService = mock(AuditService.class);
+        Runnable decorated = new ConvEngineContextTaskDecorator(provider(auditService)).decorate(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        try {
+            decorated.run();
+        } catch (IllegalStateException expected) {
+            // propagated to the executor
+        }
+
+        verify(auditService).flushPending(isNull());
+    }
+
+    @Test
+    void virtualModeRunsTasksOnAnyRuntime() throws Exception {
+        ConvEngineExecutionConfig config = new ConvEngineExecutionConfig();
+        config.setThreadMode(ConvEngineExecutionConfig.ThreadMode.VIRTUAL);
+        config.getAsync().setThreadNamePrefix("ce-test-");
+        AsyncTaskExecutor executor = new ConvEngineExecutorConfiguration()
+                .convEngineAsyncExecutor(config, new DefaultListableBeanFactory().getBeanProvider(AuditService.class));
+        try {
+            LlmInvocationContext.set(UUID.randomUUID(), "ORDER_STATUS", "COLLECT");
+            String intent = executor.submit(() -> LlmInvocationContext.get().intent()).get(5, TimeUnit.SECONDS);
+            String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+            assertEquals("ORDER_STATUS", intent);
+            assertTrue(threadName.startsWith("ce-test-"), threadName);
+        } finally {
+            if (executor instanceof AutoCloseable closeable) {
+                closeable.close();
+            } else if (executor instanceof DisposableBean disposable) {
+                disposable.destroy();
+            }
+        }
+    }
+
+    @Test
+    void virtualTurnExecutorRejectsPastItsLimitInsteadOfBlocking() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need JDK 21+");
+        ConvEngineExecutionConfig config = new ConvEngineExecutionConfig();
+        config.setThreadMode(ConvEngineExecutionConfig.ThreadMode.VIRTUAL);
+        config.getAsyncTurns().setConcurrencyLimit(1);
+        AsyncTaskExecutor executor = new ConvEngineExecutorConfiguration()
+                .convEngineTurnExecutor(config, new DefaultListableBeanFactory().getBeanProvider(AuditService.class));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.submit(() -> {
+                running.countDown();
+                release.await();
+                return null;
+            });
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TaskRejectedException.class, () -> executor.submit(() -> "second"));
+        } finally {
+            release.countDown();
+            if (executor instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static ObjectProvider<AuditService> provider(AuditService auditService) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("auditService", auditService);
+        return beanFactory.getBeanProvider(AuditService.class);
+    }
+}
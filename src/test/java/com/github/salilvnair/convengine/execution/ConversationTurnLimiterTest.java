@@ -0,0 +1,65 @@
+package com.github.salilvnair.convengine.execution;
+
+import com.github.salilvnair.convengine.config.ConvEngineExecutionConfig;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineErrorCode;
+import com.github.salilvnair.convengine.engine.exception.ConversationEngineException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversationTurnLimiterTest {
+
+    @Test
+    void unboundedByDefault() {
+        ConversationTurnLimiter limiter = new ConversationTurnLimiter(new ConvEngineExecutionConfig());
+
+        assertEquals("ok", limiter.run(() -> "ok"));
+        assertEquals(0, limiter.stats().get("maxConcurrent"));
+    }
+
+    @Test
+    void rejectsTurnsBeyondTheLimitAndReleasesPermits() throws Exception {
+        ConvEngineExecutionConfig config = new ConvEngineExecutionConfig();
+        config.getTurns().setMaxConcurrent(1);
+        config.getTurns().setAcquireTimeoutMs(20);
+        ConversationTurnLimiter limiter = new ConversationTurnLimiter(config);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> running = executor.submit(() -> limiter.run(() -> {
+                started.countDown();
+                await(release);
+                return "first";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            ConversationEngineException error = assertThrows(ConversationEngineException.class, () -> limiter.run(() -> "second"));
+            assertEquals(ConversationEngineErrorCode.ENGINE_CAPACITY_EXCEEDED.name(), error.getErrorCode());
+            assertEquals(1, limiter.stats().get("inFlight"));
+
+            release.countDown();
+            assertEquals("first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("third", limiter.run(() -> "third"));
+            assertEquals(0, limiter.stats().get("inFlight"));
+            assertEquals(1L, limiter.stats().get("rejected"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.salilvnair.convengine.intent;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineFlowConfig;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompositeIntentResolverTest {
+
+    @Mock
+    private ClassifierIntentResolver classifier;
+    @Mock
+    private AgentIntentResolver agent;
+    @Mock
+    private AuditService audit;
+    @Mock
+    private AsyncTaskExecutor executor;
+
+    private final ConvEngineFlowConfig flowConfig = new ConvEngineFlowConfig();
+    private final EngineSession session = mock(EngineSession.class);
+    private CompositeIntentResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        flowConfig.getIntentResolution().setSpeculativeAgent(true);
+        resolver = new CompositeIntentResolver(classifier, agent, flowConfig, audit);
+        ReflectionTestUtils.setField(resolver, "speculationExecutor", executor);
+    }
+
+    @Test
+    void classifierMatchDiscardsSpeculativeAgentCall() {
+        AgentIntentResolver.Speculation speculation = speculation();
+        when(session.getConversationId()).thenReturn(UUID.randomUUID());
+        when(agent.speculate(session, executor)).thenReturn(speculation);
+        when(classifier.resolve(session)).thenReturn("FAQ");
+
+        CompositeIntentResolver.IntentResolutionResult result = resolver.resolveWithTrace(session);
+
+        assertEquals("FAQ", result.resolvedIntent());
+        assertEquals(CompositeIntentResolver.IntentResolutionResult.Source.CLASSIFIER, result.source());
+        verify(agent).discard(session, speculation);
+        verify(agent, never()).resolveSpeculated(any(), any());
+        verify(agent, never()).resolve(any());
+        Map<String, Object> payload = speculationAudit();
+        assertEquals("DISCARDED", payload.get("outcome"));
+        assertEquals(1.0d, payload.get("wastedCallRate"));
+        assertEquals(1L, resolver.speculationStats().get("wastedCalls"));
+    }
+
+    @Test
+    void classifierMissUsesSpeculativeAgentCall() {
+        AgentIntentResolver.Speculation speculation = speculation();
+        when(session.getConversationId()).thenReturn(UUID.randomUUID());
+        when(agent.speculate(session, executor)).thenReturn(speculation);
+        when(agent.resolveSpeculated(session, speculation)).thenReturn("LOAN_APPLICATION");
+
+        CompositeIntentResolver.IntentResolutionResult result = resolver.resolveWithTrace(session);
+
+        assertEquals("LOAN_APPLICATION", result.resolvedIntent());
+        assertEquals(CompositeIntentResolver.IntentResolutionResult.Source.AGENT, result.source());
+        verify(agent, never()).discard(any(), any());
+        verify(agent, never()).resolve(any());
+        Map<String, Object> payload = speculationAudit();
+        assertEquals("USED", payload.get("outcome"));
+        assertEquals(0.0d, payload.get("wastedCallRate"));
+    }
+
+    @Test
+    void disabledSpeculationResolvesSequentially() {
+        flowConfig.getIntentResolution().setSpeculativeAgent(false);
+        when(agent.resolve(session)).thenReturn("LOAN_APPLICATION");
+
+        CompositeIntentResolver.IntentResolutionResult result = resolver.resolveWithTrace(session);
+
+        assertEquals("LOAN_APPLICATION", result.resolvedIntent());
+        verify(agent, never()).speculate(any(), any());
+        verify(audit, never()).audit(eq(ConvEngineAuditStage.INTENT_AGENT_SPECULATION), any(), anyMap());
+    }
+
+    @Test
+    void speculationPausesWhileClassifierKeepsMatching() {
+        flowConfig.getIntentResolution().setRateWindow(4);
+        flowConfig.getIntentResolution().setMaxWastedCallRate(0.5d);
+        when(session.getConversationId()).thenReturn(UUID.randomUUID());
+        when(agent.speculate(session, executor)).thenReturn(speculation());
+        when(classifier.resolve(session)).thenReturn("FAQ");
+
+        resolver.resolveWithTrace(session);
+        resolver.resolveWithTrace(session);
+        resolver.resolveWithTrace(session);
+
+        // every turn matched, so only the first one, with no history yet, speculated
+        verify(agent, times(1)).speculate(session, executor);
+        assertEquals(1.0d, resolver.speculationStats().get("recentClassifierMatchRate"));
+
+        when(classifier.resolve(session)).thenReturn(null);
+        for (int i = 0; i < 3; i++) {
+            resolver.resolveWithTrace(session);
+        }
+        // after the second miss only half of the window matched, so the third miss speculates again
+        verify(agent, times(2)).speculate(session, executor);
+    }
+
+    private AgentIntentResolver.Speculation speculation() {
+        return new AgentIntentResolver.Speculation(List.of(), null, Map.of(), new CompletableFuture<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> speculationAudit() {
+        ArgumentCaptor<Map<String, Object>> payload = ArgumentCaptor.forClass(Map.class);
+        verify(audit).audit(eq(ConvEngineAuditStage.INTENT_AGENT_SPECULATION), any(), payload.capture());
+        return payload.getValue();
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.salilvnair.convengine.jfr;
+
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.llm.jfr.JfrLlmClient;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConvEngineJfrTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        ConvEngineJfr.setEnabled(false);
+    }
+
+    @Test
+    void eventsAreNotCreatedWhenDisabled() {
+        ConvEngineJfr.setEnabled(false);
+
+        assertNull(EngineStepEvent.start());
+        assertNull(SqlExecutionEvent.start());
+        // emitting a disabled event is a no-op
+        EngineStepEvent.emit(null, UUID.randomUUID(), "RulesStep", null, null, "Continue", true);
+    }
+
+    @Test
+    void recordsStepAndSqlEventsWithTurnAttributes() throws Exception {
+        ConvEngineJfr.setEnabled(true);
+        UUID conversationId = UUID.randomUUID();
+
+        List<RecordedEvent> events = record(() -> {
+            EngineStepEvent.emit(EngineStepEvent.start(), conversationId, "McpToolStep", "ORDER_STATUS", "ANALYZE",
+                    "Continue", true);
+            SqlExecutionEvent.emit(SqlExecutionEvent.start(), conversationId, "postgres.query", 2,
+                    "select * from orders", 17, 2048L, false, true);
+        }, "convengine.EngineStep", "convengine.SqlExecution");
+
+        RecordedEvent step = find(events, "convengine.EngineStep");
+        assertEquals(conversationId.toString(), step.getString("conversationId"));
+        assertEquals("McpToolStep", step.getString("stepName"));
+        assertEquals("ANALYZE", step.getString("state"));
+        assertTrue(step.getBoolean("success"));
+        RecordedEvent sql = find(events, "convengine.SqlExecution");
+        assertEquals("postgres.query", sql.getString("toolCode"));
+        assertEquals(2, sql.getInt("attempt"));
+        assertEquals(17, sql.getInt("rowCount"));
+        assertEquals(20, sql.getInt("sqlLength"));
+        assertEquals(2048L, sql.getLong("estimatedBytes"));
+    }
+
+    @Test
+    void llmClientRecordsPromptAndResponseSizes() throws Exception {
+        ConvEngineJfr.setEnabled(true);
+        LlmClient delegate = mock(LlmClient.class);
+        when(delegate.generateJson(any(), any(), any(), any())).thenReturn("{\"intent\":\"X\"}");
+        JfrLlmClient client = new JfrLlmClient(delegate);
+
+        List<RecordedEvent> events = record(
+                () -> LlmCallSite.call(LlmCallSite.MCP_PLANNER, () -> client.generateJson(null, "hint", "{}", "ctx")),
+                "convengine.LlmCall");
+
+        RecordedEvent call = find(events, "convengine.LlmCall");
+        assertEquals("generateJson", call.getString("method"));
+        assertEquals(LlmCallSite.MCP_PLANNER, call.getString("callSite"));
+        assertEquals(9L, call.getLong("promptChars"));
+        assertEquals(14L, call.getLong("responseChars"));
+        assertTrue(call.getBoolean("success"));
+    }
+
+    private List<RecordedEvent> record(Runnable body, String... eventNames) throws Exception {
+        Path file = tempDir.resolve("convengine.jfr");
+        try (Recording recording = new Recording()) {
+            for (String eventName : eventNames) {
+                recording.enable(eventName).withoutThreshold();
+            }
+            recording.start();
+            body.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertFalse(events.isEmpty());
+        return events;
+    }
+
+    private RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> name.equals(event.getEventType().getName()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no " + name + " event recorded"));
+    }
+}
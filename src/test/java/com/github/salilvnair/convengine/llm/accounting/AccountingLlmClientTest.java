@@ -0,0 +1,108 @@
+package com.github.salilvnair.convengine.llm.accounting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountingLlmClientTest {
+
+    private LlmClient delegate;
+    private AuditService auditService;
+    private ConvEngineLlmConfig config;
+    private LlmUsageAccounting accounting;
+    private AccountingLlmClient client;
+    private EngineSession session;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegate = mock(LlmClient.class);
+        auditService = mock(AuditService.class);
+        config = new ConvEngineLlmConfig();
+        config.getAccounting().setEnabled(true);
+        config.getAccounting().setFlushIntervalMs(0L);
+        config.getAccounting().setPromptCostPer1kTokens(1.0d);
+        ObjectProvider<LlmTokenizer> tokenizerProvider = mock(ObjectProvider.class);
+        ObjectProvider<AuditService> auditProvider = mock(ObjectProvider.class);
+        when(auditProvider.getIfAvailable()).thenReturn(auditService);
+        accounting = new LlmUsageAccounting(config, new LlmTokenCounter(config, tokenizerProvider), auditProvider);
+        client = new AccountingLlmClient(delegate, accounting);
+        session = new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("hello")
+                .inputParams(new LinkedHashMap<>())
+                .build(), new ObjectMapper());
+        session.setIntent("ORDER_STATUS");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void attributesTokensToStepToolAndCallSite() {
+        when(delegate.generateJson(any(), any(), any(), any())).thenReturn("12345678");
+
+        LlmUsageScope.step("McpToolStep", () -> LlmUsageScope.tool("db.semantic.query",
+                () -> LlmCallSite.call(LlmCallSite.MCP_PLANNER,
+                        () -> client.generateJson(session, "abcdefgh", "", "abcd"))));
+
+        Map<String, Object> summary = accounting.conversationSummary(session.getConversationId());
+        Map<String, Object> totals = (Map<String, Object>) summary.get("totals");
+        assertEquals(3L, totals.get("promptTokens"));
+        assertEquals(2L, totals.get("completionTokens"));
+        assertEquals(0.003d, totals.get("estimatedCost"));
+        Map<String, Map<String, Object>> breakdown = (Map<String, Map<String, Object>>) summary.get("breakdown");
+        assertEquals(1, breakdown.get(LlmUsageAccounting.DIMENSION_STEP).keySet().size());
+        assertEquals(true, breakdown.get(LlmUsageAccounting.DIMENSION_STEP).containsKey("McpToolStep"));
+        assertEquals(true, breakdown.get(LlmUsageAccounting.DIMENSION_TOOL).containsKey("db.semantic.query"));
+        assertEquals(true, breakdown.get(LlmUsageAccounting.DIMENSION_CALL_SITE).containsKey(LlmCallSite.MCP_PLANNER));
+        assertEquals(true, breakdown.get(LlmUsageAccounting.DIMENSION_INTENT).containsKey("ORDER_STATUS"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedCallsAreCountedWithoutTokens() {
+        when(delegate.generateText(any(), any(), any())).thenThrow(new IllegalStateException("timeout"));
+
+        assertThrows(IllegalStateException.class, () -> client.generateText(session, "prompt text", "{}"));
+
+        Map<String, Object> totals = (Map<String, Object>) accounting.summary().get("totals");
+        assertEquals(1L, totals.get("calls"));
+        assertEquals(1L, totals.get("failures"));
+        assertEquals(0L, totals.get("totalTokens"));
+    }
+
+    @Test
+    void flushAuditsOnlyNewUsage() {
+        when(delegate.generateText(any(), any(), any())).thenReturn("ok");
+
+        client.generateText(session, "first", "{}");
+        accounting.flush();
+        accounting.flush();
+        client.generateText(session, "second", "{}");
+        accounting.flush();
+
+        verify(auditService, times(2)).audit(eq(ConvEngineAuditStage.LLM_USAGE), eq(session.getConversationId()), anyMap());
+        verify(auditService, times(2)).flushPending(null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.salilvnair.convengine.llm.budget;
+
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.llm.accounting.LlmTokenCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PromptBudgetTest {
+
+    private ConvEngineLlmConfig config;
+    private AuditService auditService;
+    private PromptBudget budget;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        config = new ConvEngineLlmConfig();
+        config.getPromptBudget().setEnabled(true);
+        config.getPromptBudget().setDefaultMaxPromptTokens(1000);
+        auditService = mock(AuditService.class);
+        // one token per character keeps the arithmetic obvious
+        config.getAccounting().setCharsPerToken(1.0d);
+        budget = new PromptBudget(config, new LlmTokenCounter(config, mock(ObjectProvider.class)), auditService);
+    }
+
+    @Test
+    void trimsLowestPrioritySectionFirstAndStopsOnceWithinBudget() {
+        ConvEngineLlmConfig.CallSiteBudget site = new ConvEngineLlmConfig.CallSiteBudget();
+        site.setMaxPromptTokens(20);
+        config.getPromptBudget().getCallSites().put("PLANNER", site);
+        PromptSection history = PromptSection.json("history", 10, "[\"aaaaaaaa\",\"bbbbbbbb\",\"cccccccc\"]",
+                PromptSection.Trim.DROP_HEAD);
+        PromptSection observations = PromptSection.json("observations", 20, "[\"obs\"]", PromptSection.Trim.DROP_HEAD);
+        UUID conversationId = UUID.randomUUID();
+
+        PromptBudget.Result result = budget.fit(conversationId, "PLANNER", List.of(observations, history),
+                values -> values.get("history") + values.get("observations"));
+
+        assertTrue(result.withinBudget());
+        assertEquals("[\"cccccccc\"]", history.value());
+        assertFalse(observations.trimmed());
+        assertEquals(1, result.trims().size());
+        verify(auditService).audit(eq(ConvEngineAuditStage.PROMPT_BUDGET_TRIMMED), eq(conversationId), anyMap());
+    }
+
+    @Test
+    void missingSectionValueRendersAsEmpty() {
+        PromptSection missing = PromptSection.json("recent_failure_hints_json", 10, null, PromptSection.Trim.DROP_TAIL);
+
+        budget.fit(UUID.randomUUID(), "ANY", List.of(missing), values -> "hints:" + values.get("recent_failure_hints_json"));
+
+        assertEquals("", missing.value());
+        assertEquals(0, missing.size());
+    }
+
+    @Test
+    void doesNotRenderWithoutBudget() {
+        config.getPromptBudget().setDefaultMaxPromptTokens(0);
+        AtomicInteger renders = new AtomicInteger();
+
+        PromptBudget.Result result = budget.fit(UUID.randomUUID(), "ANY",
+                List.of(PromptSection.text("notes", 10, "x".repeat(5000))),
+                values -> {
+                    renders.incrementAndGet();
+                    return values.get("notes");
+                });
+
+        assertFalse(result.enforced());
+        assertEquals(0, renders.get());
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void truncatesLowPriorityTextBeforeTouchingHigherSections() {
+        PromptSection notes = PromptSection.text("notes", 10, "x".repeat(1500));
+        PromptSection metadata = PromptSection.json("metadata", 20, "{\"keep\":1,\"drop\":2}", PromptSection.Trim.DROP_TAIL);
+
+        PromptBudget.Result result = budget.fit(null, "ANY", List.of(notes, metadata),
+                values -> values.get("notes") + values.get("metadata"));
+
+        assertTrue(result.withinBudget());
+        assertTrue(notes.value().endsWith(PromptSection.TRUNCATION_MARKER));
+        assertTrue(notes.value().length() < 1000);
+        assertEquals("{\"keep\":1,\"drop\":2}", metadata.value());
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.audit.AuditService;
+import com.github.salilvnair.convengine.audit.ConvEngineAuditStage;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingLlmClientTest {
+
+    private LlmClient delegate;
+    private AuditService auditService;
+    private ConvEngineLlmConfig config;
+    private CachingLlmClient client;
+    private EngineSession session;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegate = mock(LlmClient.class);
+        auditService = mock(AuditService.class);
+        config = new ConvEngineLlmConfig();
+        config.getCache().setEnabled(true);
+        config.getCache().setModelIdentity("test:model-1");
+        ObjectProvider<JdbcTemplate> jdbcProvider = mock(ObjectProvider.class);
+        ObjectProvider<AuditService> auditProvider = mock(ObjectProvider.class);
+        when(auditProvider.getIfAvailable()).thenReturn(auditService);
+        client = new CachingLlmClient(delegate, new LlmResponseCache(config, jdbcProvider), config, auditProvider);
+        session = new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("yes")
+                .inputParams(new LinkedHashMap<>())
+                .build(), new ObjectMapper());
+        when(delegate.generateJson(any(), any(), any(), any())).thenReturn("{\"act\":\"AFFIRM\"}");
+    }
+
+    @Test
+    void repeatedTaggedCallIsServedFromCache() {
+        String first = LlmCallSite.call(LlmCallSite.DIALOGUE_ACT, () -> client.generateJson(session, "hint", "{}", "{}"));
+        String second = LlmCallSite.call(LlmCallSite.DIALOGUE_ACT, () -> client.generateJson(session, "hint", "{}", "{}"));
+
+        assertEquals(first, second);
+        verify(delegate, times(1)).generateJson(any(), any(), any(), any());
+        verify(auditService).audit(eq(ConvEngineAuditStage.LLM_CACHE_HIT), eq(session.getConversationId()), anyMap());
+    }
+
+    @Test
+    void untaggedAndDisabledCallSitesPassThrough() {
+        ConvEngineLlmConfig.CallSite off = new ConvEngineLlmConfig.CallSite();
+        off.setEnabled(false);
+        config.getCache().setCallSites(Map.of(LlmCallSite.MCP_PLANNER, off));
+
+        client.generateJson(session, "hint", "{}", "{}");
+        client.generateJson(session, "hint", "{}", "{}");
+        LlmCallSite.call(LlmCallSite.MCP_PLANNER, () -> client.generateJson(session, "hint", "{}", "{}"));
+        LlmCallSite.call(LlmCallSite.MCP_PLANNER, () -> client.generateJson(session, "hint", "{}", "{}"));
+
+        verify(delegate, times(4)).generateJson(any(), any(), any(), any());
+    }
+
+    @Test
+    void keyChangesWithContextAndModelIdentity() {
+        String base = client.key("generateJson", "hint", "{}", "{\"a\":1}");
+
+        assertNotEquals(base, client.key("generateJson", "hint", "{}", "{\"a\":2}"));
+        assertNotEquals(client.key("generateJson", "ab", "c", null), client.key("generateJson", "a", "bc", null));
+        config.getCache().setModelIdentity("test:model-2");
+        assertNotEquals(base, client.key("generateJson", "hint", "{}", "{\"a\":1}"));
+    }
+}
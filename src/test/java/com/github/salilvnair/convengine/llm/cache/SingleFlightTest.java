@@ -0,0 +1,90 @@
+package com.github.salilvnair.convengine.llm.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", 5000, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "answer";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("k", 5000, () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        waitForJoin(flight);
+        release.countDown();
+
+        assertEquals("answer", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("answer", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    void followerSeesLeaderFailureAndTimesOutIndependently() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", 5000, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("429 from provider");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        IllegalStateException timeout = assertThrows(IllegalStateException.class,
+                () -> flight.execute("k", 20, () -> "unused"));
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("k", 5000, () -> "unused"));
+        waitForJoin(flight, 2);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(leaderError.getCause() instanceof IllegalArgumentException);
+        assertTrue(followerError.getCause() instanceof IllegalArgumentException);
+        assertEquals("fresh", flight.execute("k", 5000, () -> "fresh"));
+    }
+
+    private void waitForJoin(SingleFlight<String> flight) throws InterruptedException {
+        waitForJoin(flight, 1);
+    }
+
+    private void waitForJoin(SingleFlight<String> flight, long joined) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (flight.joinedCount() < joined && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(joined, flight.joinedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
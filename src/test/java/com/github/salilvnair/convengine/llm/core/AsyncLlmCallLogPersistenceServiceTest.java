@@ -0,0 +1,46 @@
+package com.github.salilvnair.convengine.llm.core;
+
+import com.github.salilvnair.convengine.entity.CeLlmCallLog;
+import com.github.salilvnair.convengine.repo.LlmCallLogRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AsyncLlmCallLogPersistenceServiceTest {
+
+    private final LlmCallLogRepository repository = mock(LlmCallLogRepository.class);
+    private final LlmCallLogBatchWriter batchWriter = mock(LlmCallLogBatchWriter.class);
+    private final AsyncTaskExecutor asyncExecutor = mock(AsyncTaskExecutor.class);
+    private final AsyncLlmCallLogPersistenceService service =
+            new AsyncLlmCallLogPersistenceService(repository, batchWriter, asyncExecutor);
+
+    @Test
+    void batchedModeEnqueuesOnTheCallingThread() {
+        when(batchWriter.isBatched()).thenReturn(true);
+        CeLlmCallLog row = new CeLlmCallLog();
+
+        service.saveLog(row);
+
+        verify(batchWriter).enqueue(row);
+        verifyNoInteractions(asyncExecutor, repository);
+    }
+
+    @Test
+    void immediateModeSavesOnTheAsyncExecutor() {
+        CeLlmCallLog row = new CeLlmCallLog();
+
+        service.saveLog(row);
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(asyncExecutor).execute(task.capture());
+        verifyNoInteractions(repository);
+        task.getValue().run();
+        verify(repository).save(any());
+    }
+}
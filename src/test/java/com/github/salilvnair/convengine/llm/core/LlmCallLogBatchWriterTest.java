@@ -0,0 +1,156 @@
+package com.github.salilvnair.convengine.llm.core;
+
+import com.github.salilvnair.convengine.config.ConvEngineAuditConfig;
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import com.github.salilvnair.convengine.entity.CeLlmCallLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LlmCallLogBatchWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ConvEngineLlmConfig config;
+    private LlmCallLogBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        config = new ConvEngineLlmConfig();
+        writer = new LlmCallLogBatchWriter(jdbcTemplate, config);
+    }
+
+    @Test
+    void coalescesQueuedRowsUpToBatchSize() {
+        config.getCallLog().setBatchSize(3);
+        config.getCallLog().setFlushIntervalMs(50L);
+        BlockingQueue<CeLlmCallLog> queue = new ArrayBlockingQueue<>(10);
+        for (int i = 0; i < 5; i++) {
+            queue.add(row("prompt " + i, true));
+        }
+
+        assertEquals(3, writer.nextBatch(queue).size());
+        assertEquals(2, writer.nextBatch(queue).size());
+        assertTrue(writer.nextBatch(queue).isEmpty());
+    }
+
+    @Test
+    void interruptedWaitReturnsRowsAlreadyTaken() {
+        config.getCallLog().setBatchSize(5);
+        config.getCallLog().setFlushIntervalMs(10_000L);
+        BlockingQueue<CeLlmCallLog> queue = new ArrayBlockingQueue<>(10);
+        queue.add(row("in hand", true));
+        Thread caller = Thread.currentThread();
+        Thread interrupter = new Thread(() -> {
+            try {
+                Thread.sleep(100L);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            caller.interrupt();
+        });
+        interrupter.start();
+
+        List<CeLlmCallLog> batch = writer.nextBatch(queue);
+
+        assertEquals(List.of("in hand"), batch.stream().map(CeLlmCallLog::getPromptText).toList());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void writesBatchAndStoresRepeatedPromptBodyOnce() {
+        config.getCallLog().setDedupePromptBodies(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+        CeLlmCallLog first = row("same prompt", true);
+        CeLlmCallLog second = row("same prompt", false);
+
+        writer.write(List.of(first, second));
+        writer.write(List.of(row("same prompt", true)));
+
+        assertTrue(first.getPromptText().startsWith(LlmCallLogBatchWriter.PROMPT_REF_PREFIX));
+        assertEquals(first.getPromptText(), second.getPromptText());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO ce_llm_prompt_body"), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO ce_llm_call_log"), any(BatchPreparedStatementSetter.class));
+        assertEquals(3L, writer.stats().get("written"));
+    }
+
+    @Test
+    void concurrentlyStoredPromptBodyDoesNotDropCallLogRows() {
+        config.getCallLog().setDedupePromptBodies(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO ce_llm_prompt_body"), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("ce_llm_prompt_body_pkey"));
+        when(jdbcTemplate.update(startsWith("INSERT INTO ce_llm_prompt_body"), any(PreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("ce_llm_prompt_body_pkey"));
+        CeLlmCallLog row = row("same prompt", true);
+
+        writer.write(List.of(row));
+
+        assertTrue(row.getPromptText().startsWith(LlmCallLogBatchWriter.PROMPT_REF_PREFIX));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO ce_llm_call_log"), any(BatchPreparedStatementSetter.class));
+        assertEquals(1L, writer.stats().get("written"));
+        assertEquals(0L, writer.stats().get("failed"));
+    }
+
+    @Test
+    void failedPromptBodyWriteKeepsPromptInline() {
+        config.getCallLog().setDedupePromptBodies(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("ce_llm_prompt_body missing"));
+        CeLlmCallLog row = row("inline prompt", true);
+
+        writer.write(List.of(row));
+
+        assertEquals("inline prompt", row.getPromptText());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO ce_llm_call_log"), any(BatchPreparedStatementSetter.class));
+        assertEquals(1L, writer.stats().get("written"));
+    }
+
+    @Test
+    void samplesSuccessfulRowsUnderPressureAndAppliesOverflowPolicy() {
+        config.getCallLog().setSampleThreshold(0.5d);
+        config.getCallLog().setSampleRate(0d);
+        BlockingQueue<CeLlmCallLog> queue = new ArrayBlockingQueue<>(2);
+        writer.offer(row("a", false), queue);
+        writer.offer(row("b", true), queue);
+        writer.offer(row("c", false), queue);
+        writer.offer(row("d", false), queue);
+        config.getCallLog().setOverflowPolicy(ConvEngineAuditConfig.RejectionPolicy.DROP_OLDEST);
+        writer.offer(row("e", false), queue);
+
+        assertEquals(1L, writer.stats().get("sampledOut"));
+        assertEquals(2L, writer.stats().get("dropped"));
+        assertEquals(List.of("c", "e"), queue.stream().map(CeLlmCallLog::getPromptText).toList());
+    }
+
+    private CeLlmCallLog row(String prompt, boolean success) {
+        return CeLlmCallLog.builder()
+                .conversationId(UUID.randomUUID())
+                .provider("openai")
+                .model("gpt")
+                .promptText(prompt)
+                .userContext("{}")
+                .success(success)
+                .build();
+    }
+}
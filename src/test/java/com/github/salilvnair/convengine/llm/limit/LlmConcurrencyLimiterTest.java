@@ -0,0 +1,91 @@
+package com.github.salilvnair.convengine.llm.limit;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LlmConcurrencyLimiterTest {
+
+    private ConvEngineLlmConfig config;
+    private LlmConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        config = new ConvEngineLlmConfig();
+        ConvEngineLlmConfig.Concurrency cfg = config.getConcurrency();
+        cfg.setEnabled(true);
+        cfg.setInitialLimit(2);
+        cfg.setMinLimit(1);
+        cfg.setMaxLimit(4);
+        cfg.setMaxQueued(0);
+        cfg.setMaxQueueWaitMs(0L);
+        limiter = new LlmConcurrencyLimiter(config);
+    }
+
+    @Test
+    void rejectsFastWhenLimitReachedAndQueueIsFull() {
+        limiter.acquire("A", "generateJson", UUID.randomUUID());
+        limiter.acquire("A", "generateJson", UUID.randomUUID());
+
+        LlmCapacityExceededException ex = assertThrows(LlmCapacityExceededException.class,
+                () -> limiter.acquire("A", "generateJson", UUID.randomUUID()));
+
+        assertEquals("LLM_CAPACITY_EXCEEDED", ex.getErrorCode());
+        assertEquals(2, ex.getMetaData().get("inFlight"));
+        assertEquals(1L, limiter.stats().get("rejected"));
+    }
+
+    @Test
+    void capsPermitsPerConversationAndPerCallSite() {
+        config.getConcurrency().setInitialLimit(4);
+        config.getConcurrency().setMaxPerConversation(1);
+        ConvEngineLlmConfig.CallSiteLimit planner = new ConvEngineLlmConfig.CallSiteLimit();
+        planner.setMaxConcurrency(1);
+        config.getConcurrency().setCallSites(Map.of("MCP_PLANNER", planner));
+        UUID chatty = UUID.randomUUID();
+
+        LlmConcurrencyLimiter.Permit first = limiter.acquire("DIALOGUE_ACT", "generateJson", chatty);
+        assertThrows(LlmCapacityExceededException.class, () -> limiter.acquire("DIALOGUE_ACT", "generateJson", chatty));
+        limiter.acquire("MCP_PLANNER", "generateJson", UUID.randomUUID());
+        assertThrows(LlmCapacityExceededException.class,
+                () -> limiter.acquire("MCP_PLANNER", "generateJson", UUID.randomUUID()));
+
+        first.release(true);
+        limiter.acquire("DIALOGUE_ACT", "generateJson", chatty);
+    }
+
+    @Test
+    void failuresShrinkTheLimitAndQueuedCallerGetsReleasedPermit() throws Exception {
+        config.getConcurrency().setBackoffRatio(0.5d);
+        limiter.acquire("A", "generateJson", null).release(false);
+        assertEquals(1, limiter.stats().get("limit"));
+
+        config.getConcurrency().setMaxQueued(1);
+        config.getConcurrency().setMaxQueueWaitMs(5000L);
+        LlmConcurrencyLimiter.Permit held = limiter.acquire("A", "generateJson", null);
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            held.release(true);
+        });
+        releaser.start();
+        limiter.acquire("A", "generateJson", null).release(true);
+        releaser.join();
+
+        assertEquals(0, limiter.stats().get("inFlight"));
+        assertEquals(3L, limiter.stats().get("acquired"));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.salilvnair.convengine.llm.metrics;
+
+import com.github.salilvnair.convengine.llm.accounting.LlmUsageScope;
+import com.github.salilvnair.convengine.llm.context.LlmCallSite;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import com.github.salilvnair.convengine.metrics.ConvEngineMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MeteredLlmClientTest {
+
+    private LlmClient delegate;
+    private ConvEngineMetrics metrics;
+    private MeteredLlmClient client;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(LlmClient.class);
+        metrics = mock(ConvEngineMetrics.class);
+        client = new MeteredLlmClient(delegate, metrics);
+    }
+
+    @Test
+    void timesSuccessfulCallWithCallSiteAndStep() {
+        when(delegate.generateJson(any(), any(), any(), any())).thenReturn("{}");
+
+        String json = LlmUsageScope.step("IntentResolutionStep",
+                () -> LlmCallSite.call(LlmCallSite.AGENT_INTENT, () -> client.generateJson(null, "hint", "{}", "{}")));
+
+        assertEquals("{}", json);
+        verify(metrics).recordTime(eq("convengine.llm.call"), anyLong(),
+                eq("method"), eq("generateJson"),
+                eq("call.site"), eq(LlmCallSite.AGENT_INTENT),
+                eq("step"), eq("IntentResolutionStep"),
+                eq("outcome"), eq(ConvEngineMetrics.OUTCOME_SUCCESS));
+    }
+
+    @Test
+    void timesFailedCallAsError() {
+        when(delegate.generateEmbedding(any(), any())).thenThrow(new IllegalStateException("provider down"));
+
+        assertThrows(IllegalStateException.class, () -> client.generateEmbedding(null, "orders"));
+
+        verify(metrics).recordTime(eq("convengine.llm.call"), anyLong(),
+                eq("method"), eq("generateEmbedding"),
+                eq("call.site"), isNull(),
+                eq("step"), isNull(),
+                eq("outcome"), eq(ConvEngineMetrics.OUTCOME_ERROR));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.salilvnair.convengine.llm.stub;
+
+import com.github.salilvnair.convengine.config.ConvEngineLlmConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StubLlmClientTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConvEngineLlmConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ConvEngineLlmConfig();
+        config.getStub().setEnabled(true);
+    }
+
+    @Test
+    void replaysRecordingsIgnoringRenderedDatesThenFallsBackToScripts() throws Exception {
+        Path recordings = tempDir.resolve("recordings.jsonl");
+        Files.writeString(recordings, """
+                {"prompt_text":"Classify: yes please. Today is 2026-01-01","response_text":"{\\"act\\":\\"AFFIRM\\"}"}
+                {"method":"generateText","prompt":"Say hi","response":"hello there"}
+                """);
+        config.getStub().setRecordingsPath(recordings.toString());
+        ConvEngineLlmConfig.Script script = new ConvEngineLlmConfig.Script();
+        script.setPattern("(?i)classify");
+        script.setResponse("{\"act\":\"OTHER\"}");
+        config.getStub().getScripts().add(script);
+        StubLlmClient client = new StubLlmClient(config);
+        client.init();
+
+        assertEquals("{\"act\":\"AFFIRM\"}",
+                client.generateJson(null, "Classify: yes please. Today is 2026-10-19", "{}", "{}"));
+        assertEquals("hello there", client.generateText(null, "Say  hi", "{}"));
+        assertEquals("{\"act\":\"OTHER\"}", client.generateJson(null, "Classify: no", "{}", "{}"));
+        assertEquals("{}", client.generateJsonStrict(null, "unknown", "{}", "{}"));
+        assertEquals(2L, client.stats().get("recordedHits"));
+        assertEquals(1L, client.stats().get("scriptedHits"));
+    }
+
+    @Test
+    void embeddingsAreDeterministicAndReflectTextOverlap() {
+        StubLlmClient client = new StubLlmClient(config);
+        client.init();
+
+        float[] first = client.generateEmbedding(null, "open disconnect requests");
+        float[] again = client.generateEmbedding(null, "open disconnect requests");
+        float[] similar = client.generateEmbedding(null, "open disconnect request");
+        float[] unrelated = client.generateEmbedding(null, "quarterly revenue by region");
+
+        assertEquals(384, first.length);
+        assertArrayEquals(first, again);
+        assertTrue(cosine(first, similar) > cosine(first, unrelated));
+    }
+
+    @Test
+    void latencyIsStablePerPromptAndBounded() {
+        config.getStub().setLatencyDistribution(ConvEngineLlmConfig.LatencyDistribution.LOG_NORMAL);
+        config.getStub().setLatencyMs(200L);
+        config.getStub().setLatencyMaxMs(1000L);
+        StubLlmClient client = new StubLlmClient(config);
+        client.init();
+        StubLlmRecordings recordings = new StubLlmRecordings(config.getStub().getNormalizePatterns());
+        String hash = recordings.promptHash("plan the next tool call");
+
+        long delay = client.latencyFor(hash);
+
+        assertEquals(delay, client.latencyFor(hash));
+        assertTrue(delay >= 0L && delay <= 1000L);
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0.0d;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.salilvnair.convengine.transport.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.salilvnair.convengine.api.dto.ResponseStreamChunk;
+import com.github.salilvnair.convengine.config.ConvEngineTransportConfig;
+import com.github.salilvnair.convengine.engine.context.EngineContext;
+import com.github.salilvnair.convengine.engine.session.EngineSession;
+import com.github.salilvnair.convengine.llm.core.LlmClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseStreamPublisherTest {
+
+    @Test
+    void numbersDeltasAndClosesOnceEvenIfAListenerFails() {
+        List<ResponseStreamChunk> received = new ArrayList<>();
+        ResponseStreamListener failing = (id, chunk) -> {
+            throw new IllegalStateException("client gone");
+        };
+        ResponseStreamPublisher publisher = publisher(true, failing, (id, chunk) -> received.add(chunk));
+        EngineSession session = session();
+
+        assertTrue(publisher.isEnabled(session));
+        ResponseStreamPublisher.ResponseStream stream = publisher.open(session, "TextOutputFormatResolver");
+        stream.accept("Hel");
+        stream.accept("");
+        stream.accept("lo");
+        stream.complete();
+        stream.complete();
+        stream.accept("late");
+
+        assertEquals(3, received.size());
+        assertEquals(List.of(0, 1, 2), received.stream().map(ResponseStreamChunk::getSequence).toList());
+        assertEquals("Hello", received.get(0).getDelta() + received.get(1).getDelta());
+        assertTrue(received.get(2).isDone());
+    }
+
+    @Test
+    void disabledWithoutFlagOrListeners() {
+        assertFalse(publisher(false, (id, chunk) -> { }).isEnabled(session()));
+        assertFalse(publisher(true).isEnabled(session()));
+    }
+
+    @Test
+    void nonStreamingProviderEmitsWholeTextAsOneChunk() {
+        LlmClient llm = mock(LlmClient.class);
+        when(llm.generateText(any(), any(), any())).thenReturn("full answer");
+        when(llm.generateTextStream(any(), any(), any(), any())).thenCallRealMethod();
+        List<String> chunks = new ArrayList<>();
+
+        String text = llm.generateTextStream(session(), "hint", "{}", chunks::add);
+
+        assertEquals("full answer", text);
+        assertEquals(List.of("full answer"), chunks);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResponseStreamPublisher publisher(boolean enabled, ResponseStreamListener... listeners) {
+        ConvEngineTransportConfig config = new ConvEngineTransportConfig();
+        config.getResponseStream().setEnabled(enabled);
+        ObjectProvider<ResponseStreamListener> provider = mock(ObjectProvider.class);
+        when(provider.stream()).thenAnswer(inv -> Stream.of(listeners));
+        when(provider.orderedStream()).thenAnswer(inv -> Stream.of(listeners));
+        return new ResponseStreamPublisher(config, provider);
+    }
+
+    private EngineSession session() {
+        return new EngineSession(EngineContext.builder()
+                .conversationId(UUID.randomUUID().toString())
+                .userText("hi")
+                .inputParams(new LinkedHashMap<>())
+                .build(), new ObjectMapper());
+    }
+}